@@ -23,18 +23,29 @@ import javax.inject.Inject;
 import org.drools.workbench.screens.dsltext.type.DSLResourceTypeDefinition;
 import org.guvnor.common.services.project.builder.events.InvalidateDMOPackageCacheEvent;
 import org.kie.workbench.common.services.backend.helpers.AbstractInvalidateDMOPackageCacheDeleteHelper;
+import org.uberfire.backend.vfs.Path;
 
 /**
- * DeleteHelper for DSLs to invalidate LRUDataModelOracleCache entries when a DSL is deleted.
+ * DeleteHelper for DSLs to invalidate LRUDataModelOracleCache and DSLPackageRegistry entries when a DSL is deleted.
  */
 @ApplicationScoped
 public class DSLInvalidateDMOPackageCacheDeleteHelper extends AbstractInvalidateDMOPackageCacheDeleteHelper<DSLResourceTypeDefinition> {
 
+    private DSLPackageRegistry dslPackageRegistry;
+
     @Inject
     public DSLInvalidateDMOPackageCacheDeleteHelper( final DSLResourceTypeDefinition resourceType,
-                                                     final Event<InvalidateDMOPackageCacheEvent> invalidateDMOPackageCache ) {
+                                                     final Event<InvalidateDMOPackageCacheEvent> invalidateDMOPackageCache,
+                                                     final DSLPackageRegistry dslPackageRegistry ) {
         super( resourceType,
                invalidateDMOPackageCache );
+        this.dslPackageRegistry = dslPackageRegistry;
+    }
+
+    @Override
+    public void postProcess( final Path path ) {
+        super.postProcess( path );
+        dslPackageRegistry.invalidate( path );
     }
 
 }
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.dsltext.backend.server;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.drools.compiler.lang.Expander;
+import org.drools.compiler.lang.dsl.DSLMappingFile;
+import org.drools.compiler.lang.dsl.DSLTokenizedMappingFile;
+import org.drools.compiler.lang.dsl.DefaultExpander;
+import org.guvnor.common.services.backend.file.FileDiscoveryService;
+import org.guvnor.common.services.project.builder.events.InvalidateDMOPackageCacheEvent;
+import org.kie.workbench.common.services.backend.file.DSLFileFilter;
+import org.kie.workbench.common.services.shared.project.KieModuleService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.uberfire.backend.server.util.Paths;
+import org.uberfire.io.IOService;
+import org.uberfire.java.nio.file.Path;
+
+/**
+ * Package-level registry of DSL definitions. The DSL files of a package are discovered, read and parsed
+ * once and kept until a DSL in that package is saved or deleted.
+ */
+@ApplicationScoped
+public class DSLPackageRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(DSLPackageRegistry.class);
+
+    private static final DSLFileFilter FILTER_DSLS = new DSLFileFilter();
+
+    private IOService ioService;
+
+    private FileDiscoveryService fileDiscoveryService;
+
+    private KieModuleService moduleService;
+
+    private final Map<org.uberfire.backend.vfs.Path, PackageDSLs> packages = new ConcurrentHashMap<>();
+
+    //Incremented by every invalidation, of a package or of all of them; a load that started before is not kept
+    private final Map<org.uberfire.backend.vfs.Path, Long> generations = new ConcurrentHashMap<>();
+
+    private final AtomicLong epoch = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    public DSLPackageRegistry() {
+        //CDI proxy
+    }
+
+    @Inject
+    public DSLPackageRegistry(final @Named("ioStrategy") IOService ioService,
+                              final FileDiscoveryService fileDiscoveryService,
+                              final KieModuleService moduleService) {
+        this.ioService = ioService;
+        this.fileDiscoveryService = fileDiscoveryService;
+        this.moduleService = moduleService;
+    }
+
+    /**
+     * Returns an expander for DSLs (only if there is a DSL configured for the package containing the Path).
+     * @param path Any Path within the package
+     * @return A new Expander configured with the cached DSL mappings of the package
+     */
+    public Expander getDSLExpander(final Path path) {
+        final Expander expander = new DefaultExpander();
+        for (DSLMappingFile dsl : getDSLMappingFiles(path)) {
+            expander.addDSLMapping(dsl.getMapping());
+        }
+        return expander;
+    }
+
+    /**
+     * Returns the parsed DSL definitions held in the package containing the Path. DSLs that cannot be parsed are excluded.
+     * @param path Any Path within the package
+     * @return An unmodifiable List of parsed DSL definitions
+     */
+    public List<DSLMappingFile> getDSLMappingFiles(final Path path) {
+        return getPackageDSLs(Paths.convert(path)).mappingFiles;
+    }
+
+    /**
+     * Returns the raw DSL definitions held in the package containing the Path.
+     * @param path Any Path within the package
+     * @return The content of every DSL file in the package
+     */
+    public String[] getDSLDefinitions(final org.uberfire.backend.vfs.Path path) {
+        final List<String> definitions = getPackageDSLs(path).definitions;
+        return definitions.toArray(new String[definitions.size()]);
+    }
+
+    /**
+     * Discard the DSLs cached for the package containing the Path.
+     * @param path Any Path within the package, typically that of a DSL file that has been altered
+     */
+    public void invalidate(final org.uberfire.backend.vfs.Path path) {
+        final org.uberfire.backend.vfs.Path packagePath = resolvePackagePath(path);
+        if (packagePath != null) {
+            generations.merge(packagePath,
+                              1L,
+                              Long::sum);
+            packages.remove(packagePath);
+        }
+    }
+
+    public void invalidateAll() {
+        epoch.incrementAndGet();
+        packages.clear();
+    }
+
+    /**
+     * DSLs can change without being saved through the DSL editor, for example by a push or an upload, in which case
+     * the package cache is invalidated for them.
+     */
+    public void onInvalidateDMOPackageCache(final @Observes InvalidateDMOPackageCacheEvent event) {
+        if (event.getResourcePath() != null) {
+            invalidate(event.getResourcePath());
+        }
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    private PackageDSLs getPackageDSLs(final org.uberfire.backend.vfs.Path path) {
+        final org.uberfire.backend.vfs.Path packagePath = resolvePackagePath(path);
+        if (packagePath == null) {
+            return PackageDSLs.EMPTY;
+        }
+        final PackageDSLs cached = packages.get(packagePath);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+        misses.incrementAndGet();
+        final long loadEpoch = epoch.get();
+        final Long loadGeneration = generations.get(packagePath);
+        final PackageDSLs loaded = loadPackageDSLs(Paths.convert(packagePath));
+        //Invalidation of the package updates its generation under the same lock, so it is either seen here or it
+        //removes what is put here
+        generations.compute(packagePath,
+                            (key, generation) -> {
+                                if (Objects.equals(generation, loadGeneration) && epoch.get() == loadEpoch) {
+                                    packages.put(packagePath,
+                                                 loaded);
+                                }
+                                return generation;
+                            });
+        return loaded;
+    }
+
+    private org.uberfire.backend.vfs.Path resolvePackagePath(final org.uberfire.backend.vfs.Path path) {
+        final org.guvnor.common.services.project.model.Package pkg = moduleService.resolvePackage(path);
+        if (pkg == null) {
+            return null;
+        }
+        return pkg.getPackageMainResourcesPath();
+    }
+
+    private PackageDSLs loadPackageDSLs(final Path nioPackagePath) {
+        final List<String> definitions = new ArrayList<>();
+        final List<DSLMappingFile> mappingFiles = new ArrayList<>();
+        final Collection<Path> dslPaths = fileDiscoveryService.discoverFiles(nioPackagePath,
+                                                                             FILTER_DSLS);
+        for (final Path dslPath : dslPaths) {
+            final String dslDefinition = ioService.readAllString(dslPath);
+            definitions.add(dslDefinition);
+            final DSLTokenizedMappingFile dslFile = new DSLTokenizedMappingFile();
+            try {
+                if (dslFile.parseAndLoad(new StringReader(dslDefinition))) {
+                    mappingFiles.add(dslFile);
+                } else {
+                    logger.error("Unable to parse DSL definition: " + dslDefinition);
+                }
+            } catch (IOException ioe) {
+                logger.error(ioe.getMessage());
+            }
+        }
+        return new PackageDSLs(definitions,
+                               mappingFiles);
+    }
+
+    private static class PackageDSLs {
+
+        private static final PackageDSLs EMPTY = new PackageDSLs(Collections.emptyList(),
+                                                                 Collections.emptyList());
+
+        private final List<String> definitions;
+
+        private final List<DSLMappingFile> mappingFiles;
+
+        private PackageDSLs(final List<String> definitions,
+                            final List<DSLMappingFile> mappingFiles) {
+            this.definitions = Collections.unmodifiableList(definitions);
+            this.mappingFiles = Collections.unmodifiableList(mappingFiles);
+        }
+    }
+}
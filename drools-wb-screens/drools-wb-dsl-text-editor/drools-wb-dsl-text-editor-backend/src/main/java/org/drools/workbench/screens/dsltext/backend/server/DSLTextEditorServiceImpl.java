@@ -87,6 +87,9 @@ public class DSLTextEditorServiceImpl
     @Inject
     private SaveAndRenameServiceImpl<String, Metadata> saveAndRenameService;
 
+    @Inject
+    private DSLPackageRegistry dslPackageRegistry;
+
     private SafeSessionInfo safeSessionInfo;
 
     public DSLTextEditorServiceImpl() {
@@ -165,8 +168,9 @@ public class DSLTextEditorServiceImpl
                                                               metadata ),
                              commentedOptionFactory.makeCommentedOption( comment ) );
 
-            //Invalidate Package-level DMO cache as a DSL has been altered
+            //Invalidate Package-level DMO and DSL caches as a DSL has been altered
             invalidateDMOPackageCache.fire( new InvalidateDMOPackageCacheEvent( resource ) );
+            dslPackageRegistry.invalidate( resource );
 
             return resource;
 
@@ -192,9 +196,11 @@ public class DSLTextEditorServiceImpl
                         final String newName,
                         final String comment ) {
         try {
-            return renameService.rename( path,
-                                         newName,
-                                         comment );
+            final Path newPath = renameService.rename( path,
+                                                       newName,
+                                                       comment );
+            dslPackageRegistry.invalidate( newPath );
+            return newPath;
 
         } catch ( Exception e ) {
             throw ExceptionUtilities.handleException( e );
@@ -206,9 +212,11 @@ public class DSLTextEditorServiceImpl
                       final String newName,
                       final String comment ) {
         try {
-            return copyService.copy( path,
-                                     newName,
-                                     comment );
+            final Path newPath = copyService.copy( path,
+                                                   newName,
+                                                   comment );
+            dslPackageRegistry.invalidate( newPath );
+            return newPath;
 
         } catch ( Exception e ) {
             throw ExceptionUtilities.handleException( e );
@@ -221,10 +229,12 @@ public class DSLTextEditorServiceImpl
                       final Path targetDirectory,
                       final String comment ) {
         try {
-            return copyService.copy( path,
-                                     newName,
-                                     targetDirectory,
-                                     comment );
+            final Path newPath = copyService.copy( path,
+                                                   newName,
+                                                   targetDirectory,
+                                                   comment );
+            dslPackageRegistry.invalidate( newPath );
+            return newPath;
 
         } catch ( Exception e ) {
             throw ExceptionUtilities.handleException( e );
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.dsltext.backend.server;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.HashSet;
+
+import org.guvnor.common.services.backend.file.FileDiscoveryService;
+import org.guvnor.common.services.project.builder.events.InvalidateDMOPackageCacheEvent;
+import org.guvnor.common.services.project.model.Package;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.services.shared.project.KieModuleService;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.backend.vfs.PathFactory;
+import org.uberfire.io.IOService;
+import org.uberfire.java.nio.file.FileSystem;
+import org.uberfire.java.nio.file.Path;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DSLPackageRegistryTest {
+
+    private static final String DSL = "[when]There is a Person=Person()";
+
+    @Mock
+    private IOService ioService;
+
+    @Mock
+    private FileDiscoveryService fileDiscoveryService;
+
+    @Mock
+    private KieModuleService moduleService;
+
+    @Mock
+    private Package pkg;
+
+    @Mock
+    private Path dslPath;
+
+    @Mock
+    private Path path;
+
+    @Mock
+    private FileSystem fileSystem;
+
+    private DSLPackageRegistry registry;
+
+    @Before
+    public void setup() throws Exception {
+        registry = new DSLPackageRegistry(ioService,
+                                          fileDiscoveryService,
+                                          moduleService);
+
+        when(moduleService.resolvePackage(any(org.uberfire.backend.vfs.Path.class))).thenReturn(pkg);
+        when(pkg.getPackageMainResourcesPath()).thenReturn(PathFactory.newPath("pkg",
+                                                                               "file:///pkg"));
+        when(fileDiscoveryService.discoverFiles(any(Path.class),
+                                                any())).thenReturn(Collections.singletonList(dslPath));
+        when(ioService.readAllString(dslPath)).thenReturn(DSL);
+
+        when(fileSystem.supportedFileAttributeViews()).thenReturn(new HashSet<>());
+        when(path.getFileSystem()).thenReturn(fileSystem);
+        when(path.toString()).thenReturn("/");
+        when(path.getFileName()).thenReturn(path);
+        when(path.toUri()).thenReturn(new URI("/"));
+    }
+
+    @Test
+    public void testPackageDSLsAreParsedOnce() {
+        assertEquals(1,
+                     registry.getDSLMappingFiles(path).size());
+        assertEquals(1,
+                     registry.getDSLMappingFiles(path).size());
+        assertArrayEquals(new String[]{DSL},
+                          registry.getDSLDefinitions(PathFactory.newPath("rule.rdslr",
+                                                                         "file:///pkg/rule.rdslr")));
+
+        verify(ioService,
+               times(1)).readAllString(dslPath);
+        assertEquals(1,
+                     registry.getMissCount());
+        assertEquals(2,
+                     registry.getHitCount());
+    }
+
+    @Test
+    public void testInvalidate() {
+        registry.getDSLMappingFiles(path);
+        registry.invalidate(PathFactory.newPath("mapping.dsl",
+                                                "file:///pkg/mapping.dsl"));
+        registry.getDSLMappingFiles(path);
+
+        verify(ioService,
+               times(2)).readAllString(dslPath);
+        assertEquals(2,
+                     registry.getMissCount());
+        assertEquals(0,
+                     registry.getHitCount());
+    }
+
+    @Test
+    public void testLoadInvalidatedWhileLoadingIsNotKept() {
+        //The DSL is saved while the package is being loaded, with its previous content
+        when(ioService.readAllString(dslPath)).thenAnswer(invocation -> {
+            registry.invalidate(PathFactory.newPath("mapping.dsl",
+                                                    "file:///pkg/mapping.dsl"));
+            return DSL;
+        }).thenReturn(DSL);
+
+        registry.getDSLMappingFiles(path);
+        registry.getDSLMappingFiles(path);
+        registry.getDSLMappingFiles(path);
+
+        verify(ioService,
+               times(2)).readAllString(dslPath);
+        assertEquals(2,
+                     registry.getMissCount());
+        assertEquals(1,
+                     registry.getHitCount());
+    }
+
+    @Test
+    public void testLoadInvalidatedAllWhileLoadingIsNotKept() {
+        when(ioService.readAllString(dslPath)).thenAnswer(invocation -> {
+            registry.invalidateAll();
+            return DSL;
+        }).thenReturn(DSL);
+
+        registry.getDSLMappingFiles(path);
+        registry.getDSLMappingFiles(path);
+
+        assertEquals(2,
+                     registry.getMissCount());
+    }
+
+    @Test
+    public void testInvalidateDMOPackageCacheEvent() {
+        registry.getDSLMappingFiles(path);
+        registry.onInvalidateDMOPackageCache(new InvalidateDMOPackageCacheEvent(PathFactory.newPath("mapping.dsl",
+                                                                                                    "file:///pkg/mapping.dsl")));
+        registry.getDSLMappingFiles(path);
+
+        verify(ioService,
+               times(2)).readAllString(dslPath);
+        assertEquals(2,
+                     registry.getMissCount());
+    }
+
+    @Test
+    public void testExpander() {
+        final String drl = registry.getDSLExpander(path).expand("rule \"r\"\nwhen\nThere is a Person\nthen\nend\n");
+        assertTrue(drl.contains("Person()"));
+    }
+}
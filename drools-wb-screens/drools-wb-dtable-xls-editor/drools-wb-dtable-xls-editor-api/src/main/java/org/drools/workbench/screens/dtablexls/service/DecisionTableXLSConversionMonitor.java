@@ -0,0 +1,52 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.dtablexls.service;
+
+/**
+ * Receives the progress of a conversion and decides whether it should carry on.
+ */
+public interface DecisionTableXLSConversionMonitor {
+
+    DecisionTableXLSConversionMonitor NONE = new DecisionTableXLSConversionMonitor() {
+        @Override
+        public void onSheet(final String sheetName) {
+        }
+
+        @Override
+        public void onRow(final int rowCount) {
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+    };
+
+    void onSheet(final String sheetName);
+
+    /**
+     * Called as each row of the current sheet is parsed.
+     * @param rowCount Number of rows of the current sheet parsed so far
+     */
+    void onRow(final int rowCount);
+
+    /**
+     * Polled during conversion. Once true the conversion stops, before any asset is created, by throwing
+     * {@link java.util.concurrent.CancellationException}.
+     */
+    boolean isCancelled();
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.dtablexls.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.drools.workbench.models.guided.dtable.shared.conversion.ConversionMessage;
+import org.jboss.errai.common.client.api.annotations.Portable;
+import org.uberfire.backend.vfs.Path;
+
+/**
+ * Progress of a conversion job started with {@link DecisionTableXLSService#startConversion(Path)}, as returned by
+ * {@link DecisionTableXLSService#getConversionProgress(String)}. Progress is updated whilst the spreadsheet is being
+ * parsed and once more when the job has ended; the last progress contains the messages of the conversion.
+ */
+@Portable
+public class DecisionTableXLSConversionProgress {
+
+    public enum Status {
+        RUNNING,
+        FINISHED,
+        CANCELLED,
+        FAILED
+    }
+
+    private String jobId;
+    private Path path;
+    private Status status;
+    private String sheetName;
+    private int rowCount;
+    private List<ConversionMessage> messages = new ArrayList<>();
+
+    public DecisionTableXLSConversionProgress() {
+    }
+
+    public DecisionTableXLSConversionProgress(final String jobId,
+                                           final Path path,
+                                           final Status status,
+                                           final String sheetName,
+                                           final int rowCount) {
+        this.jobId = jobId;
+        this.path = path;
+        this.status = status;
+        this.sheetName = sheetName;
+        this.rowCount = rowCount;
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * @return True if the job has ended, whether or not it was successful.
+     */
+    public boolean isEnded() {
+        return status != Status.RUNNING;
+    }
+
+    /**
+     * @return Name of the sheet being parsed, or null if parsing has not started.
+     */
+    public String getSheetName() {
+        return sheetName;
+    }
+
+    /**
+     * @return Number of rows of the sheet parsed so far.
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public List<ConversionMessage> getMessages() {
+        return messages;
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.drools.workbench.screens.dtablexls.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.drools.workbench.models.guided.dtable.shared.conversion.ConversionResult;
+import org.jboss.errai.common.client.api.annotations.Portable;
+
+/**
+ * Result of converting a XLS Decision Table, including the time taken by each phase of the conversion.
+ */
+@Portable
+public class DecisionTableXLSConversionResult extends ConversionResult {
+
+    //Parsing the workbook, until every Decision Table has been populated
+    public static final String PHASE_PARSE = "parse";
+    //Populating Decision Tables, summed over every RuleTable; this overlaps with parsing
+    public static final String PHASE_POPULATE = "populate";
+    //Creating the new assets
+    public static final String PHASE_CREATE = "create";
+
+    private Map<String, Long> phaseTimings = new LinkedHashMap<String, Long>();
+
+    public void addPhaseTiming(final String phase,
+                               final long milliseconds) {
+        phaseTimings.put(phase,
+                         milliseconds);
+    }
+
+    /**
+     * @return Milliseconds taken by each phase, in the order the phases were started.
+     */
+    public Map<String, Long> getPhaseTimings() {
+        return phaseTimings;
+    }
+}
@@ -23,4 +23,7 @@ public interface DecisionTableXLSConversionService {
 
     ConversionResult convert( final Path path );
 
+    ConversionResult convert( final Path path,
+                              final DecisionTableXLSConversionMonitor monitor );
+
 }
@@ -33,6 +33,28 @@ public interface DecisionTableXLSService
 
     ConversionResult convert( final Path path );
 
+    /**
+     * Starts converting the Decision Table in the background. Progress, and finally the results, are returned by
+     * {@link #getConversionProgress(String)}. Only one conversion of a Decision Table runs at a time; starting it
+     * again whilst it runs follows the running conversion.
+     * @param path Decision Table to convert
+     * @return Identifier by which the caller follows the conversion job
+     */
+    String startConversion( final Path path );
+
+    /**
+     * @param jobId Identifier returned by {@link #startConversion(Path)}
+     * @return Progress of the job, or null if the identifier is unknown. Once the job has ended its progress is
+     * returned once for each identifier.
+     */
+    DecisionTableXLSConversionProgress getConversionProgress( final String jobId );
+
+    /**
+     * Stops following a conversion job. The job is only cancelled when no other caller follows it.
+     * @param jobId Identifier returned by {@link #startConversion(Path)}
+     */
+    void cancelConversion( final String jobId );
+
     DecisionTableXLSContent loadContent( final Path path );
 
     String getSource( final Path path );
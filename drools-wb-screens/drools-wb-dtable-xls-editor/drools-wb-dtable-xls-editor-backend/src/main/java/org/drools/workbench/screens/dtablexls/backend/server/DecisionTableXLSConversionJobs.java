@@ -0,0 +1,312 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.dtablexls.backend.server;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import org.drools.workbench.models.guided.dtable.shared.conversion.ConversionMessage;
+import org.drools.workbench.models.guided.dtable.shared.conversion.ConversionMessageType;
+import org.drools.workbench.models.guided.dtable.shared.conversion.ConversionResult;
+import org.drools.workbench.screens.dtablexls.service.DecisionTableXLSConversionMonitor;
+import org.drools.workbench.screens.dtablexls.service.DecisionTableXLSConversionProgress;
+import org.drools.workbench.screens.dtablexls.service.DecisionTableXLSConversionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.uberfire.backend.vfs.Path;
+
+/**
+ * Runs conversions of XLS Decision Tables on a bounded pool of worker threads. A Decision Table is only converted by
+ * one job at a time; asking to convert it again whilst a job is queued, or running, shares the existing job. Every
+ * start returns an identifier of its own, by which its starter, i.e. an editor, follows the job: the last progress of
+ * the job is kept until every starter has asked for it, and the job is only cancelled once every starter has
+ * cancelled it.
+ */
+@ApplicationScoped
+public class DecisionTableXLSConversionJobs {
+
+    private static final Logger log = LoggerFactory.getLogger(DecisionTableXLSConversionJobs.class);
+
+    public static final String THREADS_PROPERTY = "org.drools.workbench.screens.dtablexls.conversion.jobs.threads";
+
+    public static final String MAX_QUEUED_PROPERTY = "org.drools.workbench.screens.dtablexls.conversion.jobs.max-queued";
+
+    static final int DEFAULT_THREADS = 2;
+
+    static final int DEFAULT_MAX_QUEUED = 16;
+
+    //Starters of ended jobs that have not asked for the last progress; the oldest are forgotten beyond this many
+    static final int MAX_ENDED = 64;
+
+    //Progress is updated for the first row of a sheet and every this many rows thereafter
+    static final int ROWS_PER_PROGRESS = 1000;
+
+    private DecisionTableXLSConversionService conversionService;
+    private ExecutorService executor;
+
+    private final Map<String, Job> jobsByPath = new ConcurrentHashMap<>();
+    //Jobs by the identifiers returned to their starters
+    private final Map<String, Job> jobsById = new ConcurrentHashMap<>();
+    private final Queue<String> endedJobIds = new ConcurrentLinkedQueue<>();
+
+    public DecisionTableXLSConversionJobs() {
+        //Zero parameter constructor for CDI
+    }
+
+    @Inject
+    public DecisionTableXLSConversionJobs(final DecisionTableXLSConversionService conversionService) {
+        this(conversionService,
+             Integer.getInteger(THREADS_PROPERTY,
+                                DEFAULT_THREADS),
+             Integer.getInteger(MAX_QUEUED_PROPERTY,
+                                DEFAULT_MAX_QUEUED));
+    }
+
+    DecisionTableXLSConversionJobs(final DecisionTableXLSConversionService conversionService,
+                                   final int threads,
+                                   final int maxQueued) {
+        this.conversionService = conversionService;
+        this.executor = new ThreadPoolExecutor(threads,
+                                               threads,
+                                               0L,
+                                               TimeUnit.MILLISECONDS,
+                                               new ArrayBlockingQueue<>(maxQueued),
+                                               (runnable) -> {
+                                                   final Thread thread = new Thread(runnable,
+                                                                                    "xls-conversion-job");
+                                                   thread.setDaemon(true);
+                                                   return thread;
+                                               });
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * @param path Decision Table to convert
+     * @return Identifier by which the starter follows the job converting the Decision Table
+     * @throws IllegalStateException if too many conversions are already queued
+     */
+    public String start(final Path path) {
+        final String jobId = UUID.randomUUID().toString();
+        while (true) {
+            final Job job = new Job(jobId,
+                                    path);
+            final Job existingJob = jobsByPath.putIfAbsent(path.toURI(),
+                                                           job);
+            if (existingJob != null) {
+                //The existing job may end, and no longer be shared, before it is joined
+                if (existingJob.join(jobId)) {
+                    jobsById.put(jobId,
+                                 existingJob);
+                    return jobId;
+                }
+                jobsByPath.remove(path.toURI(),
+                                  existingJob);
+                continue;
+            }
+
+            job.join(jobId);
+            jobsById.put(jobId,
+                         job);
+            try {
+                executor.execute(job);
+            } catch (RejectedExecutionException ree) {
+                jobsById.remove(jobId);
+                jobsByPath.remove(path.toURI(),
+                                  job);
+                throw new IllegalStateException("Too many Decision Tables are being converted. Please try again later.");
+            }
+            return jobId;
+        }
+    }
+
+    /**
+     * @param jobId Identifier returned by {@link #start(Path)}
+     * @return Progress of the job, or null if the identifier is unknown. The last progress of an ended job is returned
+     * once to each starter, after which the identifier is forgotten.
+     */
+    public DecisionTableXLSConversionProgress getProgress(final String jobId) {
+        final Job job = jobsById.get(jobId);
+        if (job == null) {
+            return null;
+        }
+        final DecisionTableXLSConversionProgress progress = job.progress;
+        if (progress.isEnded()) {
+            jobsById.remove(jobId);
+            endedJobIds.remove(jobId);
+        }
+        return progress;
+    }
+
+    /**
+     * Stops following a job, which is cancelled when its last starter cancels it; that starter is then given the
+     * last progress of the job. Queued jobs do not start; running jobs stop parsing, and populating, before creating
+     * any asset. Unknown identifiers, and ended jobs, are ignored.
+     * @param jobId Identifier returned by {@link #start(Path)}
+     */
+    public void cancel(final String jobId) {
+        final Job job = jobsById.get(jobId);
+        if (job == null || job.progress.isEnded()) {
+            return;
+        }
+        if (!job.leave(jobId)) {
+            jobsById.remove(jobId);
+        }
+    }
+
+    int getJobCount() {
+        return jobsById.size();
+    }
+
+    private void end(final Job job) {
+        jobsByPath.remove(job.path.toURI(),
+                          job);
+        endedJobIds.addAll(job.end());
+        while (endedJobIds.size() > MAX_ENDED) {
+            final String jobId = endedJobIds.poll();
+            if (jobId != null) {
+                jobsById.remove(jobId);
+            }
+        }
+    }
+
+    private class Job implements Runnable,
+                                 DecisionTableXLSConversionMonitor {
+
+        private final String id;
+        private final Path path;
+        //Identifiers of the starters following the job; null once it has ended
+        private Set<String> jobIds = new HashSet<>();
+        private volatile boolean cancelled;
+        private volatile DecisionTableXLSConversionProgress progress;
+        private String sheetName;
+
+        private Job(final String id,
+                    final Path path) {
+            this.id = id;
+            this.path = path;
+            this.progress = makeProgress(DecisionTableXLSConversionProgress.Status.RUNNING,
+                                         0);
+        }
+
+        private synchronized boolean join(final String jobId) {
+            if (jobIds == null || cancelled) {
+                return false;
+            }
+            jobIds.add(jobId);
+            return true;
+        }
+
+        //Cancels the job if the starter is the last following it, and returns true; otherwise the starter stops following it
+        private synchronized boolean leave(final String jobId) {
+            if (jobIds == null || !jobIds.contains(jobId)) {
+                return false;
+            }
+            if (jobIds.size() == 1) {
+                cancelled = true;
+                return true;
+            }
+            jobIds.remove(jobId);
+            return false;
+        }
+
+        //Identifiers of the starters yet to ask for the last progress
+        private synchronized Set<String> end() {
+            final Set<String> endedJobIds = jobIds;
+            jobIds = null;
+            return endedJobIds;
+        }
+
+        @Override
+        public void run() {
+            DecisionTableXLSConversionProgress.Status status = DecisionTableXLSConversionProgress.Status.FINISHED;
+            ConversionResult result = new ConversionResult();
+            try {
+                if (cancelled) {
+                    throw new CancellationException();
+                }
+                result = conversionService.convert(path,
+                                                   this);
+            } catch (CancellationException ce) {
+                status = DecisionTableXLSConversionProgress.Status.CANCELLED;
+                result.addMessage("Conversion was cancelled. No assets have been created.",
+                                  ConversionMessageType.INFO);
+            } catch (Exception e) {
+                log.error("Unable to convert [" + path.toURI() + "]",
+                          e);
+                status = DecisionTableXLSConversionProgress.Status.FAILED;
+                result.addMessage(e.getMessage() == null ? e.getClass().getName() : e.getMessage(),
+                                  ConversionMessageType.ERROR);
+            }
+
+            final DecisionTableXLSConversionProgress lastProgress = makeProgress(status,
+                                                                                 0);
+            for (ConversionMessage message : result.getMessages()) {
+                lastProgress.getMessages().add(message);
+            }
+            progress = lastProgress;
+            end(this);
+        }
+
+        @Override
+        public void onSheet(final String sheetName) {
+            this.sheetName = sheetName;
+        }
+
+        @Override
+        public void onRow(final int rowCount) {
+            if (rowCount == 1 || rowCount % ROWS_PER_PROGRESS == 0) {
+                progress = makeProgress(DecisionTableXLSConversionProgress.Status.RUNNING,
+                                        rowCount);
+            }
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        private DecisionTableXLSConversionProgress makeProgress(final DecisionTableXLSConversionProgress.Status status,
+                                                                final int rowCount) {
+            return new DecisionTableXLSConversionProgress(id,
+                                                          path,
+                                                          status,
+                                                          sheetName,
+                                                          rowCount);
+        }
+    }
+}
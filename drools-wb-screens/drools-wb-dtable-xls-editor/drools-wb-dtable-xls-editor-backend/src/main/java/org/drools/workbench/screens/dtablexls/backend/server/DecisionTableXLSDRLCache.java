@@ -0,0 +1,277 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.dtablexls.backend.server;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.enterprise.context.ApplicationScoped;
+
+import org.apache.commons.io.IOUtils;
+import org.drools.decisiontable.InputType;
+import org.drools.decisiontable.SpreadsheetCompiler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache of the DRL compiled from XLS and XLSX Decision Tables, keyed by the SHA-256 hash of the spreadsheet content.
+ * The most recently used DRL is kept in memory, bounded by its total length. DRL is also written to a directory
+ * alongside the index so it survives restarts and is shared by every branch containing the same spreadsheet; the
+ * least recently used files are deleted once the directory exceeds its maximum size. Without an index directory, or
+ * a directory of its own, DRL is only kept in memory.
+ * <p>
+ * Compiled DRL is held per version of the Decision Table compiler, as different versions may generate different DRL.
+ */
+@ApplicationScoped
+public class DecisionTableXLSDRLCache {
+
+    private static final Logger log = LoggerFactory.getLogger(DecisionTableXLSDRLCache.class);
+
+    public static final String MAX_WEIGHT_PROPERTY = "org.drools.workbench.screens.dtablexls.drl.cache.max-weight";
+
+    public static final String DIRECTORY_PROPERTY = "org.drools.workbench.screens.dtablexls.drl.cache.dir";
+
+    public static final String MAX_DISK_SIZE_PROPERTY = "org.drools.workbench.screens.dtablexls.drl.cache.max-disk-size";
+
+    static final long DEFAULT_MAX_WEIGHT = 32L * 1024L * 1024L;
+
+    static final long DEFAULT_MAX_DISK_SIZE = 256L * 1024L * 1024L;
+
+    private static final String INDEX_DIRECTORY_PROPERTY = "org.uberfire.metadata.index.dir";
+
+    private static final String DIRECTORY_NAME = ".dtable-xls-drl";
+
+    private File directory;
+
+    private long maxWeight;
+
+    private long maxDiskSize;
+
+    private long weight;
+
+    private final Map<String, String> entries = new LinkedHashMap<>(16,
+                                                                    0.75f,
+                                                                    true);
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    public DecisionTableXLSDRLCache() {
+        this(getDefaultDirectory(),
+             Long.getLong(MAX_WEIGHT_PROPERTY,
+                          DEFAULT_MAX_WEIGHT),
+             Long.getLong(MAX_DISK_SIZE_PROPERTY,
+                          DEFAULT_MAX_DISK_SIZE));
+    }
+
+    /**
+     * @param directory Directory to which DRL is written, or null if DRL is only to be kept in memory
+     * @param maxWeight Maximum total length of the DRL kept in memory
+     */
+    public DecisionTableXLSDRLCache(final File directory,
+                                    final long maxWeight) {
+        this(directory,
+             maxWeight,
+             DEFAULT_MAX_DISK_SIZE);
+    }
+
+    /**
+     * @param directory Directory to which DRL is written, or null if DRL is only to be kept in memory
+     * @param maxWeight Maximum total length of the DRL kept in memory
+     * @param maxDiskSize Maximum total size, in bytes, of the DRL files kept in the directory
+     */
+    public DecisionTableXLSDRLCache(final File directory,
+                                    final long maxWeight,
+                                    final long maxDiskSize) {
+        this.directory = directory;
+        this.maxWeight = maxWeight;
+        this.maxDiskSize = maxDiskSize;
+    }
+
+    /**
+     * Returns the DRL for an XLS or XLSX Decision Table, compiling it only if the same content has not been
+     * compiled before.
+     * @param inputStream Content of the Decision Table. The stream is read fully but not closed.
+     * @return The DRL
+     * @throws IOException if the content cannot be read
+     */
+    public String getDRL(final InputStream inputStream) throws IOException {
+        final byte[] content = IOUtils.toByteArray(inputStream);
+        final String key = hash(content);
+
+        synchronized (entries) {
+            final String drl = entries.get(key);
+            if (drl != null) {
+                hits.incrementAndGet();
+                return drl;
+            }
+        }
+
+        String drl = readFromDisk(key);
+        if (drl != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+            drl = new SpreadsheetCompiler().compile(new ByteArrayInputStream(content),
+                                                    InputType.XLS);
+            writeToDisk(key,
+                        drl);
+        }
+        put(key,
+            drl);
+        return drl;
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    private void put(final String key,
+                     final String drl) {
+        synchronized (entries) {
+            final String previous = entries.put(key,
+                                                drl);
+            if (previous != null) {
+                weight = weight - previous.length();
+            }
+            weight = weight + drl.length();
+            final Iterator<String> itr = entries.values().iterator();
+            while (weight > maxWeight && itr.hasNext()) {
+                weight = weight - itr.next().length();
+                itr.remove();
+            }
+        }
+    }
+
+    private String readFromDisk(final String key) {
+        if (directory == null) {
+            return null;
+        }
+        final File file = new File(directory,
+                                   key + ".drl");
+        if (!file.exists()) {
+            return null;
+        }
+        try {
+            final String drl = new String(Files.readAllBytes(file.toPath()),
+                                          StandardCharsets.UTF_8);
+            //The modification time orders files for eviction
+            if (!file.setLastModified(System.currentTimeMillis())) {
+                log.debug("Unable to touch cached DRL [" + file.getAbsolutePath() + "]");
+            }
+            return drl;
+        } catch (IOException e) {
+            log.warn("Unable to read cached DRL [" + file.getAbsolutePath() + "]: " + e.getMessage());
+            return null;
+        }
+    }
+
+    //Written to a temporary file first so a partially written file is never read
+    private void writeToDisk(final String key,
+                             final String drl) {
+        if (directory == null) {
+            return;
+        }
+        try {
+            Files.createDirectories(directory.toPath());
+            final File tempFile = File.createTempFile(key,
+                                                      ".tmp",
+                                                      directory);
+            Files.write(tempFile.toPath(),
+                        drl.getBytes(StandardCharsets.UTF_8));
+            Files.move(tempFile.toPath(),
+                       new File(directory,
+                                key + ".drl").toPath(),
+                       StandardCopyOption.REPLACE_EXISTING,
+                       StandardCopyOption.ATOMIC_MOVE);
+            evictFromDisk();
+        } catch (IOException e) {
+            log.warn("Unable to write cached DRL to [" + directory.getAbsolutePath() + "]: " + e.getMessage());
+        }
+    }
+
+    //Least recently used files are deleted first
+    private synchronized void evictFromDisk() {
+        final File[] files = directory.listFiles((dir, name) -> name.endsWith(".drl"));
+        if (files == null) {
+            return;
+        }
+        long size = 0;
+        for (File file : files) {
+            size = size + file.length();
+        }
+        if (size <= maxDiskSize) {
+            return;
+        }
+        Arrays.sort(files,
+                    Comparator.comparingLong(File::lastModified));
+        for (int i = 0; i < files.length && size > maxDiskSize; i++) {
+            final long length = files[i].length();
+            if (files[i].delete()) {
+                size = size - length;
+            } else {
+                log.warn("Unable to delete cached DRL [" + files[i].getAbsolutePath() + "]");
+            }
+        }
+    }
+
+    private static String hash(final byte[] content) {
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            final StringBuilder sb = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                sb.append(String.format("%02x",
+                                        b));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    //Null, so DRL is only kept in memory, unless a directory is set or an index directory is configured
+    static File getDefaultDirectory() {
+        final String directory = System.getProperty(DIRECTORY_PROPERTY);
+        final String indexDirectory = System.getProperty(INDEX_DIRECTORY_PROPERTY);
+        if (directory == null && indexDirectory == null) {
+            return null;
+        }
+        final File root = directory != null ? new File(directory) : new File(indexDirectory,
+                                                                             DIRECTORY_NAME);
+        final String compilerVersion = SpreadsheetCompiler.class.getPackage().getImplementationVersion();
+        return new File(root,
+                        compilerVersion == null ? "unknown" : compilerVersion);
+    }
+}
@@ -16,15 +16,19 @@
 
 package org.drools.workbench.screens.dtablexls.backend.server;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 
 import javax.inject.Inject;
 import javax.inject.Named;
+import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 
 import org.guvnor.common.services.backend.file.upload.AbstractFileServlet;
+import org.guvnor.common.services.shared.file.upload.FileManagerFields;
 import org.uberfire.backend.server.util.Paths;
 import org.uberfire.backend.vfs.Path;
 import org.uberfire.io.IOService;
@@ -43,6 +47,31 @@ public class DecisionTableXLSFileServlet extends AbstractFileServlet {
     @Inject
     private ExtendedDecisionTableXLSService decisionTableXLSService;
 
+    /**
+     * Downloads are sent here, rather than by AbstractFileServlet, to support conditional and range requests.
+     */
+    @Override
+    protected void doGet( final HttpServletRequest request,
+                          final HttpServletResponse response ) throws ServletException, IOException {
+        final String uri = request.getParameter( FileManagerFields.FORM_FIELD_PATH );
+        if ( uri == null ) {
+            super.doGet( request,
+                         response );
+            return;
+        }
+        try {
+            final Path path = convertPath( uri );
+            XLSFileDownload.download( ioService,
+                                      path,
+                                      request,
+                                      response,
+                                      () -> doLoad( path,
+                                                    request ) );
+        } catch ( URISyntaxException e ) {
+            throw new ServletException( e );
+        }
+    }
+
     @Override
     protected InputStream doLoad( final Path path,
                                   final HttpServletRequest request ) {
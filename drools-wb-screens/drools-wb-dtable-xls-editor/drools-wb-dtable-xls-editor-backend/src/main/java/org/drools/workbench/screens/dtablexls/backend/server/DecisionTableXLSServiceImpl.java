@@ -16,12 +16,15 @@
 
 package org.drools.workbench.screens.dtablexls.backend.server;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.Iterator;
 import java.util.List;
 
 import javax.enterprise.context.ApplicationScoped;
@@ -30,14 +33,22 @@ import javax.inject.Inject;
 import javax.inject.Named;
 
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.ProxyOutputStream;
+import org.apache.poi.hssf.eventusermodel.HSSFEventFactory;
+import org.apache.poi.hssf.eventusermodel.HSSFRequest;
+import org.apache.poi.hssf.record.BoundSheetRecord;
+import org.apache.poi.hssf.record.RowRecord;
 import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
-import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.ss.usermodel.WorkbookFactory;
-import org.drools.decisiontable.InputType;
-import org.drools.decisiontable.SpreadsheetCompiler;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.poifs.filesystem.FileMagic;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.apache.poi.util.SAXHelper;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
 import org.drools.template.parser.DecisionTableParseException;
 import org.drools.workbench.models.guided.dtable.shared.conversion.ConversionResult;
 import org.drools.workbench.screens.dtablexls.service.DecisionTableXLSContent;
+import org.drools.workbench.screens.dtablexls.service.DecisionTableXLSConversionProgress;
 import org.drools.workbench.screens.dtablexls.service.DecisionTableXLSConversionService;
 import org.drools.workbench.screens.dtablexls.service.DecisionTableXLSService;
 import org.guvnor.common.services.backend.config.SafeSessionInfo;
@@ -62,6 +73,11 @@ import org.uberfire.java.nio.file.StandardOpenOption;
 import org.uberfire.rpc.SessionInfo;
 import org.uberfire.rpc.impl.SessionInfoImpl;
 import org.uberfire.workbench.events.ResourceOpenedEvent;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
 
 @Service
 @ApplicationScoped
@@ -74,6 +90,12 @@ public class DecisionTableXLSServiceImpl
 
     private static final Logger log = LoggerFactory.getLogger( DecisionTableXLSServiceImpl.class );
 
+    public static final String MAX_UPLOAD_SIZE_PROPERTY = "org.drools.workbench.screens.dtablexls.max-upload-size";
+    public static final String MAX_ROWS_PROPERTY = "org.drools.workbench.screens.dtablexls.max-rows";
+
+    static final long DEFAULT_MAX_UPLOAD_SIZE = 100L * 1024L * 1024L;
+    static final int DEFAULT_MAX_ROWS = 1000000;
+
     private IOService ioService;
     private CopyService copyService;
     private DeleteService deleteService;
@@ -83,6 +105,10 @@ public class DecisionTableXLSServiceImpl
     private GenericValidator genericValidator;
     private CommentedOptionFactory commentedOptionFactory;
     private AuthenticationService authenticationService;
+    private DecisionTableXLSDRLCache drlCache;
+    private DecisionTableXLSConversionJobs conversionJobs;
+    private long maxUploadSize;
+    private int maxRows;
 
     public DecisionTableXLSServiceImpl() {
     }
@@ -96,7 +122,9 @@ public class DecisionTableXLSServiceImpl
                                         final DecisionTableXLSConversionService conversionService,
                                         final GenericValidator genericValidator,
                                         final CommentedOptionFactory commentedOptionFactory,
-                                        final AuthenticationService authenticationService ) {
+                                        final AuthenticationService authenticationService,
+                                        final DecisionTableXLSDRLCache drlCache,
+                                        final DecisionTableXLSConversionJobs conversionJobs ) {
         this.ioService = ioService;
         this.copyService = copyService;
         this.deleteService = deleteService;
@@ -106,6 +134,12 @@ public class DecisionTableXLSServiceImpl
         this.genericValidator = genericValidator;
         this.commentedOptionFactory = commentedOptionFactory;
         this.authenticationService = authenticationService;
+        this.drlCache = drlCache;
+        this.conversionJobs = conversionJobs;
+        this.maxUploadSize = Long.getLong( MAX_UPLOAD_SIZE_PROPERTY,
+                                           DEFAULT_MAX_UPLOAD_SIZE );
+        this.maxRows = Integer.getInteger( MAX_ROWS_PROPERTY,
+                                           DEFAULT_MAX_ROWS );
     }
 
     @Override
@@ -174,12 +208,15 @@ public class DecisionTableXLSServiceImpl
         }
         log.info( "USER:" + sessionInfo.getIdentity().getIdentifier() + " " + userAction + " asset [" + resource.getFileName() + "]" );
 
+        File tempFile = null;
         FileInputStream tempFIS = null;
-        FileOutputStream tempFOS = null;
+        OutputStream tempFOS = null;
         OutputStream outputStream = null;
         try {
-            File tempFile = File.createTempFile( "testxls", null );
-            tempFOS = new FileOutputStream( tempFile );
+            //The upload is spooled to disk, and not held in memory, so it can be validated before being written to the VFS
+            tempFile = File.createTempFile( "testxls", null );
+            tempFOS = new MaxSizeOutputStream( new BufferedOutputStream( new FileOutputStream( tempFile ) ),
+                                               maxUploadSize );
             IOUtils.copy( content, tempFOS );
             tempFOS.flush();
 
@@ -229,6 +266,9 @@ public class DecisionTableXLSServiceImpl
                     throw ExceptionUtilities.handleException( e );
                 }
             }
+            if ( tempFile != null && !tempFile.delete() ) {
+                log.warn( "Unable to delete temporary file [" + tempFile.getAbsolutePath() + "]" );
+            }
             if ( outputStream != null ) {
                 try {
                     outputStream.close();
@@ -239,10 +279,35 @@ public class DecisionTableXLSServiceImpl
         }
     }
 
+    /**
+     * Checks the file is a readable XLS or XLSX workbook, with at least one sheet and no more than the configured
+     * number of rows. The workbook is never loaded: XLSX sheets are parsed as SAX events and XLS files as records,
+     * so memory does not grow with the size of the file. A file that cannot be parsed to the end is damaged.
+     * @param tempFile The uploaded file
+     */
     void validate( final File tempFile ) {
-        Workbook workbook = null;
         try {
-            workbook = WorkbookFactory.create( tempFile );
+            final FileMagic fileMagic;
+            try ( InputStream is = new BufferedInputStream( new FileInputStream( tempFile ) ) ) {
+                fileMagic = FileMagic.valueOf( is );
+            }
+            final int[] counts;
+            if ( fileMagic == FileMagic.OOXML ) {
+                counts = countXLSXSheetsAndRows( tempFile );
+            } else if ( fileMagic == FileMagic.OLE2 ) {
+                counts = countXLSSheetsAndRows( tempFile );
+            } else {
+                throw new IOException( "Unsupported file format: " + fileMagic );
+            }
+            if ( counts[ 0 ] == 0 ) {
+                throw new DecisionTableParseException( "DecisionTableParseException: The workbook contains no sheets." );
+            }
+            if ( counts[ 1 ] > maxRows ) {
+                throw new DecisionTableParseException( "DecisionTableParseException: The workbook contains " + counts[ 1 ] + " rows, " +
+                                                               "exceeding the maximum of " + maxRows + "." );
+            }
+        } catch ( DecisionTableParseException e ) {
+            throw e;
         } catch ( InvalidFormatException e ) {
             throw new DecisionTableParseException( "DecisionTableParseException: An error occurred opening the workbook. It is possible that the encoding of the document did not match the encoding of the reader.",
                                                    e );
@@ -252,26 +317,64 @@ public class DecisionTableXLSServiceImpl
         } catch ( Throwable e ) {
             throw new DecisionTableParseException( "DecisionTableParseException: " + e.getMessage(),
                                                    e );
-        } finally {
-            if ( workbook != null ) {
-                try {
-                    workbook.close();
-                } catch ( IOException e ) {
-                    throw ExceptionUtilities.handleException( e );
+        }
+    }
+
+    //Number of sheets, and of rows, of an XLSX file
+    private int[] countXLSXSheetsAndRows( final File file ) throws Exception {
+        final OPCPackage pkg = OPCPackage.open( file,
+                                                PackageAccess.READ );
+        try {
+            final RowCountingHandler handler = new RowCountingHandler( maxRows );
+            final XSSFReader reader = new XSSFReader( pkg );
+            final Iterator<InputStream> sheets = reader.getSheetsData();
+            int sheetCount = 0;
+            while ( sheets.hasNext() ) {
+                try ( InputStream sheet = sheets.next() ) {
+                    sheetCount++;
+                    final XMLReader parser = SAXHelper.newXMLReader();
+                    parser.setContentHandler( handler );
+                    parser.parse( new InputSource( sheet ) );
                 }
             }
+            return new int[]{ sheetCount, handler.rowCount };
+        } finally {
+            //Closing a package opened for reading would attempt to save it
+            pkg.revert();
+        }
+    }
+
+    //Number of sheets, and of rows, of an XLS file
+    private int[] countXLSSheetsAndRows( final File file ) throws IOException {
+        final int[] counts = new int[ 2 ];
+        try ( POIFSFileSystem fs = new POIFSFileSystem( file,
+                                                        true ) ) {
+            final HSSFRequest request = new HSSFRequest();
+            request.addListener( ( record ) -> counts[ 0 ]++,
+                                 BoundSheetRecord.sid );
+            request.addListener( ( record ) -> counts[ 1 ]++,
+                                 RowRecord.sid );
+            new HSSFEventFactory().processWorkbookEvents( request,
+                                                          fs.getRoot() );
         }
+        return counts;
+    }
+
+    void setMaxUploadSize( final long maxUploadSize ) {
+        this.maxUploadSize = maxUploadSize;
+    }
+
+    void setMaxRows( final int maxRows ) {
+        this.maxRows = maxRows;
     }
 
     @Override
     public String getSource( final Path path ) {
         InputStream inputStream = null;
         try {
-            final SpreadsheetCompiler compiler = new SpreadsheetCompiler();
             inputStream = ioService.newInputStream( Paths.convert( path ),
                                                     StandardOpenOption.READ );
-            final String drl = compiler.compile( inputStream,
-                                                 InputType.XLS );
+            final String drl = drlCache.getDRL( inputStream );
             return drl;
         } catch ( Exception e ) {
             throw new SourceGenerationFailedException( e.getMessage() );
@@ -348,6 +451,33 @@ public class DecisionTableXLSServiceImpl
         }
     }
 
+    @Override
+    public String startConversion( final Path path ) {
+        try {
+            return conversionJobs.start( path );
+        } catch ( Exception e ) {
+            throw ExceptionUtilities.handleException( e );
+        }
+    }
+
+    @Override
+    public DecisionTableXLSConversionProgress getConversionProgress( final String jobId ) {
+        try {
+            return conversionJobs.getProgress( jobId );
+        } catch ( Exception e ) {
+            throw ExceptionUtilities.handleException( e );
+        }
+    }
+
+    @Override
+    public void cancelConversion( final String jobId ) {
+        try {
+            conversionJobs.cancel( jobId );
+        } catch ( Exception e ) {
+            throw ExceptionUtilities.handleException( e );
+        }
+    }
+
     @Override
     public List<ValidationMessage> validate( final Path path,
                                              final Path resource ) {
@@ -364,4 +494,47 @@ public class DecisionTableXLSServiceImpl
                                                          authenticationService.getUser() ) );
     }
 
+    private static class MaxSizeOutputStream extends ProxyOutputStream {
+
+        private final long maxSize;
+        private long size;
+
+        private MaxSizeOutputStream( final OutputStream out,
+                                     final long maxSize ) {
+            super( out );
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected void beforeWrite( final int n ) throws IOException {
+            size = size + n;
+            if ( size > maxSize ) {
+                throw new DecisionTableParseException( "DecisionTableParseException: The file exceeds the maximum upload size of " + maxSize + " bytes." );
+            }
+        }
+    }
+
+    private static class RowCountingHandler extends DefaultHandler {
+
+        private final int maxRows;
+        private int rowCount;
+
+        private RowCountingHandler( final int maxRows ) {
+            this.maxRows = maxRows;
+        }
+
+        @Override
+        public void startElement( final String uri,
+                                  final String localName,
+                                  final String qName,
+                                  final Attributes attributes ) throws SAXException {
+            if ( "row".equals( localName ) ) {
+                rowCount++;
+                //No need to read any further
+                if ( rowCount > maxRows ) {
+                    throw new DecisionTableParseException( "DecisionTableParseException: The workbook contains more than the maximum of " + maxRows + " rows." );
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,259 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.dtablexls.backend.server;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
+import java.util.function.Supplier;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.uberfire.backend.server.util.Paths;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.io.IOService;
+import org.uberfire.java.nio.base.version.VersionAttributes;
+import org.uberfire.java.nio.base.version.VersionRecord;
+import org.uberfire.java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * Sends a spreadsheet held in the VFS in response to a GET, honouring conditional requests and single byte ranges.
+ * The ETag of a file is the identifier of the last commit that changed it. The content is streamed, and transferred
+ * between channels when the VFS provides the file from disk. Used by the servlets of both the XLS Decision Table and
+ * the XLS Score Card editors.
+ */
+public class XLSFileDownload {
+
+    private static final Logger log = LoggerFactory.getLogger(XLSFileDownload.class);
+
+    private static final String BYTES_UNIT = "bytes=";
+
+    private XLSFileDownload() {
+    }
+
+    /**
+     * @param ioService IOService holding the file
+     * @param path File to send
+     * @param loader Opens the content of the file. It is only called when content is to be sent.
+     */
+    public static void download(final IOService ioService,
+                                final Path path,
+                                final HttpServletRequest request,
+                                final HttpServletResponse response,
+                                final Supplier<InputStream> loader) throws IOException {
+        final org.uberfire.java.nio.file.Path nioPath = Paths.convert(path);
+        final BasicFileAttributes attributes = readAttributes(ioService,
+                                                              nioPath);
+        final String eTag = getETag(attributes);
+        final long lastModified = attributes.lastModifiedTime() == null ? -1 : attributes.lastModifiedTime().toMillis();
+        final long size = attributes.size();
+
+        if (eTag != null) {
+            response.setHeader("ETag",
+                               eTag);
+        }
+        if (lastModified >= 0) {
+            response.setDateHeader("Last-Modified",
+                                   lastModified);
+        }
+        response.setHeader("Accept-Ranges",
+                           "bytes");
+
+        if (isNotModified(request,
+                          eTag,
+                          lastModified)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        response.setContentType("application/x-download");
+        response.setHeader("Content-Disposition",
+                           "attachment; filename=" + path.getFileName() + ";");
+
+        long start = 0;
+        long length = size;
+        final long[] range = getRange(request,
+                                      eTag,
+                                      size);
+        if (range != null) {
+            if (range.length == 0) {
+                response.setHeader("Content-Range",
+                                   "bytes */" + size);
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            start = range[0];
+            length = range[1] - range[0] + 1;
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader("Content-Range",
+                               "bytes " + range[0] + "-" + range[1] + "/" + size);
+        }
+        response.setHeader("Content-Length",
+                           Long.toString(length));
+
+        try (InputStream in = loader.get()) {
+            transfer(in,
+                     response.getOutputStream(),
+                     start,
+                     length);
+        }
+    }
+
+    private static BasicFileAttributes readAttributes(final IOService ioService,
+                                                      final org.uberfire.java.nio.file.Path nioPath) {
+        try {
+            return ioService.readAttributes(nioPath,
+                                            VersionAttributes.class);
+        } catch (Exception e) {
+            //File system is not versioned
+            log.debug("Unable to read version of [" + nioPath.toUri() + "]: " + e.getMessage());
+            return ioService.readAttributes(nioPath,
+                                            BasicFileAttributes.class);
+        }
+    }
+
+    private static String getETag(final BasicFileAttributes attributes) {
+        if (!(attributes instanceof VersionAttributes)) {
+            return null;
+        }
+        final List<VersionRecord> records = ((VersionAttributes) attributes).history().records();
+        if (records == null || records.isEmpty()) {
+            return null;
+        }
+        return "\"" + records.get(records.size() - 1).id() + "\"";
+    }
+
+    static boolean isNotModified(final HttpServletRequest request,
+                                 final String eTag,
+                                 final long lastModified) {
+        final String ifNoneMatch = request.getHeader("If-None-Match");
+        if (ifNoneMatch != null) {
+            if (eTag == null) {
+                return false;
+            }
+            for (String candidate : ifNoneMatch.split(",")) {
+                final String value = candidate.trim();
+                if (value.equals("*") || value.equals(eTag) || value.equals("W/" + eTag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        if (lastModified < 0) {
+            return false;
+        }
+        final long ifModifiedSince;
+        try {
+            ifModifiedSince = request.getDateHeader("If-Modified-Since");
+        } catch (IllegalArgumentException iae) {
+            return false;
+        }
+        //HTTP dates have a precision of one second
+        return ifModifiedSince >= 0 && lastModified / 1000 <= ifModifiedSince / 1000;
+    }
+
+    /**
+     * @return null if the whole file is to be sent, an empty array if the range cannot be satisfied or the first
+     * and last (inclusive) bytes to be sent.
+     */
+    static long[] getRange(final HttpServletRequest request,
+                           final String eTag,
+                           final long size) {
+        final String range = request.getHeader("Range");
+        if (range == null || !range.startsWith(BYTES_UNIT)) {
+            return null;
+        }
+        //A range of a different version of the file is of no use; send all of this one
+        final String ifRange = request.getHeader("If-Range");
+        if (ifRange != null && !ifRange.trim().equals(eTag)) {
+            return null;
+        }
+        final String spec = range.substring(BYTES_UNIT.length()).trim();
+        //Multiple ranges are not supported; send the whole file
+        if (spec.contains(",")) {
+            return null;
+        }
+        final int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        try {
+            final String first = spec.substring(0,
+                                                dash).trim();
+            final String last = spec.substring(dash + 1).trim();
+            final long start;
+            final long end;
+            if (first.isEmpty()) {
+                //Suffix range; the last N bytes
+                final long suffixLength = Long.parseLong(last);
+                if (suffixLength <= 0) {
+                    return new long[0];
+                }
+                start = Math.max(0,
+                                 size - suffixLength);
+                end = size - 1;
+            } else {
+                start = Long.parseLong(first);
+                end = last.isEmpty() ? size - 1 : Math.min(Long.parseLong(last),
+                                                           size - 1);
+            }
+            if (start >= size || start > end) {
+                return new long[0];
+            }
+            return new long[]{start, end};
+        } catch (NumberFormatException nfe) {
+            return null;
+        }
+    }
+
+    private static void transfer(final InputStream in,
+                                 final OutputStream out,
+                                 final long start,
+                                 final long length) throws IOException {
+        if (in instanceof FileInputStream) {
+            final FileChannel channel = ((FileInputStream) in).getChannel();
+            final WritableByteChannel target = Channels.newChannel(out);
+            long position = start;
+            long remaining = length;
+            while (remaining > 0) {
+                final long transferred = channel.transferTo(position,
+                                                            remaining,
+                                                            target);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+                remaining -= transferred;
+            }
+        } else {
+            IOUtils.copyLarge(in,
+                              out,
+                              start,
+                              length);
+        }
+        out.flush();
+    }
+}
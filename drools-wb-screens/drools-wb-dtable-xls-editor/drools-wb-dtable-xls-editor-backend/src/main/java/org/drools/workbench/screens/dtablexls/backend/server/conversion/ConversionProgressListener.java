@@ -0,0 +1,69 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.dtablexls.backend.server.conversion;
+
+import java.util.concurrent.CancellationException;
+
+import org.drools.template.parser.DataListener;
+import org.drools.workbench.screens.dtablexls.service.DecisionTableXLSConversionMonitor;
+
+/**
+ * Reports the sheets and rows seen by ExcelParser to a {@link DecisionTableXLSConversionMonitor}, stopping the parse
+ * when the conversion has been cancelled. It must precede the listeners doing the conversion.
+ */
+public class ConversionProgressListener implements DataListener {
+
+    private final DecisionTableXLSConversionMonitor monitor;
+
+    private int rowCount;
+
+    public ConversionProgressListener(final DecisionTableXLSConversionMonitor monitor) {
+        this.monitor = monitor;
+    }
+
+    @Override
+    public void startSheet(final String name) {
+        assertNotCancelled();
+        rowCount = 0;
+        monitor.onSheet(name);
+    }
+
+    @Override
+    public void finishSheet() {
+    }
+
+    @Override
+    public void newRow(final int rowNumber,
+                       final int columns) {
+        assertNotCancelled();
+        rowCount++;
+        monitor.onRow(rowCount);
+    }
+
+    @Override
+    public void newCell(final int row,
+                        final int column,
+                        final String value,
+                        final int mergedColStart) {
+    }
+
+    private void assertNotCancelled() {
+        if (monitor.isCancelled()) {
+            throw new CancellationException();
+        }
+    }
+}
@@ -127,7 +127,10 @@ public class DTCellValueUtilities {
                 Date d = null;
                 try {
                     if (!(text == null || text.isEmpty())) {
-                        d = FORMATTER.parse(stripQuotes(text));
+                        //SimpleDateFormat is not thread-safe and Decision Tables can be populated concurrently
+                        synchronized (FORMATTER) {
+                            d = FORMATTER.parse(stripQuotes(text));
+                        }
                     }
                 } catch (ParseException e) {
                     callback.onConversionError(text,
@@ -22,8 +22,12 @@ import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -38,6 +42,8 @@ import org.drools.workbench.models.guided.dtable.shared.conversion.ConversionRes
 import org.drools.workbench.models.guided.dtable.shared.model.GuidedDecisionTable52;
 import org.drools.workbench.screens.drltext.service.DRLTextEditorService;
 import org.drools.workbench.screens.drltext.type.DRLResourceTypeDefinition;
+import org.drools.workbench.screens.dtablexls.service.DecisionTableXLSConversionMonitor;
+import org.drools.workbench.screens.dtablexls.service.DecisionTableXLSConversionResult;
 import org.drools.workbench.screens.dtablexls.service.DecisionTableXLSConversionService;
 import org.drools.workbench.screens.dtablexls.type.DecisionTableXLSResourceTypeDefinition;
 import org.drools.workbench.screens.dtablexls.type.DecisionTableXLSXResourceTypeDefinition;
@@ -84,6 +90,8 @@ import org.uberfire.workbench.type.ResourceTypeDefinition;
 @ApplicationScoped
 public class DecisionTableXLSToDecisionTableGuidedConverter implements DecisionTableXLSConversionService {
 
+    public static final String THREADS_PROPERTY = "org.drools.workbench.screens.dtablexls.conversion.threads";
+
     private IOService ioService;
     private DRLTextEditorService drlService;
     private GuidedDecisionTableEditorService guidedDecisionTableService;
@@ -102,6 +110,8 @@ public class DecisionTableXLSToDecisionTableGuidedConverter implements DecisionT
 
     private Map<String, AnnotationDefinition> annotationDefinitions;
 
+    private ExecutorService executor;
+
     public DecisionTableXLSToDecisionTableGuidedConverter() {
         //Zero-parameter constructor for CDI proxy
     }
@@ -137,6 +147,14 @@ public class DecisionTableXLSToDecisionTableGuidedConverter implements DecisionT
         this.guidedDTableType = guidedDTableType;
         this.drlType = drlType;
         this.globalsType = globalsType;
+        this.executor = Executors.newFixedThreadPool(Integer.getInteger(THREADS_PROPERTY,
+                                                                        Runtime.getRuntime().availableProcessors()),
+                                                     (runnable) -> {
+                                                         final Thread thread = new Thread(runnable,
+                                                                                          "xls-conversion");
+                                                         thread.setDaemon(true);
+                                                         return thread;
+                                                     });
     }
 
     @PostConstruct
@@ -153,10 +171,24 @@ public class DecisionTableXLSToDecisionTableGuidedConverter implements DecisionT
         ApplicationPreferences.setUp(appConfigService.loadPreferences());
     }
 
+    @PreDestroy
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
     @Override
     public ConversionResult convert(final Path path) {
+        return convert(path,
+                       DecisionTableXLSConversionMonitor.NONE);
+    }
 
-        ConversionResult result = new ConversionResult();
+    @Override
+    public ConversionResult convert(final Path path,
+                                    final DecisionTableXLSConversionMonitor monitor) {
+
+        DecisionTableXLSConversionResult result = new DecisionTableXLSConversionResult();
 
         //Check Asset is of the correct format
         if (!(xlsDTableType.accept(path) || xlsxDTableType.accept(path))) {
@@ -167,50 +199,76 @@ public class DecisionTableXLSToDecisionTableGuidedConverter implements DecisionT
 
         final PackageDataModelOracle dmo = dataModelService.getDataModel(path);
 
-        //Perform conversion!
+        //Perform conversion! RuleTables are populated in parallel with parsing the rest of the workbook
+        long start = System.currentTimeMillis();
         final GuidedDecisionTableGeneratorListener listener = parseAssets(path,
                                                                           result,
-                                                                          dmo);
+                                                                          dmo,
+                                                                          monitor);
+        final List<GuidedDecisionTable52> dtables = listener.getGuidedDecisionTables(monitor::isCancelled);
+        result.addPhaseTiming(DecisionTableXLSConversionResult.PHASE_PARSE,
+                              System.currentTimeMillis() - start);
+        result.addPhaseTiming(DecisionTableXLSConversionResult.PHASE_POPULATE,
+                              listener.getPopulationTime());
+
+        //Last chance to cancel; assets are either all created or none are
+        if (monitor.isCancelled()) {
+            throw new CancellationException();
+        }
 
         //Root path for new resources is the same folder as the XLS file
-        final Path context = Paths.convert(Paths.convert(path).getParent());
-
-        //Add Ancillary resources
-        createNewImports(context,
-                         listener.getImports(),
-                         result);
-        createNewFunctions(context,
-                           listener.getImports(),
-                           listener.getFunctions(),
-                           result);
-        createNewQueries(context,
-                         listener.getImports(),
-                         listener.getQueries(),
-                         result);
-        makeNewJavaTypes(context,
-                         listener.getTypeDeclarations(),
-                         result);
-        createNewGlobals(context,
-                         listener.getImports(),
-                         listener.getGlobals(),
-                         result);
-
-        //Add Web Guided Decision Tables
-        createNewDecisionTables(context,
-                                listener.getImports(),
-                                listener.getGuidedDecisionTables(),
-                                result);
+        final org.uberfire.java.nio.file.Path nioPath = Paths.convert(path);
+        final Path context = Paths.convert(nioPath.getParent());
+
+        //All new resources are written in a single commit
+        start = System.currentTimeMillis();
+        try {
+            ioService.startBatch(nioPath.getFileSystem());
+
+            //Add Ancillary resources
+            createNewImports(context,
+                             listener.getImports(),
+                             result);
+            createNewFunctions(context,
+                               listener.getImports(),
+                               listener.getFunctions(),
+                               result);
+            createNewQueries(context,
+                             listener.getImports(),
+                             listener.getQueries(),
+                             result);
+            makeNewJavaTypes(context,
+                             listener.getTypeDeclarations(),
+                             result);
+            createNewGlobals(context,
+                             listener.getImports(),
+                             listener.getGlobals(),
+                             result);
+
+            //Add Web Guided Decision Tables
+            createNewDecisionTables(context,
+                                    listener.getImports(),
+                                    dtables,
+                                    result);
+        } finally {
+            ioService.endBatch();
+        }
+        result.addPhaseTiming(DecisionTableXLSConversionResult.PHASE_CREATE,
+                              System.currentTimeMillis() - start);
 
         return result;
     }
 
     private GuidedDecisionTableGeneratorListener parseAssets(final Path path,
                                                              final ConversionResult result,
-                                                             final PackageDataModelOracle dmo) {
+                                                             final PackageDataModelOracle dmo,
+                                                             final DecisionTableXLSConversionMonitor monitor) {
 
         final List<DataListener> listeners = new ArrayList<DataListener>();
+        listeners.add(new ConversionProgressListener(monitor));
         final GuidedDecisionTableGeneratorListener listener = new GuidedDecisionTableGeneratorListener(result,
-                                                                                                       dmo);
+                                                                                                       dmo,
+                                                                                                       executor);
         listeners.add(listener);
 
         final ExcelParser parser = new ExcelParser(listeners);
@@ -218,6 +276,10 @@ public class DecisionTableXLSToDecisionTableGuidedConverter implements DecisionT
 
         try {
             parser.parseFile(stream);
+        } catch (RuntimeException e) {
+            //Decision Tables of RuleTables parsed before the failure, or cancellation, are not needed
+            listener.cancelPopulations();
+            throw e;
         } finally {
             try {
                 stream.close();
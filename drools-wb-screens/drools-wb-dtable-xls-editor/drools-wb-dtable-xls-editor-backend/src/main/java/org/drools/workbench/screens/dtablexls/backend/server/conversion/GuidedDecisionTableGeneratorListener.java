@@ -16,9 +16,18 @@
 package org.drools.workbench.screens.dtablexls.backend.server.conversion;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
 
 import org.drools.decisiontable.parser.ActionType;
 import org.drools.decisiontable.parser.ActionType.Code;
@@ -31,6 +40,7 @@ import org.drools.decisiontable.parser.xls.PropertiesSheetListener.CaseInsensiti
 import org.drools.template.model.Global;
 import org.drools.template.model.Import;
 import org.drools.template.model.Package;
+import org.drools.workbench.models.guided.dtable.shared.conversion.ConversionMessage;
 import org.drools.workbench.models.guided.dtable.shared.conversion.ConversionMessageType;
 import org.drools.workbench.models.guided.dtable.shared.conversion.ConversionResult;
 import org.drools.workbench.models.guided.dtable.shared.model.GuidedDecisionTable52;
@@ -77,8 +87,8 @@ public class GuidedDecisionTableGeneratorListener
     //Description column must always be at position 1
     private static final int DESCRIPTION_COLUMN_INDEX = 1;
 
-    private static GuidedDecisionTableSourceBuilder ROW_NUMBER_BUILDER = new RowNumberBuilder();
-    private static GuidedDecisionTableSourceBuilder DEFAULT_DESCRIPTION_BUILDER = new DefaultDescriptionBuilder();
+    //How often cancellation is checked whilst waiting for Decision Tables to be populated
+    private static final long CANCELLATION_CHECK_MILLIS = 100;
 
     //State machine variables for this parser
     private boolean _isInRuleTable = false;
@@ -90,16 +100,27 @@ public class GuidedDecisionTableGeneratorListener
     private boolean _currentEscapeQuotesFlag = true;   // indicates that we are escaping quotes
     private GuidedDecisionTable52 _dtable;
     private boolean _isNewDataRow = false;
+    private GuidedDecisionTableSourceBuilder _rowNumberBuilder = new RowNumberBuilder();
+    private GuidedDecisionTableSourceBuilder _defaultDescriptionBuilder = new DefaultDescriptionBuilder();
 
     //Accumulated output
     private Map<Integer, ActionType> _actions;
+    private ActionType[] _columnActions;
     private final List<GuidedDecisionTable52> _dtables = new ArrayList<GuidedDecisionTable52>();
     private List<GuidedDecisionTableSourceBuilder> _sourceBuilders;
 
+    //Builders, and ValueBuilders of Indirect builders, that need padding when ExcelParser skips "null" cells.
+    //These only change whilst parsing the RuleTable header rows and are reindexed when they may have changed.
+    private List<GuidedDecisionTableSourceBuilderDirect> _paddedDirectBuilders;
+    private List<ParameterizedValueBuilder> _paddedValueBuilders;
+    private boolean _isPaddedBuildersChanged = true;
+
     //RuleSet wide configuration
     private final PropertiesSheetListener _propertiesListener = new PropertiesSheetListener();
 
-    //Results of conversion
+    //Results of conversion. When Decision Tables are populated asynchronously the results of each RuleTable are
+    //collected separately and added to the root results once the Decision Table has been populated
+    private final ConversionResult _rootConversionResult;
     private ConversionResult _conversionResult;
 
     //DataModelOracle used for type-identification
@@ -107,10 +128,28 @@ public class GuidedDecisionTableGeneratorListener
 
     private ParameterUtilities _parameterUtilities;
 
+    //Decision Tables are populated on this, if provided, once their RuleTable has been parsed
+    private final ExecutorService _executor;
+    private final List<Future<?>> _populations = new ArrayList<Future<?>>();
+    private final List<ConversionResult> _populationConversionResults = new ArrayList<ConversionResult>();
+
+    //Time spent populating Decision Tables, summed over every RuleTable whichever thread populated it
+    private final AtomicLong _populationNanos = new AtomicLong();
+
     public GuidedDecisionTableGeneratorListener(final ConversionResult conversionResult,
                                                 final PackageDataModelOracle _dmo) {
+        this(conversionResult,
+             _dmo,
+             null);
+    }
+
+    public GuidedDecisionTableGeneratorListener(final ConversionResult conversionResult,
+                                                final PackageDataModelOracle _dmo,
+                                                final ExecutorService executor) {
+        this._rootConversionResult = conversionResult;
         this._conversionResult = conversionResult;
         this._dmo = _dmo;
+        this._executor = executor;
     }
 
     public CaseInsensitiveMap getProperties() {
@@ -141,10 +180,76 @@ public class GuidedDecisionTableGeneratorListener
         return getProperties().getProperty(DefaultRuleSheetListener.DECLARES_TAG);
     }
 
+    /**
+     * Returns the Decision Tables converted from the RuleTables, waiting for any still being populated.
+     * @return The Decision Tables, in the order of their RuleTables
+     */
     public List<GuidedDecisionTable52> getGuidedDecisionTables() {
+        return getGuidedDecisionTables(() -> false);
+    }
+
+    /**
+     * Returns the Decision Tables converted from the RuleTables, waiting for any still being populated.
+     * @param isCancelled Checked whilst waiting; Decision Tables still being populated once cancelled are abandoned
+     * @return The Decision Tables, in the order of their RuleTables
+     * @throws CancellationException if cancelled whilst waiting
+     */
+    public List<GuidedDecisionTable52> getGuidedDecisionTables(final BooleanSupplier isCancelled) {
+        awaitPopulations(isCancelled);
         return _dtables;
     }
 
+    /**
+     * Abandons Decision Tables still being populated, for example when parsing fails or has been cancelled. Queued
+     * populations do not start.
+     */
+    public void cancelPopulations() {
+        for (Future<?> population : _populations) {
+            population.cancel(true);
+        }
+        _populations.clear();
+        _populationConversionResults.clear();
+    }
+
+    private void awaitPopulations(final BooleanSupplier isCancelled) {
+        try {
+            for (int i = 0; i < _populations.size(); i++) {
+                awaitPopulation(_populations.get(i),
+                                isCancelled);
+                for (ConversionMessage message : _populationConversionResults.get(i).getMessages()) {
+                    _rootConversionResult.addMessage(message.getMessage(),
+                                                     message.getMessageType());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            cancelPopulations();
+        }
+    }
+
+    private void awaitPopulation(final Future<?> population,
+                                 final BooleanSupplier isCancelled) throws InterruptedException, ExecutionException {
+        while (true) {
+            if (isCancelled.getAsBoolean()) {
+                throw new CancellationException();
+            }
+            try {
+                population.get(CANCELLATION_CHECK_MILLIS,
+                               TimeUnit.MILLISECONDS);
+                return;
+            } catch (TimeoutException te) {
+                //Check for cancellation again
+            }
+        }
+    }
+
     public void startSheet(final String name) {
     }
 
@@ -165,38 +270,46 @@ public class GuidedDecisionTableGeneratorListener
         // ExcelParser skips "null" cells retrieved from Apache POI therefore ensure when a
         // new row is created the GuidedDecisionTableSourceBuilders contain sufficient row data
         if (_sourceBuilders != null) {
+            if (_isPaddedBuildersChanged) {
+                indexPaddedBuilders();
+            }
             final int rowCount = getRowCount();
             final int columnCount = _sourceBuilders.size();
-            for (GuidedDecisionTableSourceBuilder sb : _sourceBuilders) {
-                if (sb instanceof GuidedDecisionTableSourceBuilderDirect) {
-                    final GuidedDecisionTableSourceBuilderDirect sbd = (GuidedDecisionTableSourceBuilderDirect) sb;
-                    if (sbd.getRowCount() < rowCount) {
-                        sbd.addCellValue(rowCount,
-                                         columnCount,
-                                         "");
-                    }
-                } else if (sb instanceof GuidedDecisionTableSourceBuilderIndirect) {
-                    final GuidedDecisionTableSourceBuilderIndirect sbi = (GuidedDecisionTableSourceBuilderIndirect) sb;
-                    for (ParameterizedValueBuilder pvb : sbi.getValueBuilders().values()) {
-                        if (pvb.getColumnData().size() < rowCount) {
-                            pvb.addCellValue(rowCount,
-                                             columnCount,
-                                             "");
-                        }
-                    }
+            for (int i = 0; i < _paddedDirectBuilders.size(); i++) {
+                final GuidedDecisionTableSourceBuilderDirect sbd = _paddedDirectBuilders.get(i);
+                if (sbd.getRowCount() < rowCount) {
+                    sbd.addCellValue(rowCount,
+                                     columnCount,
+                                     "");
+                }
+            }
+            for (int i = 0; i < _paddedValueBuilders.size(); i++) {
+                final ParameterizedValueBuilder pvb = _paddedValueBuilders.get(i);
+                if (pvb.getColumnData().size() < rowCount) {
+                    pvb.addCellValue(rowCount,
+                                     columnCount,
+                                     "");
                 }
             }
         }
     }
 
-    private int getRowCount() {
-        //RowNumberBuilder always contains the correct number of actual rules
+    private void indexPaddedBuilders() {
+        _paddedDirectBuilders = new ArrayList<GuidedDecisionTableSourceBuilderDirect>();
+        _paddedValueBuilders = new ArrayList<ParameterizedValueBuilder>();
         for (GuidedDecisionTableSourceBuilder sb : _sourceBuilders) {
-            if (sb instanceof RowNumberBuilder) {
-                return sb.getRowCount();
+            if (sb instanceof GuidedDecisionTableSourceBuilderDirect) {
+                _paddedDirectBuilders.add((GuidedDecisionTableSourceBuilderDirect) sb);
+            } else if (sb instanceof GuidedDecisionTableSourceBuilderIndirect) {
+                _paddedValueBuilders.addAll(((GuidedDecisionTableSourceBuilderIndirect) sb).getValueBuilders().values());
             }
         }
-        return 0;
+        _isPaddedBuildersChanged = false;
+    }
+
+    private int getRowCount() {
+        //RowNumberBuilder always contains the correct number of actual rules
+        return _rowNumberBuilder.getRowCount();
     }
 
     public void newCell(final int row,
@@ -233,6 +346,7 @@ public class GuidedDecisionTableGeneratorListener
                          value);
         this._isInRuleTable = true;
         this._actions = new HashMap<Integer, ActionType>();
+        this._columnActions = new ActionType[0];
         this._ruleStartColumn = column;
         this._ruleEndColumn = column;
         this._ruleStartRow = row;
@@ -250,12 +364,16 @@ public class GuidedDecisionTableGeneratorListener
         this._dtable.setTableName(RuleSheetParserUtil.getRuleName(value));
         this._dtable.setPackageName(_dmo.getPackageName());
         this._sourceBuilders = new ArrayList<GuidedDecisionTableSourceBuilder>();
-        ROW_NUMBER_BUILDER.clearValues();
-        DEFAULT_DESCRIPTION_BUILDER.clearValues();
+        this._rowNumberBuilder = new RowNumberBuilder();
+        this._defaultDescriptionBuilder = new DefaultDescriptionBuilder();
         this._sourceBuilders.add(ROW_NUMBER_COLUMN_INDEX,
-                                 ROW_NUMBER_BUILDER);
+                                 _rowNumberBuilder);
         this._sourceBuilders.add(DESCRIPTION_COLUMN_INDEX,
-                                 DEFAULT_DESCRIPTION_BUILDER);
+                                 _defaultDescriptionBuilder);
+        this._isPaddedBuildersChanged = true;
+        if (_executor != null) {
+            this._conversionResult = new ConversionResult();
+        }
 
         postInitRuleTable(row,
                           column,
@@ -265,8 +383,17 @@ public class GuidedDecisionTableGeneratorListener
     private void finishRuleTable() {
         if (this._isInRuleTable) {
             assertValueBuildersRowData();
-            populateDecisionTable();
+            if (_executor == null) {
+                populateDecisionTable();
+            } else {
+                final GuidedDecisionTablePopulater populater = makePopulater();
+                _populations.add(_executor.submit(() -> populate(populater)));
+                _populationConversionResults.add(this._conversionResult);
+                this._conversionResult = _rootConversionResult;
+            }
             this._dtables.add(this._dtable);
+            //Builders belong to the populater once the RuleTable has been parsed; rows that follow are not padded
+            this._sourceBuilders = null;
             this._currentSequentialFlag = false;
             this._isInRuleTable = false;
             this._isNewDataRow = false;
@@ -274,13 +401,26 @@ public class GuidedDecisionTableGeneratorListener
     }
 
     private void populateDecisionTable() {
-        final GuidedDecisionTablePopulater populator = new GuidedDecisionTablePopulater(_dtable,
-                                                                                        _sourceBuilders,
-                                                                                        _conversionResult,
-                                                                                        _dmo,
-                                                                                        _ruleStartRow + LABEL_ROW + 1,
-                                                                                        _ruleStartColumn);
-        populator.populate();
+        final GuidedDecisionTablePopulater populator = makePopulater();
+        populate(populator);
+    }
+
+    private void populate(final GuidedDecisionTablePopulater populater) {
+        final long start = System.nanoTime();
+        try {
+            populater.populate();
+        } finally {
+            _populationNanos.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    private GuidedDecisionTablePopulater makePopulater() {
+        return new GuidedDecisionTablePopulater(_dtable,
+                                                _sourceBuilders,
+                                                _conversionResult,
+                                                _dmo,
+                                                _ruleStartRow + LABEL_ROW + 1,
+                                                _ruleStartColumn);
     }
 
     /**
@@ -348,9 +488,9 @@ public class GuidedDecisionTableGeneratorListener
             if (row - this._ruleStartRow > LABEL_ROW &&
                     (column + 1) == this._ruleStartColumn &&
                     row - this._ruleRow < 2) {
-                DEFAULT_DESCRIPTION_BUILDER.addCellValue(row,
-                                                         1,
-                                                         trimVal);
+                _defaultDescriptionBuilder.addCellValue(row,
+                                                        1,
+                                                        trimVal);
             }
             return;
         }
@@ -360,7 +500,13 @@ public class GuidedDecisionTableGeneratorListener
             return;
         }
 
-        switch (row - this._ruleStartRow) {
+        final int headerRow = row - this._ruleStartRow;
+        if (headerRow <= CODE_ROW) {
+            //Builders are only added, or given templates, by the header rows
+            this._isPaddedBuildersChanged = true;
+        }
+
+        switch (headerRow) {
             case ACTION_ROW:
                 //CONDITION, ACTION, ATTRIBUTE etc...
                 doActionTypeCell(row,
@@ -393,9 +539,9 @@ public class GuidedDecisionTableGeneratorListener
             default:
                 if (this._isNewDataRow) {
                     this._isNewDataRow = false;
-                    ROW_NUMBER_BUILDER.addCellValue(row,
-                                                    0,
-                                                    "");
+                    _rowNumberBuilder.addCellValue(row,
+                                                   0,
+                                                   "");
                 }
                 doDataCell(row,
                            column,
@@ -413,6 +559,7 @@ public class GuidedDecisionTableGeneratorListener
                                     trimVal,
                                     column,
                                     row);
+        indexActionType(column);
         final ActionType actionType = getActionForColumn(row,
                                                          column);
         GuidedDecisionTableSourceBuilder sb = null;
@@ -434,7 +581,7 @@ public class GuidedDecisionTableGeneratorListener
 
             case DESCRIPTION:
                 //Remove default Description Column builder and add that provided
-                this._sourceBuilders.remove(DEFAULT_DESCRIPTION_BUILDER);
+                this._sourceBuilders.remove(_defaultDescriptionBuilder);
                 sb = new GuidedDecisionTableDescriptionBuilder(row - 1,
                                                                column,
                                                                this._conversionResult);
@@ -701,9 +848,19 @@ public class GuidedDecisionTableGeneratorListener
         return value == null || "".equals(value.trim());
     }
 
+    //ActionTypes are looked up for every cell; index them by column rather than boxing the column for a Map lookup
+    private void indexActionType(final int column) {
+        if (column >= this._columnActions.length) {
+            this._columnActions = Arrays.copyOf(this._columnActions,
+                                                Math.max(column + 1,
+                                                         this._columnActions.length * 2));
+        }
+        this._columnActions[column] = this._actions.get(column);
+    }
+
     private ActionType getActionForColumn(final int row,
                                           final int column) {
-        final ActionType actionType = this._actions.get(column);
+        final ActionType actionType = column >= 0 && column < this._columnActions.length ? this._columnActions[column] : null;
 
         if (actionType == null) {
             final String message = "Code description in cell " +
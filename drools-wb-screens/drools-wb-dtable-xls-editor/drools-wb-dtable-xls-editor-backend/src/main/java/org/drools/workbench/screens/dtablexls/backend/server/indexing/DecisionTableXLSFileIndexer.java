@@ -21,11 +21,8 @@ import java.io.InputStream;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 
-import org.drools.compiler.compiler.DecisionTableFactory;
+import org.drools.workbench.screens.dtablexls.backend.server.DecisionTableXLSDRLCache;
 import org.drools.workbench.screens.dtablexls.type.DecisionTableXLSResourceTypeDefinition;
-import org.kie.internal.builder.DecisionTableConfiguration;
-import org.kie.internal.builder.DecisionTableInputType;
-import org.kie.internal.builder.KnowledgeBuilderFactory;
 import org.kie.soup.project.datamodel.oracle.ModuleDataModelOracle;
 import org.kie.workbench.common.services.datamodel.backend.server.service.DataModelService;
 import org.kie.workbench.common.services.refactoring.backend.server.indexing.IndexBuilder;
@@ -43,6 +40,9 @@ public class DecisionTableXLSFileIndexer extends AbstractDrlFileIndexer {
     @Inject
     protected DecisionTableXLSResourceTypeDefinition type;
 
+    @Inject
+    protected DecisionTableXLSDRLCache drlCache;
+
     @Override
     public boolean supportsPath(final Path path) {
         return type.accept(Paths.convert(path));
@@ -55,10 +55,7 @@ public class DecisionTableXLSFileIndexer extends AbstractDrlFileIndexer {
             inputStream = ioService.newInputStream(path,
                                                    StandardOpenOption.READ);
 
-            DecisionTableConfiguration configuration = KnowledgeBuilderFactory.newDecisionTableConfiguration();
-            configuration.setInputType( DecisionTableInputType.XLS );
-
-            final String drl = DecisionTableFactory.loadFromInputStream(inputStream, configuration);
+            final String drl = drlCache.getDRL(inputStream);
 
             return fillDrlIndexBuilder(path, drl);
         } finally {
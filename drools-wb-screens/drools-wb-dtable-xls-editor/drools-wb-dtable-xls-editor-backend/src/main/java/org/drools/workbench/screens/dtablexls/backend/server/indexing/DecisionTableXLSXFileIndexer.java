@@ -20,11 +20,8 @@ import java.io.InputStream;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 
-import org.drools.compiler.compiler.DecisionTableFactory;
+import org.drools.workbench.screens.dtablexls.backend.server.DecisionTableXLSDRLCache;
 import org.drools.workbench.screens.dtablexls.type.DecisionTableXLSXResourceTypeDefinition;
-import org.kie.internal.builder.DecisionTableConfiguration;
-import org.kie.internal.builder.DecisionTableInputType;
-import org.kie.internal.builder.KnowledgeBuilderFactory;
 import org.kie.soup.project.datamodel.oracle.ModuleDataModelOracle;
 import org.kie.workbench.common.services.datamodel.backend.server.service.DataModelService;
 import org.kie.workbench.common.services.refactoring.backend.server.indexing.IndexBuilder;
@@ -42,6 +39,9 @@ public class DecisionTableXLSXFileIndexer extends AbstractDrlFileIndexer {
     @Inject
     protected DecisionTableXLSXResourceTypeDefinition type;
 
+    @Inject
+    protected DecisionTableXLSDRLCache drlCache;
+
     @Override
     public boolean supportsPath(final Path path) {
         return type.accept(Paths.convert(path));
@@ -50,10 +50,7 @@ public class DecisionTableXLSXFileIndexer extends AbstractDrlFileIndexer {
     @Override
     public IndexBuilder fillIndexBuilder(final Path path) throws Exception {
         try (final InputStream inputStream = ioService.newInputStream(path, StandardOpenOption.READ)) {
-            DecisionTableConfiguration configuration = KnowledgeBuilderFactory.newDecisionTableConfiguration();
-            configuration.setInputType( DecisionTableInputType.XLSX );
-
-            final String drl = DecisionTableFactory.loadFromInputStream(inputStream, configuration);
+            final String drl = drlCache.getDRL(inputStream);
 
             return fillDrlIndexBuilder(path, drl);
         }
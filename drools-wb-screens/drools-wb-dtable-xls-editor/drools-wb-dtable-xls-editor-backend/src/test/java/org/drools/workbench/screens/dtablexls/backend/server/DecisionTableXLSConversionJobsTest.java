@@ -0,0 +1,237 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.dtablexls.backend.server;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.drools.workbench.models.guided.dtable.shared.conversion.ConversionMessageType;
+import org.drools.workbench.models.guided.dtable.shared.conversion.ConversionResult;
+import org.drools.workbench.screens.dtablexls.service.DecisionTableXLSConversionMonitor;
+import org.drools.workbench.screens.dtablexls.service.DecisionTableXLSConversionProgress;
+import org.drools.workbench.screens.dtablexls.service.DecisionTableXLSConversionService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.backend.vfs.Path;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DecisionTableXLSConversionJobsTest {
+
+    @Mock
+    private DecisionTableXLSConversionService conversionService;
+
+    private final CountDownLatch parsed = new CountDownLatch(1);
+
+    private final CountDownLatch converting = new CountDownLatch(1);
+
+    private DecisionTableXLSConversionJobs jobs;
+
+    @Before
+    public void setup() {
+        //Conversions report one sheet of 2000 rows and then wait to be released, checking whether they were cancelled
+        when(conversionService.convert(any(Path.class),
+                                       any(DecisionTableXLSConversionMonitor.class))).thenAnswer((invocation) -> {
+            final DecisionTableXLSConversionMonitor monitor = (DecisionTableXLSConversionMonitor) invocation.getArguments()[1];
+            monitor.onSheet("Sheet1");
+            for (int rowCount = 1; rowCount <= 2000; rowCount++) {
+                monitor.onRow(rowCount);
+            }
+            parsed.countDown();
+            converting.await(10,
+                             TimeUnit.SECONDS);
+            if (monitor.isCancelled()) {
+                throw new CancellationException();
+            }
+            final ConversionResult result = new ConversionResult();
+            result.addMessage("Created Guided Decision Table 'Table'",
+                              ConversionMessageType.INFO);
+            return result;
+        });
+
+        jobs = new DecisionTableXLSConversionJobs(conversionService,
+                                                  1,
+                                                  1);
+    }
+
+    @After
+    public void tearDown() {
+        converting.countDown();
+        jobs.destroy();
+    }
+
+    @Test
+    public void testConversionProgressAndResult() throws Exception {
+        final Path path = makePath("dtable.xls");
+        final String jobId = jobs.start(path);
+
+        assertTrue(parsed.await(10,
+                                TimeUnit.SECONDS));
+        final DecisionTableXLSConversionProgress progress = jobs.getProgress(jobId);
+        assertFalse(progress.isEnded());
+        assertEquals("Sheet1",
+                     progress.getSheetName());
+        assertEquals(2000,
+                     progress.getRowCount());
+
+        converting.countDown();
+        final DecisionTableXLSConversionProgress result = awaitEnded(jobId);
+        assertEquals(jobId,
+                     result.getJobId());
+        assertEquals(DecisionTableXLSConversionProgress.Status.FINISHED,
+                     result.getStatus());
+        assertEquals(1,
+                     result.getMessages().size());
+
+        //The result is only returned once
+        assertNull(jobs.getProgress(jobId));
+        assertEquals(0,
+                     jobs.getJobCount());
+    }
+
+    @Test
+    public void testUnknownJobHasNoProgress() {
+        jobs.start(makePath("dtable.xls"));
+
+        assertNull(jobs.getProgress("another job"));
+    }
+
+    @Test
+    public void testTableIsOnlyConvertedByOneJob() throws Exception {
+        final Path path = makePath("dtable.xls");
+        final String jobId1 = jobs.start(path);
+        final String jobId2 = jobs.start(path);
+
+        assertNotEquals(jobId1,
+                        jobId2);
+
+        converting.countDown();
+
+        //Every starter is given the result
+        assertEquals(DecisionTableXLSConversionProgress.Status.FINISHED,
+                     awaitEnded(jobId1).getStatus());
+        assertEquals(DecisionTableXLSConversionProgress.Status.FINISHED,
+                     awaitEnded(jobId2).getStatus());
+        assertNull(jobs.getProgress(jobId1));
+        assertNull(jobs.getProgress(jobId2));
+        assertEquals(0,
+                     jobs.getJobCount());
+
+        verify(conversionService,
+               times(1)).convert(eq(path),
+                                 any(DecisionTableXLSConversionMonitor.class));
+    }
+
+    @Test
+    public void testSharedJobIsOnlyCancelledByEveryStarter() throws Exception {
+        final Path path = makePath("dtable.xls");
+        final String jobId1 = jobs.start(path);
+        final String jobId2 = jobs.start(path);
+
+        jobs.cancel(jobId1);
+        assertNull(jobs.getProgress(jobId1));
+
+        converting.countDown();
+
+        assertEquals(DecisionTableXLSConversionProgress.Status.FINISHED,
+                     awaitEnded(jobId2).getStatus());
+        assertEquals(0,
+                     jobs.getJobCount());
+    }
+
+    @Test
+    public void testCancelledSharedJob() throws Exception {
+        final Path path = makePath("dtable.xls");
+        final String jobId1 = jobs.start(path);
+        final String jobId2 = jobs.start(path);
+
+        jobs.cancel(jobId1);
+        jobs.cancel(jobId2);
+
+        converting.countDown();
+
+        assertNull(jobs.getProgress(jobId1));
+        assertEquals(DecisionTableXLSConversionProgress.Status.CANCELLED,
+                     awaitEnded(jobId2).getStatus());
+        assertEquals(0,
+                     jobs.getJobCount());
+    }
+
+    @Test
+    public void testCancelConversion() throws Exception {
+        final String jobId = jobs.start(makePath("dtable.xls"));
+        jobs.cancel(jobId);
+
+        converting.countDown();
+
+        assertEquals(DecisionTableXLSConversionProgress.Status.CANCELLED,
+                     awaitEnded(jobId).getStatus());
+        assertEquals(0,
+                     jobs.getJobCount());
+    }
+
+    @Test
+    public void testTooManyConversions() {
+        final String jobId1 = jobs.start(makePath("dtable1.xls"));
+        final String jobId2 = jobs.start(makePath("dtable2.xls"));
+        assertNotEquals(jobId1,
+                        jobId2);
+
+        try {
+            jobs.start(makePath("dtable3.xls"));
+            fail("Only one conversion can run and one be queued");
+        } catch (IllegalStateException ise) {
+            assertTrue(jobs.getJobCount() <= 2);
+        }
+    }
+
+    private DecisionTableXLSConversionProgress awaitEnded(final String jobId) throws InterruptedException {
+        final long timeout = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        while (System.currentTimeMillis() < timeout) {
+            final DecisionTableXLSConversionProgress progress = jobs.getProgress(jobId);
+            if (progress != null && progress.isEnded()) {
+                return progress;
+            }
+            Thread.sleep(10);
+        }
+        fail("Conversion did not end");
+        return null;
+    }
+
+    private Path makePath(final String fileName) {
+        final Path path = mock(Path.class);
+        when(path.toURI()).thenReturn("default://p0/src/main/resources/" + fileName);
+        return path;
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.dtablexls.backend.server;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class DecisionTableXLSDRLCacheTest {
+
+    private File directory;
+
+    @Before
+    public void setup() throws Exception {
+        directory = Files.createTempDirectory("drlcache").toFile();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        FileUtils.deleteDirectory(directory);
+    }
+
+    @Test
+    public void testDRLIsCompiledOnce() throws Exception {
+        final DecisionTableXLSDRLCache cache = new DecisionTableXLSDRLCache(null,
+                                                                            Long.MAX_VALUE);
+
+        final String drl1 = getDRL(cache);
+        final String drl2 = getDRL(cache);
+
+        assertNotNull(drl1);
+        assertEquals(drl1,
+                     drl2);
+        assertEquals(1,
+                     cache.getMissCount());
+        assertEquals(1,
+                     cache.getHitCount());
+    }
+
+    @Test
+    public void testDRLIsReadFromDisk() throws Exception {
+        final String drl = getDRL(new DecisionTableXLSDRLCache(directory,
+                                                               Long.MAX_VALUE));
+
+        final DecisionTableXLSDRLCache cache = new DecisionTableXLSDRLCache(directory,
+                                                                            Long.MAX_VALUE);
+        assertEquals(drl,
+                     getDRL(cache));
+        assertEquals(0,
+                     cache.getMissCount());
+        assertEquals(1,
+                     cache.getHitCount());
+    }
+
+    @Test
+    public void testDRLIsEvictedFromMemory() throws Exception {
+        final DecisionTableXLSDRLCache cache = new DecisionTableXLSDRLCache(null,
+                                                                            1);
+
+        getDRL(cache);
+        getDRL(cache);
+
+        assertEquals(2,
+                     cache.getMissCount());
+    }
+
+    @Test
+    public void testChangedContentIsCompiled() throws Exception {
+        final DecisionTableXLSDRLCache cache = new DecisionTableXLSDRLCache(directory,
+                                                                            Long.MAX_VALUE);
+
+        final String drl1 = getDRL(cache);
+        final String drl2 = getDRL(cache,
+                                   "conversion/Conditions.xls");
+
+        assertNotEquals(drl1,
+                        drl2);
+        assertEquals(2,
+                     cache.getMissCount());
+        assertEquals(0,
+                     cache.getHitCount());
+    }
+
+    @Test
+    public void testDRLIsEvictedFromDisk() throws Exception {
+        //Only one file fits in the directory
+        final String drl = getDRL(new DecisionTableXLSDRLCache(null,
+                                                               Long.MAX_VALUE));
+        final DecisionTableXLSDRLCache cache = new DecisionTableXLSDRLCache(directory,
+                                                                            1,
+                                                                            drl.getBytes(StandardCharsets.UTF_8).length);
+
+        getDRL(cache);
+        final File[] files = directory.listFiles((dir, name) -> name.endsWith(".drl"));
+        assertEquals(1,
+                     files.length);
+        //Least recently used
+        assertTrue(files[0].setLastModified(0));
+
+        getDRL(cache,
+               "conversion/Conditions.xls");
+        getDRL(cache);
+
+        assertEquals(1,
+                     countFiles());
+        assertEquals(3,
+                     cache.getMissCount());
+    }
+
+    @Test
+    public void testMemoryOnlyWithoutIndexDirectory() {
+        final String indexDirectory = System.getProperty("org.uberfire.metadata.index.dir");
+        final String drlDirectory = System.getProperty(DecisionTableXLSDRLCache.DIRECTORY_PROPERTY);
+        try {
+            System.clearProperty("org.uberfire.metadata.index.dir");
+            System.clearProperty(DecisionTableXLSDRLCache.DIRECTORY_PROPERTY);
+            assertNull(DecisionTableXLSDRLCache.getDefaultDirectory());
+
+            System.setProperty("org.uberfire.metadata.index.dir",
+                               directory.getAbsolutePath());
+            assertNotNull(DecisionTableXLSDRLCache.getDefaultDirectory());
+        } finally {
+            restoreProperty("org.uberfire.metadata.index.dir",
+                            indexDirectory);
+            restoreProperty(DecisionTableXLSDRLCache.DIRECTORY_PROPERTY,
+                            drlDirectory);
+        }
+    }
+
+    private void restoreProperty(final String name,
+                                 final String value) {
+        if (value == null) {
+            System.clearProperty(name);
+        } else {
+            System.setProperty(name,
+                               value);
+        }
+    }
+
+    private int countFiles() {
+        final File[] files = directory.listFiles((dir, name) -> name.endsWith(".drl"));
+        return files == null ? 0 : files.length;
+    }
+
+    private String getDRL(final DecisionTableXLSDRLCache cache) throws Exception {
+        return getDRL(cache,
+                      "conversion/MultipleRuleTables.xls");
+    }
+
+    private String getDRL(final DecisionTableXLSDRLCache cache,
+                          final String resource) throws Exception {
+        try (InputStream is = getClass().getResourceAsStream(resource)) {
+            return cache.getDRL(is);
+        }
+    }
+}
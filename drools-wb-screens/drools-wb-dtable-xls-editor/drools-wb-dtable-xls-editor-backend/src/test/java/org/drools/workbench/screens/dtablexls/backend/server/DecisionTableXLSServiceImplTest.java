@@ -16,17 +16,21 @@
 
 package org.drools.workbench.screens.dtablexls.backend.server;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.util.Arrays;
 import java.util.function.Consumer;
 
 import javax.enterprise.event.Event;
 
 import org.apache.commons.io.IOUtils;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
 import org.drools.template.parser.DecisionTableParseException;
 import org.drools.workbench.screens.dtablexls.service.DecisionTableXLSConversionService;
 import org.guvnor.common.services.backend.util.CommentedOptionFactory;
@@ -52,6 +56,7 @@ import org.uberfire.workbench.events.ResourceOpenedEvent;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyObject;
 import static org.mockito.Matchers.eq;
@@ -87,6 +92,9 @@ public class DecisionTableXLSServiceImplTest {
     @Mock
     private GenericValidator genericValidator;
 
+    @Mock
+    private DecisionTableXLSConversionJobs conversionJobs;
+
     private CommentedOptionFactory commentedOptionFactory = new CommentedOptionFactoryImpl();
 
     @Mock
@@ -242,6 +250,58 @@ public class DecisionTableXLSServiceImplTest {
         service.validate( tempFile );
     }
 
+    @Test(expected = DecisionTableParseException.class)
+    public void testValidateFileWithTooManyRows() throws IOException, URISyntaxException {
+        this.service = getServiceWithValidationOverride( null );
+        this.service.setMaxRows( 1 );
+
+        File tempFile = new File( this.getClass().getResource( "dummy.xls" ).toURI() );
+        service.validate( tempFile );
+    }
+
+    @Test
+    public void testTooLargeTableNotSaved() {
+        this.service = getServiceWithValidationOverride( ( tempFile ) -> {
+            //Do nothing; tests do not use a *real* XLS file
+        } );
+        this.service.setMaxUploadSize( 5 );
+
+        try {
+            service.save( path,
+                          new ByteArrayInputStream( "birdplane!".getBytes() ),
+                          sessionId,
+                          comment );
+            fail( "An upload larger than the maximum size should not be saved." );
+        } catch ( RuntimeException e ) {
+            // this is expected correct behavior
+        }
+        verify( ioService, never() ).newOutputStream( any( org.uberfire.java.nio.file.Path.class ), any( CommentedOption.class ) );
+    }
+
+    @Test(expected = DecisionTableParseException.class)
+    public void testValidateTruncatedFile() throws IOException, URISyntaxException {
+        this.service = getServiceWithValidationOverride( null );
+
+        final byte[] content = Files.readAllBytes( new File( this.getClass().getResource( "dummy.xls" ).toURI() ).toPath() );
+        final File tempFile = File.createTempFile( "truncatedxls", null );
+        Files.write( tempFile.toPath(),
+                     Arrays.copyOf( content,
+                                    content.length / 2 ) );
+        service.validate( tempFile );
+    }
+
+    @Test(expected = DecisionTableParseException.class)
+    public void testValidateWorkbookWithoutSheets() throws IOException {
+        this.service = getServiceWithValidationOverride( null );
+
+        final File tempFile = File.createTempFile( "nosheetsxls", null );
+        try ( HSSFWorkbook workbook = new HSSFWorkbook();
+              FileOutputStream tempFOS = new FileOutputStream( tempFile ) ) {
+            workbook.write( tempFOS );
+        }
+        service.validate( tempFile );
+    }
+
     private DecisionTableXLSServiceImpl getServiceWithValidationOverride( Consumer<File> validationOverride ) {
         return new DecisionTableXLSServiceImpl( ioService,
                                                 copyService,
@@ -251,7 +311,10 @@ public class DecisionTableXLSServiceImplTest {
                                                 conversionService,
                                                 genericValidator,
                                                 commentedOptionFactory,
-                                                authenticationService ) {
+                                                authenticationService,
+                                                new DecisionTableXLSDRLCache( null,
+                                                                              Long.MAX_VALUE ),
+                                                conversionJobs ) {
             @Override
             void validate( final File tempFile ) {
                 if ( validationOverride != null ) {
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.dtablexls.backend.server;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class XLSFileDownloadTest {
+
+    private static final String ETAG = "\"0123456789\"";
+
+    @Mock
+    private HttpServletRequest request;
+
+    @Test
+    public void testNotModifiedByETag() {
+        when(request.getHeader("If-None-Match")).thenReturn("\"abc\", " + ETAG);
+
+        assertTrue(XLSFileDownload.isNotModified(request,
+                                                 ETAG,
+                                                 1000L));
+    }
+
+    @Test
+    public void testModifiedByETag() {
+        when(request.getHeader("If-None-Match")).thenReturn("\"abc\"");
+        when(request.getDateHeader("If-Modified-Since")).thenReturn(2000L);
+
+        //If-Modified-Since is ignored when If-None-Match is present
+        assertFalse(XLSFileDownload.isNotModified(request,
+                                                  ETAG,
+                                                  1000L));
+    }
+
+    @Test
+    public void testNotModifiedByDate() {
+        when(request.getDateHeader("If-Modified-Since")).thenReturn(1000L);
+
+        assertTrue(XLSFileDownload.isNotModified(request,
+                                                 ETAG,
+                                                 1500L));
+        assertFalse(XLSFileDownload.isNotModified(request,
+                                                  ETAG,
+                                                  2000L));
+    }
+
+    @Test
+    public void testRange() {
+        when(request.getHeader("Range")).thenReturn("bytes=100-199");
+
+        assertArrayEquals(new long[]{100, 199},
+                          XLSFileDownload.getRange(request,
+                                                   ETAG,
+                                                   1000));
+    }
+
+    @Test
+    public void testOpenEndedAndSuffixRanges() {
+        when(request.getHeader("Range")).thenReturn("bytes=900-");
+        assertArrayEquals(new long[]{900, 999},
+                          XLSFileDownload.getRange(request,
+                                                   ETAG,
+                                                   1000));
+
+        when(request.getHeader("Range")).thenReturn("bytes=-100");
+        assertArrayEquals(new long[]{900, 999},
+                          XLSFileDownload.getRange(request,
+                                                   ETAG,
+                                                   1000));
+    }
+
+    @Test
+    public void testUnsatisfiableRange() {
+        when(request.getHeader("Range")).thenReturn("bytes=1000-1100");
+
+        assertEquals(0,
+                     XLSFileDownload.getRange(request,
+                                              ETAG,
+                                              1000).length);
+    }
+
+    @Test
+    public void testRangeOfOtherVersion() {
+        when(request.getHeader("Range")).thenReturn("bytes=100-199");
+        when(request.getHeader("If-Range")).thenReturn("\"abc\"");
+
+        assertNull(XLSFileDownload.getRange(request,
+                                            ETAG,
+                                            1000));
+    }
+
+    @Test
+    public void testMultipleRanges() {
+        when(request.getHeader("Range")).thenReturn("bytes=0-99,200-299");
+
+        assertNull(XLSFileDownload.getRange(request,
+                                            ETAG,
+                                            1000));
+    }
+}
@@ -19,12 +19,15 @@ package org.drools.workbench.screens.dtablexls.backend.server.conversion;
 import java.io.InputStream;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
 
 import org.drools.template.parser.DecisionTableParseException;
 import org.drools.workbench.models.guided.dtable.shared.conversion.ConversionResult;
 import org.drools.workbench.models.guided.dtable.shared.model.GuidedDecisionTable52;
 import org.drools.workbench.screens.drltext.service.DRLTextEditorService;
 import org.drools.workbench.screens.drltext.type.DRLResourceTypeDefinition;
+import org.drools.workbench.screens.dtablexls.service.DecisionTableXLSConversionMonitor;
+import org.drools.workbench.screens.dtablexls.service.DecisionTableXLSConversionResult;
 import org.drools.workbench.screens.dtablexls.type.DecisionTableXLSResourceTypeDefinition;
 import org.drools.workbench.screens.dtablexls.type.DecisionTableXLSXResourceTypeDefinition;
 import org.drools.workbench.screens.globals.model.GlobalsModel;
@@ -54,12 +57,15 @@ import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.uberfire.backend.vfs.Path;
 import org.uberfire.io.IOService;
+import org.uberfire.java.nio.file.FileSystem;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -260,6 +266,50 @@ public class DecisionTableXLSToDecisionTableGuidedConverterTest {
                                 any(String.class));
     }
 
+    @Test
+    public void checkConversionIsSingleBatch() {
+        final InputStream is = this.getClass().getResourceAsStream("GUVNOR-2696.xlsx");
+        when(ioService.newInputStream(any(org.uberfire.java.nio.file.Path.class))).thenReturn(is);
+        final ConversionResult result = converter.convert(path);
+        assertTrue(result instanceof DecisionTableXLSConversionResult);
+
+        final Map<String, Long> phaseTimings = ((DecisionTableXLSConversionResult) result).getPhaseTimings();
+        assertEquals(3,
+                     phaseTimings.size());
+        assertTrue(phaseTimings.containsKey(DecisionTableXLSConversionResult.PHASE_PARSE));
+        assertTrue(phaseTimings.containsKey(DecisionTableXLSConversionResult.PHASE_POPULATE));
+        assertTrue(phaseTimings.containsKey(DecisionTableXLSConversionResult.PHASE_CREATE));
+
+        verify(ioService,
+               times(1)).startBatch(any(FileSystem.class));
+        verify(ioService,
+               times(1)).endBatch();
+    }
+
+    @Test
+    public void checkCancelledConversionCreatesNothing() {
+        final InputStream is = this.getClass().getResourceAsStream("GUVNOR-2696.xlsx");
+        when(ioService.newInputStream(any(org.uberfire.java.nio.file.Path.class))).thenReturn(is);
+        final DecisionTableXLSConversionMonitor monitor = mock(DecisionTableXLSConversionMonitor.class);
+        when(monitor.isCancelled()).thenReturn(true);
+
+        try {
+            converter.convert(path,
+                              monitor);
+            fail("Conversion should have been cancelled");
+        } catch (CancellationException ce) {
+            //Expected
+        }
+
+        verify(ioService,
+               never()).startBatch(any(FileSystem.class));
+        verify(guidedDecisionTableService,
+               never()).create(any(Path.class),
+                               any(String.class),
+                               any(GuidedDecisionTable52.class),
+                               any(String.class));
+    }
+
     @Test(expected = DecisionTableParseException.class)
     public void checkConversionOfXLSWithInvalidContent() {
         final InputStream is = this.getClass().getResourceAsStream("wrong_file.xls");
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.dtablexls.backend.server.conversion;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.drools.decisiontable.parser.DefaultRuleSheetListener;
+import org.drools.decisiontable.parser.RuleSheetListener;
+import org.drools.template.model.Package;
+import org.drools.template.parser.DataListener;
+import org.drools.workbench.models.guided.dtable.shared.conversion.ConversionResult;
+import org.drools.workbench.models.guided.dtable.shared.model.GuidedDecisionTable52;
+import org.junit.BeforeClass;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.kie.soup.project.datamodel.oracle.ModelField;
+import org.kie.soup.project.datamodel.oracle.PackageDataModelOracle;
+import org.kie.workbench.common.services.shared.preferences.ApplicationPreferences;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Measures parsing of a synthetic 100,000 row by 60 column RuleTable, fed to the listener as ExcelParser would. The
+ * same rows fed to DefaultRuleSheetListener, which generates the DRL of XLS Decision Tables, are the baseline.
+ */
+@Ignore("Performance test - shouldn't run as part of daily builds")
+public class GuidedDecisionTableGeneratorListenerSpeedTest {
+
+    private static final int ROWS = 100000;
+    private static final int CONDITIONS = 50;
+    private static final int ACTIONS = 10;
+    private static final int COLUMNS = CONDITIONS + ACTIONS;
+
+    private static final int HEADER_ROWS = 5;
+
+    private static final int WARM_UP_ROUNDS = 2;
+
+    private Logger logger = LoggerFactory.getLogger(GuidedDecisionTableGeneratorListenerSpeedTest.class);
+
+    @BeforeClass
+    public static void setup() {
+        final Map<String, String> preferences = new HashMap<String, String>() {{
+            put(ApplicationPreferences.DATE_FORMAT,
+                "dd-MM-yyyy");
+        }};
+        ApplicationPreferences.setUp(preferences);
+    }
+
+    @Test
+    public void parseLargeRuleTable() {
+        //Warm up both listeners before measuring
+        for (int i = 0; i < WARM_UP_ROUNDS; i++) {
+            parseWithGuidedDecisionTableListener();
+            parseWithRuleSheetListener();
+        }
+
+        final long guidedDecisionTableTime = parseWithGuidedDecisionTableListener();
+        final long ruleSheetTime = parseWithRuleSheetListener();
+
+        logger.info("Parsing and populating " + ROWS + " rows of " + COLUMNS + " columns took.. " + guidedDecisionTableTime + " ms");
+        logger.info("Baseline DRL generation from the same rows with DefaultRuleSheetListener took.. " + ruleSheetTime + " ms");
+        logger.info("Ratio to baseline.. " + String.format("%.2f",
+                                                            (double) guidedDecisionTableTime / Math.max(1,
+                                                                                                        ruleSheetTime)));
+    }
+
+    private long parseWithGuidedDecisionTableListener() {
+        final PackageDataModelOracle dmo = mock(PackageDataModelOracle.class);
+        when(dmo.getPackageName()).thenReturn("org.test");
+        when(dmo.getModuleModelFields()).thenReturn(new HashMap<String, ModelField[]>());
+
+        final ConversionResult result = new ConversionResult();
+        final GuidedDecisionTableGeneratorListener listener = new GuidedDecisionTableGeneratorListener(result,
+                                                                                                       dmo);
+
+        final long start = System.currentTimeMillis();
+        parse(listener);
+        final GuidedDecisionTable52 dtable = listener.getGuidedDecisionTables().get(0);
+        final long time = System.currentTimeMillis() - start;
+
+        assertEquals(ROWS,
+                     dtable.getData().size());
+        return time;
+    }
+
+    //The listener used by the DRL compiler; the same rows are parsed into one rule each
+    private long parseWithRuleSheetListener() {
+        final DefaultRuleSheetListener listener = new DefaultRuleSheetListener();
+
+        final long start = System.currentTimeMillis();
+        parse(listener);
+        final Package ruleSet = listener.getRuleSet();
+        final long time = System.currentTimeMillis() - start;
+
+        assertEquals(ROWS,
+                     ruleSet.getRules().size());
+        return time;
+    }
+
+    private void parse(final RuleSheetListener listener) {
+        listener.startSheet("Sheet1");
+        parseHeader(listener);
+        for (int row = HEADER_ROWS; row < HEADER_ROWS + ROWS; row++) {
+            listener.newRow(row,
+                            COLUMNS);
+            for (int column = 0; column < COLUMNS; column++) {
+                listener.newCell(row,
+                                 column,
+                                 Integer.toString(row % 100),
+                                 DataListener.NON_MERGED);
+            }
+        }
+        listener.finishSheet();
+    }
+
+    private void parseHeader(final RuleSheetListener listener) {
+        listener.newRow(0,
+                        1);
+        listener.newCell(0,
+                         0,
+                         "RuleTable Speed",
+                         DataListener.NON_MERGED);
+
+        listener.newRow(1,
+                        COLUMNS);
+        for (int column = 0; column < COLUMNS; column++) {
+            listener.newCell(1,
+                             column,
+                             column < CONDITIONS ? "CONDITION" : "ACTION",
+                             DataListener.NON_MERGED);
+        }
+
+        listener.newRow(2,
+                        COLUMNS);
+        for (int column = 0; column < CONDITIONS; column++) {
+            listener.newCell(2,
+                             column,
+                             "Person",
+                             DataListener.NON_MERGED);
+        }
+
+        listener.newRow(3,
+                        COLUMNS);
+        for (int column = 0; column < COLUMNS; column++) {
+            listener.newCell(3,
+                             column,
+                             column < CONDITIONS ? "field" + column : "System.out.println(\"$param\");",
+                             DataListener.NON_MERGED);
+        }
+
+        listener.newRow(4,
+                        COLUMNS);
+        for (int column = 0; column < COLUMNS; column++) {
+            listener.newCell(4,
+                             column,
+                             "Column " + column,
+                             DataListener.NON_MERGED);
+        }
+    }
+}
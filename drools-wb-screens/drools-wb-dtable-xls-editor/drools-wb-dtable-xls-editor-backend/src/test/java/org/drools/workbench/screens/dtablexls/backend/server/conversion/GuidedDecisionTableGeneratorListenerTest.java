@@ -24,6 +24,11 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 import org.drools.decisiontable.parser.xls.ExcelParser;
@@ -3269,6 +3274,45 @@ public class GuidedDecisionTableGeneratorListenerTest {
                                     () -> new BigDecimal("20.00"));
     }
 
+    @Test
+    public void cancelledPopulationsDoNotStart() throws Exception {
+        final ConversionResult result = new ConversionResult();
+        final List<DataListener> listeners = new ArrayList<>();
+
+        //The only worker is busy, so Decision Tables are queued to be populated
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        final CountDownLatch busy = new CountDownLatch(1);
+        executor.submit(() -> {
+            busy.await();
+            return null;
+        });
+
+        final GuidedDecisionTableGeneratorListener listener = new GuidedDecisionTableGeneratorListener(result,
+                                                                                                       dmo,
+                                                                                                       executor);
+        listeners.add(listener);
+
+        //Convert
+        final ExcelParser parser = new ExcelParser(listeners);
+        try (InputStream is = this.getClass().getResourceAsStream("RHBPMS-4737 (No DMO).xlsx")) {
+            parser.parseFile(is);
+        }
+
+        try {
+            listener.getGuidedDecisionTables(() -> true);
+            fail("Waiting for Decision Tables should have been cancelled");
+        } catch (CancellationException ce) {
+            //Expected
+        } finally {
+            busy.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10,
+                                                 TimeUnit.SECONDS));
+        }
+
+        assertTrue(listener.getGuidedDecisionTables().get(0).getData().isEmpty());
+    }
+
     @Test
     //https://issues.jboss.org/browse/RHBPMS-4737
     public void conversionWithBigDecimalsWithoutDMO() {
@@ -19,6 +19,7 @@ import java.util.HashMap;
 
 import javax.enterprise.context.ApplicationScoped;
 
+import org.drools.workbench.screens.dtablexls.backend.server.DecisionTableXLSDRLCache;
 import org.drools.workbench.screens.dtablexls.type.DecisionTableXLSResourceTypeDefinition;
 import org.kie.soup.project.datamodel.commons.oracle.ModuleDataModelOracleImpl;
 import org.kie.soup.project.datamodel.oracle.DataType;
@@ -36,6 +37,11 @@ import org.uberfire.java.nio.file.Path;
 @ApplicationScoped
 public class TestDecisionTableXLSFileIndexer extends DecisionTableXLSFileIndexer implements TestIndexer<DecisionTableXLSResourceTypeDefinition> {
 
+    public TestDecisionTableXLSFileIndexer() {
+        this.drlCache = new DecisionTableXLSDRLCache(null,
+                                                     Long.MAX_VALUE);
+    }
+
     @Override
     public void setIOService(final IOService ioService) {
         this.ioService = ioService;
@@ -17,6 +17,7 @@ package org.drools.workbench.screens.dtablexls.backend.server.indexing;
 
 import javax.enterprise.context.ApplicationScoped;
 
+import org.drools.workbench.screens.dtablexls.backend.server.DecisionTableXLSDRLCache;
 import org.drools.workbench.screens.dtablexls.type.DecisionTableXLSXResourceTypeDefinition;
 import org.kie.soup.project.datamodel.commons.oracle.ModuleDataModelOracleImpl;
 import org.kie.soup.project.datamodel.oracle.ModuleDataModelOracle;
@@ -31,6 +32,11 @@ import org.uberfire.java.nio.file.Path;
 @ApplicationScoped
 public class TestDecisionTableXLSXFileIndexer extends DecisionTableXLSXFileIndexer implements TestIndexer<DecisionTableXLSXResourceTypeDefinition> {
 
+    public TestDecisionTableXLSXFileIndexer() {
+        this.drlCache = new DecisionTableXLSDRLCache(null,
+                                                     Long.MAX_VALUE);
+    }
+
     @Override
     public void setIOService(final IOService ioService) {
         this.ioService = ioService;
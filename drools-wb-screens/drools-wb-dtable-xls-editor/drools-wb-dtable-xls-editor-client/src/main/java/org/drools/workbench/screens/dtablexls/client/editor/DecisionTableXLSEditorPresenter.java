@@ -23,20 +23,22 @@ import javax.inject.Inject;
 
 import com.google.gwt.event.dom.client.ClickEvent;
 import com.google.gwt.event.dom.client.ClickHandler;
+import com.google.gwt.user.client.Timer;
 import com.google.gwt.user.client.ui.IsWidget;
 import elemental2.promise.Promise;
 import org.drools.workbench.models.guided.dtable.shared.conversion.ConversionMessage;
-import org.drools.workbench.models.guided.dtable.shared.conversion.ConversionResult;
 import org.drools.workbench.screens.dtablexls.client.resources.i18n.DecisionTableXLSEditorConstants;
 import org.drools.workbench.screens.dtablexls.client.type.DecisionTableXLSResourceType;
 import org.drools.workbench.screens.dtablexls.client.type.DecisionTableXLSXResourceType;
 import org.drools.workbench.screens.dtablexls.client.widgets.ConversionMessageWidget;
 import org.drools.workbench.screens.dtablexls.client.widgets.PopupListWidget;
 import org.drools.workbench.screens.dtablexls.service.DecisionTableXLSContent;
+import org.drools.workbench.screens.dtablexls.service.DecisionTableXLSConversionProgress;
 import org.drools.workbench.screens.dtablexls.service.DecisionTableXLSService;
 import org.guvnor.common.services.project.model.WorkspaceProject;
 import org.gwtbootstrap3.client.ui.Button;
 import org.gwtbootstrap3.client.ui.constants.ButtonSize;
+import org.jboss.errai.bus.client.api.messaging.Message;
 import org.jboss.errai.common.client.api.Caller;
 import org.jboss.errai.common.client.api.RemoteCallback;
 import org.kie.workbench.common.widgets.client.popups.validation.ValidationPopup;
@@ -49,6 +51,7 @@ import org.uberfire.client.annotations.WorkbenchPartTitleDecoration;
 import org.uberfire.client.annotations.WorkbenchPartView;
 import org.uberfire.client.workbench.type.ClientResourceType;
 import org.uberfire.ext.widgets.common.client.callbacks.CommandErrorCallback;
+import org.uberfire.ext.widgets.common.client.callbacks.HasBusyIndicatorDefaultErrorCallback;
 import org.uberfire.ext.widgets.common.client.common.BusyIndicatorView;
 import org.uberfire.lifecycle.OnClose;
 import org.uberfire.lifecycle.OnStartup;
@@ -81,6 +84,14 @@ public class DecisionTableXLSEditorPresenter
 
     private DecisionTableXLSEditorView view;
 
+    //How often the progress of a conversion is asked for
+    static final int CONVERSION_PROGRESS_MILLIS = 1000;
+
+    //Set whilst a conversion started by this editor is running; the job identifier is known once the job has started
+    private boolean isConverting = false;
+    private String conversionJobId;
+    private Timer conversionProgressTimer;
+
     @Inject
     public DecisionTableXLSEditorPresenter(final DecisionTableXLSEditorView baseView,
                                            final DecisionTableXLSResourceType decisionTableXLSResourceType,
@@ -283,6 +294,7 @@ public class DecisionTableXLSEditorPresenter
     @OnClose
     @Override
     public void onClose() {
+        cancelConversion();
         this.versionRecordManager.clear();
         super.onClose();
     }
@@ -307,20 +319,108 @@ public class DecisionTableXLSEditorPresenter
         super.getMenus(menusConsumer);
     }
 
-    private void convert() {
-        busyIndicatorView.showBusyIndicator(DecisionTableXLSEditorConstants.INSTANCE.Converting());
-        decisionTableXLSService.call(new RemoteCallback<ConversionResult>() {
-            @Override
-            public void callback(final ConversionResult response) {
-                busyIndicatorView.hideBusyIndicator();
-                if (response.getMessages().size() > 0) {
-                    final PopupListWidget popup = new PopupListWidget();
-                    for (ConversionMessage message : response.getMessages()) {
-                        popup.addListItem(new ConversionMessageWidget(message));
-                    }
-                    popup.show();
+    void convert() {
+        if (isConverting) {
+            return;
+        }
+        isConverting = true;
+        view.showConversionProgress(DecisionTableXLSEditorConstants.INSTANCE.Converting());
+        decisionTableXLSService.call(new RemoteCallback<String>() {
+                                         @Override
+                                         public void callback(final String jobId) {
+                                             conversionJobId = jobId;
+                                             scheduleConversionProgress();
+                                         }
+                                     },
+                                     makeConversionErrorCallback()).startConversion(versionRecordManager.getCurrentPath());
+    }
+
+    @Override
+    public void onCancelConversion() {
+        cancelConversion();
+    }
+
+    void cancelConversion() {
+        if (conversionJobId != null) {
+            decisionTableXLSService.call().cancelConversion(conversionJobId);
+        }
+        endConversion();
+    }
+
+    void scheduleConversionProgress() {
+        if (conversionProgressTimer == null) {
+            conversionProgressTimer = new Timer() {
+                @Override
+                public void run() {
+                    loadConversionProgress();
                 }
+            };
+        }
+        conversionProgressTimer.schedule(CONVERSION_PROGRESS_MILLIS);
+    }
+
+    void loadConversionProgress() {
+        if (conversionJobId == null) {
+            return;
+        }
+        final String jobId = conversionJobId;
+        decisionTableXLSService.call(new RemoteCallback<DecisionTableXLSConversionProgress>() {
+                                         @Override
+                                         public void callback(final DecisionTableXLSConversionProgress progress) {
+                                             if (jobId.equals(conversionJobId)) {
+                                                 onConversionProgress(progress);
+                                             }
+                                         }
+                                     },
+                                     makeConversionErrorCallback()).getConversionProgress(jobId);
+    }
+
+    void onConversionProgress(final DecisionTableXLSConversionProgress progress) {
+        if (!isConverting) {
+            return;
+        }
+        //The job is unknown if it has been forgotten by the server
+        if (progress == null) {
+            endConversion();
+            return;
+        }
+        if (!progress.isEnded()) {
+            if (progress.getSheetName() != null) {
+                view.showConversionProgress(DecisionTableXLSEditorConstants.INSTANCE.ConvertingProgress(progress.getSheetName(),
+                                                                                                         progress.getRowCount()));
+            }
+            scheduleConversionProgress();
+            return;
+        }
+
+        endConversion();
+        if (progress.getMessages().size() > 0) {
+            final PopupListWidget popup = new PopupListWidget();
+            for (ConversionMessage message : progress.getMessages()) {
+                popup.addListItem(new ConversionMessageWidget(message));
+            }
+            popup.show();
+        }
+    }
+
+    private void endConversion() {
+        if (conversionProgressTimer != null) {
+            conversionProgressTimer.cancel();
+        }
+        isConverting = false;
+        conversionJobId = null;
+        view.hideConversionProgress();
+    }
+
+    private HasBusyIndicatorDefaultErrorCallback makeConversionErrorCallback() {
+        return new HasBusyIndicatorDefaultErrorCallback(busyIndicatorView) {
+            @Override
+            public boolean error(final Message message,
+                                 final Throwable throwable) {
+                endConversion();
+                return super.error(message,
+                                   throwable);
             }
-        }).convert(versionRecordManager.getCurrentPath());
+        };
     }
 }
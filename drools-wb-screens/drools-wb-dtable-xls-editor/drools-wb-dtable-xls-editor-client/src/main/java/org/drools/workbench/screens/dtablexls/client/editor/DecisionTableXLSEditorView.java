@@ -30,6 +30,8 @@ public interface DecisionTableXLSEditorView
         void onUpload();
 
         void onUploadSuccess();
+
+        void onCancelConversion();
     }
 
     void setupUploadWidget( ClientResourceType resourceType  );
@@ -40,4 +42,8 @@ public interface DecisionTableXLSEditorView
 
     void setReadOnly( final boolean isReadOnly );
 
+    void showConversionProgress( final String message );
+
+    void hideConversionProgress();
+
 }
@@ -30,6 +30,8 @@ import com.google.gwt.user.client.ui.SimplePanel;
 import com.google.gwt.user.client.ui.Widget;
 import org.drools.workbench.screens.dtablexls.client.resources.i18n.DecisionTableXLSEditorConstants;
 import org.gwtbootstrap3.client.ui.Button;
+import org.gwtbootstrap3.client.ui.FormControlStatic;
+import org.gwtbootstrap3.client.ui.FormGroup;
 import org.jboss.errai.bus.client.api.ClientMessageBus;
 import org.kie.workbench.common.widgets.client.resources.i18n.CommonConstants;
 import org.kie.workbench.common.widgets.client.widget.AttachmentFileWidget;
@@ -60,6 +62,16 @@ public class DecisionTableXLSEditorViewImpl
     @UiField
     SimplePanel uploadWidgetContainer;
 
+    //Shown whilst a conversion runs; not modal so the conversion can be cancelled
+    @UiField
+    FormGroup conversionProgressGroup;
+
+    @UiField
+    FormControlStatic conversionProgressLabel;
+
+    @UiField
+    Button cancelConversionButton;
+
     @Inject
     private Event<NotificationEvent> notificationEvent;
 
@@ -70,6 +82,12 @@ public class DecisionTableXLSEditorViewImpl
 
     public DecisionTableXLSEditorViewImpl() {
         initWidget(uiBinder.createAndBindUi(this));
+        cancelConversionButton.addClickHandler(new ClickHandler() {
+            @Override
+            public void onClick(final ClickEvent event) {
+                presenter.onCancelConversion();
+            }
+        });
     }
 
     @Override
@@ -137,6 +155,17 @@ public class DecisionTableXLSEditorViewImpl
         uploadWidget.setEnabled(!isReadOnly);
     }
 
+    @Override
+    public void showConversionProgress(final String message) {
+        conversionProgressLabel.setText(message);
+        conversionProgressGroup.setVisible(true);
+    }
+
+    @Override
+    public void hideConversionProgress() {
+        conversionProgressGroup.setVisible(false);
+    }
+
     private void notifySuccess() {
         notificationEvent.fire(new NotificationEvent(CommonConstants.INSTANCE.ItemCreatedSuccessfully()));
     }
@@ -48,6 +48,11 @@ public interface DecisionTableXLSEditorConstants
 
     String Converting();
 
+    String ConvertingProgress( final String sheetName,
+                               final int rowCount );
+
+    String CancelConversion();
+
     String ConversionResults();
 
     String DecisionTableEditorTitle();
@@ -29,6 +29,7 @@ import org.drools.workbench.screens.dtablexls.client.resources.images.DecisionTa
 import org.drools.workbench.screens.dtablexls.client.type.DecisionTableXLSResourceType;
 import org.drools.workbench.screens.dtablexls.client.type.DecisionTableXLSXResourceType;
 import org.drools.workbench.screens.dtablexls.service.DecisionTableXLSContent;
+import org.drools.workbench.screens.dtablexls.service.DecisionTableXLSConversionProgress;
 import org.drools.workbench.screens.dtablexls.service.DecisionTableXLSService;
 import org.guvnor.common.services.project.client.context.WorkspaceProjectContext;
 import org.guvnor.common.services.project.client.security.ProjectController;
@@ -62,6 +63,7 @@ import org.uberfire.mvp.PlaceRequest;
 import org.uberfire.promise.SyncPromises;
 import org.uberfire.workbench.model.menu.MenuItem;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doNothing;
@@ -69,6 +71,7 @@ import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -76,6 +79,8 @@ import static org.mockito.Mockito.when;
 @WithClassesToStub({ConcurrentChangePopup.class})
 public class DecisionTableXLSEditorPresenterTest {
 
+    private static final String JOB_ID = "job";
+
     @GwtMock
     DecisionTableXLSImageResources decisionTableXLSImageResources;
 
@@ -133,11 +138,14 @@ public class DecisionTableXLSEditorPresenterTest {
     @Mock
     MenuItem alertsButtonMenuItem;
 
+    ServiceMock serviceMock;
+
     DecisionTableXLSEditorPresenter presenter;
 
     @Before
     public void setUp() throws Exception {
         promises = new SyncPromises();
+        serviceMock = new ServiceMock();
 
         when(decisionTableXLSResourceType.getSuffix()).thenReturn("XLS");
         when(decisionTableXLSResourceType.accept(XLSPath)).thenReturn(true);
@@ -154,7 +162,7 @@ public class DecisionTableXLSEditorPresenterTest {
                                                             decisionTableXLSXResourceType,
                                                             busyIndicatorView,
                                                             validationPopup,
-                                                            new ServiceMock()
+                                                            serviceMock
         ) {
             {
                 kieView = mock(KieEditorWrapperView.class);
@@ -175,6 +183,7 @@ public class DecisionTableXLSEditorPresenterTest {
         });
 
         doNothing().when(presenter).addDownloadMenuItem(any());
+        doNothing().when(presenter).scheduleConversionProgress();
         doReturn(mock(MenuItem.class)).when(presenter).getConvertMenu();
         when(workbenchContext.getActiveOrganizationalUnit()).thenReturn(Optional.empty());
         when(workbenchContext.getActiveWorkspaceProject()).thenReturn(Optional.empty());
@@ -283,11 +292,105 @@ public class DecisionTableXLSEditorPresenterTest {
         verify(fileMenuBuilder).addNewTopLevelMenu(alertsButtonMenuItem);
     }
 
+    @Test
+    public void testConversionProgress() {
+        doReturn(XLSPath).when(versionRecordManager).getCurrentPath();
+        presenter.convert();
+
+        verify(view).showConversionProgress(any(String.class));
+        verify(presenter).scheduleConversionProgress();
+
+        presenter.onConversionProgress(makeProgress(DecisionTableXLSConversionProgress.Status.RUNNING));
+
+        verify(view,
+               times(2)).showConversionProgress(any(String.class));
+        verify(view,
+               never()).hideConversionProgress();
+        verify(presenter,
+               times(2)).scheduleConversionProgress();
+    }
+
+    @Test
+    public void testConversionFinished() {
+        doReturn(XLSPath).when(versionRecordManager).getCurrentPath();
+        presenter.convert();
+
+        presenter.onConversionProgress(makeProgress(DecisionTableXLSConversionProgress.Status.FINISHED));
+
+        verify(view).hideConversionProgress();
+        verify(presenter,
+               times(1)).scheduleConversionProgress();
+    }
+
+    @Test
+    public void testLoadConversionProgress() {
+        doReturn(XLSPath).when(versionRecordManager).getCurrentPath();
+        presenter.convert();
+
+        serviceMock.progress = makeProgress(DecisionTableXLSConversionProgress.Status.FINISHED);
+        presenter.loadConversionProgress();
+
+        assertEquals(JOB_ID,
+                     serviceMock.progressJobId);
+        verify(view).hideConversionProgress();
+    }
+
+    @Test
+    public void testUnknownConversion() {
+        doReturn(XLSPath).when(versionRecordManager).getCurrentPath();
+        presenter.convert();
+
+        presenter.onConversionProgress(null);
+
+        verify(view).hideConversionProgress();
+    }
+
+    @Test
+    public void testCancelConversion() {
+        doReturn(XLSPath).when(versionRecordManager).getCurrentPath();
+        presenter.convert();
+        presenter.cancelConversion();
+
+        assertEquals(JOB_ID,
+                     serviceMock.cancelledJobId);
+        verify(view).hideConversionProgress();
+
+        presenter.loadConversionProgress();
+        assertNull(serviceMock.progressJobId);
+
+        presenter.onConversionProgress(makeProgress(DecisionTableXLSConversionProgress.Status.CANCELLED));
+
+        verify(view,
+               times(1)).hideConversionProgress();
+    }
+
+    @Test
+    public void testCancelConversionFromProgress() {
+        doReturn(XLSPath).when(versionRecordManager).getCurrentPath();
+        presenter.convert();
+        presenter.onCancelConversion();
+
+        assertEquals(JOB_ID,
+                     serviceMock.cancelledJobId);
+        verify(view).hideConversionProgress();
+    }
+
+    private DecisionTableXLSConversionProgress makeProgress(final DecisionTableXLSConversionProgress.Status status) {
+        return new DecisionTableXLSConversionProgress(JOB_ID,
+                                                      XLSPath,
+                                                      status,
+                                                      "Sheet1",
+                                                      1000);
+    }
+
     private class ServiceMock
             implements Caller<DecisionTableXLSService> {
 
         private DecisionTableXLSService decisionTableXLSService = new DecisionTableXLSServiceMock();
         RemoteCallback remoteCallback;
+        String cancelledJobId;
+        String progressJobId;
+        DecisionTableXLSConversionProgress progress;
 
         @Override
         public DecisionTableXLSService call() {
@@ -315,6 +418,24 @@ public class DecisionTableXLSEditorPresenterTest {
                 return null;
             }
 
+            @Override
+            public String startConversion(Path path) {
+                remoteCallback.callback(JOB_ID);
+                return null;
+            }
+
+            @Override
+            public DecisionTableXLSConversionProgress getConversionProgress(String jobId) {
+                progressJobId = jobId;
+                remoteCallback.callback(progress);
+                return null;
+            }
+
+            @Override
+            public void cancelConversion(String jobId) {
+                cancelledJobId = jobId;
+            }
+
             @Override
             public DecisionTableXLSContent loadContent(Path path) {
                 DecisionTableXLSContent content = new DecisionTableXLSContent();
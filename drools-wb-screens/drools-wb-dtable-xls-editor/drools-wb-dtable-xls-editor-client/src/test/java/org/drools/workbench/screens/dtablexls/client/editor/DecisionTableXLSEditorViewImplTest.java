@@ -96,6 +96,23 @@ public class DecisionTableXLSEditorViewImplTest {
         verify(presenter).submit();
     }
 
+    @Test
+    public void testCancelConversionClickHandler() throws Exception {
+        verify(view.cancelConversionButton).addClickHandler(clickCaptor.capture());
+        clickCaptor.getValue().onClick(null);
+        verify(presenter).onCancelConversion();
+    }
+
+    @Test
+    public void testConversionProgress() throws Exception {
+        view.showConversionProgress("progress");
+        verify(view.conversionProgressLabel).setText("progress");
+        verify(view.conversionProgressGroup).setVisible(true);
+
+        view.hideConversionProgress();
+        verify(view.conversionProgressGroup).setVisible(false);
+    }
+
     @Test
     public void testSubmit() throws Exception {
         Path path = mock(Path.class);
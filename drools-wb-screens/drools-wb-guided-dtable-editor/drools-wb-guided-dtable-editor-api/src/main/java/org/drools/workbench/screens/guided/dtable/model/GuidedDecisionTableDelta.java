@@ -0,0 +1,88 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.guided.dtable.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.drools.workbench.models.datamodel.auditlog.AuditLogEntry;
+import org.drools.workbench.models.guided.dtable.shared.model.DTCellValue52;
+import org.drools.workbench.models.guided.dtable.shared.model.GuidedDecisionTable52;
+import org.jboss.errai.common.client.api.annotations.Portable;
+import org.kie.soup.commons.validation.PortablePreconditions;
+
+/**
+ * Changes made to a Guided Decision Table since it was loaded, or last saved, at a given version.
+ * Rows beyond the new row count are removed; rows at the listed indexes are replaced, or added, in full.
+ * Everything but the rows and the audit log is replaced by the definition.
+ */
+@Portable
+public class GuidedDecisionTableDelta {
+
+    private String baseVersion;
+    private GuidedDecisionTable52 definition;
+    private int rowCount;
+    private List<Integer> rowIndexes = new ArrayList<>();
+    private List<List<DTCellValue52>> rows = new ArrayList<>();
+    private List<AuditLogEntry> auditLogEntries = new ArrayList<>();
+
+    public GuidedDecisionTableDelta() {
+    }
+
+    public GuidedDecisionTableDelta(final String baseVersion,
+                                    final GuidedDecisionTable52 definition,
+                                    final int rowCount) {
+        this.baseVersion = PortablePreconditions.checkNotNull("baseVersion",
+                                                              baseVersion);
+        this.definition = PortablePreconditions.checkNotNull("definition",
+                                                             definition);
+        this.rowCount = rowCount;
+    }
+
+    public String getBaseVersion() {
+        return baseVersion;
+    }
+
+    /**
+     * @return The Decision Table without its rows or audit log.
+     */
+    public GuidedDecisionTable52 getDefinition() {
+        return definition;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public void addRow(final int rowIndex,
+                       final List<DTCellValue52> row) {
+        rowIndexes.add(rowIndex);
+        rows.add(row);
+    }
+
+    public List<Integer> getRowIndexes() {
+        return rowIndexes;
+    }
+
+    public List<List<DTCellValue52>> getRows() {
+        return rows;
+    }
+
+    public List<AuditLogEntry> getAuditLogEntries() {
+        return auditLogEntries;
+    }
+}
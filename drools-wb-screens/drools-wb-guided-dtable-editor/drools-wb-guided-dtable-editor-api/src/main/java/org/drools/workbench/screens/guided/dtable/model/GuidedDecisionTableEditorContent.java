@@ -35,6 +35,8 @@ public class GuidedDecisionTableEditorContent {
     private Overview overview;
     private ObservablePath currentPath;
     private ObservablePath latestPath;
+    private int totalRowCount;
+    private String version;
 
     public GuidedDecisionTableEditorContent() {
     }
@@ -90,4 +92,31 @@ public class GuidedDecisionTableEditorContent {
     public ObservablePath getLatestPath() {
         return latestPath;
     }
+
+    /**
+     * Number of rows in the persisted Decision Table. When greater than the number of rows in the model the
+     * remaining rows have to be loaded separately.
+     */
+    public int getTotalRowCount() {
+        return totalRowCount;
+    }
+
+    public void setTotalRowCount(final int totalRowCount) {
+        this.totalRowCount = totalRowCount;
+    }
+
+    /**
+     * Version of the persisted Decision Table. Changes made on the client can be saved as a delta against it.
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    public void setVersion(final String version) {
+        this.version = version;
+    }
+
+    public boolean hasRemainingRows() {
+        return model != null && totalRowCount > model.getData().size();
+    }
 }
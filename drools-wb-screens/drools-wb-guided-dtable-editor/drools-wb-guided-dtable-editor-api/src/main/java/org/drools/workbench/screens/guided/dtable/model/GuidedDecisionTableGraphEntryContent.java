@@ -0,0 +1,53 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.guided.dtable.model;
+
+import org.jboss.errai.common.client.api.annotations.Portable;
+
+/**
+ * Outcome of loading a single entry of a Guided Decision Table Graph: either its content, or the reason it could
+ * not be loaded. An entry that can not be loaded does not prevent the other entries of the graph from loading.
+ */
+@Portable
+public class GuidedDecisionTableGraphEntryContent {
+
+    private GuidedDecisionTableEditorContent content;
+    private String errorMessage;
+
+    public GuidedDecisionTableGraphEntryContent() {
+    }
+
+    public GuidedDecisionTableGraphEntryContent(final GuidedDecisionTableEditorContent content) {
+        this.content = content;
+    }
+
+    public GuidedDecisionTableGraphEntryContent(final String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public boolean isLoaded() {
+        return content != null;
+    }
+
+    public GuidedDecisionTableEditorContent getContent() {
+        return content;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+}
@@ -16,10 +16,16 @@
 
 package org.drools.workbench.screens.guided.dtable.service;
 
+import java.util.List;
+
+import org.drools.workbench.models.guided.dtable.shared.model.DTCellValue52;
 import org.drools.workbench.models.guided.dtable.shared.model.GuidedDecisionTable52;
+import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableDelta;
 import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableEditorContent;
+import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableGraphEntryContent;
 import org.guvnor.common.services.shared.metadata.model.Metadata;
 import org.guvnor.common.services.shared.validation.ValidationService;
+import org.guvnor.common.services.shared.validation.model.ValidationMessage;
 import org.jboss.errai.bus.server.annotations.Remote;
 import org.kie.workbench.common.services.datamodel.model.PackageDataModelOracleBaselinePayload;
 import org.kie.workbench.common.services.shared.source.ViewSourceService;
@@ -45,10 +51,58 @@ public interface GuidedDecisionTableEditorService
 
     GuidedDecisionTableEditorContent loadContent(final Path path);
 
+    /**
+     * Loads the content of all entries of a Decision Table Graph in one call. The entries share a single
+     * Data Model, covering the classes used by every entry, and a single set of Work Item definitions.
+     * @param paths Paths, including version, of the Decision Tables in the graph. Must belong to the same package.
+     * @return Content, or the reason it could not be loaded, for each Path, in the same order.
+     */
+    List<GuidedDecisionTableGraphEntryContent> loadGraphEntriesContent(final List<Path> paths);
+
+    /**
+     * Loads a range of rows of a Decision Table. Used to fetch the rows not included in the content returned by
+     * {@link #loadContent(Path)} for very large Decision Tables.
+     * @param path Path, including version, of the Decision Table.
+     * @param version Version of the Decision Table returned with its content.
+     * @param startRow Index of the first row to load.
+     * @param rowCount Maximum number of rows to load.
+     * @return The rows in the range. Empty if startRow is beyond the end of the Decision Table. Null if the Decision
+     * Table has changed since the given version, in which case it should be loaded again.
+     */
+    List<List<DTCellValue52>> loadRows(final Path path,
+                                       final String version,
+                                       final int startRow,
+                                       final int rowCount);
+
     PackageDataModelOracleBaselinePayload loadDataModel(final Path path);
 
     Path saveAndUpdateGraphEntries(final Path resource,
                                    final GuidedDecisionTable52 model,
                                    final Metadata metadata,
                                    final String comment);
+
+    /**
+     * Saves a Decision Table by applying changed rows to the server copy of the version they were made against.
+     * @param resource Path of the Decision Table.
+     * @param delta Rows changed since the base version.
+     * @param metadata Metadata of the Decision Table.
+     * @param comment Commit message.
+     * @return The version of the saved Decision Table, to be used as base of subsequent changes. Null if the
+     * Decision Table has changed since the base version, in which case nothing is saved and the full model
+     * should be saved instead.
+     */
+    String saveDeltaAndUpdateGraphEntries(final Path resource,
+                                          final GuidedDecisionTableDelta delta,
+                                          final Metadata metadata,
+                                          final String comment);
+
+    /**
+     * Validates a Decision Table by applying changed rows to the server copy of the version they were made against.
+     * @param path Path of the Decision Table.
+     * @param delta Rows changed since the base version.
+     * @return Validation messages. Null if the Decision Table has changed since the base version, in which case the
+     * full model should be validated instead.
+     */
+    List<ValidationMessage> validateDelta(final Path path,
+                                          final GuidedDecisionTableDelta delta);
 }
@@ -16,6 +16,8 @@
 
 package org.drools.workbench.screens.guided.dtable.service;
 
+import java.util.Set;
+
 import org.drools.workbench.models.guided.dtable.shared.model.GuidedDecisionTable52;
 
 /**
@@ -36,6 +38,24 @@ public interface GuidedDecisionTableLinkManager {
                final GuidedDecisionTable52 targetModel,
                final LinkFoundCallback callback );
 
+    /**
+     * Returns the "FactType.fieldName" pairs written by Actions of a Decision Table that can be linked to Conditions of
+     * other Decision Tables. Two Decision Tables are linked if the Action fact fields of one intersect the Condition
+     * fact fields of the other.
+     * @param model
+     *         The Decision Table.
+     * @return The fact fields written by linkable Actions. Never null.
+     */
+    Set<String> getActionFactFields( final GuidedDecisionTable52 model );
+
+    /**
+     * Returns the "FactType.fieldName" pairs read by Conditions of a Decision Table.
+     * @param model
+     *         The Decision Table.
+     * @return The fact fields read by Conditions. Never null.
+     */
+    Set<String> getConditionFactFields( final GuidedDecisionTable52 model );
+
     /**
      * Callback when a link is found.
      */
@@ -18,9 +18,11 @@ package org.drools.workbench.screens.guided.dtable.shared;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import org.drools.workbench.models.datamodel.rule.ActionFieldList;
 import org.drools.workbench.models.datamodel.rule.ActionFieldValue;
@@ -49,22 +51,22 @@ public class DefaultGuidedDecisionTableLinkManager implements GuidedDecisionTabl
 
     static class RHSTypeFieldsExtractor {
 
-        private Map<String, List<String>> typeFields = new HashMap<>();
-
-        public Map<String, List<String>> extract(final GuidedDecisionTable52 dtable,
+        public Map<String, List<String>> extract(final BRLRuleModel rm,
                                                  final List<IAction> fragment) {
-            final BRLRuleModel rm = new BRLRuleModel(dtable);
+            final Map<String, List<String>> typeFields = new HashMap<>();
 
             fragment.stream()
                     .filter(iAction -> iAction instanceof ActionFieldList)
                     .map(iAction -> (ActionFieldList) iAction)
                     .forEach(iAction -> extract(rm,
-                                                iAction));
+                                                iAction,
+                                                typeFields));
             return typeFields;
         }
 
         private void extract(final RuleModel ruleModel,
-                             final ActionFieldList actionFieldList) {
+                             final ActionFieldList actionFieldList,
+                             final Map<String, List<String>> typeFields) {
             final Optional<String> type = getType(ruleModel,
                                                   actionFieldList);
             type.ifPresent(t -> {
@@ -105,6 +107,8 @@ public class DefaultGuidedDecisionTableLinkManager implements GuidedDecisionTabl
             return;
         }
         final BRLRuleModel helper = new BRLRuleModel(model);
+        final List<BaseColumn> modelColumns = model.getExpandedColumns();
+        final List<BaseColumn> otherModelColumns = otherModel.getExpandedColumns();
 
         //Re-create links to other Decision Tables
         for (CompositeColumn<? extends BaseColumn> otherDecisionTableConditions : otherModel.getConditions()) {
@@ -118,8 +122,8 @@ public class DefaultGuidedDecisionTableLinkManager implements GuidedDecisionTabl
                                                                                  model,
                                                                                  helper);
                     if (linkedActionColumn != null) {
-                        final int sourceColumnIndex = model.getExpandedColumns().indexOf(linkedActionColumn);
-                        final int targetColumnIndex = otherModel.getExpandedColumns().indexOf(otherDecisionTableCondition);
+                        final int sourceColumnIndex = modelColumns.indexOf(linkedActionColumn);
+                        final int targetColumnIndex = otherModelColumns.indexOf(otherDecisionTableCondition);
                         callback.link(sourceColumnIndex,
                                       targetColumnIndex);
                     }
@@ -134,8 +138,8 @@ public class DefaultGuidedDecisionTableLinkManager implements GuidedDecisionTabl
                                                                                  model,
                                                                                  helper);
                     if (linkedActionColumn != null) {
-                        final int sourceColumnIndex = model.getExpandedColumns().indexOf(linkedActionColumn);
-                        final int targetColumnIndex = otherModel.getExpandedColumns().indexOf(var);
+                        final int sourceColumnIndex = modelColumns.indexOf(linkedActionColumn);
+                        final int targetColumnIndex = otherModelColumns.indexOf(var);
                         callback.link(sourceColumnIndex,
                                       targetColumnIndex);
                     }
@@ -144,6 +148,82 @@ public class DefaultGuidedDecisionTableLinkManager implements GuidedDecisionTabl
         }
     }
 
+    @Override
+    public Set<String> getActionFactFields(final GuidedDecisionTable52 model) {
+        final Set<String> factFields = new HashSet<>();
+        if (model == null) {
+            return factFields;
+        }
+        final BRLRuleModel helper = new BRLRuleModel(model);
+
+        //Mirrors getLinkedActionColumn(): the first BRL Action column ends the search for a linked column
+        for (ActionCol52 ac : model.getActionCols()) {
+            if (ac instanceof ActionInsertFactCol52) {
+                final ActionInsertFactCol52 aif = (ActionInsertFactCol52) ac;
+                addFactField(factFields,
+                             aif.getFactType(),
+                             aif.getFactField());
+            } else if (ac instanceof ActionSetFieldCol52) {
+                final ActionSetFieldCol52 asf = (ActionSetFieldCol52) ac;
+                addFactField(factFields,
+                             helper.getLHSBindingType(asf.getBoundName()),
+                             asf.getFactField());
+            } else if (ac instanceof BRLActionColumn) {
+                final BRLActionColumn fragment = (BRLActionColumn) ac;
+                if (hasTemplateKeys(fragment)) {
+                    for (BRLActionVariableColumn var : fragment.getChildColumns()) {
+                        addFactField(factFields,
+                                     var.getFactType(),
+                                     var.getFactField());
+                    }
+                } else if (!fragment.getChildColumns().isEmpty()) {
+                    rhsTypeFieldsExtractor.extract(helper,
+                                                   fragment.getDefinition())
+                            .forEach((factType, fields) -> fields.forEach(field -> addFactField(factFields,
+                                                                                                factType,
+                                                                                                field)));
+                }
+                break;
+            }
+        }
+        return factFields;
+    }
+
+    @Override
+    public Set<String> getConditionFactFields(final GuidedDecisionTable52 model) {
+        final Set<String> factFields = new HashSet<>();
+        if (model == null) {
+            return factFields;
+        }
+        for (CompositeColumn<? extends BaseColumn> conditions : model.getConditions()) {
+            if (conditions instanceof Pattern52) {
+                final Pattern52 pattern = (Pattern52) conditions;
+                for (ConditionCol52 condition : pattern.getChildColumns()) {
+                    addFactField(factFields,
+                                 pattern.getFactType(),
+                                 condition.getFactField());
+                }
+            } else if (conditions instanceof BRLConditionColumn) {
+                final BRLConditionColumn fragment = (BRLConditionColumn) conditions;
+                for (BRLConditionVariableColumn var : fragment.getChildColumns()) {
+                    addFactField(factFields,
+                                 var.getFactType(),
+                                 var.getFactField());
+                }
+            }
+        }
+        return factFields;
+    }
+
+    private void addFactField(final Set<String> factFields,
+                              final String factType,
+                              final String fieldName) {
+        if (factType == null || fieldName == null) {
+            return;
+        }
+        factFields.add(factType + "." + fieldName);
+    }
+
     private ActionCol52 getLinkedActionColumn(final String factType,
                                               final String fieldName,
                                               final GuidedDecisionTable52 model,
@@ -173,7 +253,7 @@ public class DefaultGuidedDecisionTableLinkManager implements GuidedDecisionTabl
                                                       factType,
                                                       fieldName);
                 } else {
-                    return getLinkedDefinitionColumn(model,
+                    return getLinkedDefinitionColumn(helper,
                                                      fragment,
                                                      factType,
                                                      fieldName);
@@ -204,11 +284,11 @@ public class DefaultGuidedDecisionTableLinkManager implements GuidedDecisionTabl
         return null;
     }
 
-    private ActionCol52 getLinkedDefinitionColumn(final GuidedDecisionTable52 model,
+    private ActionCol52 getLinkedDefinitionColumn(final BRLRuleModel helper,
                                                   final BRLActionColumn fragment,
                                                   final String factType,
                                                   final String fieldName) {
-        final Map<String, List<String>> rhsTypeFields = rhsTypeFieldsExtractor.extract(model,
+        final Map<String, List<String>> rhsTypeFields = rhsTypeFieldsExtractor.extract(helper,
                                                                                        fragment.getDefinition());
         if (rhsTypeFields.containsKey(factType)) {
             for (String field : rhsTypeFields.get(factType)) {
@@ -17,6 +17,9 @@
 package org.drools.workbench.screens.guided.dtable.shared;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
 
 import org.drools.workbench.models.datamodel.rule.ActionFieldValue;
 import org.drools.workbench.models.datamodel.rule.ActionInsertFact;
@@ -203,4 +206,33 @@ public class DefaultGuidedDecisionTableLinkManagerTest {
                                       t);
                      });
     }
+
+    @Test
+    public void factFields() {
+        final GuidedDecisionTable52 dt = new GuidedDecisionTable52();
+        final Pattern52 p = new Pattern52();
+        p.setBoundName("$f");
+        p.setFactType("Fact");
+        final ConditionCol52 pc1 = new ConditionCol52();
+        pc1.setFactField("field1");
+        p.getChildColumns().add(pc1);
+        dt.getConditions().add(p);
+        final ActionSetFieldCol52 asf = new ActionSetFieldCol52();
+        asf.setBoundName("$f");
+        asf.setFactField("field2");
+        dt.getActionCols().add(asf);
+        final ActionInsertFactCol52 aif = new ActionInsertFactCol52();
+        aif.setFactType("Other");
+        aif.setFactField("field3");
+        dt.getActionCols().add(aif);
+
+        final Set<String> actionFactFields = manager.getActionFactFields(dt);
+        assertEquals(new HashSet<String>() {{
+                         add("Fact.field2");
+                         add("Other.field3");
+                     }},
+                     actionFactFields);
+        assertEquals(Collections.singleton("Fact.field1"),
+                     manager.getConditionFactFields(dt));
+    }
 }
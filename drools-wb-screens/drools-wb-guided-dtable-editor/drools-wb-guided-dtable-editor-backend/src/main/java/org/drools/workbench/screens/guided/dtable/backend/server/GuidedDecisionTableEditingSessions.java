@@ -0,0 +1,188 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.guided.dtable.backend.server;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.drools.workbench.models.guided.dtable.backend.GuidedDTXMLPersistence;
+import org.drools.workbench.models.guided.dtable.shared.model.DTCellValue52;
+import org.drools.workbench.models.guided.dtable.shared.model.GuidedDecisionTable52;
+import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableDelta;
+import org.uberfire.io.IOService;
+import org.uberfire.java.nio.file.Path;
+
+/**
+ * Server copies of Guided Decision Tables being edited, keyed by Path and version, against which the row changes
+ * made on the client are applied. Unlike the models in {@link GuidedDecisionTableModelCache} these copies are
+ * private to the session and can be altered. Only the most recently used sessions are kept.
+ */
+@ApplicationScoped
+public class GuidedDecisionTableEditingSessions {
+
+    public static final String MAX_SESSIONS_PROPERTY = "org.drools.workbench.screens.guided.dtable.editing.max-sessions";
+
+    static final int DEFAULT_MAX_SESSIONS = 32;
+
+    private IOService ioService;
+
+    private GuidedDecisionTableModelCache modelCache;
+
+    private int maxSessions;
+
+    private final Map<String, Session> sessions = new LinkedHashMap<>(16,
+                                                                      0.75f,
+                                                                      true);
+
+    public GuidedDecisionTableEditingSessions() {
+        //Zero parameter constructor for CDI
+    }
+
+    @Inject
+    public GuidedDecisionTableEditingSessions(final @Named("ioStrategy") IOService ioService,
+                                              final GuidedDecisionTableModelCache modelCache) {
+        this.ioService = ioService;
+        this.modelCache = modelCache;
+        this.maxSessions = Integer.getInteger(MAX_SESSIONS_PROPERTY,
+                                              DEFAULT_MAX_SESSIONS);
+    }
+
+    /**
+     * Returns the session for a version of a Decision Table. Callers must synchronize on the session while using it.
+     * @param path Path of the Decision Table
+     * @param version Version the client changes were made against
+     * @return The session, or null if the persisted Decision Table is no longer at the version.
+     */
+    public Session getSession(final Path path,
+                              final String version) {
+        if (version == null || !version.equals(modelCache.getVersion(path))) {
+            return null;
+        }
+        final String uri = path.toUri().toString();
+        synchronized (sessions) {
+            final Session session = sessions.get(uri);
+            if (session != null && version.equals(session.version)) {
+                return session;
+            }
+        }
+
+        final GuidedDecisionTable52 model = GuidedDTXMLPersistence.getInstance().unmarshal(ioService.readAllString(path));
+        final Session session = new Session(version,
+                                            model);
+        synchronized (sessions) {
+            sessions.put(uri,
+                         session);
+            while (sessions.size() > maxSessions) {
+                sessions.remove(sessions.keySet().iterator().next());
+            }
+        }
+        return session;
+    }
+
+    public void invalidate(final Path path) {
+        synchronized (sessions) {
+            sessions.remove(path.toUri().toString());
+        }
+    }
+
+    /**
+     * Applies the changes to a Decision Table: its definition is replaced, its rows are changed and new audit log
+     * entries are added.
+     * @param model Decision Table at the base version
+     * @param delta Changes
+     */
+    static void applyDelta(final GuidedDecisionTable52 model,
+                           final GuidedDecisionTableDelta delta) {
+        final List<List<DTCellValue52>> rows = applyRows(model.getData(),
+                                                         delta);
+        final GuidedDecisionTable52 definition = delta.getDefinition();
+        model.setTableName(definition.getTableName());
+        model.setParentName(definition.getParentName());
+        model.setPackageName(definition.getPackageName());
+        model.setImports(definition.getImports());
+        model.setTableFormat(definition.getTableFormat());
+        model.setHitPolicy(definition.getHitPolicy());
+        model.setRowNumberCol(definition.getRowNumberCol());
+        model.setDescriptionCol(definition.getDescriptionCol());
+        model.setMetadataCols(definition.getMetadataCols());
+        model.setAttributeCols(definition.getAttributeCols());
+        model.setConditionPatterns(definition.getConditions());
+        model.setActionCols(definition.getActionCols());
+        model.setData(rows);
+        delta.getAuditLogEntries().forEach((entry) -> model.getAuditLog().add(entry));
+    }
+
+    /**
+     * Returns the rows of a Decision Table after applying the row changes; the given rows are not altered.
+     * @param data Rows of the base version
+     * @param delta Row changes
+     * @return A new list of rows
+     */
+    static List<List<DTCellValue52>> applyRows(final List<List<DTCellValue52>> data,
+                                               final GuidedDecisionTableDelta delta) {
+        final int rowCount = delta.getRowCount();
+        final List<List<DTCellValue52>> rows = new ArrayList<>(data.subList(0,
+                                                                            Math.min(rowCount,
+                                                                                     data.size())));
+        while (rows.size() < rowCount) {
+            rows.add(null);
+        }
+        for (int i = 0; i < delta.getRowIndexes().size(); i++) {
+            final int rowIndex = delta.getRowIndexes().get(i);
+            if (rowIndex < 0 || rowIndex >= rowCount) {
+                throw new IllegalArgumentException("Row index " + rowIndex + " is outside of the Decision Table.");
+            }
+            rows.set(rowIndex,
+                     delta.getRows().get(i));
+        }
+        if (rows.contains(null)) {
+            throw new IllegalArgumentException("Rows added to the Decision Table are missing from the changes.");
+        }
+        return rows;
+    }
+
+    public static class Session {
+
+        private String version;
+
+        private final GuidedDecisionTable52 model;
+
+        private Session(final String version,
+                        final GuidedDecisionTable52 model) {
+            this.version = version;
+            this.model = model;
+        }
+
+        public String getVersion() {
+            return version;
+        }
+
+        public void setVersion(final String version) {
+            this.version = version;
+        }
+
+        public GuidedDecisionTable52 getModel() {
+            return model;
+        }
+    }
+}
@@ -16,12 +16,20 @@
 
 package org.drools.workbench.screens.guided.dtable.backend.server;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Event;
 import javax.inject.Inject;
@@ -29,16 +37,17 @@ import javax.inject.Named;
 
 import org.drools.workbench.models.datamodel.workitems.PortableWorkDefinition;
 import org.drools.workbench.models.guided.dtable.backend.GuidedDTXMLPersistence;
+import org.drools.workbench.models.guided.dtable.shared.model.DTCellValue52;
 import org.drools.workbench.models.guided.dtable.shared.model.GuidedDecisionTable52;
+import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableDelta;
 import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableEditorContent;
 import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableEditorGraphModel;
+import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableGraphEntryContent;
 import org.drools.workbench.screens.guided.dtable.service.GuidedDecisionTableEditorService;
 import org.drools.workbench.screens.guided.dtable.service.GuidedDecisionTableGraphEditorService;
-import org.drools.workbench.screens.guided.dtable.type.GuidedDTableGraphResourceTypeDefinition;
 import org.drools.workbench.screens.workitems.service.WorkItemsEditorService;
 import org.guvnor.common.services.backend.config.SafeSessionInfo;
 import org.guvnor.common.services.backend.exceptions.ExceptionUtilities;
-import org.guvnor.common.services.backend.file.FileExtensionFilter;
 import org.guvnor.common.services.backend.util.CommentedOptionFactory;
 import org.guvnor.common.services.backend.validation.GenericValidator;
 import org.guvnor.common.services.project.model.Package;
@@ -52,6 +61,8 @@ import org.kie.workbench.common.services.datamodel.backend.server.DataModelOracl
 import org.kie.workbench.common.services.datamodel.backend.server.service.DataModelService;
 import org.kie.workbench.common.services.datamodel.model.PackageDataModelOracleBaselinePayload;
 import org.kie.workbench.common.services.shared.project.KieModuleService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.uberfire.backend.server.util.Paths;
 import org.uberfire.backend.vfs.Path;
 import org.uberfire.backend.vfs.PathFactory;
@@ -62,7 +73,6 @@ import org.uberfire.ext.editor.commons.service.DeleteService;
 import org.uberfire.ext.editor.commons.service.RenameService;
 import org.uberfire.io.IOService;
 import org.uberfire.java.nio.base.version.VersionRecord;
-import org.uberfire.java.nio.file.DirectoryStream;
 import org.uberfire.java.nio.file.FileAlreadyExistsException;
 import org.uberfire.java.nio.file.Files;
 import org.uberfire.rpc.SessionInfo;
@@ -74,6 +84,19 @@ public class GuidedDecisionTableEditorServiceImpl
         extends KieService<GuidedDecisionTableEditorContent>
         implements GuidedDecisionTableEditorService {
 
+    public static final String INITIAL_ROWS_PROPERTY = "org.drools.workbench.screens.guided.dtable.initial-rows";
+
+    public static final String GRAPH_ENTRIES_THREADS_PROPERTY = "org.drools.workbench.screens.guided.dtable.graph-entries.threads";
+
+    static final int DEFAULT_INITIAL_ROWS = 1000;
+
+    static final int DEFAULT_GRAPH_ENTRIES_THREADS = 4;
+
+    //Entries queued beyond this are unmarshalled by the calling thread
+    static final int GRAPH_ENTRIES_MAX_QUEUED = 64;
+
+    private static final Logger logger = LoggerFactory.getLogger(GuidedDecisionTableEditorServiceImpl.class);
+
     private IOService ioService;
     private CopyService copyService;
     private DeleteService deleteService;
@@ -83,12 +106,22 @@ public class GuidedDecisionTableEditorServiceImpl
     private KieModuleService moduleService;
     private VersionRecordService versionRecordService;
     private GuidedDecisionTableGraphEditorService dtableGraphService;
-    private GuidedDTableGraphResourceTypeDefinition dtableGraphType;
     private Event<ResourceOpenedEvent> resourceOpenedEvent;
     private GenericValidator genericValidator;
     private CommentedOptionFactory commentedOptionFactory;
     private SafeSessionInfo safeSessionInfo;
     private SaveAndRenameServiceImpl<GuidedDecisionTable52, Metadata> saveAndRenameService;
+    private GuidedDecisionTableModelCache modelCache;
+    private GuidedDecisionTableLinkIndex dtableLinkIndex;
+    private GuidedDecisionTableGraphReferenceIndex dtableGraphReferenceIndex;
+    private GuidedDecisionTableEditingSessions editingSessions;
+
+    //Decision Tables with more rows are sent to the client with only this many rows. Zero or less disables paging
+    private int initialRowCount = Integer.getInteger(INITIAL_ROWS_PROPERTY,
+                                                     DEFAULT_INITIAL_ROWS);
+
+    //Unmarshals the entries of Decision Table Graphs in parallel
+    private ExecutorService graphEntriesExecutor;
 
     public GuidedDecisionTableEditorServiceImpl() {
         //Zero parameter constructor for CDI
@@ -104,11 +137,14 @@ public class GuidedDecisionTableEditorServiceImpl
                                                 final KieModuleService moduleService,
                                                 final VersionRecordService versionRecordService,
                                                 final GuidedDecisionTableGraphEditorService dtableGraphService,
-                                                final GuidedDTableGraphResourceTypeDefinition dtableGraphType,
                                                 final Event<ResourceOpenedEvent> resourceOpenedEvent,
                                                 final GenericValidator genericValidator,
                                                 final CommentedOptionFactory commentedOptionFactory,
                                                 final SaveAndRenameServiceImpl<GuidedDecisionTable52, Metadata> saveAndRenameService,
+                                                final GuidedDecisionTableModelCache modelCache,
+                                                final GuidedDecisionTableLinkIndex dtableLinkIndex,
+                                                final GuidedDecisionTableGraphReferenceIndex dtableGraphReferenceIndex,
+                                                final GuidedDecisionTableEditingSessions editingSessions,
                                                 final SessionInfo sessionInfo) {
         this.ioService = ioService;
         this.copyService = copyService;
@@ -119,12 +155,31 @@ public class GuidedDecisionTableEditorServiceImpl
         this.moduleService = moduleService;
         this.versionRecordService = versionRecordService;
         this.dtableGraphService = dtableGraphService;
-        this.dtableGraphType = dtableGraphType;
         this.resourceOpenedEvent = resourceOpenedEvent;
         this.genericValidator = genericValidator;
         this.commentedOptionFactory = commentedOptionFactory;
         this.saveAndRenameService = saveAndRenameService;
+        this.modelCache = modelCache;
+        this.dtableLinkIndex = dtableLinkIndex;
+        this.dtableGraphReferenceIndex = dtableGraphReferenceIndex;
+        this.editingSessions = editingSessions;
         this.safeSessionInfo = new SafeSessionInfo(sessionInfo);
+
+        final int threads = Math.max(1,
+                                     Integer.getInteger(GRAPH_ENTRIES_THREADS_PROPERTY,
+                                                        DEFAULT_GRAPH_ENTRIES_THREADS));
+        this.graphEntriesExecutor = new ThreadPoolExecutor(threads,
+                                                           threads,
+                                                           0L,
+                                                           TimeUnit.MILLISECONDS,
+                                                           new ArrayBlockingQueue<>(GRAPH_ENTRIES_MAX_QUEUED),
+                                                           (runnable) -> {
+                                                               final Thread thread = new Thread(runnable,
+                                                                                                "dtable-graph-entries");
+                                                               thread.setDaemon(true);
+                                                               return thread;
+                                                           },
+                                                           new ThreadPoolExecutor.CallerRunsPolicy());
     }
 
     @PostConstruct
@@ -132,6 +187,13 @@ public class GuidedDecisionTableEditorServiceImpl
         saveAndRenameService.init(this);
     }
 
+    @PreDestroy
+    public void destroy() {
+        if (graphEntriesExecutor != null) {
+            graphEntriesExecutor.shutdownNow();
+        }
+    }
+
     @Override
     public Path create(final Path context,
                        final String fileName,
@@ -162,9 +224,7 @@ public class GuidedDecisionTableEditorServiceImpl
     @Override
     public GuidedDecisionTable52 load(final Path path) {
         try {
-            final String content = ioService.readAllString(Paths.convert(path));
-
-            return GuidedDTXMLPersistence.getInstance().unmarshal(content);
+            return modelCache.load(Paths.convert(path));
         } catch (Exception e) {
             throw ExceptionUtilities.handleException(e);
         }
@@ -175,17 +235,149 @@ public class GuidedDecisionTableEditorServiceImpl
         return super.loadContent(path);
     }
 
+    @Override
+    public List<GuidedDecisionTableGraphEntryContent> loadGraphEntriesContent(final List<Path> paths) {
+        final List<GuidedDecisionTableGraphEntryContent> contents = new ArrayList<>();
+        if (paths == null || paths.isEmpty()) {
+            return contents;
+        }
+        try {
+            //Unmarshal the models in parallel. An entry that can not be loaded does not prevent the others from loading
+            final List<Future<GuidedDecisionTable52>> loads = new ArrayList<>();
+            for (Path path : paths) {
+                loads.add(graphEntriesExecutor.submit(() -> load(path)));
+            }
+            final List<GuidedDecisionTable52> models = new ArrayList<>();
+            final List<String> errorMessages = new ArrayList<>();
+            final Set<String> consumedFQCNs = new HashSet<>();
+            for (int i = 0; i < paths.size(); i++) {
+                try {
+                    final GuidedDecisionTable52 model = loads.get(i).get();
+                    consumedFQCNs.addAll(new GuidedDecisionTableModelVisitor(model).getConsumedModelClasses());
+                    models.add(model);
+                    errorMessages.add(null);
+                } catch (ExecutionException e) {
+                    models.add(null);
+                    errorMessages.add(getErrorMessage(paths.get(i),
+                                                      e.getCause()));
+                }
+            }
+
+            //The entries of a graph belong to the same package and share one Data Model and set of Work Item definitions
+            final Path packagePath = paths.get(0);
+            final PackageDataModelOracleBaselinePayload dataModel = makeDataModel(packagePath,
+                                                                                  consumedFQCNs);
+            final Set<PortableWorkDefinition> workItemDefinitions = workItemsService.loadWorkItemDefinitions(packagePath);
+            for (int i = 0; i < paths.size(); i++) {
+                final Path path = paths.get(i);
+                final GuidedDecisionTable52 model = models.get(i);
+                if (model == null) {
+                    contents.add(new GuidedDecisionTableGraphEntryContent(errorMessages.get(i)));
+                    continue;
+                }
+                try {
+                    //Graph entries are always loaded in full
+                    contents.add(new GuidedDecisionTableGraphEntryContent(makeContent(path,
+                                                                                      loadOverview(path),
+                                                                                      model,
+                                                                                      model.getData().size(),
+                                                                                      modelCache.getVersion(Paths.convert(path)),
+                                                                                      dataModel,
+                                                                                      workItemDefinitions)));
+                } catch (Exception e) {
+                    contents.add(new GuidedDecisionTableGraphEntryContent(getErrorMessage(path,
+                                                                                          e)));
+                }
+            }
+            return contents;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw ExceptionUtilities.handleException(e);
+        } catch (Exception e) {
+            throw ExceptionUtilities.handleException(e);
+        }
+    }
+
+    private String getErrorMessage(final Path path,
+                                   final Throwable cause) {
+        logger.warn("Unable to load Decision Table Graph entry '" + path.toURI() + "'.",
+                    cause);
+        return cause.getMessage() == null ? cause.getClass().getName() : cause.getMessage();
+    }
+
+    Overview loadOverview(final Path path) {
+        return overviewLoader.loadOverview(path);
+    }
+
+    @Override
+    public List<List<DTCellValue52>> loadRows(final Path path,
+                                              final String version,
+                                              final int startRow,
+                                              final int rowCount) {
+        try {
+            return modelCache.loadRows(Paths.convert(path),
+                                       version,
+                                       startRow,
+                                       rowCount);
+        } catch (Exception e) {
+            throw ExceptionUtilities.handleException(e);
+        }
+    }
+
     @Override
     protected GuidedDecisionTableEditorContent constructContent(Path path,
                                                                 Overview overview) {
+        //The version is read first so that rows loaded later can be checked against the rows sent now
+        final String version = modelCache.getVersion(Paths.convert(path));
         final GuidedDecisionTable52 model = load(path);
+        final int totalRowCount = model.getData().size();
 
-        final PackageDataModelOracle oracle = dataModelService.getDataModel(path);
-        final PackageDataModelOracleBaselinePayload dataModel = new PackageDataModelOracleBaselinePayload();
+        //Large Decision Tables are sent with their first rows only, provided the remaining rows can be matched to them
+        if (version != null && initialRowCount > 0 && totalRowCount > initialRowCount) {
+            model.setData(new ArrayList<>(model.getData().subList(0,
+                                                                  initialRowCount)));
+        }
 
         //Get FQCN's used by model
         final GuidedDecisionTableModelVisitor visitor = new GuidedDecisionTableModelVisitor(model);
-        final Set<String> consumedFQCNs = visitor.getConsumedModelClasses();
+        return makeContent(path,
+                           overview,
+                           model,
+                           totalRowCount,
+                           version,
+                           makeDataModel(path,
+                                         visitor.getConsumedModelClasses()),
+                           workItemsService.loadWorkItemDefinitions(path));
+    }
+
+    private GuidedDecisionTableEditorContent makeContent(final Path path,
+                                                         final Overview overview,
+                                                         final GuidedDecisionTable52 model,
+                                                         final int totalRowCount,
+                                                         final String version,
+                                                         final PackageDataModelOracleBaselinePayload dataModel,
+                                                         final Set<PortableWorkDefinition> workItemDefinitions) {
+        //Signal opening to interested parties
+        resourceOpenedEvent.fire(new ResourceOpenedEvent(path,
+                                                         safeSessionInfo));
+
+        final GuidedDecisionTableEditorContent content = new GuidedDecisionTableEditorContent(model,
+                                                                                              workItemDefinitions,
+                                                                                              overview,
+                                                                                              dataModel);
+        content.setTotalRowCount(totalRowCount);
+        content.setVersion(version);
+        return content;
+    }
+
+    void setInitialRowCount(final int initialRowCount) {
+        this.initialRowCount = initialRowCount;
+    }
+
+    private PackageDataModelOracleBaselinePayload makeDataModel(final Path path,
+                                                                final Set<String> consumedFQCNs) {
+        final PackageDataModelOracle oracle = dataModelService.getDataModel(path);
+        final PackageDataModelOracleBaselinePayload dataModel = new PackageDataModelOracleBaselinePayload();
 
         //Get FQCN's used by Globals
         consumedFQCNs.addAll(oracle.getPackageGlobals().values());
@@ -202,17 +394,7 @@ public class GuidedDecisionTableEditorServiceImpl
         DataModelOracleUtilities.populateDataModel(oracle,
                                                    dataModel,
                                                    consumedFQCNs);
-
-        final Set<PortableWorkDefinition> workItemDefinitions = workItemsService.loadWorkItemDefinitions(path);
-
-        //Signal opening to interested parties
-        resourceOpenedEvent.fire(new ResourceOpenedEvent(path,
-                                                         safeSessionInfo));
-
-        return new GuidedDecisionTableEditorContent(model,
-                                                    workItemDefinitions,
-                                                    overview,
-                                                    dataModel);
+        return dataModel;
     }
 
     @Override
@@ -246,6 +428,9 @@ public class GuidedDecisionTableEditorServiceImpl
                             metadataService.setUpAttributes(resource,
                                                             metadata),
                             commentedOptionFactory.makeCommentedOption(comment));
+            modelCache.invalidate(Paths.convert(resource));
+            dtableLinkIndex.update(resource,
+                                   model);
 
             return resource;
         } catch (Exception e) {
@@ -277,6 +462,41 @@ public class GuidedDecisionTableEditorServiceImpl
         }
     }
 
+    @Override
+    public String saveDeltaAndUpdateGraphEntries(final Path resource,
+                                                 final GuidedDecisionTableDelta delta,
+                                                 final Metadata metadata,
+                                                 final String comment) {
+        final org.uberfire.java.nio.file.Path nioPath = Paths.convert(resource);
+        try {
+            final GuidedDecisionTableEditingSessions.Session session = editingSessions.getSession(nioPath,
+                                                                                                   delta.getBaseVersion());
+            if (session == null) {
+                return null;
+            }
+            synchronized (session) {
+                if (!delta.getBaseVersion().equals(session.getVersion())) {
+                    return null;
+                }
+                final GuidedDecisionTable52 model = session.getModel();
+                GuidedDecisionTableEditingSessions.applyDelta(model,
+                                                              delta);
+
+                saveAndUpdateGraphEntries(resource,
+                                          model,
+                                          metadata,
+                                          comment);
+
+                session.setVersion(modelCache.getVersion(nioPath));
+                return session.getVersion();
+            }
+        } catch (Exception e) {
+            //The server copy may have been partially changed
+            editingSessions.invalidate(nioPath);
+            throw ExceptionUtilities.handleException(e);
+        }
+    }
+
     private Path getLatestVersionPath(final Path path) {
         final List<VersionRecord> versions = versionRecordService.load(Paths.convert(path));
         final String versionUri = versions.get(versions.size() - 1).uri();
@@ -287,13 +507,11 @@ public class GuidedDecisionTableEditorServiceImpl
 
     private void updateGraphElementPaths(final Path source,
                                          final Path destination) {
-        try (final DirectoryStream<org.uberfire.java.nio.file.Path> directoryStream =
-                     ioService.newDirectoryStream(getParentFolder(source),
-                                                  new FileExtensionFilter(dtableGraphType.getSuffix()))) {
-            directoryStream.forEach((path) -> updateGraphElementPath(source,
-                                                                     destination,
-                                                                     Paths.convert(path)));
-        }
+        dtableGraphReferenceIndex.getReferencingGraphs(getParentFolder(source),
+                                                       source)
+                .forEach((graphPath) -> updateGraphElementPath(source,
+                                                               destination,
+                                                               graphPath));
     }
 
     private org.uberfire.java.nio.file.Path getParentFolder(final Path path) {
@@ -310,6 +528,8 @@ public class GuidedDecisionTableEditorServiceImpl
         ioService.write(Paths.convert(graphPath),
                         GuidedDTGraphXMLPersistence.getInstance().marshal(dtGraphModel),
                         commentedOptionFactory.makeCommentedOption("Updated Path version for [" + source.toURI() + "] to [" + destination.toURI() + "]."));
+        dtableGraphReferenceIndex.update(graphPath,
+                                         dtGraphModel);
     }
 
     @Override
@@ -383,6 +603,31 @@ public class GuidedDecisionTableEditorServiceImpl
         }
     }
 
+    @Override
+    public List<ValidationMessage> validateDelta(final Path path,
+                                                 final GuidedDecisionTableDelta delta) {
+        try {
+            final GuidedDecisionTableEditingSessions.Session session = editingSessions.getSession(Paths.convert(path),
+                                                                                                   delta.getBaseVersion());
+            if (session == null) {
+                return null;
+            }
+            synchronized (session) {
+                if (!delta.getBaseVersion().equals(session.getVersion())) {
+                    return null;
+                }
+                //Validate the changed Decision Table without altering the server copy
+                final GuidedDecisionTable52 model = delta.getDefinition();
+                model.setData(GuidedDecisionTableEditingSessions.applyRows(session.getModel().getData(),
+                                                                           delta));
+                return genericValidator.validate(path,
+                                                 GuidedDTXMLPersistence.getInstance().marshal(model));
+            }
+        } catch (Exception e) {
+            throw ExceptionUtilities.handleException(e);
+        }
+    }
+
     @Override
     public Path saveAndRename(final Path path,
                               final String newFileName,
@@ -27,12 +27,9 @@ import javax.enterprise.event.Event;
 import javax.inject.Inject;
 import javax.inject.Named;
 
-import org.drools.workbench.models.guided.dtable.shared.model.GuidedDecisionTable52;
 import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableEditorGraphContent;
 import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableEditorGraphModel;
-import org.drools.workbench.screens.guided.dtable.service.GuidedDecisionTableEditorService;
 import org.drools.workbench.screens.guided.dtable.service.GuidedDecisionTableGraphEditorService;
-import org.drools.workbench.screens.guided.dtable.service.GuidedDecisionTableLinkManager;
 import org.drools.workbench.screens.guided.dtable.type.GuidedDTableResourceTypeDefinition;
 import org.guvnor.common.services.backend.config.SafeSessionInfo;
 import org.guvnor.common.services.backend.exceptions.ExceptionUtilities;
@@ -47,7 +44,6 @@ import org.kie.workbench.common.services.shared.project.KieModuleService;
 import org.uberfire.backend.server.util.Paths;
 import org.uberfire.backend.vfs.Path;
 import org.uberfire.backend.vfs.PathFactory;
-import org.uberfire.commons.data.Pair;
 import org.uberfire.ext.editor.commons.backend.version.VersionRecordService;
 import org.uberfire.ext.editor.commons.service.CopyService;
 import org.uberfire.ext.editor.commons.service.DeleteService;
@@ -71,8 +67,8 @@ public class GuidedDecisionTableGraphEditorServiceImpl
     private RenameService renameService;
     private KieModuleService moduleService;
     private VersionRecordService versionRecordService;
-    private GuidedDecisionTableEditorService dtableService;
-    private GuidedDecisionTableLinkManager dtableLinkManager;
+    private GuidedDecisionTableLinkIndex dtableLinkIndex;
+    private GuidedDecisionTableGraphReferenceIndex dtableGraphReferenceIndex;
     private Event<ResourceOpenedEvent> resourceOpenedEvent;
     private CommentedOptionFactory commentedOptionFactory;
     private GuidedDTableResourceTypeDefinition resourceType;
@@ -90,8 +86,8 @@ public class GuidedDecisionTableGraphEditorServiceImpl
                                                      final RenameService renameService,
                                                      final KieModuleService moduleService,
                                                      final VersionRecordService versionRecordService,
-                                                     final GuidedDecisionTableEditorService dtableService,
-                                                     final GuidedDecisionTableLinkManager dtableLinkManager,
+                                                     final GuidedDecisionTableLinkIndex dtableLinkIndex,
+                                                     final GuidedDecisionTableGraphReferenceIndex dtableGraphReferenceIndex,
                                                      final Event<ResourceOpenedEvent> resourceOpenedEvent,
                                                      final CommentedOptionFactory commentedOptionFactory,
                                                      final GuidedDTableResourceTypeDefinition resourceType,
@@ -103,8 +99,8 @@ public class GuidedDecisionTableGraphEditorServiceImpl
         this.renameService = renameService;
         this.moduleService = moduleService;
         this.versionRecordService = versionRecordService;
-        this.dtableService = dtableService;
-        this.dtableLinkManager = dtableLinkManager;
+        this.dtableLinkIndex = dtableLinkIndex;
+        this.dtableGraphReferenceIndex = dtableGraphReferenceIndex;
         this.resourceOpenedEvent = resourceOpenedEvent;
         this.commentedOptionFactory = commentedOptionFactory;
         this.resourceType = resourceType;
@@ -132,6 +128,10 @@ public class GuidedDecisionTableGraphEditorServiceImpl
                             commentedOptionFactory.makeCommentedOption(comment));
 
             final Path newPath = Paths.convert(nioPath);
+
+            //Resource events are asynchronous; the index must know of the Graph before a Decision Table is next saved
+            dtableGraphReferenceIndex.update(newPath,
+                                             model);
             return newPath;
         } catch (Exception e) {
             throw ExceptionUtilities.handleException(e);
@@ -181,6 +181,8 @@ public class GuidedDecisionTableGraphEditorServiceImpl
                                                             metadata),
                             commentedOptionFactory.makeCommentedOption(comment));
 
+            dtableGraphReferenceIndex.update(path,
+                                             model);
             return path;
         } catch (Exception e) {
             throw ExceptionUtilities.handleException(e);
@@ -285,23 +287,14 @@ public class GuidedDecisionTableGraphEditorServiceImpl
     }
 
     private Set<Path> getLinkedDecisionTablesInPackage(final Path context) {
-        final Set<Path> linkedDecisionTablePaths = new HashSet<>();
-        final List<Path> allDecisionTablePathsInPackage = listDecisionTablesInPackage(context);
-        final List<Pair<Path, GuidedDecisionTable52>> allDecisionTablesInPackage = new ArrayList<>();
-        allDecisionTablePathsInPackage.forEach((path) -> allDecisionTablesInPackage.add(new Pair<>(path,
-                                                                                                   dtableService.load(path))));
-        allDecisionTablesInPackage.forEach((source) -> {
-            final List<Pair<Path, GuidedDecisionTable52>> otherDecisionTablesInPackage = new ArrayList<>();
-            otherDecisionTablesInPackage.addAll(allDecisionTablesInPackage);
-            otherDecisionTablesInPackage.remove(source);
-            otherDecisionTablesInPackage.forEach((target) -> dtableLinkManager.link(source.getK2(),
-                                                                                    target.getK2(),
-                                                                                    (s, t) -> {
-                                                                                        linkedDecisionTablePaths.add(source.getK1());
-                                                                                        linkedDecisionTablePaths.add(target.getK1());
-                                                                                    }));
-        });
-
-        return linkedDecisionTablePaths;
+        final Package pkg = moduleService.resolvePackage(context);
+        if (pkg == null) {
+            return new HashSet<>();
+        }
+
+        final Path pkgPath = pkg.getPackageMainResourcesPath();
+        final List<Path> allDecisionTablePathsInPackage = findDecisionTables(Paths.convert(pkgPath));
+        return dtableLinkIndex.getLinkedDecisionTables(pkgPath,
+                                                       allDecisionTablePathsInPackage);
     }
 }
@@ -0,0 +1,281 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.guided.dtable.backend.server;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableEditorGraphModel;
+import org.drools.workbench.screens.guided.dtable.service.GuidedDecisionTableGraphEditorService;
+import org.drools.workbench.screens.guided.dtable.type.GuidedDTableGraphResourceTypeDefinition;
+import org.guvnor.common.services.backend.file.FileExtensionFilter;
+import org.uberfire.backend.server.util.Paths;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.io.IOService;
+import org.uberfire.java.nio.file.DirectoryStream;
+import org.uberfire.workbench.events.ResourceAddedEvent;
+import org.uberfire.workbench.events.ResourceBatchChangesEvent;
+import org.uberfire.workbench.events.ResourceCopiedEvent;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+import org.uberfire.workbench.events.ResourceRenamedEvent;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
+
+/**
+ * Per-folder index of the Guided Decision Tables referenced by each Guided Decision Table Graph. A folder is listed
+ * once, when it is first queried; thereafter the index is kept up to date from the resource events of the Graphs in
+ * it. Only Graphs that have been added, changed, renamed or deleted since the last query are checked again, so
+ * finding the Graphs that reference a Decision Table neither lists the folder nor unmarshals every Graph in it.
+ */
+@ApplicationScoped
+public class GuidedDecisionTableGraphReferenceIndex {
+
+    private IOService ioService;
+    private GuidedDTableGraphResourceTypeDefinition dtableGraphType;
+    private GuidedDecisionTableGraphEditorService dtableGraphService;
+    private GuidedDecisionTableModelCache modelCache;
+
+    private final Map<String, FolderIndex> folders = new ConcurrentHashMap<>();
+
+    public GuidedDecisionTableGraphReferenceIndex() {
+        //Zero parameter constructor for CDI
+    }
+
+    @Inject
+    public GuidedDecisionTableGraphReferenceIndex(final @Named("ioStrategy") IOService ioService,
+                                                  final GuidedDTableGraphResourceTypeDefinition dtableGraphType,
+                                                  final GuidedDecisionTableGraphEditorService dtableGraphService,
+                                                  final GuidedDecisionTableModelCache modelCache) {
+        this.ioService = ioService;
+        this.dtableGraphType = dtableGraphType;
+        this.dtableGraphService = dtableGraphService;
+        this.modelCache = modelCache;
+    }
+
+    /**
+     * Returns the Graphs in a folder that contain an entry for a Decision Table.
+     * @param folder Folder containing the Graphs
+     * @param dtablePath Head Path of the Decision Table
+     * @return Paths of the Graphs referencing the Decision Table
+     */
+    public List<Path> getReferencingGraphs(final org.uberfire.java.nio.file.Path folder,
+                                           final Path dtablePath) {
+        final FolderIndex index = folders.computeIfAbsent(getFolderURI(folder.toUri().toString()),
+                                                          (uri) -> new FolderIndex());
+        synchronized (index) {
+            if (!index.listed) {
+                list(folder,
+                     index);
+            } else {
+                refresh(index);
+            }
+            return index.getReferencingGraphs(dtablePath.toURI());
+        }
+    }
+
+    private void list(final org.uberfire.java.nio.file.Path folder,
+                      final FolderIndex index) {
+        final List<org.uberfire.java.nio.file.Path> graphPaths = new ArrayList<>();
+        try (final DirectoryStream<org.uberfire.java.nio.file.Path> directoryStream =
+                     ioService.newDirectoryStream(folder,
+                                                  new FileExtensionFilter(dtableGraphType.getSuffix()))) {
+            directoryStream.forEach(graphPaths::add);
+        }
+        for (org.uberfire.java.nio.file.Path graphPath : graphPaths) {
+            final Path path = Paths.convert(graphPath);
+            index.put(graphPath.toUri().toString(),
+                      path,
+                      modelCache.getVersion(graphPath),
+                      dtableGraphService.load(path));
+        }
+        index.stale.clear();
+        index.listed = true;
+    }
+
+    //Graphs are re-read only if they have been changed since they were indexed
+    private void refresh(final FolderIndex index) {
+        for (Map.Entry<String, Path> e : index.stale.entrySet()) {
+            final String graphURI = e.getKey();
+            final org.uberfire.java.nio.file.Path graphPath = Paths.convert(e.getValue());
+            if (!ioService.exists(graphPath)) {
+                index.remove(graphURI);
+                continue;
+            }
+            final String version = modelCache.getVersion(graphPath);
+            if (version == null || !version.equals(index.getVersion(graphURI))) {
+                index.put(graphURI,
+                          e.getValue(),
+                          version,
+                          dtableGraphService.load(e.getValue()));
+            }
+        }
+        index.stale.clear();
+    }
+
+    /**
+     * Update the entry for a Graph that has been written. Folders that have not been indexed yet are ignored.
+     * @param graphPath Path of the Graph
+     * @param model The written model
+     */
+    public void update(final Path graphPath,
+                       final GuidedDecisionTableEditorGraphModel model) {
+        final FolderIndex index = folders.get(getFolderURI(getParentURI(graphPath.toURI())));
+        if (index == null) {
+            return;
+        }
+        synchronized (index) {
+            index.put(graphPath.toURI(),
+                      graphPath,
+                      modelCache.getVersion(Paths.convert(graphPath)),
+                      model);
+        }
+    }
+
+    public void onResourceAdded(final @Observes ResourceAddedEvent event) {
+        markStale(event.getPath());
+    }
+
+    public void onResourceUpdated(final @Observes ResourceUpdatedEvent event) {
+        markStale(event.getPath());
+    }
+
+    public void onResourceDeleted(final @Observes ResourceDeletedEvent event) {
+        markStale(event.getPath());
+    }
+
+    public void onResourceRenamed(final @Observes ResourceRenamedEvent event) {
+        markStale(event.getPath());
+        markStale(event.getDestinationPath());
+    }
+
+    public void onResourceCopied(final @Observes ResourceCopiedEvent event) {
+        markStale(event.getDestinationPath());
+    }
+
+    public void onResourceBatchChanges(final @Observes ResourceBatchChangesEvent event) {
+        event.getBatch().keySet().forEach(this::markStale);
+    }
+
+    private void markStale(final Path path) {
+        if (path == null || !dtableGraphType.accept(path)) {
+            return;
+        }
+        final FolderIndex index = folders.get(getFolderURI(getParentURI(path.toURI())));
+        if (index == null) {
+            return;
+        }
+        synchronized (index) {
+            index.stale.put(path.toURI(),
+                            path);
+        }
+    }
+
+    private static String getParentURI(final String uri) {
+        final int separator = uri.lastIndexOf('/');
+        return separator < 0 ? uri : uri.substring(0,
+                                                   separator);
+    }
+
+    private static String getFolderURI(final String uri) {
+        return uri.endsWith("/") ? uri.substring(0,
+                                                 uri.length() - 1) : uri;
+    }
+
+    private static class FolderIndex {
+
+        private boolean listed;
+
+        private final Map<String, Entry> entries = new HashMap<>();
+
+        private final Map<String, Set<String>> graphsByDecisionTable = new HashMap<>();
+
+        //Graphs with resource events since the last query, by URI
+        private final Map<String, Path> stale = new HashMap<>();
+
+        private String getVersion(final String graphURI) {
+            final Entry entry = entries.get(graphURI);
+            return entry == null ? null : entry.version;
+        }
+
+        private void put(final String graphURI,
+                         final Path graphPath,
+                         final String version,
+                         final GuidedDecisionTableEditorGraphModel model) {
+            remove(graphURI);
+            final Set<String> dtableURIs = model.getEntries()
+                    .stream()
+                    .map((e) -> e.getPathHead().toURI())
+                    .collect(Collectors.toSet());
+            entries.put(graphURI,
+                        new Entry(graphPath,
+                                  version,
+                                  dtableURIs));
+            dtableURIs.forEach((dtableURI) -> graphsByDecisionTable.computeIfAbsent(dtableURI,
+                                                                                    (k) -> new HashSet<>()).add(graphURI));
+        }
+
+        private void remove(final String graphURI) {
+            final Entry entry = entries.remove(graphURI);
+            if (entry == null) {
+                return;
+            }
+            entry.dtableURIs.forEach((dtableURI) -> {
+                final Set<String> graphURIs = graphsByDecisionTable.get(dtableURI);
+                graphURIs.remove(graphURI);
+                if (graphURIs.isEmpty()) {
+                    graphsByDecisionTable.remove(dtableURI);
+                }
+            });
+        }
+
+        private List<Path> getReferencingGraphs(final String dtableURI) {
+            return graphsByDecisionTable.getOrDefault(dtableURI,
+                                                      Collections.emptySet())
+                    .stream()
+                    .map((graphURI) -> entries.get(graphURI).graphPath)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static class Entry {
+
+        private final Path graphPath;
+
+        private final String version;
+
+        private final Set<String> dtableURIs;
+
+        private Entry(final Path graphPath,
+                      final String version,
+                      final Set<String> dtableURIs) {
+            this.graphPath = graphPath;
+            this.version = version;
+            this.dtableURIs = dtableURIs;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.guided.dtable.backend.server;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import org.drools.workbench.models.guided.dtable.shared.model.GuidedDecisionTable52;
+import org.drools.workbench.screens.guided.dtable.service.GuidedDecisionTableLinkManager;
+import org.uberfire.backend.server.util.Paths;
+import org.uberfire.backend.vfs.Path;
+
+/**
+ * Per-package inverted index of the fact fields written by Actions and read by Conditions of Guided Decision Tables.
+ * Linked Decision Tables are found by joining writers and readers of the same fact field rather than by comparing
+ * every pair of Decision Tables. Entries are refreshed when the version of a Decision Table changes and updated
+ * directly when a Decision Table is saved.
+ */
+@ApplicationScoped
+public class GuidedDecisionTableLinkIndex {
+
+    private GuidedDecisionTableModelCache modelCache;
+
+    private GuidedDecisionTableLinkManager dtableLinkManager;
+
+    private final Map<String, PackageIndex> packages = new ConcurrentHashMap<>();
+
+    public GuidedDecisionTableLinkIndex() {
+        //Zero parameter constructor for CDI
+    }
+
+    @Inject
+    public GuidedDecisionTableLinkIndex(final GuidedDecisionTableModelCache modelCache,
+                                        final GuidedDecisionTableLinkManager dtableLinkManager) {
+        this.modelCache = modelCache;
+        this.dtableLinkManager = dtableLinkManager;
+    }
+
+    /**
+     * Returns the Decision Tables that are linked to at least one other Decision Table in the same package.
+     * @param packagePath Path of the package folder
+     * @param dtablePaths Paths of all Decision Tables in the package
+     * @return Paths of the linked Decision Tables
+     */
+    public Set<Path> getLinkedDecisionTables(final Path packagePath,
+                                             final List<Path> dtablePaths) {
+        final PackageIndex index = packages.computeIfAbsent(packagePath.toURI(),
+                                                            (uri) -> new PackageIndex());
+        synchronized (index) {
+            index.retain(dtablePaths);
+            for (Path dtablePath : dtablePaths) {
+                final org.uberfire.java.nio.file.Path nioPath = Paths.convert(dtablePath);
+                final String version = modelCache.getVersion(nioPath);
+                if (version == null || !version.equals(index.getVersion(dtablePath))) {
+                    index.put(dtablePath,
+                              version,
+                              modelCache.load(nioPath));
+                }
+            }
+            return index.getLinkedDecisionTables();
+        }
+    }
+
+    /**
+     * Update the entry for a Decision Table that has been saved. Packages that have not been indexed yet are ignored.
+     * @param dtablePath Path of the Decision Table
+     * @param model The saved model
+     */
+    public void update(final Path dtablePath,
+                       final GuidedDecisionTable52 model) {
+        final PackageIndex index = packages.get(getPackageURI(dtablePath));
+        if (index == null) {
+            return;
+        }
+        synchronized (index) {
+            index.put(dtablePath,
+                      modelCache.getVersion(Paths.convert(dtablePath)),
+                      model);
+        }
+    }
+
+    private String getPackageURI(final Path dtablePath) {
+        return Paths.convert(Paths.convert(dtablePath).getParent()).toURI();
+    }
+
+    private class PackageIndex {
+
+        private final Map<Path, Entry> entries = new HashMap<>();
+
+        private final Map<String, Set<Path>> writers = new HashMap<>();
+
+        private final Map<String, Set<Path>> readers = new HashMap<>();
+
+        private String getVersion(final Path dtablePath) {
+            final Entry entry = entries.get(dtablePath);
+            return entry == null ? null : entry.version;
+        }
+
+        private void put(final Path dtablePath,
+                         final String version,
+                         final GuidedDecisionTable52 model) {
+            remove(dtablePath);
+            final Entry entry = new Entry(version,
+                                          dtableLinkManager.getActionFactFields(model),
+                                          dtableLinkManager.getConditionFactFields(model));
+            entries.put(dtablePath,
+                        entry);
+            entry.actionFactFields.forEach((factField) -> writers.computeIfAbsent(factField,
+                                                                                  (k) -> new HashSet<>()).add(dtablePath));
+            entry.conditionFactFields.forEach((factField) -> readers.computeIfAbsent(factField,
+                                                                                     (k) -> new HashSet<>()).add(dtablePath));
+        }
+
+        private void remove(final Path dtablePath) {
+            final Entry entry = entries.remove(dtablePath);
+            if (entry == null) {
+                return;
+            }
+            entry.actionFactFields.forEach((factField) -> removeFrom(writers,
+                                                                     factField,
+                                                                     dtablePath));
+            entry.conditionFactFields.forEach((factField) -> removeFrom(readers,
+                                                                        factField,
+                                                                        dtablePath));
+        }
+
+        private void retain(final List<Path> dtablePaths) {
+            final Set<Path> existing = new HashSet<>(dtablePaths);
+            final Set<Path> removed = new HashSet<>(entries.keySet());
+            removed.removeAll(existing);
+            removed.forEach(this::remove);
+        }
+
+        private void removeFrom(final Map<String, Set<Path>> map,
+                                final String factField,
+                                final Path dtablePath) {
+            final Set<Path> paths = map.get(factField);
+            if (paths == null) {
+                return;
+            }
+            paths.remove(dtablePath);
+            if (paths.isEmpty()) {
+                map.remove(factField);
+            }
+        }
+
+        private Set<Path> getLinkedDecisionTables() {
+            final Set<Path> linked = new HashSet<>();
+            writers.forEach((factField, sources) -> {
+                final Set<Path> targets = readers.getOrDefault(factField,
+                                                               Collections.emptySet());
+                if (targets.isEmpty()) {
+                    return;
+                }
+                //A Decision Table is not linked to itself
+                sources.stream()
+                        .filter((source) -> targets.size() > 1 || !targets.contains(source))
+                        .forEach(linked::add);
+                targets.stream()
+                        .filter((target) -> sources.size() > 1 || !sources.contains(target))
+                        .forEach(linked::add);
+            });
+            return linked;
+        }
+    }
+
+    private static class Entry {
+
+        private final String version;
+
+        private final Set<String> actionFactFields;
+
+        private final Set<String> conditionFactFields;
+
+        private Entry(final String version,
+                      final Set<String> actionFactFields,
+                      final Set<String> conditionFactFields) {
+            this.version = version;
+            this.actionFactFields = actionFactFields;
+            this.conditionFactFields = conditionFactFields;
+        }
+    }
+}
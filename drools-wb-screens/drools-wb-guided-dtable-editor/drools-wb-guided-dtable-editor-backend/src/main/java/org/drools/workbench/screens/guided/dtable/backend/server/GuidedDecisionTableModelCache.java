@@ -0,0 +1,317 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.guided.dtable.backend.server;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.drools.workbench.models.guided.dtable.backend.GuidedDTXMLPersistence;
+import org.drools.workbench.models.guided.dtable.shared.model.DTCellValue52;
+import org.drools.workbench.models.guided.dtable.shared.model.GuidedDecisionTable52;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.uberfire.io.IOService;
+import org.uberfire.java.nio.file.Path;
+import org.uberfire.java.nio.file.attribute.BasicFileAttributeView;
+import org.uberfire.java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * Bounded, weight based LRU cache of unmarshalled Guided Decision Tables. Entries are keyed by Path and the version
+ * of the file (the git object id when the backend provides one) so a changed file is never served from the cache.
+ * The weight of an entry is the length of the XML from which it was unmarshalled.
+ * <p>
+ * The cached model is a master copy that is never handed out: every caller gets its own deep copy, so a caller that
+ * alters its model does not affect any other. Copies are made by serialization, which is cheaper than unmarshalling
+ * the XML; should a model not be serializable the copy is unmarshalled from the cached XML instead.
+ */
+@ApplicationScoped
+public class GuidedDecisionTableModelCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(GuidedDecisionTableModelCache.class);
+
+    public static final String MAX_WEIGHT_PROPERTY = "org.drools.workbench.screens.guided.dtable.model.cache.max-weight";
+
+    static final long DEFAULT_MAX_WEIGHT = 64L * 1024L * 1024L;
+
+    private IOService ioService;
+
+    private long maxWeight;
+
+    private long weight;
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16,
+                                                                   0.75f,
+                                                                   true);
+
+    //Cleared, for good, the first time a model can not be copied by serialization
+    private volatile boolean copyBySerialization = true;
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    public GuidedDecisionTableModelCache() {
+        //Zero parameter constructor for CDI
+    }
+
+    @Inject
+    public GuidedDecisionTableModelCache(final @Named("ioStrategy") IOService ioService) {
+        this(ioService,
+             Long.getLong(MAX_WEIGHT_PROPERTY,
+                          DEFAULT_MAX_WEIGHT));
+    }
+
+    GuidedDecisionTableModelCache(final IOService ioService,
+                                  final long maxWeight) {
+        this.ioService = ioService;
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * Returns the model held at the Path, unmarshalling it only if the cached version is missing or out of date.
+     * @param path Path of a Guided Decision Table
+     * @return A model of the caller's own, that it can alter
+     */
+    public GuidedDecisionTable52 load(final Path path) {
+        final String uri = path.toUri().toString();
+        final String version = getVersion(path);
+        if (version != null) {
+            final Entry cached = get(uri,
+                                     version);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return copy(cached);
+            }
+        }
+        misses.incrementAndGet();
+
+        final String content = ioService.readAllString(path);
+        final GuidedDecisionTable52 model = GuidedDTXMLPersistence.getInstance().unmarshal(content);
+        if (version == null) {
+            return model;
+        }
+        final Entry entry = new Entry(version,
+                                      content,
+                                      model);
+        put(uri,
+            entry);
+        return copy(entry);
+    }
+
+    /**
+     * Returns a range of rows of the model held at the Path, provided the file is still at the given version. Only
+     * the rows in the range are copied from a cached model.
+     * @param path Path of a Guided Decision Table
+     * @param version Version of the file the caller holds the other rows of
+     * @param startRow Index of the first row to return
+     * @param rowCount Maximum number of rows to return
+     * @return Rows of the caller's own, that it can alter. Null if the file is no longer at the given version.
+     */
+    public List<List<DTCellValue52>> loadRows(final Path path,
+                                              final String version,
+                                              final int startRow,
+                                              final int rowCount) {
+        if (version == null || !version.equals(getVersion(path))) {
+            return null;
+        }
+        final Entry cached = get(path.toUri().toString(),
+                                 version);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return copyRows(cached.model.getData(),
+                            startRow,
+                            rowCount);
+        }
+
+        //The file may have changed while it was being read
+        final GuidedDecisionTable52 model = load(path);
+        if (!version.equals(getVersion(path))) {
+            return null;
+        }
+        final List<List<DTCellValue52>> data = model.getData();
+        return new ArrayList<>(data.subList(getFromRow(data,
+                                                       startRow),
+                                            getToRow(data,
+                                                     startRow,
+                                                     rowCount)));
+    }
+
+    /**
+     * Discard any model cached for the Path.
+     * @param path Path of a Guided Decision Table
+     */
+    public synchronized void invalidate(final Path path) {
+        final Entry entry = entries.remove(path.toUri().toString());
+        if (entry != null) {
+            weight = weight - entry.weight;
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        entries.clear();
+        weight = 0;
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public synchronized long getWeight() {
+        return weight;
+    }
+
+    private synchronized Entry get(final String uri,
+                                   final String version) {
+        final Entry entry = entries.get(uri);
+        if (entry == null || !entry.version.equals(version)) {
+            return null;
+        }
+        return entry;
+    }
+
+    private GuidedDecisionTable52 copy(final Entry entry) {
+        if (copyBySerialization) {
+            try {
+                final ByteArrayOutputStream bytes = new ByteArrayOutputStream(entry.content.length());
+                try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                    out.writeObject(entry.model);
+                }
+                try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+                    return (GuidedDecisionTable52) in.readObject();
+                }
+            } catch (IOException | ClassNotFoundException e) {
+                logger.warn("Guided Decision Tables can not be copied by serialization, they are unmarshalled instead: " + e.getMessage());
+                copyBySerialization = false;
+            }
+        }
+        return GuidedDTXMLPersistence.getInstance().unmarshal(entry.content);
+    }
+
+    private static List<List<DTCellValue52>> copyRows(final List<List<DTCellValue52>> data,
+                                                      final int startRow,
+                                                      final int rowCount) {
+        final int toRow = getToRow(data,
+                                   startRow,
+                                   rowCount);
+        final List<List<DTCellValue52>> rows = new ArrayList<>();
+        for (int rowIndex = getFromRow(data,
+                                       startRow); rowIndex < toRow; rowIndex++) {
+            final List<DTCellValue52> row = new ArrayList<>();
+            for (DTCellValue52 cell : data.get(rowIndex)) {
+                row.add(cell == null ? null : new DTCellValue52(cell));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static int getFromRow(final List<List<DTCellValue52>> data,
+                                  final int startRow) {
+        return Math.max(0,
+                        Math.min(startRow,
+                                 data.size()));
+    }
+
+    private static int getToRow(final List<List<DTCellValue52>> data,
+                                final int startRow,
+                                final int rowCount) {
+        return Math.min(data.size(),
+                        getFromRow(data,
+                                   startRow) + Math.max(0,
+                                                        rowCount));
+    }
+
+    private synchronized void put(final String uri,
+                                  final Entry entry) {
+        if (entry.weight > maxWeight) {
+            return;
+        }
+        final Entry previous = entries.put(uri,
+                                           entry);
+        weight = weight + entry.weight - (previous == null ? 0 : previous.weight);
+
+        final Iterator<Entry> itr = entries.values().iterator();
+        while (weight > maxWeight && itr.hasNext()) {
+            final Entry eldest = itr.next();
+            itr.remove();
+            weight = weight - eldest.weight;
+        }
+    }
+
+    /**
+     * Returns the version of the file held at the Path.
+     * @param path Path of a file
+     * @return The git object id of the file when the backend provides one, otherwise a combination of the last
+     * modified time and size. Null if the version cannot be determined.
+     */
+    public String getVersion(final Path path) {
+        final BasicFileAttributeView view = ioService.getFileAttributeView(path,
+                                                                           BasicFileAttributeView.class);
+        if (view == null) {
+            return null;
+        }
+        final BasicFileAttributes attributes = view.readAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        if (attributes.fileKey() != null) {
+            return attributes.fileKey().toString();
+        }
+        if (attributes.lastModifiedTime() == null) {
+            return null;
+        }
+        return attributes.lastModifiedTime().toMillis() + ":" + attributes.size();
+    }
+
+    private static class Entry {
+
+        private final String version;
+
+        private final String content;
+
+        //Master copy, never handed out
+        private final GuidedDecisionTable52 model;
+
+        private final long weight;
+
+        private Entry(final String version,
+                      final String content,
+                      final GuidedDecisionTable52 model) {
+            this.version = version;
+            this.content = content;
+            this.model = model;
+            this.weight = content.length();
+        }
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.guided.dtable.backend.server;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.enterprise.context.ApplicationScoped;
+
+import org.drools.compiler.lang.Expander;
+import org.drools.compiler.lang.dsl.DSLMappingFile;
+import org.drools.workbench.models.guided.dtable.backend.GuidedDTDRLPersistence;
+import org.drools.workbench.models.guided.dtable.backend.GuidedDTXMLPersistence;
+import org.drools.workbench.models.guided.dtable.shared.model.DTCellValue52;
+import org.drools.workbench.models.guided.dtable.shared.model.GuidedDecisionTable52;
+import org.uberfire.java.nio.file.Path;
+
+/**
+ * Cache of the DRL generated for each row of a Guided Decision Table. Rules are keyed by the content of their row;
+ * all rules of a Decision Table are discarded when its column definitions, or the DSLs of its package, change.
+ * Only rows not seen in the previous generation for the same Path have their DRL generated.
+ * <p>
+ * Rules are kept for the most recently generated Decision Tables, bounded by the total length of their DRL.
+ * <p>
+ * Decision Tables whose rules depend on other rows (i.e. with a hit policy or "otherwise" cells) are not cached.
+ */
+@ApplicationScoped
+public class GuidedDecisionTableRuleCache {
+
+    public static final String MAX_WEIGHT_PROPERTY = "org.drools.workbench.screens.guided.dtable.rule.cache.max-weight";
+
+    static final long DEFAULT_MAX_WEIGHT = 32L * 1024L * 1024L;
+
+    //Comment preceding the DRL of each row generated by GuidedDTDRLPersistence
+    private static final String ROW_COMMENT = "//from row number: ";
+
+    private long maxWeight;
+
+    private long weight;
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16,
+                                                                   0.75f,
+                                                                   true);
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    public GuidedDecisionTableRuleCache() {
+        this(Long.getLong(MAX_WEIGHT_PROPERTY,
+                          DEFAULT_MAX_WEIGHT));
+    }
+
+    GuidedDecisionTableRuleCache(final long maxWeight) {
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * Returns the DSL expanded DRL of a Decision Table, generating only the rules of rows that have changed.
+     * @param path Path of the Decision Table
+     * @param model The Decision Table. It is not altered.
+     * @param dslMappingFiles DSLs of the package containing the Decision Table
+     * @param expander Expander configured with the DSLs
+     * @return The DRL, or null if the Decision Table cannot be generated a row at a time.
+     */
+    public String getSource(final Path path,
+                            final GuidedDecisionTable52 model,
+                            final List<DSLMappingFile> dslMappingFiles,
+                            final Expander expander) {
+        if (!isCacheable(model)) {
+            return null;
+        }
+
+        final GuidedDecisionTable52 definition = copyDefinition(model);
+        final String definitionKey = GuidedDTXMLPersistence.getInstance().marshal(definition);
+        final String header = GuidedDTDRLPersistence.getInstance().marshal(definition);
+
+        final String uri = path.toUri().toString();
+        final Map<List<Object>, String> previousRules = getRules(uri,
+                                                                 definitionKey,
+                                                                 dslMappingFiles);
+        final Map<List<Object>, String> rules = new HashMap<>();
+
+        final List<List<DTCellValue52>> data = model.getData();
+        final StringBuilder drl = new StringBuilder(expander.expand(header));
+        for (int rowIndex = 0; rowIndex < data.size(); rowIndex++) {
+            final List<DTCellValue52> row = data.get(rowIndex);
+            final List<Object> key = makeKey(row);
+            String rule = rules.get(key);
+            if (rule == null) {
+                rule = previousRules.get(key);
+            }
+            if (rule == null) {
+                misses.incrementAndGet();
+                rule = makeRule(definition,
+                                header,
+                                row,
+                                expander);
+                if (rule == null) {
+                    return null;
+                }
+            } else {
+                hits.incrementAndGet();
+            }
+            rules.put(key,
+                      rule);
+            drl.append(ROW_COMMENT).append(rowIndex + 1).append("\n").append(rule);
+        }
+
+        put(uri,
+            new Entry(definitionKey,
+                      dslMappingFiles,
+                      rules,
+                      drl.length()));
+        return drl.toString();
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public synchronized long getWeight() {
+        return weight;
+    }
+
+    private synchronized void put(final String uri,
+                                  final Entry entry) {
+        if (entry.weight > maxWeight) {
+            final Entry previous = entries.remove(uri);
+            if (previous != null) {
+                weight = weight - previous.weight;
+            }
+            return;
+        }
+        final Entry previous = entries.put(uri,
+                                           entry);
+        weight = weight + entry.weight - (previous == null ? 0 : previous.weight);
+
+        final Iterator<Entry> itr = entries.values().iterator();
+        while (weight > maxWeight && itr.hasNext()) {
+            final Entry eldest = itr.next();
+            itr.remove();
+            weight = weight - eldest.weight;
+        }
+    }
+
+    private synchronized Entry get(final String uri) {
+        return entries.get(uri);
+    }
+
+    private Map<List<Object>, String> getRules(final String uri,
+                                               final String definitionKey,
+                                               final List<DSLMappingFile> dslMappingFiles) {
+        final Entry entry = get(uri);
+        if (entry == null || entry.dslMappingFiles != dslMappingFiles || !entry.definitionKey.equals(definitionKey)) {
+            return Collections.emptyMap();
+        }
+        return entry.rules;
+    }
+
+    private String makeRule(final GuidedDecisionTable52 definition,
+                            final String header,
+                            final List<DTCellValue52> row,
+                            final Expander expander) {
+        final List<List<DTCellValue52>> data = new ArrayList<>();
+        data.add(row);
+        definition.setData(data);
+        try {
+            final String drl = GuidedDTDRLPersistence.getInstance().marshal(definition);
+            final String prefix = header + ROW_COMMENT + "1\n";
+            if (!drl.startsWith(prefix)) {
+                return null;
+            }
+            return expander.expand(drl.substring(prefix.length()));
+        } finally {
+            definition.setData(new ArrayList<>());
+        }
+    }
+
+    private boolean isCacheable(final GuidedDecisionTable52 model) {
+        if (!(model.getHitPolicy() == null || model.getHitPolicy() == GuidedDecisionTable52.HitPolicy.NONE)) {
+            return false;
+        }
+        for (List<DTCellValue52> row : model.getData()) {
+            for (DTCellValue52 cell : row) {
+                if (cell != null && cell.isOtherwise()) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    //Everything but the rows; this is all the DRL of a row depends upon when it does not depend on other rows
+    private GuidedDecisionTable52 copyDefinition(final GuidedDecisionTable52 model) {
+        final GuidedDecisionTable52 definition = new GuidedDecisionTable52();
+        definition.setTableName(model.getTableName());
+        definition.setParentName(model.getParentName());
+        definition.setPackageName(model.getPackageName());
+        definition.setImports(model.getImports());
+        definition.setTableFormat(model.getTableFormat());
+        definition.setHitPolicy(model.getHitPolicy());
+        definition.setRowNumberCol(model.getRowNumberCol());
+        definition.setDescriptionCol(model.getDescriptionCol());
+        definition.setMetadataCols(model.getMetadataCols());
+        definition.setAttributeCols(model.getAttributeCols());
+        definition.setConditionPatterns(model.getConditions());
+        definition.setActionCols(model.getActionCols());
+        return definition;
+    }
+
+    //Cells are mutable; the key holds a copy of their values
+    private List<Object> makeKey(final List<DTCellValue52> row) {
+        final List<Object> key = new ArrayList<>(row.size() * 5);
+        for (DTCellValue52 cell : row) {
+            if (cell == null) {
+                key.add(null);
+                continue;
+            }
+            key.add(cell.getDataType());
+            key.add(cell.getStringValue());
+            key.add(cell.getNumericValue());
+            key.add(cell.getBooleanValue());
+            key.add(cell.getDateValue() == null ? null : cell.getDateValue().getTime());
+        }
+        return key;
+    }
+
+    private static class Entry {
+
+        private final String definitionKey;
+
+        private final List<DSLMappingFile> dslMappingFiles;
+
+        private final Map<List<Object>, String> rules;
+
+        //Length of the DRL generated from the rules
+        private final long weight;
+
+        private Entry(final String definitionKey,
+                      final List<DSLMappingFile> dslMappingFiles,
+                      final Map<List<Object>, String> rules,
+                      final long weight) {
+            this.definitionKey = definitionKey;
+            this.dslMappingFiles = dslMappingFiles;
+            this.rules = rules;
+            this.weight = weight;
+        }
+    }
+}
@@ -0,0 +1,542 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.guided.dtable.backend.server.indexing;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.drools.workbench.models.datamodel.rule.ActionCallMethod;
+import org.drools.workbench.models.datamodel.rule.ActionFieldValue;
+import org.drools.workbench.models.datamodel.rule.ActionInsertFact;
+import org.drools.workbench.models.datamodel.rule.ActionRetractFact;
+import org.drools.workbench.models.datamodel.rule.ActionSetField;
+import org.drools.workbench.models.datamodel.rule.CompositeFactPattern;
+import org.drools.workbench.models.datamodel.rule.CompositeFieldConstraint;
+import org.drools.workbench.models.datamodel.rule.ConnectiveConstraint;
+import org.drools.workbench.models.datamodel.rule.DSLSentence;
+import org.drools.workbench.models.datamodel.rule.FactPattern;
+import org.drools.workbench.models.datamodel.rule.FieldConstraint;
+import org.drools.workbench.models.datamodel.rule.FreeFormLine;
+import org.drools.workbench.models.datamodel.rule.FromAccumulateCompositeFactPattern;
+import org.drools.workbench.models.datamodel.rule.FromCollectCompositeFactPattern;
+import org.drools.workbench.models.datamodel.rule.FromCompositeFactPattern;
+import org.drools.workbench.models.datamodel.rule.IAction;
+import org.drools.workbench.models.datamodel.rule.IFactPattern;
+import org.drools.workbench.models.datamodel.rule.IPattern;
+import org.drools.workbench.models.datamodel.rule.SingleFieldConstraint;
+import org.drools.workbench.models.datamodel.rule.SingleFieldConstraintEBLeftSide;
+import org.drools.workbench.models.guided.dtable.shared.model.ActionCol52;
+import org.drools.workbench.models.guided.dtable.shared.model.ActionInsertFactCol52;
+import org.drools.workbench.models.guided.dtable.shared.model.ActionRetractFactCol52;
+import org.drools.workbench.models.guided.dtable.shared.model.ActionSetFieldCol52;
+import org.drools.workbench.models.guided.dtable.shared.model.ActionWorkItemCol52;
+import org.drools.workbench.models.guided.dtable.shared.model.ActionWorkItemInsertFactCol52;
+import org.drools.workbench.models.guided.dtable.shared.model.ActionWorkItemSetFieldCol52;
+import org.drools.workbench.models.guided.dtable.shared.model.AttributeCol52;
+import org.drools.workbench.models.guided.dtable.shared.model.BRLActionColumn;
+import org.drools.workbench.models.guided.dtable.shared.model.BRLColumn;
+import org.drools.workbench.models.guided.dtable.shared.model.BRLConditionColumn;
+import org.drools.workbench.models.guided.dtable.shared.model.BRLRuleModel;
+import org.drools.workbench.models.guided.dtable.shared.model.BRLVariableColumn;
+import org.drools.workbench.models.guided.dtable.shared.model.BaseColumn;
+import org.drools.workbench.models.guided.dtable.shared.model.CompositeColumn;
+import org.drools.workbench.models.guided.dtable.shared.model.ConditionCol52;
+import org.drools.workbench.models.guided.dtable.shared.model.DTCellValue52;
+import org.drools.workbench.models.guided.dtable.shared.model.GuidedDecisionTable52;
+import org.drools.workbench.models.guided.dtable.shared.model.LimitedEntryCol;
+import org.drools.workbench.models.guided.dtable.shared.model.Pattern52;
+import org.kie.soup.commons.validation.PortablePreconditions;
+import org.kie.soup.project.datamodel.imports.Import;
+import org.kie.soup.project.datamodel.oracle.ModelField;
+import org.kie.soup.project.datamodel.oracle.ModuleDataModelOracle;
+import org.kie.soup.project.datamodel.oracle.OperatorsOracle;
+import org.kie.workbench.common.services.refactoring.ResourceReference;
+import org.kie.workbench.common.services.refactoring.SharedPart;
+import org.kie.workbench.common.services.refactoring.backend.server.impact.ResourceReferenceCollector;
+import org.kie.workbench.common.services.refactoring.backend.server.indexing.DefaultIndexBuilder;
+import org.kie.workbench.common.services.refactoring.service.PartType;
+import org.kie.workbench.common.services.refactoring.service.ResourceType;
+import org.uberfire.ext.metadata.model.KProperty;
+
+/**
+ * Visitor to extract index information directly from a Guided Decision Table Model, without generating and
+ * re-parsing the DRL of every row. Columns with no value in any row are left out of the generated DRL, so they
+ * are not indexed either. Free-form DRL and DSL sentences can not be resolved without the DRL parser; Decision
+ * Tables containing them must be indexed from their DRL, see {@link #hasFreeFormContent(GuidedDecisionTable52)}.
+ */
+public class GuidedDecisionTableIndexVisitor extends ResourceReferenceCollector {
+
+    private final DefaultIndexBuilder builder;
+    private final GuidedDecisionTable52 model;
+    private final ModuleDataModelOracle dmo;
+    private final BRLRuleModel helper;
+    private final Map<BaseColumn, Integer> columnIndexes = new IdentityHashMap<>();
+
+    public GuidedDecisionTableIndexVisitor(final DefaultIndexBuilder builder,
+                                           final GuidedDecisionTable52 model,
+                                           final ModuleDataModelOracle dmo) {
+        this.builder = PortablePreconditions.checkNotNull("builder",
+                                                          builder);
+        this.model = PortablePreconditions.checkNotNull("model",
+                                                        model);
+        this.dmo = dmo;
+        this.helper = new BRLRuleModel(model);
+        final List<BaseColumn> columns = model.getExpandedColumns();
+        for (int i = 0; i < columns.size(); i++) {
+            columnIndexes.put(columns.get(i),
+                              i);
+        }
+    }
+
+    /**
+     * @return true if the Decision Table contains free-form DRL or DSL sentences
+     */
+    public static boolean hasFreeFormContent(final GuidedDecisionTable52 model) {
+        for (CompositeColumn<? extends BaseColumn> column : model.getConditions()) {
+            if (column instanceof BRLConditionColumn) {
+                for (IPattern pattern : ((BRLConditionColumn) column).getDefinition()) {
+                    if (pattern instanceof FreeFormLine || pattern instanceof DSLSentence) {
+                        return true;
+                    }
+                }
+            }
+        }
+        for (ActionCol52 column : model.getActionCols()) {
+            if (column instanceof BRLActionColumn) {
+                for (IAction action : ((BRLActionColumn) column).getDefinition()) {
+                    if (action instanceof FreeFormLine || action instanceof DSLSentence) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    public Set<KProperty<?>> visit() {
+        visitDecisionTable();
+        return builder.build();
+    }
+
+    private void visitDecisionTable() {
+        //Add Types imported by the generated DRL
+        for (Import i : model.getImports().getImports()) {
+            addResourceReference(i.getType(),
+                                 ResourceType.JAVA);
+        }
+        //Add Attributes
+        for (AttributeCol52 attr : model.getAttributeCols()) {
+            visitAttributeCol(attr);
+        }
+        //Add Types and Fields used by Conditions
+        for (CompositeColumn<? extends BaseColumn> column : model.getConditions()) {
+            visitColumn(column);
+        }
+        //Add Types and Fields used by Actions
+        for (ActionCol52 column : model.getActionCols()) {
+            visitColumn(column);
+        }
+        //Add rule names
+        final String parentRuleName = model.getParentName();
+        for (int i = 0; i < model.getData().size(); i++) {
+            final String ruleName = "Row " + getRowNumber(i) + " " + model.getTableName();
+            addResourceReference(ruleName,
+                                 ResourceType.RULE);
+            if (parentRuleName != null) {
+                addResourceReference(parentRuleName,
+                                     ResourceType.RULE);
+            }
+        }
+    }
+
+    //Rows without a number are numbered by their position, as in the editor
+    private long getRowNumber(final int rowIndex) {
+        final List<DTCellValue52> row = model.getData().get(rowIndex);
+        final Number rowNumber = (row.isEmpty() || row.get(0) == null ? null : row.get(0).getNumericValue());
+        return rowNumber == null ? rowIndex + 1 : rowNumber.longValue();
+    }
+
+    //Work Item columns that insert, or set a field from, the result of a Work Item are insert and set-field columns.
+    //Other Work Item columns only refer to the engine's own WorkItem implementation in the generated DRL.
+    private void visitColumn(final BaseColumn column) {
+        if (column instanceof Pattern52) {
+            visitPattern((Pattern52) column);
+        } else if (column instanceof BRLConditionColumn) {
+            visitBRLConditionColumn((BRLConditionColumn) column);
+        } else if (column instanceof BRLActionColumn) {
+            visitBRLActionColumn((BRLActionColumn) column);
+        } else if (column instanceof ActionInsertFactCol52) {
+            visitActionInsertFactCol((ActionInsertFactCol52) column);
+        } else if (column instanceof ActionSetFieldCol52) {
+            visitActionSetFieldCol((ActionSetFieldCol52) column);
+        } else if (column instanceof ActionRetractFactCol52) {
+            visitActionRetractFactCol((ActionRetractFactCol52) column);
+        }
+    }
+
+    private void visitAttributeCol(final AttributeCol52 attr) {
+        final PartType type = PartType.getPartTypeFromAttribueDescrName(attr.getAttribute());
+        if (type == null) {
+            return;
+        }
+        switch (type) {
+            case AGENDA_GROUP:
+            case ACTIVATION_GROUP:
+            case RULEFLOW_GROUP:
+                final int columnIndex = columnIndexes.get(attr);
+                for (List<DTCellValue52> row : model.getData()) {
+                    final DTCellValue52 dcv = row.get(columnIndex);
+                    if (dcv.hasValue()) {
+                        builder.addGenerator(new SharedPart(dcv.getStringValue(),
+                                                            type));
+                    }
+                }
+                break;
+            default:
+        }
+    }
+
+    private void visitPattern(final Pattern52 pattern) {
+        if (pattern.getEntryPointName() != null && !pattern.getEntryPointName().isEmpty()) {
+            builder.addGenerator(new SharedPart(pattern.getEntryPointName(),
+                                                PartType.ENTRY_POINT));
+        }
+        final String fullyQualifiedClassName = getFullyQualifiedClassName(pattern.getFactType());
+        if (fullyQualifiedClassName == null) {
+            return;
+        }
+        addResourceReference(fullyQualifiedClassName,
+                             ResourceType.JAVA);
+        for (ConditionCol52 condition : pattern.getChildColumns()) {
+            if (isUsed(condition)) {
+                visitField(fullyQualifiedClassName,
+                           condition.getFactField());
+            }
+        }
+    }
+
+    private void visitActionInsertFactCol(final ActionInsertFactCol52 column) {
+        if (isUsed(column)) {
+            visitField(getFullyQualifiedClassName(column.getFactType()),
+                       column.getFactField());
+        }
+    }
+
+    private void visitActionSetFieldCol(final ActionSetFieldCol52 column) {
+        final String typeName = getTypeNameForBinding(column.getBoundName());
+        if (typeName != null && isUsed(column)) {
+            visitField(getFullyQualifiedClassName(typeName),
+                       column.getFactField());
+        }
+    }
+
+    //The facts to retract are named by the cells, or by the column for limited entry
+    private void visitActionRetractFactCol(final ActionRetractFactCol52 column) {
+        if (column instanceof LimitedEntryCol) {
+            final DTCellValue52 value = ((LimitedEntryCol) column).getValue();
+            if (value != null && isUsed(column)) {
+                visitBinding(value.getStringValue());
+            }
+            return;
+        }
+        final int columnIndex = columnIndexes.get(column);
+        for (List<DTCellValue52> row : model.getData()) {
+            final DTCellValue52 dcv = row.get(columnIndex);
+            if (dcv != null && dcv.hasValue()) {
+                visitBinding(dcv.getStringValue());
+            }
+        }
+    }
+
+    private void visitBRLConditionColumn(final BRLConditionColumn column) {
+        if (!isUsed(column)) {
+            return;
+        }
+        for (IPattern pattern : column.getDefinition()) {
+            visit(pattern);
+        }
+    }
+
+    private void visitBRLActionColumn(final BRLActionColumn column) {
+        if (!isUsed(column)) {
+            return;
+        }
+        for (IAction action : column.getDefinition()) {
+            if (action instanceof ActionSetField) {
+                final ActionSetField asf = (ActionSetField) action;
+                final String typeName = getTypeNameForBinding(asf.getVariable());
+                if (typeName != null) {
+                    visitActionFieldList(getFullyQualifiedClassName(typeName),
+                                         asf);
+                }
+            } else if (action instanceof ActionCallMethod) {
+                visitBinding(((ActionCallMethod) action).getVariable());
+            } else if (action instanceof ActionRetractFact) {
+                visitBinding(((ActionRetractFact) action).getVariableName());
+            } else {
+                visit(action);
+            }
+        }
+    }
+
+    private void visit(final Object o) {
+        if (o instanceof FactPattern) {
+            visitFactPattern((FactPattern) o);
+        } else if (o instanceof CompositeFieldConstraint) {
+            visitCompositeFieldConstraint((CompositeFieldConstraint) o);
+        } else if (o instanceof SingleFieldConstraintEBLeftSide) {
+            visitSingleFieldConstraint((SingleFieldConstraintEBLeftSide) o);
+        } else if (o instanceof SingleFieldConstraint) {
+            visitSingleFieldConstraint((SingleFieldConstraint) o);
+        } else if (o instanceof ConnectiveConstraint) {
+            visitConnectiveConstraint((ConnectiveConstraint) o);
+        } else if (o instanceof CompositeFactPattern) {
+            visitCompositeFactPattern((CompositeFactPattern) o);
+        } else if (o instanceof FromAccumulateCompositeFactPattern) {
+            visitFromAccumulateCompositeFactPattern((FromAccumulateCompositeFactPattern) o);
+        } else if (o instanceof FromCollectCompositeFactPattern) {
+            visitFromCollectCompositeFactPattern((FromCollectCompositeFactPattern) o);
+        } else if (o instanceof FromCompositeFactPattern) {
+            visitFromCompositeFactPattern((FromCompositeFactPattern) o);
+        } else if (o instanceof ActionInsertFact) {
+            visitActionFieldList((ActionInsertFact) o);
+        }
+    }
+
+    //ActionInsertFact, ActionInsertLogicalFact
+    private void visitActionFieldList(final ActionInsertFact afl) {
+        final String fullyQualifiedClassName = getFullyQualifiedClassName(afl.getFactType());
+        if (fullyQualifiedClassName == null) {
+            return;
+        }
+        addResourceReference(fullyQualifiedClassName,
+                             ResourceType.JAVA);
+        for (ActionFieldValue afv : afl.getFieldValues()) {
+            visitField(fullyQualifiedClassName,
+                       afv.getField());
+        }
+    }
+
+    //ActionSetField, ActionUpdateField
+    private void visitActionFieldList(final String fullyQualifiedClassName,
+                                      final ActionSetField afl) {
+        for (ActionFieldValue afv : afl.getFieldValues()) {
+            visitField(fullyQualifiedClassName,
+                       afv.getField());
+        }
+    }
+
+    private void visitCompositeFactPattern(final CompositeFactPattern pattern) {
+        if (pattern.getPatterns() != null) {
+            for (IFactPattern fp : pattern.getPatterns()) {
+                visit(fp);
+            }
+        }
+    }
+
+    private void visitCompositeFieldConstraint(final CompositeFieldConstraint cfc) {
+        if (cfc.getConstraints() != null) {
+            for (FieldConstraint fc : cfc.getConstraints()) {
+                visit(fc);
+            }
+        }
+    }
+
+    private void visitFactPattern(final FactPattern pattern) {
+        final String fullyQualifiedClassName = getFullyQualifiedClassName(pattern.getFactType());
+        if (fullyQualifiedClassName == null) {
+            return;
+        }
+        addResourceReference(fullyQualifiedClassName,
+                             ResourceType.JAVA);
+        for (FieldConstraint fc : pattern.getFieldConstraints()) {
+            visit(fc);
+        }
+    }
+
+    private void visitFromAccumulateCompositeFactPattern(final FromAccumulateCompositeFactPattern pattern) {
+        visit(pattern.getFactPattern());
+        visit(pattern.getSourcePattern());
+    }
+
+    private void visitFromCollectCompositeFactPattern(final FromCollectCompositeFactPattern pattern) {
+        visit(pattern.getFactPattern());
+        visit(pattern.getRightPattern());
+    }
+
+    private void visitFromCompositeFactPattern(final FromCompositeFactPattern pattern) {
+        visit(pattern.getFactPattern());
+    }
+
+    private void visitSingleFieldConstraint(final SingleFieldConstraint sfc) {
+        //Predicates have no field; the Type is still referenced by the enclosing pattern
+        if (sfc.getFactType() == null || sfc.getFieldName() == null) {
+            return;
+        }
+        visitField(getFullyQualifiedClassName(sfc.getFactType()),
+                   sfc.getFieldName());
+        if (sfc.getConnectives() != null) {
+            for (ConnectiveConstraint cc : sfc.getConnectives()) {
+                visit(cc);
+            }
+        }
+    }
+
+    private void visitSingleFieldConstraint(final SingleFieldConstraintEBLeftSide sfexp) {
+        if (sfexp.getConnectives() != null) {
+            for (ConnectiveConstraint cc : sfexp.getConnectives()) {
+                visit(cc);
+            }
+        }
+    }
+
+    private void visitConnectiveConstraint(final ConnectiveConstraint cc) {
+        if (cc.getFactType() == null || cc.getFieldName() == null) {
+            return;
+        }
+        visitField(getFullyQualifiedClassName(cc.getFactType()),
+                   cc.getFieldName());
+    }
+
+    //ActionCallMethod, ActionRetractFact and retract columns act upon a bound fact
+    private void visitBinding(final String binding) {
+        final String typeName = getTypeNameForBinding(binding);
+        if (typeName != null) {
+            addResourceReference(getFullyQualifiedClassName(typeName),
+                                 ResourceType.JAVA);
+        }
+    }
+
+    private void visitField(final String fullyQualifiedClassName,
+                            final String fieldName) {
+        if (fullyQualifiedClassName == null) {
+            return;
+        }
+        final ResourceReference resRef = addResourceReference(fullyQualifiedClassName,
+                                                              ResourceType.JAVA);
+        if (fieldName == null || fieldName.isEmpty()) {
+            return;
+        }
+        resRef.addPartReference(fieldName,
+                                PartType.FIELD);
+        final String fieldClassName = getFieldClassName(fullyQualifiedClassName,
+                                                        fieldName);
+        if (fieldClassName != null) {
+            addResourceReference(fieldClassName,
+                                 ResourceType.JAVA);
+        }
+    }
+
+    /**
+     * A column is part of the generated DRL of a row only if its cell in that row has a value.
+     */
+    private boolean isUsed(final BaseColumn column) {
+        //Limited entry BRL columns have a single cell per row; others have a cell per variable
+        if (column instanceof BRLColumn && !(column instanceof LimitedEntryCol)) {
+            for (Object child : ((BRLColumn<?, ?>) column).getChildColumns()) {
+                if (isUsed((BaseColumn) child)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        final Integer columnIndex = columnIndexes.get(column);
+        if (columnIndex == null) {
+            return false;
+        }
+        for (List<DTCellValue52> row : model.getData()) {
+            if (hasValue(column,
+                         row.get(columnIndex))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean hasValue(final BaseColumn column,
+                             final DTCellValue52 dcv) {
+        if (dcv == null) {
+            return false;
+        }
+        //Cells of these columns only say whether the column applies to the row
+        if (column instanceof LimitedEntryCol
+                || column instanceof ActionWorkItemCol52
+                || column instanceof ActionWorkItemSetFieldCol52
+                || column instanceof ActionWorkItemInsertFactCol52
+                || (column instanceof BRLVariableColumn && "".equals(((BRLVariableColumn) column).getVarName()))
+                || (column instanceof ConditionCol52 && isOperatorWithoutArgument((ConditionCol52) column))) {
+            return Boolean.TRUE.equals(dcv.getBooleanValue());
+        }
+        return dcv.hasValue();
+    }
+
+    private boolean isOperatorWithoutArgument(final ConditionCol52 column) {
+        final String operator = column.getOperator();
+        return operator != null && !operator.isEmpty() && !OperatorsOracle.operatorRequiresArgument(operator);
+    }
+
+    private String getTypeNameForBinding(final String binding) {
+        if (binding == null) {
+            return null;
+        }
+        final String lhsType = helper.getLHSBindingType(binding);
+        if (lhsType != null) {
+            return lhsType;
+        }
+        final ActionInsertFact rhsFact = helper.getRHSBoundFact(binding);
+        return rhsFact == null ? null : rhsFact.getFactType();
+    }
+
+    //The DMO holds the fully qualified Type of each field, as used when indexing DRL
+    private String getFieldClassName(final String fullyQualifiedClassName,
+                                     final String fieldName) {
+        if (dmo == null) {
+            return null;
+        }
+        final Map<String, ModelField[]> modelFields = dmo.getModuleModelFields();
+        final ModelField[] fields = (modelFields == null ? null : modelFields.get(fullyQualifiedClassName));
+        if (fields == null) {
+            return null;
+        }
+        for (ModelField field : fields) {
+            if (fieldName.equals(field.getName())) {
+                return field.getClassName();
+            }
+        }
+        return null;
+    }
+
+    //Incomplete columns may not have a Type yet
+    private String getFullyQualifiedClassName(final String typeName) {
+        if (typeName == null || typeName.isEmpty()) {
+            return null;
+        }
+        if (typeName.contains(".")) {
+            return typeName;
+        }
+
+        for (Import i : model.getImports().getImports()) {
+            if (i.getType().endsWith("." + typeName)) {
+                return i.getType();
+            }
+        }
+        final String packageName = model.getPackageName();
+        return (!(packageName == null || packageName.isEmpty()) ? packageName + "." + typeName : typeName);
+    }
+}
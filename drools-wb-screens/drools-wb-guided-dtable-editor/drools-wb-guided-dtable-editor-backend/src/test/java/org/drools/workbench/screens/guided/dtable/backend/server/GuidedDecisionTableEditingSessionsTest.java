@@ -0,0 +1,200 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.guided.dtable.backend.server;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.drools.workbench.models.guided.dtable.backend.GuidedDTXMLPersistence;
+import org.drools.workbench.models.guided.dtable.shared.model.AttributeCol52;
+import org.drools.workbench.models.guided.dtable.shared.model.DTCellValue52;
+import org.drools.workbench.models.guided.dtable.shared.model.GuidedDecisionTable52;
+import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableDelta;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.io.IOService;
+import org.uberfire.java.nio.file.Path;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class GuidedDecisionTableEditingSessionsTest {
+
+    @Mock
+    private IOService ioService;
+
+    @Mock
+    private GuidedDecisionTableModelCache modelCache;
+
+    @Mock
+    private Path path;
+
+    private GuidedDecisionTableEditingSessions sessions;
+
+    @Before
+    public void setup() throws Exception {
+        sessions = new GuidedDecisionTableEditingSessions(ioService,
+                                                          modelCache);
+
+        when(path.toUri()).thenReturn(new URI("default://project/src/main/resources/dtable.gdst"));
+        when(modelCache.getVersion(path)).thenReturn("v1");
+        when(ioService.readAllString(path)).thenReturn(GuidedDTXMLPersistence.getInstance().marshal(makeModel(3)));
+    }
+
+    @Test
+    public void testSessionIsReused() {
+        final GuidedDecisionTableEditingSessions.Session session = sessions.getSession(path,
+                                                                                       "v1");
+
+        assertNotNull(session);
+        assertEquals(3,
+                     session.getModel().getData().size());
+        assertSame(session,
+                   sessions.getSession(path,
+                                       "v1"));
+        verify(ioService,
+               times(1)).readAllString(path);
+    }
+
+    @Test
+    public void testChangedVersion() {
+        assertNull(sessions.getSession(path,
+                                       "v0"));
+        assertNull(sessions.getSession(path,
+                                       null));
+    }
+
+    @Test
+    public void testInvalidate() {
+        final GuidedDecisionTableEditingSessions.Session session = sessions.getSession(path,
+                                                                                       "v1");
+        sessions.invalidate(path);
+
+        assertNotSame(session,
+                      sessions.getSession(path,
+                                          "v1"));
+    }
+
+    @Test
+    public void testApplyRowsUpdate() {
+        final List<List<DTCellValue52>> data = makeModel(3).getData();
+        final GuidedDecisionTableDelta delta = new GuidedDecisionTableDelta("v1",
+                                                                            new GuidedDecisionTable52(),
+                                                                            3);
+        delta.addRow(1,
+                     makeRow(1,
+                             "changed"));
+
+        final List<List<DTCellValue52>> rows = GuidedDecisionTableEditingSessions.applyRows(data,
+                                                                                            delta);
+
+        assertEquals(3,
+                     rows.size());
+        assertSame(data.get(0),
+                   rows.get(0));
+        assertEquals("changed",
+                     rows.get(1).get(1).getStringValue());
+        assertEquals("row1",
+                     data.get(1).get(1).getStringValue());
+    }
+
+    @Test
+    public void testApplyRowsAppendAndDelete() {
+        final List<List<DTCellValue52>> data = makeModel(3).getData();
+
+        final GuidedDecisionTableDelta append = new GuidedDecisionTableDelta("v1",
+                                                                             new GuidedDecisionTable52(),
+                                                                             4);
+        append.addRow(3,
+                      makeRow(3,
+                              "new"));
+        assertEquals(4,
+                     GuidedDecisionTableEditingSessions.applyRows(data,
+                                                                  append).size());
+
+        final GuidedDecisionTableDelta delete = new GuidedDecisionTableDelta("v1",
+                                                                             new GuidedDecisionTable52(),
+                                                                             2);
+        assertEquals(2,
+                     GuidedDecisionTableEditingSessions.applyRows(data,
+                                                                  delete).size());
+    }
+
+    @Test
+    public void testApplyDelta() {
+        final GuidedDecisionTable52 model = makeModel(3);
+        final GuidedDecisionTable52 definition = new GuidedDecisionTable52();
+        definition.setTableName("renamed");
+        definition.getAttributeCols().add(new AttributeCol52());
+        final GuidedDecisionTableDelta delta = new GuidedDecisionTableDelta("v1",
+                                                                            definition,
+                                                                            3);
+        delta.addRow(2,
+                     makeRow(2,
+                             "changed"));
+
+        GuidedDecisionTableEditingSessions.applyDelta(model,
+                                                      delta);
+
+        assertEquals("renamed",
+                     model.getTableName());
+        assertEquals(1,
+                     model.getAttributeCols().size());
+        assertEquals(3,
+                     model.getData().size());
+        assertEquals("row1",
+                     model.getData().get(1).get(1).getStringValue());
+        assertEquals("changed",
+                     model.getData().get(2).get(1).getStringValue());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testApplyRowsWithMissingRows() {
+        GuidedDecisionTableEditingSessions.applyRows(makeModel(3).getData(),
+                                                     new GuidedDecisionTableDelta("v1",
+                                                                                  new GuidedDecisionTable52(),
+                                                                                  4));
+    }
+
+    private GuidedDecisionTable52 makeModel(final int rowCount) {
+        final GuidedDecisionTable52 model = new GuidedDecisionTable52();
+        for (int i = 0; i < rowCount; i++) {
+            model.getData().add(makeRow(i,
+                                        "row" + i));
+        }
+        return model;
+    }
+
+    private List<DTCellValue52> makeRow(final int rowNumber,
+                                        final String description) {
+        final List<DTCellValue52> row = new ArrayList<>();
+        row.add(new DTCellValue52(rowNumber + 1));
+        row.add(new DTCellValue52(description));
+        return row;
+    }
+}
@@ -89,8 +89,11 @@ public class GuidedDecisionTableEditorGraphDeleteHelperTest {
 
         final GuidedDecisionTableEditorGraphDeleteHelper wrapped = new GuidedDecisionTableEditorGraphDeleteHelper( ioService,
                                                                                                                    dtableType,
-                                                                                                                   dtableGraphType,
                                                                                                                    dtableGraphService,
+                                                                                                                   new GuidedDecisionTableGraphReferenceIndex( ioService,
+                                                                                                                                                               dtableGraphType,
+                                                                                                                                                               dtableGraphService,
+                                                                                                                                                               new GuidedDecisionTableModelCache( ioService ) ),
                                                                                                                    commentedOptionFactory );
         helper = spy( wrapped );
 
@@ -92,8 +92,11 @@ public class GuidedDecisionTableEditorGraphRenameHelperTest {
 
         final GuidedDecisionTableEditorGraphRenameHelper wrapped = new GuidedDecisionTableEditorGraphRenameHelper( ioService,
                                                                                                                    dtableType,
-                                                                                                                   dtableGraphType,
                                                                                                                    dtableGraphService,
+                                                                                                                   new GuidedDecisionTableGraphReferenceIndex( ioService,
+                                                                                                                                                               dtableGraphType,
+                                                                                                                                                               dtableGraphService,
+                                                                                                                                                               new GuidedDecisionTableModelCache( ioService ) ),
                                                                                                                    commentedOptionFactory );
         helper = spy( wrapped );
 
@@ -182,6 +185,37 @@ public class GuidedDecisionTableEditorGraphRenameHelperTest {
                       newModel.getEntries().iterator().next().getPathHead().toURI() );
     }
 
+    @Test
+    public void checkUpdateReferencesWithUnrelatedDecisionTableGraphs() throws URISyntaxException {
+        final org.uberfire.java.nio.file.Path dtGraphPath = mock( org.uberfire.java.nio.file.Path.class );
+        when( dtGraphPath.getFileName() ).thenReturn( mock( org.uberfire.java.nio.file.Path.class ) );
+        when( dtGraphPath.toUri() ).thenReturn( new URI( "default://test/dtable-set." + dtableGraphType.getSuffix() ) );
+        when( dtGraphPath.getFileSystem() ).thenReturn( fileSystem );
+        paths.add( dtGraphPath );
+
+        final Path other = mock( Path.class );
+        when( other.toURI() ).thenReturn( "default://test/other.gdst" );
+        when( source.getFileName() ).thenReturn( "dtable.gdst" );
+        when( source.toURI() ).thenReturn( "default://test/dtable.gdst" );
+
+        final GuidedDecisionTableEditorGraphModel model = new GuidedDecisionTableEditorGraphModel();
+        model.getEntries().add( new GuidedDecisionTableEditorGraphModel.GuidedDecisionTableGraphEntry( other,
+                                                                                                       other ) );
+        when( dtableGraphService.load( any( Path.class ) ) ).thenReturn( model );
+
+        helper.postProcess( source,
+                            destination );
+
+        verify( helper,
+                never() ).updateGraphElementPath( any( Path.class ),
+                                                  any( Path.class ),
+                                                  any( Path.class ) );
+        verify( ioService,
+                never() ).write( any( org.uberfire.java.nio.file.Path.class ),
+                                 any( String.class ),
+                                 any( CommentedOption.class ) );
+    }
+
     @Test
     public void checkUpdateReferencesWithoutDecisionTableGraphs() throws URISyntaxException {
         final org.uberfire.java.nio.file.Path dtPath = mock( org.uberfire.java.nio.file.Path.class );
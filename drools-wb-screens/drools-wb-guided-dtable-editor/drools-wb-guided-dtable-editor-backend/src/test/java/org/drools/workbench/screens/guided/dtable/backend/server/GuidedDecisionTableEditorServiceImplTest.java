@@ -18,6 +18,7 @@ package org.drools.workbench.screens.guided.dtable.backend.server;
 
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -28,9 +29,12 @@ import java.util.Set;
 import javax.enterprise.event.Event;
 
 import org.drools.workbench.models.datamodel.workitems.PortableWorkDefinition;
+import org.drools.workbench.models.guided.dtable.backend.GuidedDTXMLPersistence;
+import org.drools.workbench.models.guided.dtable.shared.model.DTCellValue52;
 import org.drools.workbench.models.guided.dtable.shared.model.GuidedDecisionTable52;
 import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableEditorContent;
 import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableEditorGraphModel;
+import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableGraphEntryContent;
 import org.drools.workbench.screens.guided.dtable.service.GuidedDecisionTableGraphEditorService;
 import org.drools.workbench.screens.guided.dtable.type.GuidedDTableGraphResourceTypeDefinition;
 import org.drools.workbench.screens.guided.dtable.type.GuidedDTableResourceTypeDefinition;
@@ -64,6 +68,7 @@ import org.uberfire.io.IOService;
 import org.uberfire.java.nio.base.options.CommentedOption;
 import org.uberfire.java.nio.base.version.VersionRecord;
 import org.uberfire.java.nio.file.FileSystem;
+import org.uberfire.java.nio.file.attribute.BasicFileAttributeView;
 import org.uberfire.java.nio.file.attribute.BasicFileAttributes;
 import org.uberfire.java.nio.file.spi.FileSystemProvider;
 import org.uberfire.mocks.EventSourceMock;
@@ -71,7 +76,10 @@ import org.uberfire.rpc.SessionInfo;
 import org.uberfire.workbench.events.ResourceOpenedEvent;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.eq;
@@ -110,6 +118,9 @@ public class GuidedDecisionTableEditorServiceImplTest {
     @Mock
     private GuidedDecisionTableGraphEditorService dtableGraphService;
 
+    @Mock
+    private GuidedDecisionTableLinkIndex dtableLinkIndex;
+
     @Mock
     private Event<ResourceOpenedEvent> resourceOpenedEvent = new EventSourceMock<>();
 
@@ -150,6 +161,7 @@ public class GuidedDecisionTableEditorServiceImplTest {
     @Before
     @SuppressWarnings("unchecked")
     public void setup() {
+        final GuidedDecisionTableModelCache modelCache = new GuidedDecisionTableModelCache(ioService);
         service = new GuidedDecisionTableEditorServiceImpl(ioService,
                                                            copyService,
                                                            deleteService,
@@ -159,11 +171,18 @@ public class GuidedDecisionTableEditorServiceImplTest {
                                                            moduleService,
                                                            versionRecordService,
                                                            dtableGraphService,
-                                                           dtGraphType,
                                                            resourceOpenedEvent,
                                                            genericValidator,
                                                            commentedOptionFactory,
                                                            saveAndRenameService,
+                                                           modelCache,
+                                                           dtableLinkIndex,
+                                                           new GuidedDecisionTableGraphReferenceIndex(ioService,
+                                                                                                      dtGraphType,
+                                                                                                      dtableGraphService,
+                                                                                                      modelCache),
+                                                           new GuidedDecisionTableEditingSessions(ioService,
+                                                                                                  modelCache),
                                                            sessionInfo) {
             {
                 this.sourceServices = mockSourceServices;
@@ -258,6 +277,232 @@ public class GuidedDecisionTableEditorServiceImplTest {
         assertTrue(content.getDataModel().getCollectionTypes().containsKey("java.util.Set"));
     }
 
+    @Test
+    public void checkConstructContentWithFirstRowsOnly() {
+        final Path path = mock(Path.class);
+        final Overview overview = mock(Overview.class);
+        final PackageDataModelOracle oracle = mock(PackageDataModelOracle.class);
+        final BasicFileAttributes attributes = mockVersion("v1");
+        when(path.toURI()).thenReturn("default://project/src/main/resources/mypackage/dtable.gdst");
+        when(dataModelService.getDataModel(eq(path))).thenReturn(oracle);
+        when(workItemsService.loadWorkItemDefinitions(eq(path))).thenReturn(new HashSet<>());
+        when(ioService.readAllString(any(org.uberfire.java.nio.file.Path.class))).thenReturn(makeTableXml(5));
+
+        service.setInitialRowCount(2);
+        final GuidedDecisionTableEditorContent content = service.constructContent(path,
+                                                                                  overview);
+
+        assertEquals(2,
+                     content.getModel().getData().size());
+        assertEquals(5,
+                     content.getTotalRowCount());
+        assertEquals("v1",
+                     content.getVersion());
+        assertTrue(content.hasRemainingRows());
+
+        final List<List<DTCellValue52>> rows = service.loadRows(path,
+                                                                "v1",
+                                                                2,
+                                                                10);
+        assertEquals(3,
+                     rows.size());
+        assertEquals("row2",
+                     rows.get(0).get(1).getStringValue());
+        assertTrue(service.loadRows(path,
+                                    "v1",
+                                    5,
+                                    10).isEmpty());
+
+        //The file is read once, and the cached model is not altered by sending the first rows only
+        assertEquals(5,
+                     service.load(path).getData().size());
+        verify(ioService,
+               times(1)).readAllString(any(org.uberfire.java.nio.file.Path.class));
+
+        //Rows of a newer version can not be appended to those already sent
+        when(attributes.fileKey()).thenReturn("v2");
+        assertNull(service.loadRows(path,
+                                    "v1",
+                                    2,
+                                    10));
+    }
+
+    @Test
+    public void checkConstructContentWithAllRows() {
+        final Path path = mock(Path.class);
+        final Overview overview = mock(Overview.class);
+        final PackageDataModelOracle oracle = mock(PackageDataModelOracle.class);
+        mockVersion("v1");
+        when(path.toURI()).thenReturn("default://project/src/main/resources/mypackage/dtable.gdst");
+        when(dataModelService.getDataModel(eq(path))).thenReturn(oracle);
+        when(workItemsService.loadWorkItemDefinitions(eq(path))).thenReturn(new HashSet<>());
+        when(ioService.readAllString(any(org.uberfire.java.nio.file.Path.class))).thenReturn(makeTableXml(5));
+
+        service.setInitialRowCount(5);
+        final GuidedDecisionTableEditorContent content = service.constructContent(path,
+                                                                                  overview);
+
+        assertEquals(5,
+                     content.getModel().getData().size());
+        assertEquals(5,
+                     content.getTotalRowCount());
+        assertFalse(content.hasRemainingRows());
+    }
+
+    @Test
+    public void checkConstructContentWithAllRowsWhenUnversioned() {
+        final Path path = mock(Path.class);
+        final Overview overview = mock(Overview.class);
+        final PackageDataModelOracle oracle = mock(PackageDataModelOracle.class);
+        when(path.toURI()).thenReturn("default://project/src/main/resources/mypackage/dtable.gdst");
+        when(dataModelService.getDataModel(eq(path))).thenReturn(oracle);
+        when(workItemsService.loadWorkItemDefinitions(eq(path))).thenReturn(new HashSet<>());
+        when(ioService.readAllString(any(org.uberfire.java.nio.file.Path.class))).thenReturn(makeTableXml(5));
+
+        //Rows loaded later could not be matched to the first rows
+        service.setInitialRowCount(2);
+        final GuidedDecisionTableEditorContent content = service.constructContent(path,
+                                                                                  overview);
+
+        assertEquals(5,
+                     content.getModel().getData().size());
+        assertFalse(content.hasRemainingRows());
+        assertNull(service.loadRows(path,
+                                    null,
+                                    2,
+                                    10));
+    }
+
+    private BasicFileAttributes mockVersion(final String version) {
+        final BasicFileAttributeView view = mock(BasicFileAttributeView.class);
+        final BasicFileAttributes attributes = mock(BasicFileAttributes.class);
+        when(ioService.getFileAttributeView(any(org.uberfire.java.nio.file.Path.class),
+                                            eq(BasicFileAttributeView.class))).thenReturn(view);
+        when(view.readAttributes()).thenReturn(attributes);
+        when(attributes.fileKey()).thenReturn(version);
+        return attributes;
+    }
+
+    private String makeTableXml(final int rowCount) {
+        final GuidedDecisionTable52 model = new GuidedDecisionTable52();
+        for (int i = 0; i < rowCount; i++) {
+            model.getData().add(new ArrayList<>(Arrays.asList(new DTCellValue52(i + 1),
+                                                              new DTCellValue52("row" + i))));
+        }
+        return GuidedDTXMLPersistence.getInstance().marshal(model);
+    }
+
+    @Test
+    public void checkLoadGraphEntriesContent() {
+        final Path path1 = mock(Path.class);
+        final Path path2 = mock(Path.class);
+        final Set<PortableWorkDefinition> workItemDefinitions = new HashSet<>();
+        when(path1.toURI()).thenReturn("default://project/src/main/resources/mypackage/dtable1.gdst");
+        when(path2.toURI()).thenReturn("default://project/src/main/resources/mypackage/dtable2.gdst");
+        when(ioService.readAllString(any(org.uberfire.java.nio.file.Path.class))).thenReturn("");
+        when(dataModelService.getDataModel(eq(path1))).thenReturn(mock(PackageDataModelOracle.class));
+        when(workItemsService.loadWorkItemDefinitions(eq(path1))).thenReturn(workItemDefinitions);
+
+        final GuidedDecisionTableEditorServiceImpl entriesService = makeGraphEntriesService(null);
+
+        final List<GuidedDecisionTableGraphEntryContent> contents = entriesService.loadGraphEntriesContent(Arrays.asList(path1,
+                                                                                                                         path2));
+
+        assertEquals(2,
+                     contents.size());
+        assertTrue(contents.get(0).isLoaded());
+        assertTrue(contents.get(1).isLoaded());
+        assertSame(contents.get(0).getContent().getDataModel(),
+                   contents.get(1).getContent().getDataModel());
+        assertSame(workItemDefinitions,
+                   contents.get(0).getContent().getWorkItemDefinitions());
+        assertSame(workItemDefinitions,
+                   contents.get(1).getContent().getWorkItemDefinitions());
+        verify(dataModelService,
+               times(1)).getDataModel(any(Path.class));
+        verify(workItemsService,
+               times(1)).loadWorkItemDefinitions(any(Path.class));
+        verify(resourceOpenedEvent,
+               times(2)).fire(any(ResourceOpenedEvent.class));
+
+        //Decision Tables loaded afterwards build their own Data Model
+        entriesService.constructContent(path1,
+                                        mock(Overview.class));
+        verify(dataModelService,
+               times(2)).getDataModel(any(Path.class));
+
+        entriesService.destroy();
+    }
+
+    @Test
+    public void checkLoadGraphEntriesContentWithUnloadableEntry() {
+        final Path path1 = mock(Path.class);
+        final Path path2 = mock(Path.class);
+        final Path path3 = mock(Path.class);
+        when(path1.toURI()).thenReturn("default://project/src/main/resources/mypackage/dtable1.gdst");
+        when(path2.toURI()).thenReturn("default://project/src/main/resources/mypackage/dtable2.gdst");
+        when(path3.toURI()).thenReturn("default://project/src/main/resources/mypackage/dtable3.gdst");
+        when(ioService.readAllString(any(org.uberfire.java.nio.file.Path.class))).thenReturn("");
+        when(dataModelService.getDataModel(eq(path1))).thenReturn(mock(PackageDataModelOracle.class));
+
+        final GuidedDecisionTableEditorServiceImpl entriesService = makeGraphEntriesService(path2);
+
+        final List<GuidedDecisionTableGraphEntryContent> contents = entriesService.loadGraphEntriesContent(Arrays.asList(path1,
+                                                                                                                         path2,
+                                                                                                                         path3));
+
+        assertEquals(3,
+                     contents.size());
+        assertTrue(contents.get(0).isLoaded());
+        assertFalse(contents.get(1).isLoaded());
+        assertEquals("corrupt",
+                     contents.get(1).getErrorMessage());
+        assertTrue(contents.get(2).isLoaded());
+        verify(resourceOpenedEvent,
+               times(2)).fire(any(ResourceOpenedEvent.class));
+
+        entriesService.destroy();
+    }
+
+    private GuidedDecisionTableEditorServiceImpl makeGraphEntriesService(final Path unloadablePath) {
+        final GuidedDecisionTableModelCache modelCache = new GuidedDecisionTableModelCache(ioService);
+        return new GuidedDecisionTableEditorServiceImpl(ioService,
+                                                        copyService,
+                                                        deleteService,
+                                                        renameService,
+                                                        dataModelService,
+                                                        workItemsService,
+                                                        moduleService,
+                                                        versionRecordService,
+                                                        dtableGraphService,
+                                                        resourceOpenedEvent,
+                                                        genericValidator,
+                                                        commentedOptionFactory,
+                                                        saveAndRenameService,
+                                                        modelCache,
+                                                        dtableLinkIndex,
+                                                        new GuidedDecisionTableGraphReferenceIndex(ioService,
+                                                                                                   dtGraphType,
+                                                                                                   dtableGraphService,
+                                                                                                   modelCache),
+                                                        new GuidedDecisionTableEditingSessions(ioService,
+                                                                                               modelCache),
+                                                        sessionInfo) {
+            @Override
+            public GuidedDecisionTable52 load(final Path path) {
+                if (path == unloadablePath) {
+                    throw new IllegalStateException("corrupt");
+                }
+                return super.load(path);
+            }
+
+            @Override
+            Overview loadOverview(final Path path) {
+                return mock(Overview.class);
+            }
+        };
+    }
+
     @Test
     @SuppressWarnings("unchecked")
     public void checkSave() {
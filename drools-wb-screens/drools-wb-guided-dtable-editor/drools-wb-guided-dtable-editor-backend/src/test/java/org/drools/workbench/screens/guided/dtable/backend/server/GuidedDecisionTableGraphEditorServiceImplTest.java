@@ -27,8 +27,6 @@ import javax.enterprise.event.Event;
 
 import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableEditorGraphContent;
 import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableEditorGraphModel;
-import org.drools.workbench.screens.guided.dtable.service.GuidedDecisionTableEditorService;
-import org.drools.workbench.screens.guided.dtable.service.GuidedDecisionTableLinkManager;
 import org.drools.workbench.screens.guided.dtable.type.GuidedDTableGraphResourceTypeDefinition;
 import org.drools.workbench.screens.guided.dtable.type.GuidedDTableResourceTypeDefinition;
 import org.drools.workbench.screens.workitems.service.WorkItemsEditorService;
@@ -97,10 +95,10 @@ public class GuidedDecisionTableGraphEditorServiceImplTest {
     private VersionRecordService versionRecordService;
 
     @Mock
-    private GuidedDecisionTableEditorService dtableService;
+    private GuidedDecisionTableLinkIndex dtableLinkIndex;
 
     @Mock
-    private GuidedDecisionTableLinkManager dtableLinkManager;
+    private GuidedDecisionTableGraphReferenceIndex dtableGraphReferenceIndex;
 
     @Mock
     private Event<ResourceOpenedEvent> resourceOpenedEvent = new EventSourceMock<>();
@@ -136,8 +134,8 @@ public class GuidedDecisionTableGraphEditorServiceImplTest {
                                                                 renameService,
                                                                 moduleService,
                                                                 versionRecordService,
-                                                                dtableService,
-                                                                dtableLinkManager,
+                                                                dtableLinkIndex,
+                                                                dtableGraphReferenceIndex,
                                                                 resourceOpenedEvent,
                                                                 commentedOptionFactory,
                                                                 dtResourceType,
@@ -174,6 +172,9 @@ public class GuidedDecisionTableGraphEditorServiceImplTest {
                times(1)).write(any(org.uberfire.java.nio.file.Path.class),
                                any(String.class),
                                any(CommentedOption.class));
+        verify(dtableGraphReferenceIndex,
+               times(1)).update(eq(p),
+                                eq(content));
 
         assertTrue(p.toURI().contains("src/main/resources/mypackage/filename." + dtGraphResourceType.getSuffix()));
     }
@@ -228,6 +229,9 @@ public class GuidedDecisionTableGraphEditorServiceImplTest {
                                any(String.class),
                                any(Map.class),
                                any(CommentedOption.class));
+        verify(dtableGraphReferenceIndex,
+               times(1)).update(eq(path),
+                                eq(model));
     }
 
     @Test
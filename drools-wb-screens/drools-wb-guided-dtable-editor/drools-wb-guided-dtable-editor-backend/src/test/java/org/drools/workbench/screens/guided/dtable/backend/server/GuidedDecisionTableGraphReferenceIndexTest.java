@@ -0,0 +1,300 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.guided.dtable.backend.server;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableEditorGraphModel;
+import org.drools.workbench.screens.guided.dtable.service.GuidedDecisionTableGraphEditorService;
+import org.drools.workbench.screens.guided.dtable.type.GuidedDTableGraphResourceTypeDefinition;
+import org.guvnor.common.services.project.categories.Decision;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.io.IOService;
+import org.uberfire.java.nio.file.DirectoryStream;
+import org.uberfire.java.nio.file.FileSystem;
+import org.uberfire.java.nio.file.attribute.BasicFileAttributes;
+import org.uberfire.java.nio.file.spi.FileSystemProvider;
+import org.uberfire.rpc.SessionInfo;
+import org.uberfire.workbench.events.ResourceAddedEvent;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+import org.uberfire.workbench.events.ResourceRenamedEvent;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class GuidedDecisionTableGraphReferenceIndexTest {
+
+    @Mock
+    private IOService ioService;
+
+    @Mock
+    private GuidedDecisionTableGraphEditorService dtableGraphService;
+
+    @Mock
+    private GuidedDecisionTableModelCache modelCache;
+
+    @Mock
+    private FileSystem fileSystem;
+
+    @Mock
+    private FileSystemProvider fileSystemProvider;
+
+    @Mock
+    private BasicFileAttributes basicFileAttributes;
+
+    @Mock
+    private org.uberfire.java.nio.file.Path folder;
+
+    @Mock
+    private Path dtable1Path;
+
+    @Mock
+    private Path dtable2Path;
+
+    @Mock
+    private SessionInfo sessionInfo;
+
+    private List<org.uberfire.java.nio.file.Path> paths = new ArrayList<>();
+
+    private GuidedDTableGraphResourceTypeDefinition dtableGraphType = new GuidedDTableGraphResourceTypeDefinition(new Decision());
+
+    private GuidedDecisionTableGraphReferenceIndex index;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setup() throws Exception {
+        index = new GuidedDecisionTableGraphReferenceIndex(ioService,
+                                                           dtableGraphType,
+                                                           dtableGraphService,
+                                                           modelCache);
+
+        when(ioService.newDirectoryStream(any(org.uberfire.java.nio.file.Path.class),
+                                          any(DirectoryStream.Filter.class))).thenAnswer((invocation) -> new MockDirectoryStream(new ArrayList<>(paths)));
+        when(fileSystem.provider()).thenReturn(fileSystemProvider);
+        when(fileSystemProvider.readAttributes(any(org.uberfire.java.nio.file.Path.class),
+                                               any(Class.class))).thenReturn(basicFileAttributes);
+        when(basicFileAttributes.isRegularFile()).thenReturn(true);
+        when(modelCache.getVersion(any(org.uberfire.java.nio.file.Path.class))).thenReturn("v1");
+
+        when(folder.toUri()).thenReturn(new URI("default://test/"));
+        when(dtable1Path.toURI()).thenReturn("default://test/dtable1.gdst");
+        when(dtable2Path.toURI()).thenReturn("default://test/dtable2.gdst");
+
+        paths.add(makeGraphPath("default://test/graph1." + dtableGraphType.getSuffix()));
+        paths.add(makeGraphPath("default://test/graph2." + dtableGraphType.getSuffix()));
+
+        when(dtableGraphService.load(any(Path.class))).thenAnswer((invocation) -> {
+            final Path graphPath = (Path) invocation.getArguments()[0];
+            return graphPath.toURI().contains("graph1") ? makeGraphModel(dtable1Path) : makeGraphModel(dtable2Path);
+        });
+    }
+
+    private org.uberfire.java.nio.file.Path makeGraphPath(final String uri) throws Exception {
+        final org.uberfire.java.nio.file.Path graphPath = mock(org.uberfire.java.nio.file.Path.class);
+        final org.uberfire.java.nio.file.Path fileName = mock(org.uberfire.java.nio.file.Path.class);
+        when(fileName.toString()).thenReturn(uri.substring(uri.lastIndexOf('/') + 1));
+        when(graphPath.getFileName()).thenReturn(fileName);
+        when(graphPath.toUri()).thenReturn(new URI(uri));
+        when(graphPath.getFileSystem()).thenReturn(fileSystem);
+        return graphPath;
+    }
+
+    private GuidedDecisionTableEditorGraphModel makeGraphModel(final Path dtablePath) {
+        final GuidedDecisionTableEditorGraphModel model = new GuidedDecisionTableEditorGraphModel();
+        model.getEntries().add(new GuidedDecisionTableEditorGraphModel.GuidedDecisionTableGraphEntry(dtablePath,
+                                                                                                     dtablePath));
+        return model;
+    }
+
+    @Test
+    public void testReferencingGraphs() {
+        final List<Path> graphPaths = index.getReferencingGraphs(folder,
+                                                                 dtable1Path);
+
+        assertEquals(1,
+                     graphPaths.size());
+        assertTrue(graphPaths.get(0).toURI().contains("graph1"));
+    }
+
+    @Test
+    public void testUnchangedGraphsAreNotReloaded() {
+        index.getReferencingGraphs(folder,
+                                   dtable1Path);
+        index.getReferencingGraphs(folder,
+                                   dtable2Path);
+
+        verify(dtableGraphService,
+               times(2)).load(any(Path.class));
+    }
+
+    @Test
+    public void testFolderIsListedOnce() {
+        index.getReferencingGraphs(folder,
+                                   dtable1Path);
+        index.getReferencingGraphs(folder,
+                                   dtable2Path);
+
+        verify(ioService,
+               times(1)).newDirectoryStream(any(org.uberfire.java.nio.file.Path.class),
+                                            any(DirectoryStream.Filter.class));
+        verify(modelCache,
+               times(2)).getVersion(any(org.uberfire.java.nio.file.Path.class));
+    }
+
+    @Test
+    public void testChangedGraphsAreReloaded() {
+        index.getReferencingGraphs(folder,
+                                   dtable1Path);
+
+        when(ioService.exists(any(org.uberfire.java.nio.file.Path.class))).thenReturn(true);
+        when(modelCache.getVersion(any(org.uberfire.java.nio.file.Path.class))).thenReturn("v2");
+        index.onResourceUpdated(new ResourceUpdatedEvent(makeEventPath("default://test/graph1." + dtableGraphType.getSuffix()),
+                                                         "message",
+                                                         sessionInfo));
+        index.getReferencingGraphs(folder,
+                                   dtable1Path);
+
+        verify(dtableGraphService,
+               times(3)).load(any(Path.class));
+    }
+
+    @Test
+    public void testGraphsWithoutEventsAreNotChecked() {
+        index.getReferencingGraphs(folder,
+                                   dtable1Path);
+
+        when(modelCache.getVersion(any(org.uberfire.java.nio.file.Path.class))).thenReturn("v2");
+        index.getReferencingGraphs(folder,
+                                   dtable1Path);
+
+        verify(dtableGraphService,
+               times(2)).load(any(Path.class));
+        verify(ioService,
+               never()).exists(any(org.uberfire.java.nio.file.Path.class));
+    }
+
+    @Test
+    public void testUnchangedGraphsWithEventsAreNotReloaded() {
+        index.getReferencingGraphs(folder,
+                                   dtable1Path);
+
+        when(ioService.exists(any(org.uberfire.java.nio.file.Path.class))).thenReturn(true);
+        index.onResourceUpdated(new ResourceUpdatedEvent(makeEventPath("default://test/graph1." + dtableGraphType.getSuffix()),
+                                                         "message",
+                                                         sessionInfo));
+        index.getReferencingGraphs(folder,
+                                   dtable1Path);
+
+        verify(dtableGraphService,
+               times(2)).load(any(Path.class));
+    }
+
+    @Test
+    public void testAddedGraphsAreIndexed() {
+        assertEquals(1,
+                     index.getReferencingGraphs(folder,
+                                                dtable1Path).size());
+
+        when(ioService.exists(any(org.uberfire.java.nio.file.Path.class))).thenReturn(true);
+        index.onResourceAdded(new ResourceAddedEvent(makeEventPath("default://test/graph3." + dtableGraphType.getSuffix()),
+                                                     "message",
+                                                     sessionInfo));
+
+        final List<Path> graphPaths = index.getReferencingGraphs(folder,
+                                                                 dtable2Path);
+        assertEquals(2,
+                     graphPaths.size());
+        verify(ioService,
+               times(1)).newDirectoryStream(any(org.uberfire.java.nio.file.Path.class),
+                                            any(DirectoryStream.Filter.class));
+    }
+
+    @Test
+    public void testRemovedGraphsAreDropped() {
+        index.getReferencingGraphs(folder,
+                                   dtable1Path);
+
+        when(ioService.exists(any(org.uberfire.java.nio.file.Path.class))).thenReturn(false);
+        index.onResourceDeleted(new ResourceDeletedEvent(makeEventPath("default://test/graph1." + dtableGraphType.getSuffix()),
+                                                         "message",
+                                                         sessionInfo));
+
+        assertTrue(index.getReferencingGraphs(folder,
+                                              dtable1Path).isEmpty());
+    }
+
+    @Test
+    public void testRenamedGraphsAreMoved() {
+        index.getReferencingGraphs(folder,
+                                   dtable1Path);
+
+        final Path source = makeEventPath("default://test/graph1." + dtableGraphType.getSuffix());
+        final Path destination = makeEventPath("default://test/renamed." + dtableGraphType.getSuffix());
+        when(ioService.exists(any(org.uberfire.java.nio.file.Path.class))).thenAnswer((invocation) -> invocation.getArguments()[0].toString().contains("renamed"));
+        index.onResourceRenamed(new ResourceRenamedEvent(source,
+                                                         destination,
+                                                         "message",
+                                                         sessionInfo));
+
+        final List<Path> graphPaths = index.getReferencingGraphs(folder,
+                                                                 dtable2Path);
+        assertEquals(2,
+                     graphPaths.size());
+        assertTrue(graphPaths.stream().anyMatch((graphPath) -> graphPath.toURI().contains("renamed")));
+        assertTrue(graphPaths.stream().noneMatch((graphPath) -> graphPath.toURI().contains("graph1")));
+    }
+
+    @Test
+    public void testEventsForOtherResourcesAreIgnored() {
+        index.getReferencingGraphs(folder,
+                                   dtable1Path);
+
+        index.onResourceUpdated(new ResourceUpdatedEvent(makeEventPath("default://test/dtable1.gdst"),
+                                                         "message",
+                                                         sessionInfo));
+        index.onResourceUpdated(new ResourceUpdatedEvent(makeEventPath("default://other/graph1." + dtableGraphType.getSuffix()),
+                                                         "message",
+                                                         sessionInfo));
+        index.getReferencingGraphs(folder,
+                                   dtable1Path);
+
+        verify(ioService,
+               never()).exists(any(org.uberfire.java.nio.file.Path.class));
+    }
+
+    private Path makeEventPath(final String uri) {
+        final Path path = mock(Path.class);
+        when(path.toURI()).thenReturn(uri);
+        when(path.getFileName()).thenReturn(uri.substring(uri.lastIndexOf('/') + 1));
+        return path;
+    }
+}
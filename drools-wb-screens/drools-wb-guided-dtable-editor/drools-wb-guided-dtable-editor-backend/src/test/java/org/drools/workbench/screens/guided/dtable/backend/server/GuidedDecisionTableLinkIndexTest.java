@@ -0,0 +1,186 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.guided.dtable.backend.server;
+
+import java.util.Arrays;
+import java.util.Set;
+
+import org.drools.workbench.models.guided.dtable.shared.model.ActionInsertFactCol52;
+import org.drools.workbench.models.guided.dtable.shared.model.ConditionCol52;
+import org.drools.workbench.models.guided.dtable.shared.model.GuidedDecisionTable52;
+import org.drools.workbench.models.guided.dtable.shared.model.Pattern52;
+import org.drools.workbench.screens.guided.dtable.shared.DefaultGuidedDecisionTableLinkManager;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.backend.server.util.Paths;
+import org.uberfire.backend.vfs.Path;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class GuidedDecisionTableLinkIndexTest {
+
+    @Mock
+    private GuidedDecisionTableModelCache modelCache;
+
+    private GuidedDecisionTableLinkIndex index;
+
+    private Path packagePath;
+
+    private Path dtable1Path;
+
+    private Path dtable2Path;
+
+    private Path dtable3Path;
+
+    @Before
+    public void setup() {
+        index = new GuidedDecisionTableLinkIndex(modelCache,
+                                                 new DefaultGuidedDecisionTableLinkManager());
+
+        packagePath = makePath("default://project/src/main/resources");
+        dtable1Path = makePath("default://project/src/main/resources/dtable1.gdst");
+        dtable2Path = makePath("default://project/src/main/resources/dtable2.gdst");
+        dtable3Path = makePath("default://project/src/main/resources/dtable3.gdst");
+
+        when(modelCache.getVersion(any(org.uberfire.java.nio.file.Path.class))).thenReturn("v1");
+        when(modelCache.load(Paths.convert(dtable1Path))).thenReturn(makeActionModel("Fact",
+                                                                                      "field"));
+        when(modelCache.load(Paths.convert(dtable2Path))).thenReturn(makeConditionModel("Fact",
+                                                                                         "field"));
+        when(modelCache.load(Paths.convert(dtable3Path))).thenReturn(makeConditionModel("Other",
+                                                                                         "field"));
+    }
+
+    @Test
+    public void testLinkedDecisionTables() {
+        final Set<Path> linked = index.getLinkedDecisionTables(packagePath,
+                                                               Arrays.asList(dtable1Path,
+                                                                             dtable2Path,
+                                                                             dtable3Path));
+        assertEquals(2,
+                     linked.size());
+        assertTrue(linked.contains(dtable1Path));
+        assertTrue(linked.contains(dtable2Path));
+    }
+
+    @Test
+    public void testDecisionTableIsNotLinkedToItself() {
+        final GuidedDecisionTable52 model = makeActionModel("Fact",
+                                                            "field");
+        model.getConditions().addAll(makeConditionModel("Fact",
+                                                        "field").getConditions());
+        when(modelCache.load(Paths.convert(dtable1Path))).thenReturn(model);
+
+        final Set<Path> linked = index.getLinkedDecisionTables(packagePath,
+                                                               Arrays.asList(dtable1Path,
+                                                                             dtable3Path));
+        assertTrue(linked.isEmpty());
+    }
+
+    @Test
+    public void testOnlyChangedDecisionTablesAreReloaded() {
+        index.getLinkedDecisionTables(packagePath,
+                                      Arrays.asList(dtable1Path,
+                                                    dtable2Path,
+                                                    dtable3Path));
+
+        when(modelCache.getVersion(Paths.convert(dtable3Path))).thenReturn("v2");
+        when(modelCache.load(Paths.convert(dtable3Path))).thenReturn(makeConditionModel("Fact",
+                                                                                         "field"));
+
+        final Set<Path> linked = index.getLinkedDecisionTables(packagePath,
+                                                               Arrays.asList(dtable1Path,
+                                                                             dtable2Path,
+                                                                             dtable3Path));
+        assertEquals(3,
+                     linked.size());
+        verify(modelCache,
+               times(1)).load(Paths.convert(dtable1Path));
+        verify(modelCache,
+               times(1)).load(Paths.convert(dtable2Path));
+        verify(modelCache,
+               times(2)).load(Paths.convert(dtable3Path));
+    }
+
+    @Test
+    public void testRemovedDecisionTablesAreDropped() {
+        index.getLinkedDecisionTables(packagePath,
+                                      Arrays.asList(dtable1Path,
+                                                    dtable2Path));
+
+        final Set<Path> linked = index.getLinkedDecisionTables(packagePath,
+                                                               Arrays.asList(dtable1Path));
+        assertTrue(linked.isEmpty());
+    }
+
+    @Test
+    public void testUpdate() {
+        index.getLinkedDecisionTables(packagePath,
+                                      Arrays.asList(dtable1Path,
+                                                    dtable2Path,
+                                                    dtable3Path));
+
+        index.update(dtable3Path,
+                     makeConditionModel("Fact",
+                                        "field"));
+
+        final Set<Path> linked = index.getLinkedDecisionTables(packagePath,
+                                                               Arrays.asList(dtable1Path,
+                                                                             dtable2Path,
+                                                                             dtable3Path));
+        assertEquals(3,
+                     linked.size());
+        verify(modelCache,
+               times(1)).load(Paths.convert(dtable3Path));
+    }
+
+    private Path makePath(final String uri) {
+        return Paths.convert(org.uberfire.java.nio.file.Paths.get(uri));
+    }
+
+    private GuidedDecisionTable52 makeActionModel(final String factType,
+                                                  final String factField) {
+        final GuidedDecisionTable52 model = new GuidedDecisionTable52();
+        final ActionInsertFactCol52 aif = new ActionInsertFactCol52();
+        aif.setFactType(factType);
+        aif.setFactField(factField);
+        model.getActionCols().add(aif);
+        return model;
+    }
+
+    private GuidedDecisionTable52 makeConditionModel(final String factType,
+                                                     final String factField) {
+        final GuidedDecisionTable52 model = new GuidedDecisionTable52();
+        final Pattern52 p = new Pattern52();
+        p.setBoundName("$f");
+        p.setFactType(factType);
+        final ConditionCol52 c = new ConditionCol52();
+        c.setFactField(factField);
+        p.getChildColumns().add(c);
+        model.getConditions().add(p);
+        return model;
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.guided.dtable.backend.server;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.drools.workbench.models.guided.dtable.backend.GuidedDTXMLPersistence;
+import org.drools.workbench.models.guided.dtable.shared.model.DTCellValue52;
+import org.drools.workbench.models.guided.dtable.shared.model.GuidedDecisionTable52;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.io.IOService;
+import org.uberfire.java.nio.file.Path;
+import org.uberfire.java.nio.file.attribute.BasicFileAttributeView;
+import org.uberfire.java.nio.file.attribute.BasicFileAttributes;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class GuidedDecisionTableModelCacheTest {
+
+    @Mock
+    private IOService ioService;
+
+    @Mock
+    private Path path1;
+
+    @Mock
+    private Path path2;
+
+    @Mock
+    private BasicFileAttributeView view1;
+
+    @Mock
+    private BasicFileAttributeView view2;
+
+    @Mock
+    private BasicFileAttributes attributes1;
+
+    @Mock
+    private BasicFileAttributes attributes2;
+
+    private String content;
+
+    private GuidedDecisionTableModelCache cache;
+
+    @Before
+    public void setup() throws Exception {
+        final GuidedDecisionTable52 model = new GuidedDecisionTable52();
+        model.setTableName("dtable");
+        content = GuidedDTXMLPersistence.getInstance().marshal(model);
+
+        setupPath(path1,
+                  view1,
+                  attributes1,
+                  "default://project/src/main/resources/dtable1.gdst");
+        setupPath(path2,
+                  view2,
+                  attributes2,
+                  "default://project/src/main/resources/dtable2.gdst");
+
+        cache = new GuidedDecisionTableModelCache(ioService,
+                                                  content.length());
+    }
+
+    private void setupPath(final Path path,
+                           final BasicFileAttributeView view,
+                           final BasicFileAttributes attributes,
+                           final String uri) throws Exception {
+        when(path.toUri()).thenReturn(new URI(uri));
+        when(ioService.getFileAttributeView(path,
+                                            BasicFileAttributeView.class)).thenReturn(view);
+        when(view.readAttributes()).thenReturn(attributes);
+        when(attributes.fileKey()).thenReturn("v1");
+        when(ioService.readAllString(path)).thenReturn(content);
+    }
+
+    @Test
+    public void testSameVersionIsUnmarshalledOnce() {
+        final GuidedDecisionTable52 model1 = cache.load(path1);
+        final GuidedDecisionTable52 model2 = cache.load(path1);
+
+        assertNotSame(model1,
+                      model2);
+        assertEquals("dtable",
+                     model1.getTableName());
+        assertEquals("dtable",
+                     model2.getTableName());
+        verify(ioService,
+               times(1)).readAllString(path1);
+        assertEquals(1,
+                     cache.getHitCount());
+        assertEquals(1,
+                     cache.getMissCount());
+    }
+
+    @Test
+    public void testCallersDoNotShareModels() {
+        final GuidedDecisionTable52 model1 = cache.load(path1);
+        model1.setTableName("altered");
+        model1.getData().add(new ArrayList<>());
+
+        final GuidedDecisionTable52 model2 = cache.load(path1);
+
+        assertEquals("dtable",
+                     model2.getTableName());
+        assertTrue(model2.getData().isEmpty());
+        verify(ioService,
+               times(1)).readAllString(path1);
+    }
+
+    @Test
+    public void testNewVersionIsUnmarshalledAgain() {
+        final GuidedDecisionTable52 model1 = cache.load(path1);
+        when(attributes1.fileKey()).thenReturn("v2");
+        final GuidedDecisionTable52 model2 = cache.load(path1);
+
+        assertNotSame(model1,
+                      model2);
+        verify(ioService,
+               times(2)).readAllString(path1);
+    }
+
+    @Test
+    public void testInvalidate() {
+        cache.load(path1);
+        cache.invalidate(path1);
+        cache.load(path1);
+
+        verify(ioService,
+               times(2)).readAllString(path1);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() {
+        cache.load(path1);
+        cache.load(path2);
+        cache.load(path2);
+        cache.load(path1);
+
+        assertEquals(content.length(),
+                     cache.getWeight());
+        verify(ioService,
+               times(2)).readAllString(path1);
+        verify(ioService,
+               times(1)).readAllString(path2);
+    }
+
+    @Test
+    public void testUnversionedPathIsNotCached() {
+        when(ioService.getFileAttributeView(path1,
+                                            BasicFileAttributeView.class)).thenReturn(null);
+        cache.load(path1);
+        cache.load(path1);
+
+        verify(ioService,
+               times(2)).readAllString(path1);
+        assertEquals(0,
+                     cache.getWeight());
+    }
+
+    @Test
+    public void testLoadRowsCopiesRangeOfCachedModel() {
+        final GuidedDecisionTable52 model = new GuidedDecisionTable52();
+        for (int i = 0; i < 5; i++) {
+            model.getData().add(new ArrayList<>(Arrays.asList(new DTCellValue52(i + 1),
+                                                              new DTCellValue52("row" + i))));
+        }
+        final String rowsContent = GuidedDTXMLPersistence.getInstance().marshal(model);
+        when(ioService.readAllString(path1)).thenReturn(rowsContent);
+        cache = new GuidedDecisionTableModelCache(ioService,
+                                                  rowsContent.length());
+
+        final List<List<DTCellValue52>> rows1 = cache.loadRows(path1,
+                                                               "v1",
+                                                               3,
+                                                               10);
+        rows1.get(0).get(1).setStringValue("altered");
+        final List<List<DTCellValue52>> rows2 = cache.loadRows(path1,
+                                                               "v1",
+                                                               3,
+                                                               10);
+
+        assertEquals(2,
+                     rows2.size());
+        assertEquals("row3",
+                     rows2.get(0).get(1).getStringValue());
+        assertTrue(cache.loadRows(path1,
+                                  "v1",
+                                  5,
+                                  10).isEmpty());
+        verify(ioService,
+               times(1)).readAllString(path1);
+    }
+
+    @Test
+    public void testLoadRowsOfChangedVersion() {
+        cache.load(path1);
+        when(attributes1.fileKey()).thenReturn("v2");
+
+        assertNull(cache.loadRows(path1,
+                                  "v1",
+                                  0,
+                                  10));
+        verify(ioService,
+               times(1)).readAllString(path1);
+    }
+}
@@ -30,6 +30,7 @@ import org.drools.workbench.models.guided.dtable.shared.model.DescriptionCol52;
 import org.drools.workbench.models.guided.dtable.shared.model.GuidedDecisionTable52;
 import org.drools.workbench.models.guided.dtable.shared.model.Pattern52;
 import org.drools.workbench.models.guided.dtable.shared.model.RowNumberCol52;
+import org.drools.workbench.screens.dsltext.backend.server.DSLPackageRegistry;
 import org.drools.workbench.screens.guided.dtable.service.GuidedDecisionTableEditorService;
 import org.drools.workbench.screens.guided.dtable.type.GuidedDTableResourceTypeDefinition;
 import org.guvnor.common.services.backend.file.FileDiscoveryService;
@@ -46,6 +47,8 @@ import org.uberfire.io.IOService;
 import org.uberfire.java.nio.file.FileSystem;
 import org.uberfire.java.nio.file.Path;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.when;
@@ -84,6 +87,8 @@ public class GuidedDecisionTableSourceServiceTest {
 
     GuidedDecisionTableSourceService service;
 
+    GuidedDecisionTableRuleCache ruleCache;
+
     Pattern52 pattern;
 
     ConditionCol52 nameEqualToLiteralCondition;
@@ -92,11 +97,13 @@ public class GuidedDecisionTableSourceServiceTest {
 
     @Before
     public void setUp() throws Exception {
+        ruleCache = new GuidedDecisionTableRuleCache();
         service = new GuidedDecisionTableSourceService(resourceTypeDefinition,
                                                        guidedDecisionTableEditorService,
-                                                       ioService,
-                                                       fileDiscoveryService,
-                                                       moduleService);
+                                                       new DSLPackageRegistry(ioService,
+                                                                              fileDiscoveryService,
+                                                                              moduleService),
+                                                       ruleCache);
 
         // Simulates that no DSL files are present
         when(moduleService.resolvePackage(any())).thenReturn(packageMock);
@@ -261,6 +268,81 @@ public class GuidedDecisionTableSourceServiceTest {
         assertTrue(source.contains("$p : Person( $age : age == ( 1 + 1 ) )"));
     }
 
+    @Test
+    public void testOnlyChangedRowsAreGenerated() throws Exception {
+        addRow(1,
+               "John");
+        addRow(2,
+               "Peter");
+        model.setData(data);
+
+        final String source = service.getSource(path,
+                                                model);
+        assertTrue(source.contains("$p : Person( name == \"John\" )"));
+        assertTrue(source.contains("$p : Person( name == \"Peter\" )"));
+        assertEquals(2,
+                     ruleCache.getMissCount());
+
+        data.get(1).get(2).setStringValue("Paul");
+
+        final String changedSource = service.getSource(path,
+                                                       model);
+        assertTrue(changedSource.contains("$p : Person( name == \"John\" )"));
+        assertTrue(changedSource.contains("$p : Person( name == \"Paul\" )"));
+        assertFalse(changedSource.contains("Peter"));
+        assertEquals(3,
+                     ruleCache.getMissCount());
+        assertEquals(1,
+                     ruleCache.getHitCount());
+    }
+
+    @Test
+    public void testRulesBeyondMaxWeightAreNotKept() throws Exception {
+        addRow(1,
+               "John");
+        model.setData(data);
+
+        service.getSource(path,
+                          model);
+        final long weight = ruleCache.getWeight();
+        assertTrue(weight > 0);
+
+        ruleCache = new GuidedDecisionTableRuleCache(weight - 1);
+        service = new GuidedDecisionTableSourceService(resourceTypeDefinition,
+                                                       guidedDecisionTableEditorService,
+                                                       new DSLPackageRegistry(ioService,
+                                                                              fileDiscoveryService,
+                                                                              moduleService),
+                                                       ruleCache);
+        service.getSource(path,
+                          model);
+        service.getSource(path,
+                          model);
+        assertEquals(0,
+                     ruleCache.getWeight());
+        assertEquals(0,
+                     ruleCache.getHitCount());
+        assertEquals(2,
+                     ruleCache.getMissCount());
+    }
+
+    @Test
+    public void testChangedColumnsAreGenerated() throws Exception {
+        addRow(1,
+               "John");
+        model.setData(data);
+
+        service.getSource(path,
+                          model);
+        nameEqualToLiteralCondition.setOperator("!=");
+
+        final String source = service.getSource(path,
+                                                model);
+        assertTrue(source.contains("$p : Person( name != \"John\" )"));
+        assertEquals(2,
+                     ruleCache.getMissCount());
+    }
+
     private void addRow(int rowNumber,
                         String nameEqualToCostraint,
                         boolean isOtherwise) {
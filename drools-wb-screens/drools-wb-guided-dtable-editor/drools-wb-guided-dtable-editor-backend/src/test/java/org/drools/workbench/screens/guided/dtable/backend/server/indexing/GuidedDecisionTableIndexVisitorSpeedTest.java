@@ -0,0 +1,135 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.guided.dtable.backend.server.indexing;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.drools.workbench.models.datamodel.rule.BaseSingleFieldConstraint;
+import org.drools.workbench.models.guided.dtable.backend.GuidedDTXMLPersistence;
+import org.drools.workbench.models.guided.dtable.shared.model.ActionSetFieldCol52;
+import org.drools.workbench.models.guided.dtable.shared.model.ConditionCol52;
+import org.drools.workbench.models.guided.dtable.shared.model.DTCellValue52;
+import org.drools.workbench.models.guided.dtable.shared.model.GuidedDecisionTable52;
+import org.drools.workbench.models.guided.dtable.shared.model.Pattern52;
+import org.drools.workbench.screens.guided.dtable.type.GuidedDTableResourceTypeDefinition;
+import org.guvnor.common.services.project.categories.Decision;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.kie.soup.project.datamodel.imports.Import;
+import org.kie.soup.project.datamodel.oracle.DataType;
+import org.kie.workbench.common.services.refactoring.backend.server.BaseIndexingTest;
+import org.kie.workbench.common.services.refactoring.backend.server.TestIndexer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.uberfire.java.nio.file.Path;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compares indexing a synthetic 10,000 row by 20 column Decision Table from its model with indexing its generated DRL.
+ */
+@Ignore("Performance test - shouldn't run as part of daily builds")
+public class GuidedDecisionTableIndexVisitorSpeedTest extends BaseIndexingTest<GuidedDTableResourceTypeDefinition> {
+
+    private static final int ROWS = 10000;
+    private static final int CONDITIONS = 10;
+    private static final int ACTIONS = 10;
+
+    private static final String APPLICANT = "org.drools.workbench.screens.guided.dtable.backend.server.indexing.classes.Applicant";
+
+    private Logger logger = LoggerFactory.getLogger(GuidedDecisionTableIndexVisitorSpeedTest.class);
+
+    private TestGuidedDecisionTableFileIndexer indexer;
+
+    @Test
+    public void indexLargeTable() throws Exception {
+        final Path path = basePath.resolve("speed.gdst");
+        ioService().write(path,
+                          GuidedDTXMLPersistence.getInstance().marshal(makeTable()));
+
+        long baseline = System.currentTimeMillis();
+        final int modelProperties = indexer.fillIndexBuilder(path).build().size();
+
+        long now = System.currentTimeMillis();
+        logger.info("Indexing model of " + ROWS + " rows took.. " + (now - baseline) + " ms");
+        baseline = now;
+
+        final int drlProperties = indexer.fillIndexBuilderFromDrl(path).build().size();
+
+        now = System.currentTimeMillis();
+        logger.info("Indexing DRL of " + ROWS + " rows took.. " + (now - baseline) + " ms");
+
+        logger.info("Model properties: " + modelProperties + ", DRL properties: " + drlProperties);
+        assertTrue(modelProperties > 0);
+    }
+
+    private GuidedDecisionTable52 makeTable() {
+        final GuidedDecisionTable52 model = new GuidedDecisionTable52();
+        model.setPackageName("org.drools.workbench.screens.guided.dtable.backend.server.indexing");
+        model.getImports().getImports().add(new Import(APPLICANT));
+        model.setTableName("speed");
+
+        final Pattern52 pattern = new Pattern52();
+        pattern.setBoundName("$a");
+        pattern.setFactType("Applicant");
+        for (int column = 0; column < CONDITIONS; column++) {
+            final ConditionCol52 condition = new ConditionCol52();
+            condition.setConstraintValueType(BaseSingleFieldConstraint.TYPE_LITERAL);
+            condition.setFieldType(DataType.TYPE_NUMERIC_INTEGER);
+            condition.setFactField("age");
+            condition.setOperator(">");
+            pattern.getChildColumns().add(condition);
+        }
+        model.getConditions().add(pattern);
+
+        for (int column = 0; column < ACTIONS; column++) {
+            final ActionSetFieldCol52 action = new ActionSetFieldCol52();
+            action.setBoundName("$a");
+            action.setFactField("age");
+            action.setType(DataType.TYPE_NUMERIC_INTEGER);
+            model.getActionCols().add(action);
+        }
+
+        for (int row = 0; row < ROWS; row++) {
+            final List<DTCellValue52> cells = new ArrayList<>();
+            cells.add(new DTCellValue52(row + 1));
+            cells.add(new DTCellValue52(""));
+            for (int column = 0; column < CONDITIONS + ACTIONS; column++) {
+                cells.add(new DTCellValue52(row % 100));
+            }
+            model.getData().add(cells);
+        }
+        return model;
+    }
+
+    @Override
+    protected TestIndexer getIndexer() {
+        indexer = new TestGuidedDecisionTableFileIndexer();
+        return indexer;
+    }
+
+    @Override
+    protected GuidedDTableResourceTypeDefinition getResourceTypeDefinition() {
+        return new GuidedDTableResourceTypeDefinition(new Decision());
+    }
+
+    @Override
+    protected String getRepositoryName() {
+        return this.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.guided.dtable.backend.server.indexing;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.drools.workbench.models.datamodel.rule.BaseSingleFieldConstraint;
+import org.drools.workbench.models.datamodel.rule.FreeFormLine;
+import org.drools.workbench.models.guided.dtable.backend.GuidedDTXMLPersistence;
+import org.drools.workbench.models.guided.dtable.shared.model.ActionRetractFactCol52;
+import org.drools.workbench.models.guided.dtable.shared.model.BRLConditionColumn;
+import org.drools.workbench.models.guided.dtable.shared.model.BRLConditionVariableColumn;
+import org.drools.workbench.models.guided.dtable.shared.model.ConditionCol52;
+import org.drools.workbench.models.guided.dtable.shared.model.DTCellValue52;
+import org.drools.workbench.models.guided.dtable.shared.model.GuidedDecisionTable52;
+import org.drools.workbench.models.guided.dtable.shared.model.LimitedEntryConditionCol52;
+import org.drools.workbench.models.guided.dtable.shared.model.Pattern52;
+import org.drools.workbench.screens.guided.dtable.type.GuidedDTableResourceTypeDefinition;
+import org.guvnor.common.services.project.categories.Decision;
+import org.junit.Test;
+import org.kie.soup.project.datamodel.imports.Import;
+import org.kie.soup.project.datamodel.oracle.DataType;
+import org.kie.workbench.common.services.refactoring.backend.server.BaseIndexingTest;
+import org.kie.workbench.common.services.refactoring.backend.server.TestIndexer;
+import org.kie.workbench.common.services.refactoring.backend.server.indexing.DefaultIndexBuilder;
+import org.uberfire.java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GuidedDecisionTableIndexVisitorTest extends BaseIndexingTest<GuidedDTableResourceTypeDefinition> {
+
+    private static final String PACKAGE_NAME = "org.drools.workbench.screens.guided.dtable.backend.server.indexing";
+
+    private static final String APPLICANT = "org.drools.workbench.screens.guided.dtable.backend.server.indexing.classes.Applicant";
+
+    private static final String MORTGAGE = "org.drools.workbench.screens.guided.dtable.backend.server.indexing.classes.Mortgage";
+
+    private TestGuidedDecisionTableFileIndexer indexer;
+
+    @Test
+    public void testSameReferencesAsDrl() throws Exception {
+        final List<Import> imports = Arrays.asList(new Import(APPLICANT),
+                                                   new Import(MORTGAGE));
+        final List<GuidedDecisionTable52> models = Arrays.asList(GuidedDecisionTableFactory.makeTableWithAttributeCol(PACKAGE_NAME,
+                                                                                                                      imports,
+                                                                                                                      "attributes"),
+                                                                 GuidedDecisionTableFactory.makeTableWithConditionCol(PACKAGE_NAME,
+                                                                                                                      imports,
+                                                                                                                      "conditions"),
+                                                                 GuidedDecisionTableFactory.makeTableWithActionCol(PACKAGE_NAME,
+                                                                                                                   imports,
+                                                                                                                   "actions"),
+                                                                 GuidedDecisionTableFactory.makeTableWithBRLFragmentConditionCol(PACKAGE_NAME,
+                                                                                                                                 imports,
+                                                                                                                                 "brlConditions"),
+                                                                 GuidedDecisionTableFactory.makeTableWithBRLFragmentConditionColWithPredicate(PACKAGE_NAME,
+                                                                                                                                              imports,
+                                                                                                                                              "brlPredicates"),
+                                                                 GuidedDecisionTableFactory.makeTableWithBRLFragmentActionCol(PACKAGE_NAME,
+                                                                                                                              imports,
+                                                                                                                              "brlActions"),
+                                                                 makeTableWithRetractCol());
+
+        //Every Type and field found in the generated DRL is found in the model
+        for (GuidedDecisionTable52 model : models) {
+            final Path path = write(model);
+            assertThat(getReferences(indexer.fillIndexBuilder(path)))
+                    .as(model.getTableName())
+                    .containsAll(getReferences(indexer.fillIndexBuilderFromDrl(path)));
+        }
+    }
+
+    @Test
+    public void testEmptyColumnsAreNotIndexed() throws Exception {
+        //The Mortgage amount column has no value in any row
+        final Path path = write(GuidedDecisionTableFactory.makeTableWithConditionCol(PACKAGE_NAME,
+                                                                                     Arrays.asList(new Import(APPLICANT),
+                                                                                                   new Import(MORTGAGE)),
+                                                                                     "emptyColumn"));
+
+        final Set<String> references = getReferences(indexer.fillIndexBuilder(path));
+
+        assertThat(references).contains("ref:field:" + APPLICANT + "=age");
+        assertThat(references).doesNotContain("ref:field:" + MORTGAGE + "=amount");
+        assertThat(references).isEqualTo(getReferences(indexer.fillIndexBuilderFromDrl(path)));
+    }
+
+    @Test
+    public void testLimitedEntryColumns() throws Exception {
+        final GuidedDecisionTable52 model = makeTable("limitedEntry");
+        final Pattern52 pattern = makeApplicantPattern();
+        final LimitedEntryConditionCol52 condition = new LimitedEntryConditionCol52();
+        condition.setConstraintValueType(BaseSingleFieldConstraint.TYPE_LITERAL);
+        condition.setFieldType(DataType.TYPE_NUMERIC_INTEGER);
+        condition.setFactField("age");
+        condition.setOperator("==");
+        condition.setValue(new DTCellValue52(33));
+        pattern.getChildColumns().add(condition);
+        model.getConditions().add(pattern);
+        model.getData().add(makeRow(1,
+                                    new DTCellValue52(false)));
+
+        assertThat(getReferences(indexer.fillIndexBuilder(write(model)))).doesNotContain("ref:field:" + APPLICANT + "=age");
+
+        model.getData().add(makeRow(2,
+                                    new DTCellValue52(true)));
+
+        assertThat(getReferences(indexer.fillIndexBuilder(write(model)))).contains("ref:field:" + APPLICANT + "=age");
+    }
+
+    @Test
+    public void testIncompleteColumnsAndRows() throws Exception {
+        final GuidedDecisionTable52 model = makeTable("incomplete");
+        final Pattern52 pattern = new Pattern52();
+        pattern.setBoundName("$x");
+        final ConditionCol52 condition = new ConditionCol52();
+        condition.setConstraintValueType(BaseSingleFieldConstraint.TYPE_LITERAL);
+        condition.setFactField("age");
+        condition.setOperator("==");
+        pattern.getChildColumns().add(condition);
+        model.getConditions().add(pattern);
+        model.getData().add(new ArrayList<>(Arrays.asList(new DTCellValue52((Integer) null),
+                                                          new DTCellValue52(""),
+                                                          new DTCellValue52(33))));
+
+        assertThat(getReferences(indexer.fillIndexBuilder(write(model)))).contains("ref:java=" + APPLICANT);
+    }
+
+    @Test
+    public void testFreeFormContentIsIndexedFromDrl() throws Exception {
+        final GuidedDecisionTable52 model = makeTable("freeForm");
+        final BRLConditionColumn brl = new BRLConditionColumn();
+        final FreeFormLine ffl = new FreeFormLine();
+        ffl.setText("Applicant( age > 10 )");
+        brl.getDefinition().add(ffl);
+        brl.getChildColumns().add(new BRLConditionVariableColumn("",
+                                                                 DataType.TYPE_BOOLEAN));
+        model.getConditions().add(brl);
+        model.getData().add(makeRow(1,
+                                    new DTCellValue52(true)));
+        final Path path = write(model);
+
+        assertThat(GuidedDecisionTableIndexVisitor.hasFreeFormContent(model)).isTrue();
+        assertThat(getReferences(indexer.fillIndexBuilder(path))).isEqualTo(getReferences(indexer.fillIndexBuilderFromDrl(path)));
+    }
+
+    private GuidedDecisionTable52 makeTableWithRetractCol() {
+        final GuidedDecisionTable52 model = makeTable("retract");
+        final Pattern52 pattern = makeApplicantPattern();
+        final ConditionCol52 condition = new ConditionCol52();
+        condition.setConstraintValueType(BaseSingleFieldConstraint.TYPE_LITERAL);
+        condition.setFieldType(DataType.TYPE_NUMERIC_INTEGER);
+        condition.setFactField("age");
+        condition.setOperator("==");
+        pattern.getChildColumns().add(condition);
+        model.getConditions().add(pattern);
+        model.getActionCols().add(new ActionRetractFactCol52());
+        model.getData().add(makeRow(1,
+                                    new DTCellValue52(33),
+                                    new DTCellValue52("$a")));
+        return model;
+    }
+
+    private GuidedDecisionTable52 makeTable(final String tableName) {
+        final GuidedDecisionTable52 model = new GuidedDecisionTable52();
+        model.setPackageName(PACKAGE_NAME);
+        model.getImports().getImports().add(new Import(APPLICANT));
+        model.setTableName(tableName);
+        return model;
+    }
+
+    private Pattern52 makeApplicantPattern() {
+        final Pattern52 pattern = new Pattern52();
+        pattern.setBoundName("$a");
+        pattern.setFactType("Applicant");
+        return pattern;
+    }
+
+    private List<DTCellValue52> makeRow(final int rowNumber,
+                                        final DTCellValue52... cells) {
+        final List<DTCellValue52> row = new ArrayList<>();
+        row.add(new DTCellValue52(rowNumber));
+        row.add(new DTCellValue52("description"));
+        row.addAll(Arrays.asList(cells));
+        return row;
+    }
+
+    private Path write(final GuidedDecisionTable52 model) {
+        final Path path = basePath.resolve(model.getTableName() + ".gdst");
+        ioService().write(path,
+                          GuidedDTXMLPersistence.getInstance().marshal(model));
+        return path;
+    }
+
+    //Types and fields referenced by a Decision Table
+    private Set<String> getReferences(final DefaultIndexBuilder builder) {
+        return builder.build()
+                .stream()
+                .filter((property) -> property.getName().equals("ref:java") || property.getName().startsWith("ref:field:"))
+                .map((property) -> property.getName() + "=" + property.getValue())
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    protected TestIndexer getIndexer() {
+        indexer = new TestGuidedDecisionTableFileIndexer();
+        return indexer;
+    }
+
+    @Override
+    protected GuidedDTableResourceTypeDefinition getResourceTypeDefinition() {
+        return new GuidedDTableResourceTypeDefinition(new Decision());
+    }
+
+    @Override
+    protected String getRepositoryName() {
+        return this.getClass().getSimpleName();
+    }
+}
@@ -19,6 +19,9 @@ import java.util.HashMap;
 
 import javax.enterprise.context.ApplicationScoped;
 
+import org.drools.workbench.models.guided.dtable.backend.GuidedDTDRLPersistence;
+import org.drools.workbench.models.guided.dtable.backend.GuidedDTXMLPersistence;
+import org.drools.workbench.models.guided.dtable.shared.model.GuidedDecisionTable52;
 import org.drools.workbench.screens.guided.dtable.backend.server.indexing.classes.Applicant;
 import org.drools.workbench.screens.guided.dtable.backend.server.indexing.classes.Mortgage;
 import org.drools.workbench.screens.guided.dtable.type.GuidedDTableResourceTypeDefinition;
@@ -28,6 +31,7 @@ import org.kie.soup.project.datamodel.oracle.FieldAccessorsAndMutators;
 import org.kie.soup.project.datamodel.oracle.ModelField;
 import org.kie.soup.project.datamodel.oracle.ModuleDataModelOracle;
 import org.kie.workbench.common.services.refactoring.backend.server.TestIndexer;
+import org.kie.workbench.common.services.refactoring.backend.server.indexing.DefaultIndexBuilder;
 import org.kie.workbench.common.services.shared.project.KieModuleService;
 import org.uberfire.io.IOService;
 import org.uberfire.java.nio.file.Path;
@@ -53,6 +57,15 @@ public class TestGuidedDecisionTableFileIndexer extends GuidedDecisionTableFileI
         this.type = type;
     }
 
+    /**
+     * Index a Decision Table from its generated DRL, as all Decision Tables were before being indexed from the model.
+     */
+    public DefaultIndexBuilder fillIndexBuilderFromDrl(final Path path) throws Exception {
+        final GuidedDecisionTable52 model = GuidedDTXMLPersistence.getInstance().unmarshal(ioService.readAllString(path));
+        return fillDrlIndexBuilder(path,
+                                   GuidedDTDRLPersistence.getInstance().marshal(model));
+    }
+
     @Override
     protected ModuleDataModelOracle getModuleDataModelOracle(final Path path) {
         final ModuleDataModelOracle dmo = new ModuleDataModelOracleImpl();
@@ -26,6 +26,7 @@ import javax.enterprise.event.Observes;
 import com.google.gwt.user.client.ui.IsWidget;
 import com.google.gwt.user.client.ui.ProvidesResize;
 import com.google.gwt.user.client.ui.RequiresResize;
+import org.drools.workbench.models.guided.dtable.shared.model.DTCellValue52;
 import org.drools.workbench.models.guided.dtable.shared.model.GuidedDecisionTable52;
 import org.drools.workbench.screens.guided.dtable.client.editor.menu.EditMenuBuilder;
 import org.drools.workbench.screens.guided.dtable.client.editor.menu.InsertMenuBuilder;
@@ -36,6 +37,7 @@ import org.drools.workbench.screens.guided.dtable.client.widget.table.GuidedDeci
 import org.drools.workbench.screens.guided.dtable.client.widget.table.GuidedDecisionTablePresenter;
 import org.drools.workbench.screens.guided.dtable.client.widget.table.GuidedDecisionTableView;
 import org.drools.workbench.screens.guided.dtable.client.widget.table.events.cdi.DecisionTableSelectedEvent;
+import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableDelta;
 import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableEditorContent;
 import org.drools.workbench.screens.guided.dtable.service.GuidedDecisionTableEditorService;
 import org.guvnor.common.services.project.client.context.WorkspaceProjectContext;
@@ -83,6 +85,8 @@ public abstract class BaseGuidedDecisionTableEditorPresenter extends KieMultiple
 
     static final int COLUMNS_TAB_INDEX = 1;
 
+    static final int ROW_PAGE_SIZE = 1000;
+
     protected View view;
     protected Caller<GuidedDecisionTableEditorService> service;
     protected Event<DecisionTableSelectedEvent> decisionTableSelectedEvent;
@@ -414,11 +418,80 @@ public abstract class BaseGuidedDecisionTableEditorPresenter extends KieMultiple
                                           content,
                                           isReadOnly);
             activateDocument(dtPresenter);
+            loadRemainingRows(dtPresenter,
+                              content);
 
             view.hideBusyIndicator();
         };
     }
 
+    /**
+     * Loads the rows of a very large Decision Table that were not included in its content, one page at a time.
+     * Pages are requested one after the other as soon as the Decision Table has been shown, not as they are
+     * scrolled into view, so every row is held by the client once loading completes; paging shortens the time
+     * before the Decision Table is first shown and the size of each payload, not the memory used.
+     * The Decision Table cannot be edited until all rows have been loaded. Should the Decision Table change before
+     * all rows have been loaded it is loaded again, as the rows already loaded are no longer current.
+     * @param dtPresenter Presenter of the Decision Table
+     * @param content Content with which the Decision Table was initialised
+     */
+    protected void loadRemainingRows(final GuidedDecisionTableView.Presenter dtPresenter,
+                                     final GuidedDecisionTableEditorContent content) {
+        if (!content.hasRemainingRows()) {
+            return;
+        }
+        loadRowPage(dtPresenter,
+                    dtPresenter.getModel(),
+                    content.getVersion(),
+                    content.getTotalRowCount());
+    }
+
+    void loadRowPage(final GuidedDecisionTableView.Presenter dtPresenter,
+                     final GuidedDecisionTable52 model,
+                     final String version,
+                     final int totalRowCount) {
+        final int startRow = model.getData().size();
+        service.call(getLoadRowPageSuccessCallback(dtPresenter,
+                                                   model,
+                                                   version,
+                                                   startRow,
+                                                   totalRowCount),
+                     new HasBusyIndicatorDefaultErrorCallback(view)).loadRows(dtPresenter.getCurrentPath(),
+                                                                              version,
+                                                                              startRow,
+                                                                              ROW_PAGE_SIZE);
+    }
+
+    private RemoteCallback<List<List<DTCellValue52>>> getLoadRowPageSuccessCallback(final GuidedDecisionTableView.Presenter dtPresenter,
+                                                                                    final GuidedDecisionTable52 model,
+                                                                                    final String version,
+                                                                                    final int startRow,
+                                                                                    final int totalRowCount) {
+        return (rows) -> {
+            //The Decision Table may have been closed or refreshed before the rows arrived
+            if (dtPresenter.getModel() != model || !modeller.getAvailableDecisionTables().contains(dtPresenter)) {
+                return;
+            }
+            //The Decision Table changed after its first rows were loaded
+            if (rows == null) {
+                refreshDocument(dtPresenter);
+                return;
+            }
+            final boolean isLastPage = rows.isEmpty() || startRow + rows.size() >= totalRowCount;
+            dtPresenter.appendRows(rows,
+                                   isLastPage);
+            if (!isLastPage) {
+                loadRowPage(dtPresenter,
+                            model,
+                            version,
+                            totalRowCount);
+            } else if (dtPresenter.equals(getActiveDocument())) {
+                //The document was activated read-only whilst rows were loading
+                activateDocument(dtPresenter);
+            }
+        };
+    }
+
     @Override
     public void removeDocument(final GuidedDecisionTableView.Presenter dtPresenter) {
         modeller.removeDecisionTable(dtPresenter);
@@ -441,8 +514,31 @@ public abstract class BaseGuidedDecisionTableEditorPresenter extends KieMultiple
     public void onValidate(final GuidedDecisionTableView.Presenter dtPresenter) {
         final ObservablePath path = dtPresenter.getCurrentPath();
         final GuidedDecisionTable52 model = dtPresenter.getModel();
+        final GuidedDecisionTableDelta delta = dtPresenter.getDelta();
 
+        if (delta == null) {
+            service.call(getValidationSuccessCallback()).validate(path,
+                                                                  model);
+            return;
+        }
+
+        //Only send changed rows; the server replies with null if it needs the full Decision Table
         service.call(new RemoteCallback<List<ValidationMessage>>() {
+            @Override
+            public void callback(final List<ValidationMessage> results) {
+                if (results == null) {
+                    service.call(getValidationSuccessCallback()).validate(path,
+                                                                          model);
+                } else {
+                    getValidationSuccessCallback().callback(results);
+                }
+            }
+        }).validateDelta(path,
+                         delta);
+    }
+
+    RemoteCallback<List<ValidationMessage>> getValidationSuccessCallback() {
+        return new RemoteCallback<List<ValidationMessage>>() {
             @Override
             public void callback(final List<ValidationMessage> results) {
                 if (results == null || results.isEmpty()) {
@@ -452,8 +548,7 @@ public abstract class BaseGuidedDecisionTableEditorPresenter extends KieMultiple
                     showValidationPopup(results);
                 }
             }
-        }).validate(path,
-                    model);
+        };
     }
 
     void showValidationPopup(final List<ValidationMessage> results) {
@@ -466,7 +561,45 @@ public abstract class BaseGuidedDecisionTableEditorPresenter extends KieMultiple
         final ObservablePath path = dtPresenter.getCurrentPath();
         final GuidedDecisionTable52 model = dtPresenter.getModel();
         final Metadata metadata = dtPresenter.getOverview().getMetadata();
+        final GuidedDecisionTableDelta delta = dtPresenter.getDeltaToSave();
+
+        if (delta == null) {
+            saveModel(dtPresenter,
+                      commitMessage);
+            return;
+        }
+
+        //Only send changed rows; the server replies with null if the file changed since it was loaded
+        final int hashCode = model.hashCode();
+        service.call(new RemoteCallback<String>() {
+                         @Override
+                         public void callback(final String version) {
+                             if (version == null) {
+                                 saveModel(dtPresenter,
+                                           commitMessage);
+                             } else {
+                                 //Edits made while saving are not in the delta, and remain to be saved
+                                 dtPresenter.onDeltaSaved(version,
+                                                          delta);
+                                 getSaveSuccessCallback(dtPresenter,
+                                                        hashCode).callback(path);
+                             }
+                         }
+                     },
+                     new HasBusyIndicatorDefaultErrorCallback(view)).saveDeltaAndUpdateGraphEntries(path,
+                                                                                                    delta,
+                                                                                                    metadata,
+                                                                                                    commitMessage);
+    }
+
+    void saveModel(final GuidedDecisionTableView.Presenter dtPresenter,
+                   final String commitMessage) {
+        final ObservablePath path = dtPresenter.getCurrentPath();
+        final GuidedDecisionTable52 model = dtPresenter.getModel();
+        final Metadata metadata = dtPresenter.getOverview().getMetadata();
 
+        //The version of the saved file is not known; subsequent saves send the full Decision Table until reloaded
+        dtPresenter.resetDelta(null);
         service.call(getSaveSuccessCallback(dtPresenter,
                                             model.hashCode()),
                      new HasBusyIndicatorDefaultErrorCallback(view)).saveAndUpdateGraphEntries(path,
@@ -182,6 +182,9 @@ public class GuidedDecisionTableEditorPresenter extends BaseGuidedDecisionTableE
             modeller.getView().getGridPanel().setFocus(true);
 
             view.hideBusyIndicator();
+
+            loadRemainingRows(dtPresenter,
+                              content);
         };
     }
 
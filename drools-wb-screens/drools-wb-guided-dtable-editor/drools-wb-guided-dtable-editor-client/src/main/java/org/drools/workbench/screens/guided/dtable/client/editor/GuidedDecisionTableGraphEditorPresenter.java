@@ -41,6 +41,7 @@ import org.drools.workbench.screens.guided.dtable.client.editor.menu.InsertMenuB
 import org.drools.workbench.screens.guided.dtable.client.editor.menu.RadarMenuBuilder;
 import org.drools.workbench.screens.guided.dtable.client.editor.menu.ViewMenuBuilder;
 import org.drools.workbench.screens.guided.dtable.client.editor.page.ColumnsPage;
+import org.drools.workbench.screens.guided.dtable.client.resources.i18n.GuidedDecisionTableConstants;
 import org.drools.workbench.screens.guided.dtable.client.type.GuidedDTableGraphResourceType;
 import org.drools.workbench.screens.guided.dtable.client.widget.table.GuidedDecisionTableModellerView;
 import org.drools.workbench.screens.guided.dtable.client.widget.table.GuidedDecisionTablePresenter;
@@ -51,6 +52,7 @@ import org.drools.workbench.screens.guided.dtable.client.wizard.NewGuidedDecisio
 import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableEditorContent;
 import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableEditorGraphContent;
 import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableEditorGraphModel;
+import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableGraphEntryContent;
 import org.drools.workbench.screens.guided.dtable.service.GuidedDecisionTableEditorService;
 import org.drools.workbench.screens.guided.dtable.service.GuidedDecisionTableGraphEditorService;
 import org.drools.workbench.screens.guided.dtable.service.GuidedDecisionTableGraphSaveAndRenameService;
@@ -292,7 +294,7 @@ public class GuidedDecisionTableGraphEditorPresenter extends BaseGuidedDecisionT
                                                     modeller.getView().getGridPanel().setFocus(true);
                                                 });
 
-            modelEntries.stream().forEach(loadGraphLatch::loadDocumentGraphEntry);
+            loadGraphLatch.loadDocumentGraphEntries(new ArrayList<>(modelEntries));
         };
     }
 
@@ -758,7 +760,15 @@ public class GuidedDecisionTableGraphEditorPresenter extends BaseGuidedDecisionT
         }
 
         private void hideLoadingIndicator() {
-            dtGraphElementCount--;
+            hideLoadingIndicator(1);
+        }
+
+        private void hideLoadingIndicator(final int entryCount) {
+            if (dtGraphElementCount <= 0) {
+                return;
+            }
+            dtGraphElementCount = Math.max(0,
+                                           dtGraphElementCount - entryCount);
             if (dtGraphElementCount == 0) {
                 if (onAllDocumentGraphEntriesLoadedCommand != null) {
                     onAllDocumentGraphEntriesLoadedCommand.execute();
@@ -767,23 +777,44 @@ public class GuidedDecisionTableGraphEditorPresenter extends BaseGuidedDecisionT
             }
         }
 
-        private void loadDocumentGraphEntry(final GuidedDecisionTableEditorGraphModel.GuidedDecisionTableGraphEntry entry) {
-            final PathPlaceRequest placeRequest = getPathPlaceRequest(entry.getPathHead());
-            final ObservablePath pathHead = placeRequest.getPath();
-            final Path pathVersion = entry.getPathVersion();
-            final Double x = entry.getX();
-            final Double y = entry.getY();
+        private void loadDocumentGraphEntries(final List<GuidedDecisionTableEditorGraphModel.GuidedDecisionTableGraphEntry> entries) {
+            final List<Path> pathVersions = entries.stream()
+                    .map(GuidedDecisionTableEditorGraphModel.GuidedDecisionTableGraphEntry::getPathVersion)
+                    .collect(Collectors.toList());
 
-            if (isReadOnly()) {
-                placeRequest.addParameter("readOnly",
-                                          "");
-            }
+            service.call(getLoadDocumentGraphEntriesContentSuccessCallback(entries),
+                         getLoadDocumentGraphEntriesErrorCallback(entries.size())).loadGraphEntriesContent(pathVersions);
+        }
 
-            service.call(getLoadDocumentGraphEntryContentSuccessCallback(pathHead,
-                                                                         placeRequest,
-                                                                         x,
-                                                                         y),
-                         getLoadErrorCallback()).loadContent(pathVersion);
+        private RemoteCallback<List<GuidedDecisionTableGraphEntryContent>> getLoadDocumentGraphEntriesContentSuccessCallback(final List<GuidedDecisionTableEditorGraphModel.GuidedDecisionTableGraphEntry> entries) {
+            return (contents) -> {
+                for (int i = 0; i < entries.size(); i++) {
+                    final GuidedDecisionTableEditorGraphModel.GuidedDecisionTableGraphEntry entry = entries.get(i);
+                    final GuidedDecisionTableGraphEntryContent entryContent = contents.get(i);
+
+                    //Entries that could not be loaded are reported and left out of the graph
+                    if (!entryContent.isLoaded()) {
+                        notification.fire(new NotificationEvent(GuidedDecisionTableConstants.INSTANCE.UnableToLoadGraphEntry0(entry.getPathHead().getFileName(),
+                                                                                                                             entryContent.getErrorMessage()),
+                                                                NotificationEvent.NotificationType.ERROR));
+                        hideLoadingIndicator();
+                        continue;
+                    }
+
+                    final PathPlaceRequest placeRequest = getPathPlaceRequest(entry.getPathHead());
+                    final ObservablePath pathHead = placeRequest.getPath();
+
+                    if (isReadOnly()) {
+                        placeRequest.addParameter("readOnly",
+                                                  "");
+                    }
+
+                    getLoadDocumentGraphEntryContentSuccessCallback(pathHead,
+                                                                    placeRequest,
+                                                                    entry.getX(),
+                                                                    entry.getY()).callback(entryContent.getContent());
+                }
+            };
         }
 
         private RemoteCallback<GuidedDecisionTableEditorContent> getLoadDocumentGraphEntryContentSuccessCallback(final ObservablePath path,
@@ -840,16 +871,23 @@ public class GuidedDecisionTableGraphEditorPresenter extends BaseGuidedDecisionT
                 onDocumentGraphEntryLoaded(dtPresenter);
 
                 hideLoadingIndicator();
+
+                loadRemainingRows(dtPresenter,
+                                  content);
             };
         }
 
         private DefaultErrorCallback getLoadErrorCallback() {
+            return getLoadDocumentGraphEntriesErrorCallback(1);
+        }
+
+        private DefaultErrorCallback getLoadDocumentGraphEntriesErrorCallback(final int entryCount) {
             final CommandDrivenErrorCallback wrapped = getNoSuchFileExceptionErrorCallback();
             final DefaultErrorCallback callback = new DefaultErrorCallback() {
                 @Override
                 public boolean error(final Message message,
                                      final Throwable throwable) {
-                    hideLoadingIndicator();
+                    hideLoadingIndicator(entryCount);
                     return wrapped.error(message,
                                          throwable);
                 }
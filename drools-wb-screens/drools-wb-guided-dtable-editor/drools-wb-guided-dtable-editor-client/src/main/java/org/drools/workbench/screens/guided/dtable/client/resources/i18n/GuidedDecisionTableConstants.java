@@ -363,4 +363,7 @@ public interface GuidedDecisionTableConstants
     String TablePinnedModeHelp();
 
     String PinnedMode();
+
+    String UnableToLoadGraphEntry0(String fileName,
+                                   String errorMessage);
 }
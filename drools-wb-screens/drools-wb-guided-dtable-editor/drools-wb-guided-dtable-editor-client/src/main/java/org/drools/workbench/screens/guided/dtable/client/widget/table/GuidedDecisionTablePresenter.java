@@ -23,6 +23,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
 
 import javax.enterprise.context.Dependent;
 import javax.enterprise.event.Event;
@@ -81,8 +82,10 @@ import org.drools.workbench.screens.guided.dtable.client.widget.table.model.sync
 import org.drools.workbench.screens.guided.dtable.client.widget.table.themes.GuidedDecisionTableRenderer;
 import org.drools.workbench.screens.guided.dtable.client.widget.table.utilities.CellUtilities;
 import org.drools.workbench.screens.guided.dtable.client.widget.table.utilities.ColumnUtilities;
+import org.drools.workbench.screens.guided.dtable.client.widget.table.utilities.DeltaTracker;
 import org.drools.workbench.screens.guided.dtable.client.widget.table.utilities.DependentEnumsUtilities;
 import org.drools.workbench.screens.guided.dtable.client.widget.table.utilities.EnumLoaderUtilities;
+import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableDelta;
 import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableEditorContent;
 import org.drools.workbench.screens.guided.dtable.service.GuidedDecisionTableLinkManager;
 import org.drools.workbench.screens.guided.rule.client.util.GWTDateConverter;
@@ -106,6 +109,8 @@ import org.uberfire.backend.vfs.ObservablePath;
 import org.uberfire.client.callbacks.Callback;
 import org.uberfire.client.mvp.LockTarget;
 import org.uberfire.client.mvp.UpdatedLockStatusEvent;
+import org.uberfire.ext.wires.core.grids.client.model.GridCell;
+import org.uberfire.ext.wires.core.grids.client.model.GridCellValue;
 import org.uberfire.ext.wires.core.grids.client.model.GridColumn;
 import org.uberfire.ext.wires.core.grids.client.model.GridData;
 import org.uberfire.ext.wires.core.grids.client.model.GridRow;
@@ -152,6 +157,7 @@ public class GuidedDecisionTablePresenter implements GuidedDecisionTableView.Pre
     private final EnumLoaderUtilities enumLoaderUtilities;
 
     private final Access access = new Access();
+    private final DeltaTracker deltaTracker = new DeltaTracker();
     private final PluginHandler pluginHandler;
     private final AuthorizationManager authorizationManager;
     private final SessionInfo sessionInfo;
@@ -341,9 +347,13 @@ public class GuidedDecisionTablePresenter implements GuidedDecisionTableView.Pre
         this.view = makeView(workItemDefinitions);
 
         initialiseAccess(isReadOnly);
+        //Very large Decision Tables are loaded with their first rows only; they cannot be edited until complete
+        getAccess().setLoadingRows(content.hasRemainingRows());
         initialiseLockManager();
         initialiseUtilities();
         initialiseModels();
+        deltaTracker.reset(content.getVersion(),
+                           model);
         initialiseValidationAndVerification();
         initialiseEventHandlers();
         initialiseAuditLog();
@@ -408,16 +418,47 @@ public class GuidedDecisionTablePresenter implements GuidedDecisionTableView.Pre
                 return access.isEditable();
             }
 
+            @Override
+            public Range setCell(int rowIndex,
+                                 int columnIndex,
+                                 Supplier<GridCell<?>> cellSupplier) {
+                Range cellRange = super.setCell(rowIndex,
+                                                columnIndex,
+                                                cellSupplier);
+                markRowsChanged(cellRange);
+                return cellRange;
+            }
+
+            @Override
+            public Range setCellValue(int rowIndex,
+                                      int columnIndex,
+                                      GridCellValue<?> value) {
+                Range cellRange = super.setCellValue(rowIndex,
+                                                     columnIndex,
+                                                     value);
+                markRowsChanged(cellRange);
+                return cellRange;
+            }
+
             @Override
             public Range deleteCell(int rowIndex,
                                     int columnIndex) {
 
                 Range cellRange = super.deleteCell(rowIndex,
                                                    columnIndex);
+                markRowsChanged(cellRange);
                 decisionTableSelectionsChangedEvent.fire(new DecisionTableSelectionsChangedEvent(GuidedDecisionTablePresenter.this));
                 return cellRange;
             }
 
+            @Override
+            public void moveColumnsTo(int index,
+                                      List<GridColumn<?>> columns) {
+                super.moveColumnsTo(index,
+                                    columns);
+                deltaTracker.markAllRowsChanged();
+            }
+
             @Override
             public void deleteColumn(GridColumn<?> column) {
                 super.deleteColumn(column);
@@ -579,6 +620,33 @@ public class GuidedDecisionTablePresenter implements GuidedDecisionTableView.Pre
         return this.access;
     }
 
+    @Override
+    public void appendRows(final List<List<DTCellValue52>> rows,
+                           final boolean isLastPage) {
+        final List<BaseColumn> modelColumns = model.getExpandedColumns();
+        for (List<DTCellValue52> row : rows) {
+            model.getData().add(row);
+            initialiseRow(modelColumns,
+                          row);
+        }
+        setOriginalHashCode(model.hashCode());
+        deltaTracker.appendRows(rows);
+
+        if (isLastPage) {
+            getAccess().setLoadingRows(false);
+
+            //Analysis was set-up with the first rows only
+            terminateAnalysis();
+            initialiseValidationAndVerification();
+            if (!isReadOnly()) {
+                initialiseAnalysis();
+            }
+            refreshMenus();
+        }
+
+        refreshView();
+    }
+
     @Override
     public void onClose() {
         terminateAnalysis();
@@ -897,6 +965,7 @@ public class GuidedDecisionTablePresenter implements GuidedDecisionTableView.Pre
         }
         try {
             append.execute();
+            deltaTracker.markAllRowsChanged();
 
             refreshView();
 
@@ -968,6 +1037,7 @@ public class GuidedDecisionTablePresenter implements GuidedDecisionTableView.Pre
             return;
         }
         synchronizer.deleteColumn(column);
+        deltaTracker.markAllRowsChanged();
 
         refreshView();
 
@@ -1044,6 +1114,7 @@ public class GuidedDecisionTablePresenter implements GuidedDecisionTableView.Pre
             return;
         }
         final List<BaseColumnFieldDiff> diffs = update.execute();
+        deltaTracker.markAllRowsChanged();
 
         parent.updateLinks();
 
@@ -1065,6 +1136,13 @@ public class GuidedDecisionTablePresenter implements GuidedDecisionTableView.Pre
         uiModel.appendColumn(gridColumn);
     }
 
+    //Cell changes are tracked by row, so only changed rows need to be saved
+    private void markRowsChanged(final GridData.Range range) {
+        for (int rowIndex = range.getMinRowIndex(); rowIndex <= range.getMaxRowIndex(); rowIndex++) {
+            deltaTracker.markRowChanged(model.getData().get(rowIndex));
+        }
+    }
+
     private void initialiseRow(final List<BaseColumn> columns,
                                final List<DTCellValue52> row) {
         final GridRow uiModelRow = new BaseGridRow(GuidedDecisionTableView.ROW_HEIGHT);
@@ -1394,6 +1472,7 @@ public class GuidedDecisionTablePresenter implements GuidedDecisionTableView.Pre
         final int columnIndex = findUiColumnIndex(selection.getColumnIndex());
         synchronizer.setCellOtherwiseState(selection.getRowIndex(),
                                            columnIndex);
+        deltaTracker.markRowChanged(model.getData().get(selection.getRowIndex()));
         view.getLayer().draw();
     }
 
@@ -1447,6 +1526,29 @@ public class GuidedDecisionTablePresenter implements GuidedDecisionTableView.Pre
         this.access.setReadOnly(isReadOnly);
     }
 
+    @Override
+    public GuidedDecisionTableDelta getDelta() {
+        return deltaTracker.getDelta(model);
+    }
+
+    @Override
+    public GuidedDecisionTableDelta getDeltaToSave() {
+        return deltaTracker.getDeltaToSave(model);
+    }
+
+    @Override
+    public void onDeltaSaved(final String version,
+                             final GuidedDecisionTableDelta delta) {
+        deltaTracker.saved(version,
+                           delta);
+    }
+
+    @Override
+    public void resetDelta(final String version) {
+        deltaTracker.reset(version,
+                           model);
+    }
+
     @Override
     public Integer getOriginalHashCode() {
         return originalHashCode;
@@ -1482,6 +1584,7 @@ public class GuidedDecisionTablePresenter implements GuidedDecisionTableView.Pre
         private LockedBy lock = NOBODY;
         private boolean isReadOnly = false;
         private boolean hasEditableColumns = false;
+        private boolean isLoadingRows = false;
 
         public LockedBy getLock() {
             return lock;
@@ -1507,8 +1610,16 @@ public class GuidedDecisionTablePresenter implements GuidedDecisionTableView.Pre
             this.isReadOnly = isReadOnly;
         }
 
+        public boolean isLoadingRows() {
+            return isLoadingRows;
+        }
+
+        public void setLoadingRows(final boolean isLoadingRows) {
+            this.isLoadingRows = isLoadingRows;
+        }
+
         public boolean isEditable() {
-            return !(lock == OTHER_USER || isReadOnly);
+            return !(lock == OTHER_USER || isReadOnly || isLoadingRows);
         }
 
         public enum LockedBy {
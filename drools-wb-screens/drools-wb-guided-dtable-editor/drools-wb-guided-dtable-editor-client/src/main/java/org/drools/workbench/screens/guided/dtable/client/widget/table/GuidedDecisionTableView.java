@@ -30,6 +30,7 @@ import org.drools.workbench.models.guided.dtable.shared.model.AttributeCol52;
 import org.drools.workbench.models.guided.dtable.shared.model.BRLConditionColumn;
 import org.drools.workbench.models.guided.dtable.shared.model.BaseColumn;
 import org.drools.workbench.models.guided.dtable.shared.model.ConditionCol52;
+import org.drools.workbench.models.guided.dtable.shared.model.DTCellValue52;
 import org.drools.workbench.models.guided.dtable.shared.model.GuidedDecisionTable52;
 import org.drools.workbench.models.guided.dtable.shared.model.MetadataCol52;
 import org.drools.workbench.models.guided.dtable.shared.model.Pattern52;
@@ -38,6 +39,7 @@ import org.drools.workbench.screens.guided.dtable.client.editor.menu.InsertMenuB
 import org.drools.workbench.screens.guided.dtable.client.editor.menu.ViewMenuBuilder;
 import org.drools.workbench.screens.guided.dtable.client.widget.table.model.synchronizers.ModelSynchronizer.VetoException;
 import org.drools.workbench.screens.guided.dtable.client.widget.table.utilities.DependentEnumsUtilities;
+import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableDelta;
 import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableEditorContent;
 import org.guvnor.common.services.shared.metadata.model.Overview;
 import org.kie.workbench.common.widgets.client.datamodel.AsyncPackageDataModelOracle;
@@ -112,6 +114,41 @@ public interface GuidedDecisionTableView extends GridWidget,
 
         GuidedDecisionTablePresenter.Access getAccess();
 
+        /**
+         * Appends rows of a Decision Table that was loaded with only its first rows.
+         * @param rows Rows to append, in order.
+         * @param isLastPage true if these are the last rows to be loaded; the Decision Table can then be edited.
+         */
+        void appendRows(final List<List<DTCellValue52>> rows,
+                        final boolean isLastPage);
+
+        /**
+         * Returns the row changes made since the Decision Table was loaded, or last saved.
+         * @return The changes, or null if the full Decision Table has to be sent to the server.
+         */
+        GuidedDecisionTableDelta getDelta();
+
+        /**
+         * Returns the row changes made since the Decision Table was loaded, or last saved, to be saved.
+         * @return The changes, or null if the full Decision Table has to be sent to the server.
+         */
+        GuidedDecisionTableDelta getDeltaToSave();
+
+        /**
+         * Sets the rows sent by a saved delta as those persisted at a version. Edits made while the delta was being
+         * saved remain to be saved.
+         * @param version The version persisted from the delta.
+         * @param delta The delta returned by {@link #getDeltaToSave()}.
+         */
+        void onDeltaSaved(final String version,
+                          final GuidedDecisionTableDelta delta);
+
+        /**
+         * Sets the current state of the Decision Table as that persisted at a version.
+         * @param version The version, or null if unknown.
+         */
+        void resetDelta(final String version);
+
         void onClose();
 
         void initialiseAnalysis();
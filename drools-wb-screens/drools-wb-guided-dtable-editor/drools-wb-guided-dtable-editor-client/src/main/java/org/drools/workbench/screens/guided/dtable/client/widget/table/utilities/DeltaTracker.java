@@ -0,0 +1,211 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.guided.dtable.client.widget.table.utilities;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.drools.workbench.models.guided.dtable.shared.model.DTCellValue52;
+import org.drools.workbench.models.guided.dtable.shared.model.GuidedDecisionTable52;
+import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableDelta;
+
+/**
+ * Tracks the rows of a Decision Table changed since it was loaded, or last saved, at a known version so that only
+ * those rows need to be sent to the server. The baseline holds the rows themselves, not a copy of their values; a
+ * row has changed if it is not the row at the same index in the baseline, or if it has been marked as edited since
+ * the baseline was taken. Everything but the rows is small and is sent with every delta.
+ * <p>
+ * Edits are numbered, so that a save in flight does not lose edits made while it is: once saved, the rows sent become
+ * the baseline, and only the edits made up to the point they were sent are considered persisted.
+ */
+public class DeltaTracker {
+
+    //If more rows than this proportion have changed the full model is sent instead
+    static final double MAX_CHANGED_ROWS_RATIO = 0.5;
+
+    private String version;
+    private int auditLogSize;
+    private List<List<DTCellValue52>> baselineRows = new ArrayList<>();
+
+    //Number of the latest edit, of the latest edit persisted, and of the latest edit that changed every row
+    private long edits;
+    private long baselineEdits;
+    private long allRowsEdit;
+    private Map<List<DTCellValue52>, Long> rowEdits = new IdentityHashMap<>();
+
+    //The delta being saved, and the latest edit and audit log size when it was made
+    private GuidedDecisionTableDelta savingDelta;
+    private long savingEdits;
+    private int savingAuditLogSize;
+
+    /**
+     * Set the baseline against which changes are tracked.
+     * @param version Version of the persisted Decision Table. Null if unknown, in which case no changes are tracked.
+     * @param model The Decision Table, as persisted at the version.
+     */
+    public void reset(final String version,
+                      final GuidedDecisionTable52 model) {
+        this.version = version;
+        this.auditLogSize = model.getAuditLog().size();
+        this.baselineRows = new ArrayList<>();
+        this.baselineEdits = edits;
+        this.rowEdits = new IdentityHashMap<>();
+        this.savingDelta = null;
+        appendRows(model.getData());
+    }
+
+    /**
+     * Add rows, as persisted at the version, to the end of the baseline.
+     * @param rows Rows loaded after the baseline was set.
+     */
+    public void appendRows(final List<List<DTCellValue52>> rows) {
+        if (version == null) {
+            return;
+        }
+        baselineRows.addAll(rows);
+    }
+
+    /**
+     * Record an edit of the cells of a row.
+     * @param row The edited row.
+     */
+    public void markRowChanged(final List<DTCellValue52> row) {
+        rowEdits.put(row,
+                     ++edits);
+    }
+
+    /**
+     * Record an edit of every row, such as a change to the columns, after which the full model has to be sent.
+     */
+    public void markAllRowsChanged() {
+        allRowsEdit = ++edits;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the changes made to the Decision Table since the baseline.
+     * @param model The Decision Table.
+     * @return The changes, or null if they cannot be represented by changed rows alone.
+     */
+    public GuidedDecisionTableDelta getDelta(final GuidedDecisionTable52 model) {
+        if (version == null || allRowsEdit > baselineEdits) {
+            return null;
+        }
+        final int newAuditLogSize = model.getAuditLog().size();
+        if (newAuditLogSize < auditLogSize) {
+            return null;
+        }
+
+        final List<List<DTCellValue52>> data = model.getData();
+        final GuidedDecisionTableDelta delta = new GuidedDecisionTableDelta(version,
+                                                                            copyDefinition(model),
+                                                                            data.size());
+        for (int rowIndex = 0; rowIndex < data.size(); rowIndex++) {
+            final List<DTCellValue52> row = data.get(rowIndex);
+            if (rowIndex >= baselineRows.size() || baselineRows.get(rowIndex) != row || isEdited(row)) {
+                delta.addRow(rowIndex,
+                             row);
+            }
+        }
+        if (delta.getRows().size() > data.size() * MAX_CHANGED_ROWS_RATIO) {
+            return null;
+        }
+
+        for (int i = auditLogSize; i < newAuditLogSize; i++) {
+            delta.getAuditLogEntries().add(model.getAuditLog().get(i));
+        }
+        return delta;
+    }
+
+    /**
+     * Returns the changes made to the Decision Table since the baseline, to be saved; see {@link #saved(String, GuidedDecisionTableDelta)}.
+     * @param model The Decision Table.
+     * @return The changes, or null if they cannot be represented by changed rows alone.
+     */
+    public GuidedDecisionTableDelta getDeltaToSave(final GuidedDecisionTable52 model) {
+        savingDelta = getDelta(model);
+        savingEdits = edits;
+        savingAuditLogSize = model.getAuditLog().size();
+        return savingDelta;
+    }
+
+    /**
+     * Set the rows sent by a delta as the baseline. Rows edited since the delta was made remain changed.
+     * @param version Version of the Decision Table persisted from the delta.
+     * @param delta The delta returned by {@link #getDeltaToSave(GuidedDecisionTable52)}.
+     */
+    public void saved(final String version,
+                      final GuidedDecisionTableDelta delta) {
+        //A later save has been started, so the rows sent by this one are not known
+        if (delta == null || delta != savingDelta) {
+            this.version = null;
+            return;
+        }
+        final List<List<DTCellValue52>> rows = new ArrayList<>(baselineRows.subList(0,
+                                                                                   Math.min(baselineRows.size(),
+                                                                                            delta.getRowCount())));
+        for (int i = 0; i < delta.getRowIndexes().size(); i++) {
+            final int rowIndex = delta.getRowIndexes().get(i);
+            while (rows.size() <= rowIndex) {
+                rows.add(null);
+            }
+            rows.set(rowIndex,
+                     delta.getRows().get(i));
+        }
+
+        this.version = version;
+        this.auditLogSize = savingAuditLogSize;
+        this.baselineRows = rows;
+        this.baselineEdits = savingEdits;
+        this.savingDelta = null;
+        final Iterator<Long> itr = rowEdits.values().iterator();
+        while (itr.hasNext()) {
+            if (itr.next() <= baselineEdits) {
+                itr.remove();
+            }
+        }
+    }
+
+    private boolean isEdited(final List<DTCellValue52> row) {
+        final Long rowEdit = rowEdits.get(row);
+        return rowEdit != null && rowEdit > baselineEdits;
+    }
+
+    //Everything but the rows and the audit log, which are sent as changes
+    private GuidedDecisionTable52 copyDefinition(final GuidedDecisionTable52 model) {
+        final GuidedDecisionTable52 definition = new GuidedDecisionTable52();
+        definition.setTableName(model.getTableName());
+        definition.setParentName(model.getParentName());
+        definition.setPackageName(model.getPackageName());
+        definition.setImports(model.getImports());
+        definition.setTableFormat(model.getTableFormat());
+        definition.setHitPolicy(model.getHitPolicy());
+        definition.setRowNumberCol(model.getRowNumberCol());
+        definition.setDescriptionCol(model.getDescriptionCol());
+        definition.setMetadataCols(model.getMetadataCols());
+        definition.setAttributeCols(model.getAttributeCols());
+        definition.setConditionPatterns(model.getConditions());
+        definition.setActionCols(model.getActionCols());
+        return definition;
+    }
+}
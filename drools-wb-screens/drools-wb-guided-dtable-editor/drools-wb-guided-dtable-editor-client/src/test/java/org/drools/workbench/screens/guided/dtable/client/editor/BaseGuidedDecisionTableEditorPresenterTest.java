@@ -17,12 +17,14 @@
 package org.drools.workbench.screens.guided.dtable.client.editor;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 
 import com.google.gwtmockito.GwtMockitoTestRunner;
+import org.drools.workbench.models.guided.dtable.shared.model.DTCellValue52;
 import org.drools.workbench.models.guided.dtable.shared.model.GuidedDecisionTable52;
 import org.drools.workbench.screens.guided.dtable.client.type.GuidedDTableResourceType;
 import org.drools.workbench.screens.guided.dtable.client.widget.table.GuidedDecisionTablePresenter;
@@ -60,8 +62,10 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.eq;
@@ -443,6 +447,168 @@ public class BaseGuidedDecisionTableEditorPresenterTest extends BaseGuidedDecisi
                times(2)).hideBusyIndicator();
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void checkLoadRemainingRows() {
+        final ObservablePath path = mock(ObservablePath.class);
+        final PlaceRequest placeRequest = mock(PlaceRequest.class);
+        final GuidedDecisionTableEditorContent content = makeDecisionTableContentWithRemainingRows(1,
+                                                                                                  5);
+        final GuidedDecisionTableView.Presenter dtPresenter = makeDecisionTable(path,
+                                                                                path,
+                                                                                placeRequest,
+                                                                                content);
+        final List<List<DTCellValue52>> page1 = Arrays.asList(makeRow(2),
+                                                              makeRow(3));
+        final List<List<DTCellValue52>> page2 = Arrays.asList(makeRow(4),
+                                                              makeRow(5));
+        when(modeller.getAvailableDecisionTables()).thenReturn(Collections.singleton(dtPresenter));
+        when(dtService.loadRows(eq(path),
+                                eq("v1"),
+                                eq(1),
+                                eq(BaseGuidedDecisionTableEditorPresenter.ROW_PAGE_SIZE))).thenReturn(page1);
+        when(dtService.loadRows(eq(path),
+                                eq("v1"),
+                                eq(3),
+                                eq(BaseGuidedDecisionTableEditorPresenter.ROW_PAGE_SIZE))).thenReturn(page2);
+        when(presenter.getActiveDocument()).thenReturn(dtPresenter);
+        doAnswer((invocation) -> content.getModel().getData().addAll((List<List<DTCellValue52>>) invocation.getArguments()[0]))
+                .when(dtPresenter).appendRows(any(List.class),
+                                              anyBoolean());
+
+        presenter.loadRemainingRows(dtPresenter,
+                                    content);
+
+        verify(dtPresenter,
+               times(1)).appendRows(eq(page1),
+                                    eq(false));
+        verify(dtPresenter,
+               times(1)).appendRows(eq(page2),
+                                    eq(true));
+        assertEquals(5,
+                     content.getModel().getData().size());
+        verify(presenter,
+               times(1)).activateDocument(eq(dtPresenter));
+    }
+
+    @Test
+    public void checkLoadRemainingRowsOfInactiveDecisionTable() {
+        final ObservablePath path = mock(ObservablePath.class);
+        final PlaceRequest placeRequest = mock(PlaceRequest.class);
+        final GuidedDecisionTableEditorContent content = makeDecisionTableContentWithRemainingRows(1,
+                                                                                                  2);
+        final GuidedDecisionTableView.Presenter dtPresenter = makeDecisionTable(path,
+                                                                                path,
+                                                                                placeRequest,
+                                                                                content);
+        when(modeller.getAvailableDecisionTables()).thenReturn(Collections.singleton(dtPresenter));
+        when(presenter.getActiveDocument()).thenReturn(null);
+        when(dtService.loadRows(eq(path),
+                                eq("v1"),
+                                eq(1),
+                                eq(BaseGuidedDecisionTableEditorPresenter.ROW_PAGE_SIZE))).thenReturn(Collections.singletonList(makeRow(2)));
+
+        presenter.loadRemainingRows(dtPresenter,
+                                    content);
+
+        verify(dtPresenter,
+               times(1)).appendRows(any(List.class),
+                                    eq(true));
+        verify(presenter,
+               never()).activateDocument(any(GuidedDecisionTableView.Presenter.class));
+    }
+
+    @Test
+    public void checkLoadRemainingRowsWhenComplete() {
+        final ObservablePath path = mock(ObservablePath.class);
+        final PlaceRequest placeRequest = mock(PlaceRequest.class);
+        final GuidedDecisionTableEditorContent content = makeDecisionTableContentWithRemainingRows(5,
+                                                                                                  5);
+        final GuidedDecisionTableView.Presenter dtPresenter = makeDecisionTable(path,
+                                                                                path,
+                                                                                placeRequest,
+                                                                                content);
+
+        presenter.loadRemainingRows(dtPresenter,
+                                    content);
+
+        verify(dtService,
+               never()).loadRows(any(Path.class),
+                                 anyString(),
+                                 anyInt(),
+                                 anyInt());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void checkLoadRemainingRowsOfChangedDecisionTable() {
+        final ObservablePath path = mock(ObservablePath.class);
+        final PlaceRequest placeRequest = mock(PlaceRequest.class);
+        final GuidedDecisionTableEditorContent content = makeDecisionTableContentWithRemainingRows(1,
+                                                                                                  5);
+        final GuidedDecisionTableView.Presenter dtPresenter = makeDecisionTable(path,
+                                                                                path,
+                                                                                placeRequest,
+                                                                                content);
+        when(modeller.getAvailableDecisionTables()).thenReturn(Collections.singleton(dtPresenter));
+        when(dtService.loadRows(eq(path),
+                                eq("v1"),
+                                eq(1),
+                                eq(BaseGuidedDecisionTableEditorPresenter.ROW_PAGE_SIZE))).thenReturn(null);
+
+        presenter.loadRemainingRows(dtPresenter,
+                                    content);
+
+        verify(dtPresenter,
+               never()).appendRows(any(List.class),
+                                   anyBoolean());
+        verify(presenter,
+               times(1)).refreshDocument(eq(dtPresenter));
+        verify(dtService,
+               times(1)).loadContent(eq(path));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void checkLoadRemainingRowsOfClosedDecisionTable() {
+        final ObservablePath path = mock(ObservablePath.class);
+        final PlaceRequest placeRequest = mock(PlaceRequest.class);
+        final GuidedDecisionTableEditorContent content = makeDecisionTableContentWithRemainingRows(1,
+                                                                                                  5);
+        final GuidedDecisionTableView.Presenter dtPresenter = makeDecisionTable(path,
+                                                                                path,
+                                                                                placeRequest,
+                                                                                content);
+        when(modeller.getAvailableDecisionTables()).thenReturn(Collections.emptySet());
+        when(dtService.loadRows(eq(path),
+                                eq("v1"),
+                                eq(1),
+                                eq(BaseGuidedDecisionTableEditorPresenter.ROW_PAGE_SIZE))).thenReturn(Collections.singletonList(makeRow(2)));
+
+        presenter.loadRemainingRows(dtPresenter,
+                                    content);
+
+        verify(dtPresenter,
+               never()).appendRows(any(List.class),
+                                   anyBoolean());
+    }
+
+    private GuidedDecisionTableEditorContent makeDecisionTableContentWithRemainingRows(final int rowCount,
+                                                                                     final int totalRowCount) {
+        final GuidedDecisionTableEditorContent content = makeDecisionTableContent();
+        for (int i = 0; i < rowCount; i++) {
+            content.getModel().getData().add(makeRow(i + 1));
+        }
+        content.setTotalRowCount(totalRowCount);
+        content.setVersion("v1");
+        return content;
+    }
+
+    private List<DTCellValue52> makeRow(final int rowNumber) {
+        return new ArrayList<>(Arrays.asList(new DTCellValue52(rowNumber),
+                                             new DTCellValue52("description")));
+    }
+
     @Test
     public void checkRemoveDocument() {
         final ObservablePath path = mock(ObservablePath.class);
@@ -17,6 +17,8 @@
 package org.drools.workbench.screens.guided.dtable.client.editor;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
@@ -41,6 +43,7 @@ import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableEdito
 import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableEditorGraphContent;
 import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableEditorGraphModel;
 import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableEditorGraphModel.GuidedDecisionTableGraphEntry;
+import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableGraphEntryContent;
 import org.drools.workbench.screens.guided.dtable.service.GuidedDecisionTableGraphEditorService;
 import org.drools.workbench.screens.guided.dtable.service.GuidedDecisionTableGraphSaveAndRenameService;
 import org.guvnor.common.services.project.categories.Decision;
@@ -453,7 +456,7 @@ public class GuidedDecisionTableGraphEditorPresenterTest extends BaseGuidedDecis
         when(dtPath.toURI()).thenReturn("dtPath");
         when(dtGraphPath.toURI()).thenReturn("dtGraphPath");
         when(dtGraphPath.getFileName()).thenReturn("filename");
-        when(dtService.loadContent(eq(dtPath))).thenReturn(dtContent);
+        when(dtService.loadGraphEntriesContent(eq(Collections.singletonList(dtPath)))).thenReturn(Collections.singletonList(new GuidedDecisionTableGraphEntryContent(dtContent)));
         when(dtGraphService.loadContent(eq(dtGraphPath))).thenReturn(dtGraphContent);
         when(versionRecordManager.getCurrentPath()).thenReturn(dtGraphPath);
 
@@ -476,7 +479,7 @@ public class GuidedDecisionTableGraphEditorPresenterTest extends BaseGuidedDecis
                times(1)).loadDocumentGraph(eq(dtGraphPath));
 
         verify(dtService,
-               times(1)).loadContent(eq(dtPath));
+               times(1)).loadGraphEntriesContent(eq(Collections.singletonList(dtPath)));
         verify(modeller,
                times(1)).addDecisionTable(dtObservablePathCaptor.capture(),
                                           dtPathPlaceRequestCaptor.capture(),
@@ -514,6 +517,69 @@ public class GuidedDecisionTableGraphEditorPresenterTest extends BaseGuidedDecis
                never()).acquireLock();
     }
 
+    @Test
+    public void checkOnStartupLoadGraphEntriesWithUnloadableEntry() {
+        final ObservablePath dtGraphPath = mock(ObservablePath.class);
+        final PlaceRequest dtGraphPlaceRequest = mock(PlaceRequest.class);
+        final GuidedDecisionTableEditorGraphContent dtGraphContent = makeDecisionTableGraphContent(INITIAL_HASH_CODE);
+
+        final Path dtPath1 = mock(Path.class);
+        final Path dtPath2 = mock(Path.class);
+        final GuidedDecisionTableEditorContent dtContent = makeDecisionTableContent();
+        final GuidedDecisionTableView.Presenter dtPresenter = makeDecisionTable(dtPath1,
+                                                                                dtGraphPath,
+                                                                                dtGraphPlaceRequest,
+                                                                                dtContent);
+
+        dtGraphContent.getModel().getEntries().add(new GuidedDecisionTableGraphEntry(dtPath1,
+                                                                                     dtPath1));
+        dtGraphContent.getModel().getEntries().add(new GuidedDecisionTableGraphEntry(dtPath2,
+                                                                                     dtPath2));
+
+        when(dtPath1.toURI()).thenReturn("dtPath1");
+        when(dtPath2.toURI()).thenReturn("dtPath2");
+        when(dtPath2.getFileName()).thenReturn("dtable2.gdst");
+        when(dtGraphPath.toURI()).thenReturn("dtGraphPath");
+        when(dtGraphPath.getFileName()).thenReturn("filename");
+        when(dtService.loadGraphEntriesContent(eq(Arrays.asList(dtPath1,
+                                                                dtPath2)))).thenReturn(Arrays.asList(new GuidedDecisionTableGraphEntryContent(dtContent),
+                                                                                                     new GuidedDecisionTableGraphEntryContent("corrupt")));
+        when(dtGraphService.loadContent(eq(dtGraphPath))).thenReturn(dtGraphContent);
+        when(versionRecordManager.getCurrentPath()).thenReturn(dtGraphPath);
+
+        doReturn(makeDecisionTableGraphContent(EDITOR_HASH_CODE).getModel()).when(presenter).buildModelFromEditor();
+
+        when(modeller.addDecisionTable(any(ObservablePath.class),
+                                       any(PlaceRequest.class),
+                                       any(GuidedDecisionTableEditorContent.class),
+                                       any(Boolean.class),
+                                       any(Double.class),
+                                       any(Double.class))).thenReturn(dtPresenter);
+
+        presenter.onStartup(dtGraphPath,
+                            dtGraphPlaceRequest);
+
+        //The entry that could be loaded is added; the other is reported
+        verify(modeller,
+               times(1)).addDecisionTable(any(ObservablePath.class),
+                                          any(PlaceRequest.class),
+                                          eq(dtContent),
+                                          any(Boolean.class),
+                                          any(Double.class),
+                                          any(Double.class));
+        verify(presenter,
+               times(1)).registerDocument(eq(dtPresenter));
+
+        final ArgumentCaptor<NotificationEvent> notificationCaptor = ArgumentCaptor.forClass(NotificationEvent.class);
+        verify(notification,
+               times(1)).fire(notificationCaptor.capture());
+        assertEquals(NotificationEvent.NotificationType.ERROR,
+                     notificationCaptor.getValue().getType());
+
+        verify(view,
+               times(1)).hideBusyIndicator();
+    }
+
     @Test
     public void testLoadDocumentGraphEmptyModel() throws Exception {
         final ObservablePath documentPath = mock(ObservablePath.class);
@@ -616,7 +682,7 @@ public class GuidedDecisionTableGraphEditorPresenterTest extends BaseGuidedDecis
         when(dtPath.toURI()).thenReturn("dtPath");
         when(dtGraphPath.toURI()).thenReturn("dtGraphPath");
         when(dtGraphPath.getFileName()).thenReturn("filename");
-        when(dtService.loadContent(eq(dtPath))).thenReturn(dtContent);
+        when(dtService.loadGraphEntriesContent(eq(Collections.singletonList(dtPath)))).thenReturn(Collections.singletonList(new GuidedDecisionTableGraphEntryContent(dtContent)));
         when(dtGraphService.loadContent(eq(dtGraphPath))).thenReturn(dtGraphContent);
         when(versionRecordManager.getCurrentPath()).thenReturn(dtGraphPath);
 
@@ -778,7 +844,7 @@ public class GuidedDecisionTableGraphEditorPresenterTest extends BaseGuidedDecis
         when(dtPath.toURI()).thenReturn("dtPath");
         when(dtGraphPath.toURI()).thenReturn("dtGraphPath");
         when(dtGraphPath.getFileName()).thenReturn("filename");
-        when(dtService.loadContent(eq(dtPath))).thenReturn(dtContent);
+        when(dtService.loadGraphEntriesContent(eq(Collections.singletonList(dtPath)))).thenReturn(Collections.singletonList(new GuidedDecisionTableGraphEntryContent(dtContent)));
         when(dtGraphService.loadContent(eq(dtGraphPath))).thenReturn(dtGraphContent);
         when(versionRecordManager.getCurrentPath()).thenReturn(dtGraphPath);
 
@@ -1005,7 +1071,7 @@ public class GuidedDecisionTableGraphEditorPresenterTest extends BaseGuidedDecis
         when(dtPath.toURI()).thenReturn("dtPath");
         when(dtGraphPath.toURI()).thenReturn("dtGraphPath");
         when(dtGraphPath.getFileName()).thenReturn("filename");
-        when(dtService.loadContent(eq(dtPath))).thenReturn(dtContent);
+        when(dtService.loadGraphEntriesContent(eq(Collections.singletonList(dtPath)))).thenReturn(Collections.singletonList(new GuidedDecisionTableGraphEntryContent(dtContent)));
         when(dtGraphService.loadContent(eq(dtGraphPath))).thenReturn(dtGraphContent);
         when(versionRecordManager.getCurrentPath()).thenReturn(dtGraphPath);
 
@@ -1305,7 +1371,7 @@ public class GuidedDecisionTableGraphEditorPresenterTest extends BaseGuidedDecis
         when(dtPath.toURI()).thenReturn("dtPath");
         when(dtGraphPath.toURI()).thenReturn("dtGraphPath");
         when(dtGraphPath.getFileName()).thenReturn("filename");
-        when(dtService.loadContent(eq(dtPath))).thenReturn(dtContent);
+        when(dtService.loadGraphEntriesContent(eq(Collections.singletonList(dtPath)))).thenReturn(Collections.singletonList(new GuidedDecisionTableGraphEntryContent(dtContent)));
         when(dtGraphService.loadContent(eq(dtGraphPath))).thenReturn(dtGraphContent);
         when(versionRecordManager.getCurrentPath()).thenReturn(dtGraphPath);
 
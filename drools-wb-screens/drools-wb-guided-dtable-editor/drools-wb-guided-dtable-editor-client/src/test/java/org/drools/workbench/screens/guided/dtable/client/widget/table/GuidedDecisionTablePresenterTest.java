@@ -16,6 +16,8 @@
 
 package org.drools.workbench.screens.guided.dtable.client.widget.table;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
@@ -42,6 +44,7 @@ import org.drools.workbench.models.guided.dtable.shared.model.BRLActionVariableC
 import org.drools.workbench.models.guided.dtable.shared.model.BRLConditionColumn;
 import org.drools.workbench.models.guided.dtable.shared.model.BaseColumn;
 import org.drools.workbench.models.guided.dtable.shared.model.ConditionCol52;
+import org.drools.workbench.models.guided.dtable.shared.model.DTCellValue52;
 import org.drools.workbench.models.guided.dtable.shared.model.GuidedDecisionTable52;
 import org.drools.workbench.models.guided.dtable.shared.model.MetadataCol52;
 import org.drools.workbench.models.guided.dtable.shared.model.Pattern52;
@@ -1094,6 +1097,46 @@ public class GuidedDecisionTablePresenterTest extends BaseGuidedDecisionTablePre
                times(1)).updateLinks();
     }
 
+    @Test
+    public void appendRows() {
+        dtPresenter.getAccess().setLoadingRows(true);
+        assertFalse(dtPresenter.getAccess().isEditable());
+
+        dtPresenter.appendRows(Arrays.asList(makeRow(1),
+                                             makeRow(2)),
+                               false);
+
+        assertEquals(2,
+                     model.getData().size());
+        assertEquals(2,
+                     dtPresenter.getUiModel().getRowCount());
+        assertEquals(model.hashCode(),
+                     (int) dtPresenter.getOriginalHashCode());
+        assertFalse(dtPresenter.getAccess().isEditable());
+        verify(dtPresenter,
+               never()).terminateAnalysis();
+
+        dtPresenter.appendRows(Collections.singletonList(makeRow(3)),
+                               true);
+
+        assertEquals(3,
+                     model.getData().size());
+        assertEquals(3,
+                     dtPresenter.getUiModel().getRowCount());
+        assertTrue(dtPresenter.getAccess().isEditable());
+
+        //Analysis is set-up again once all rows are present
+        verify(dtPresenter,
+               times(1)).terminateAnalysis();
+        verify(dtPresenter,
+               times(2)).initialiseValidationAndVerification();
+    }
+
+    private List<DTCellValue52> makeRow(final int rowNumber) {
+        return new ArrayList<>(Arrays.asList(new DTCellValue52(rowNumber),
+                                             new DTCellValue52("description" + rowNumber)));
+    }
+
     @Test
     public void deleteConditionColumn() throws VetoException {
         final Pattern52 pattern = new Pattern52();
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.guided.dtable.client.widget.table.utilities;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.drools.workbench.models.guided.dtable.shared.model.AttributeCol52;
+import org.drools.workbench.models.guided.dtable.shared.model.DTCellValue52;
+import org.drools.workbench.models.guided.dtable.shared.model.GuidedDecisionTable52;
+import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableDelta;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class DeltaTrackerTest {
+
+    private GuidedDecisionTable52 model;
+
+    private DeltaTracker tracker;
+
+    @Before
+    public void setup() {
+        model = new GuidedDecisionTable52();
+        for (int i = 0; i < 10; i++) {
+            model.getData().add(makeRow(i));
+        }
+        tracker = new DeltaTracker();
+        tracker.reset("v1",
+                      model);
+    }
+
+    @Test
+    public void testNoChanges() {
+        final GuidedDecisionTableDelta delta = tracker.getDelta(model);
+
+        assertNotNull(delta);
+        assertEquals("v1",
+                     delta.getBaseVersion());
+        assertEquals(10,
+                     delta.getRowCount());
+        assertTrue(delta.getRows().isEmpty());
+    }
+
+    @Test
+    public void testChangedAndAddedRows() {
+        model.getData().get(2).get(1).setStringValue("changed");
+        tracker.markRowChanged(model.getData().get(2));
+        model.getData().add(makeRow(10));
+
+        final GuidedDecisionTableDelta delta = tracker.getDelta(model);
+
+        assertNotNull(delta);
+        assertEquals(11,
+                     delta.getRowCount());
+        assertEquals(2,
+                     delta.getRowIndexes().size());
+        assertEquals(2,
+                     (int) delta.getRowIndexes().get(0));
+        assertEquals(10,
+                     (int) delta.getRowIndexes().get(1));
+    }
+
+    @Test
+    public void testDeletedRow() {
+        model.getData().remove(9);
+
+        final GuidedDecisionTableDelta delta = tracker.getDelta(model);
+
+        assertNotNull(delta);
+        assertEquals(9,
+                     delta.getRowCount());
+        assertTrue(delta.getRows().isEmpty());
+    }
+
+    @Test
+    public void testTooManyChangedRows() {
+        model.getData().remove(0);
+
+        assertNull(tracker.getDelta(model));
+    }
+
+    @Test
+    public void testChangedColumns() {
+        model.getAttributeCols().add(new AttributeCol52());
+
+        final GuidedDecisionTableDelta delta = tracker.getDelta(model);
+
+        assertNotNull(delta);
+        assertEquals(1,
+                     delta.getDefinition().getAttributeCols().size());
+        assertTrue(delta.getDefinition().getData().isEmpty());
+    }
+
+    @Test
+    public void testUnmarkedRowIsNotSent() {
+        model.getData().get(4).get(0).setNumericValue(50);
+
+        final GuidedDecisionTableDelta delta = tracker.getDelta(model);
+
+        assertNotNull(delta);
+        assertTrue(delta.getRows().isEmpty());
+    }
+
+    @Test
+    public void testReplacedRow() {
+        model.getData().set(4,
+                            makeRow(4));
+
+        final GuidedDecisionTableDelta delta = tracker.getDelta(model);
+
+        assertNotNull(delta);
+        assertEquals(1,
+                     delta.getRowIndexes().size());
+        assertEquals(4,
+                     (int) delta.getRowIndexes().get(0));
+    }
+
+    @Test
+    public void testAllRowsChanged() {
+        tracker.markAllRowsChanged();
+
+        assertNull(tracker.getDelta(model));
+
+        tracker.reset("v2",
+                      model);
+
+        assertNotNull(tracker.getDelta(model));
+    }
+
+    @Test
+    public void testSavedDeltaBecomesBaseline() {
+        tracker.markRowChanged(model.getData().get(2));
+        model.getData().add(makeRow(10));
+
+        final GuidedDecisionTableDelta sent = tracker.getDeltaToSave(model);
+        tracker.saved("v2",
+                      sent);
+
+        final GuidedDecisionTableDelta delta = tracker.getDelta(model);
+        assertNotNull(delta);
+        assertEquals("v2",
+                     delta.getBaseVersion());
+        assertTrue(delta.getRows().isEmpty());
+    }
+
+    @Test
+    public void testEditsWhileSavingRemainChanged() {
+        tracker.markRowChanged(model.getData().get(2));
+        final GuidedDecisionTableDelta sent = tracker.getDeltaToSave(model);
+
+        //Edited again, and another row edited, while the delta is being saved
+        tracker.markRowChanged(model.getData().get(2));
+        tracker.markRowChanged(model.getData().get(5));
+        model.getData().add(makeRow(10));
+        tracker.saved("v2",
+                      sent);
+
+        final GuidedDecisionTableDelta delta = tracker.getDelta(model);
+        assertNotNull(delta);
+        assertEquals(11,
+                     delta.getRowCount());
+        assertEquals(3,
+                     delta.getRowIndexes().size());
+        assertEquals(2,
+                     (int) delta.getRowIndexes().get(0));
+        assertEquals(5,
+                     (int) delta.getRowIndexes().get(1));
+        assertEquals(10,
+                     (int) delta.getRowIndexes().get(2));
+    }
+
+    @Test
+    public void testColumnsChangedWhileSaving() {
+        final GuidedDecisionTableDelta sent = tracker.getDeltaToSave(model);
+        tracker.markAllRowsChanged();
+        tracker.saved("v2",
+                      sent);
+
+        assertNull(tracker.getDelta(model));
+    }
+
+    @Test
+    public void testSavedDeltaOfEarlierSave() {
+        final GuidedDecisionTableDelta first = tracker.getDeltaToSave(model);
+        tracker.getDeltaToSave(model);
+        tracker.saved("v2",
+                      first);
+
+        assertNull(tracker.getDelta(model));
+    }
+
+    @Test
+    public void testAppendedRows() {
+        final List<List<DTCellValue52>> rows = new ArrayList<>();
+        rows.add(makeRow(10));
+        model.getData().addAll(rows);
+        tracker.appendRows(rows);
+
+        final GuidedDecisionTableDelta delta = tracker.getDelta(model);
+
+        assertNotNull(delta);
+        assertEquals(11,
+                     delta.getRowCount());
+        assertTrue(delta.getRows().isEmpty());
+    }
+
+    @Test
+    public void testUnknownVersion() {
+        tracker.reset(null,
+                      model);
+
+        assertNull(tracker.getDelta(model));
+    }
+
+    private List<DTCellValue52> makeRow(final int rowNumber) {
+        final List<DTCellValue52> row = new ArrayList<>();
+        row.add(new DTCellValue52(rowNumber + 1));
+        row.add(new DTCellValue52("row" + rowNumber));
+        return row;
+    }
+}
@@ -23,9 +23,9 @@ import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import javax.inject.Named;
 
+import org.drools.workbench.screens.dsltext.backend.server.DSLPackageRegistry;
 import org.guvnor.common.services.backend.file.FileDiscoveryService;
 import org.jboss.errai.security.shared.api.identity.User;
-import org.kie.workbench.common.services.backend.file.DSLFileFilter;
 import org.kie.workbench.common.services.backend.file.GlobalsFileFilter;
 import org.kie.workbench.common.services.shared.project.KieModuleService;
 import org.uberfire.backend.server.util.Paths;
@@ -41,8 +41,6 @@ public class GuidedRuleEditorServiceUtilities {
 
     private static final GlobalsFileFilter FILTER_GLOBALS = new GlobalsFileFilter();
 
-    private static final DSLFileFilter FILTER_DSLS = new DSLFileFilter();
-
     @Inject
     private User identity;
 
@@ -59,23 +57,16 @@ public class GuidedRuleEditorServiceUtilities {
     @Inject
     private KieModuleService moduleService;
 
+    @Inject
+    private DSLPackageRegistry dslPackageRegistry;
+
     /**
      * Load DSL definitions held in the Package relating to the provide Path
      * @param path
      * @return
      */
     public String[] loadDslsForPackage(final Path path) {
-        final List<String> dsls = new ArrayList<String>();
-        final Path packagePath = moduleService.resolvePackage(path).getPackageMainResourcesPath();
-        final org.uberfire.java.nio.file.Path nioPackagePath = Paths.convert(packagePath);
-        final Collection<org.uberfire.java.nio.file.Path> dslPaths = fileDiscoveryService.discoverFiles(nioPackagePath,
-                                                                                                        FILTER_DSLS);
-        for (final org.uberfire.java.nio.file.Path dslPath : dslPaths) {
-            final String dslDefinition = ioService.readAllString(dslPath);
-            dsls.add(dslDefinition);
-        }
-        final String[] result = new String[dsls.size()];
-        return dsls.toArray(result);
+        return dslPackageRegistry.getDSLDefinitions(path);
     }
 
     /**
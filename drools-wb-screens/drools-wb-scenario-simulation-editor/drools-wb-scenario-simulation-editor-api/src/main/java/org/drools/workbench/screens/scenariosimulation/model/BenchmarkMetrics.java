@@ -0,0 +1,83 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.drools.workbench.screens.scenariosimulation.model;
+
+import org.jboss.errai.common.client.api.annotations.Portable;
+
+/**
+ * Transport object with the throughput and latency of the repeated runs of a simulation, or of one of its scenarios
+ */
+@Portable
+public class BenchmarkMetrics {
+
+    private int executions;
+
+    private double throughput;
+
+    private double p50;
+
+    private double p95;
+
+    private double p99;
+
+    public BenchmarkMetrics() {
+        // CDI
+    }
+
+    public BenchmarkMetrics(int executions,
+                            double throughput,
+                            double p50,
+                            double p95,
+                            double p99) {
+        this.executions = executions;
+        this.throughput = throughput;
+        this.p50 = p50;
+        this.p95 = p95;
+        this.p99 = p99;
+    }
+
+    public int getExecutions() {
+        return executions;
+    }
+
+    /**
+     * @return Executions per second of the wall time of all the measured runs
+     */
+    public double getThroughput() {
+        return throughput;
+    }
+
+    /**
+     * @return Median latency, in milliseconds
+     */
+    public double getP50() {
+        return p50;
+    }
+
+    /**
+     * @return 95th percentile latency, in milliseconds
+     */
+    public double getP95() {
+        return p95;
+    }
+
+    /**
+     * @return 99th percentile latency, in milliseconds
+     */
+    public double getP99() {
+        return p99;
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.drools.workbench.screens.scenariosimulation.model;
+
+import org.jboss.errai.common.client.api.annotations.Portable;
+
+/**
+ * Transport object with the measures of the run of a single scenario (row) of a simulation
+ */
+@Portable
+public class ScenarioRunMetrics {
+
+    private int index;
+
+    private long runTime;
+
+    private int factsInserted;
+
+    private int rulesFired;
+
+    private int decisionsEvaluated;
+
+    public ScenarioRunMetrics() {
+        // CDI
+    }
+
+    public ScenarioRunMetrics(int index,
+                              long runTime,
+                              int factsInserted,
+                              int rulesFired,
+                              int decisionsEvaluated) {
+        this.index = index;
+        this.runTime = runTime;
+        this.factsInserted = factsInserted;
+        this.rulesFired = rulesFired;
+        this.decisionsEvaluated = decisionsEvaluated;
+    }
+
+    /**
+     * @return Index of the scenario, as in <code>ScenarioWithIndex</code>
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * @return Wall time of the run of the scenario, in milliseconds
+     */
+    public long getRunTime() {
+        return runTime;
+    }
+
+    /**
+     * @return Number of GIVEN facts of the scenario
+     */
+    public int getFactsInserted() {
+        return factsInserted;
+    }
+
+    /**
+     * @return Number of distinct rules fired by the scenario, for a RULE simulation
+     */
+    public int getRulesFired() {
+        return rulesFired;
+    }
+
+    /**
+     * @return Number of distinct decisions evaluated by the scenario, for a DMN simulation
+     */
+    public int getDecisionsEvaluated() {
+        return decisionsEvaluated;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.drools.workbench.screens.scenariosimulation.model;
+
+import java.util.Map;
+
+import org.jboss.errai.common.client.api.annotations.Portable;
+
+/**
+ * Transport object with the outcome of a benchmark run of a simulation: its scenarios run for a number of iterations,
+ * after some warm-up rounds that are not measured, on a number of threads.
+ */
+@Portable
+public class SimulationBenchmarkResult {
+
+    private int iterations;
+
+    private int warmUpRounds;
+
+    private int threads;
+
+    private long totalTime;
+
+    private int failedIterations;
+
+    private BenchmarkMetrics simulationMetrics;
+
+    private Map<Integer, BenchmarkMetrics> scenarioMetrics;
+
+    public SimulationBenchmarkResult() {
+        // CDI
+    }
+
+    public SimulationBenchmarkResult(int iterations,
+                                     int warmUpRounds,
+                                     int threads,
+                                     long totalTime,
+                                     int failedIterations,
+                                     BenchmarkMetrics simulationMetrics,
+                                     Map<Integer, BenchmarkMetrics> scenarioMetrics) {
+        this.iterations = iterations;
+        this.warmUpRounds = warmUpRounds;
+        this.threads = threads;
+        this.totalTime = totalTime;
+        this.failedIterations = failedIterations;
+        this.simulationMetrics = simulationMetrics;
+        this.scenarioMetrics = scenarioMetrics;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public int getWarmUpRounds() {
+        return warmUpRounds;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * @return Wall time of the measured iterations, in milliseconds
+     */
+    public long getTotalTime() {
+        return totalTime;
+    }
+
+    /**
+     * @return Number of measured iterations with at least one failed scenario
+     */
+    public int getFailedIterations() {
+        return failedIterations;
+    }
+
+    /**
+     * @return Throughput, in scenarios per second across all threads, and latency of the iterations
+     */
+    public BenchmarkMetrics getSimulationMetrics() {
+        return simulationMetrics;
+    }
+
+    /**
+     * @return Throughput, in runs per second of a single thread, and latency of each scenario, by its index
+     */
+    public Map<Integer, BenchmarkMetrics> getScenarioMetrics() {
+        return scenarioMetrics;
+    }
+}
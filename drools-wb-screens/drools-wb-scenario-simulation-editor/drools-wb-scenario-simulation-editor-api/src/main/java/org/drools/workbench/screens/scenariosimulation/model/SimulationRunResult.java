@@ -15,6 +15,7 @@
  */
 package org.drools.workbench.screens.scenariosimulation.model;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.drools.scenariosimulation.api.model.ScenarioWithIndex;
@@ -34,6 +35,8 @@ public class SimulationRunResult {
 
     private TestResultMessage testResultMessage;
 
+    protected List<ScenarioRunMetrics> scenarioRunMetrics;
+
     public SimulationRunResult() {
         // CDI
     }
@@ -41,9 +44,20 @@ public class SimulationRunResult {
     public SimulationRunResult(List<ScenarioWithIndex> scenarioWithIndex,
                                SimulationRunMetadata simulationRunMetadata,
                                TestResultMessage testResultMessage) {
+        this(scenarioWithIndex,
+             simulationRunMetadata,
+             testResultMessage,
+             new ArrayList<>());
+    }
+
+    public SimulationRunResult(List<ScenarioWithIndex> scenarioWithIndex,
+                               SimulationRunMetadata simulationRunMetadata,
+                               TestResultMessage testResultMessage,
+                               List<ScenarioRunMetrics> scenarioRunMetrics) {
         this.scenarioWithIndex = scenarioWithIndex;
         this.simulationRunMetadata = simulationRunMetadata;
         this.testResultMessage = testResultMessage;
+        this.scenarioRunMetrics = scenarioRunMetrics;
     }
 
     public List<ScenarioWithIndex> getScenarioWithIndex() {
@@ -57,4 +71,11 @@ public class SimulationRunResult {
     public TestResultMessage getTestResultMessage() {
         return testResultMessage;
     }
+
+    /**
+     * @return Measures of the run of each scenario, in the order of <code>getScenarioWithIndex()</code>
+     */
+    public List<ScenarioRunMetrics> getScenarioRunMetrics() {
+        return scenarioRunMetrics;
+    }
 }
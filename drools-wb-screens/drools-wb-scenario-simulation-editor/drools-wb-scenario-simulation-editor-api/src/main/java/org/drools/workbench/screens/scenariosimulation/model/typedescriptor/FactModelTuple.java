@@ -17,7 +17,9 @@ package org.drools.workbench.screens.scenariosimulation.model.typedescriptor;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.SortedMap;
+import java.util.TreeMap;
 
 import org.jboss.errai.common.client.api.annotations.Portable;
 
@@ -64,4 +66,22 @@ public class FactModelTuple {
     public List<String> getMultipleNestedObjectError() {
         return multipleNestedObjectError;
     }
+
+    public FactModelTuple cloneFactModelTuple() {
+        FactModelTuple toReturn = new FactModelTuple(cloneFactModelTrees(visibleFacts), cloneFactModelTrees(hiddenFacts));
+        toReturn.multipleNestedCollectionError.addAll(multipleNestedCollectionError);
+        toReturn.multipleNestedObjectError.addAll(multipleNestedObjectError);
+        return toReturn;
+    }
+
+    private static SortedMap<String, FactModelTree> cloneFactModelTrees(SortedMap<String, FactModelTree> factModelTrees) {
+        if (factModelTrees == null) {
+            return null;
+        }
+        SortedMap<String, FactModelTree> toReturn = new TreeMap<>();
+        for (Map.Entry<String, FactModelTree> entry : factModelTrees.entrySet()) {
+            toReturn.put(entry.getKey(), entry.getValue().cloneFactModelTree());
+        }
+        return toReturn;
+    }
 }
@@ -15,7 +15,10 @@
  */
 package org.drools.workbench.screens.scenariosimulation.service;
 
+import java.util.List;
+
 import org.drools.scenariosimulation.api.model.Simulation;
+import org.drools.workbench.screens.scenariosimulation.model.ScenarioRunMetrics;
 import org.jboss.errai.bus.server.annotations.Remote;
 
 /**
@@ -41,4 +44,12 @@ public interface ImportExportService {
      * @return
      */
     Simulation importSimulation(ImportExportType type, Object raw, Simulation originalSimulation);
+
+    /**
+     * This method export the measures of the scenarios of a run (see <code>SimulationRunResult</code>) to the requested type
+     * @param type
+     * @param scenarioRunMetrics
+     * @return
+     */
+    Object exportScenarioRunMetrics(ImportExportType type, List<ScenarioRunMetrics> scenarioRunMetrics);
 }
@@ -19,6 +19,7 @@ import java.util.List;
 
 import org.drools.scenariosimulation.api.model.ScenarioWithIndex;
 import org.drools.scenariosimulation.api.model.SimulationDescriptor;
+import org.drools.workbench.screens.scenariosimulation.model.SimulationBenchmarkResult;
 import org.drools.workbench.screens.scenariosimulation.model.SimulationRunResult;
 import org.guvnor.common.services.shared.test.TestService;
 import org.uberfire.backend.vfs.Path;
@@ -30,4 +31,19 @@ public interface ScenarioRunnerService
                                 final Path path,
                                 final SimulationDescriptor simulationDescriptor,
                                 final List<ScenarioWithIndex> scenarios);
+
+    /**
+     * Runs the given scenarios repeatedly, to measure their throughput and latency rather than to test them. The
+     * server limits the number of threads, iterations and warm-up rounds; larger values are rejected.
+     * @param iterations Number of measured runs of all the scenarios
+     * @param warmUpRounds Number of runs of all the scenarios before the measured ones
+     * @param threads Number of measured runs at the same time
+     */
+    SimulationBenchmarkResult runBenchmark(final String identifier,
+                                           final Path path,
+                                           final SimulationDescriptor simulationDescriptor,
+                                           final List<ScenarioWithIndex> scenarios,
+                                           final int iterations,
+                                           final int warmUpRounds,
+                                           final int threads);
 }
@@ -32,7 +32,14 @@ public abstract class AbstractKieContainerService {
     private BuildInfoService buildInfoService;
 
     protected KieContainer getKieContainer(Path path) {
-        KieModule kieModule = moduleService.resolveModule(path);
+        return getKieContainer(getKieModule(path));
+    }
+
+    protected KieModule getKieModule(Path path) {
+        return moduleService.resolveModule(path);
+    }
+
+    protected KieContainer getKieContainer(KieModule kieModule) {
         KieContainer kieContainer = buildInfoService.getBuildInfo(kieModule).getKieContainer();
         if (kieContainer == null) {
             throw new IllegalArgumentException("Retrieving KieContainer has failed. Fix all compilation errors within the " +
@@ -24,8 +24,11 @@ import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
 
 import org.drools.scenariosimulation.api.model.Simulation;
 import org.drools.scenariosimulation.backend.util.DMNSimulationUtils;
@@ -34,6 +37,8 @@ import org.drools.workbench.screens.scenariosimulation.model.typedescriptor.Fact
 import org.drools.workbench.screens.scenariosimulation.model.typedescriptor.FactModelTuple;
 import org.drools.workbench.screens.scenariosimulation.service.DMNTypeService;
 import org.guvnor.common.services.backend.exceptions.ExceptionUtilities;
+import org.guvnor.common.services.project.builder.model.BuildResults;
+import org.guvnor.common.services.project.builder.model.IncrementalBuildResults;
 import org.jboss.errai.bus.server.annotations.Service;
 import org.kie.api.runtime.KieContainer;
 import org.kie.dmn.api.core.DMNModel;
@@ -44,6 +49,7 @@ import org.kie.dmn.api.core.ast.InputDataNode;
 import org.kie.dmn.core.impl.BaseDMNTypeImpl;
 import org.kie.dmn.feel.lang.Type;
 import org.kie.dmn.feel.lang.types.BuiltInType;
+import org.kie.workbench.common.services.shared.project.KieModule;
 import org.uberfire.backend.vfs.Path;
 
 @Service
@@ -52,9 +58,27 @@ public class DMNTypeServiceImpl
         extends AbstractKieContainerService
         implements DMNTypeService {
 
+    //DMNRuntime and DMNModels of each module built since it was last rebuilt, by the root path of the module
+    private final Map<String, DMNModuleCache> dmnModuleCaches = new ConcurrentHashMap<>();
+
+    //FactModelTuples are dropped together with the DMNModels of a build that has been replaced
+    private final Map<DMNModel, FactModelTuple> factModelTuples = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * The <code>FactModelTuple</code> of a DMN model is created once for each build of it; callers receive their own copy.
+     */
     @Override
     public FactModelTuple retrieveFactModelTuple(Path path, String dmnPath) {
         DMNModel dmnModel = getDMNModel(path, dmnPath);
+        FactModelTuple factModelTuple = factModelTuples.get(dmnModel);
+        if (factModelTuple == null) {
+            factModelTuple = createFactModelTuple(dmnModel);
+            factModelTuples.put(dmnModel, factModelTuple);
+        }
+        return factModelTuple.cloneFactModelTuple();
+    }
+
+    protected FactModelTuple createFactModelTuple(DMNModel dmnModel) {
         SortedMap<String, FactModelTree> visibleFacts = new TreeMap<>();
         SortedMap<String, FactModelTree> hiddenFacts = new TreeMap<>();
         ErrorHolder errorHolder = new ErrorHolder();
@@ -90,12 +114,49 @@ public class DMNTypeServiceImpl
     }
 
     public DMNModel getDMNModel(Path path, String dmnPath) {
-        return DMNSimulationUtils.extractDMNModel(getDMNRuntime(path), dmnPath);
+        DMNModuleCache dmnModuleCache = getDMNModuleCache(path);
+        if (dmnPath == null) {
+            return DMNSimulationUtils.extractDMNModel(dmnModuleCache.dmnRuntime, dmnPath);
+        }
+        return dmnModuleCache.dmnModels.computeIfAbsent(dmnPath, key -> DMNSimulationUtils.extractDMNModel(dmnModuleCache.dmnRuntime, key));
     }
 
     public DMNRuntime getDMNRuntime(Path path) {
-        KieContainer kieContainer = getKieContainer(path);
-        return DMNSimulationUtils.extractDMNRuntime(kieContainer);
+        return getDMNModuleCache(path).dmnRuntime;
+    }
+
+    /**
+     * Returns the <code>DMNModuleCache</code> of the module of the given path; it is created again from the current
+     * build of the module once the module has been (re)built, or its <code>KieContainer</code> has been replaced.
+     * @param path
+     * @return
+     */
+    protected DMNModuleCache getDMNModuleCache(Path path) {
+        KieModule kieModule = getKieModule(path);
+        KieContainer kieContainer = getKieContainer(kieModule);
+        if (kieModule == null || kieModule.getRootPath() == null) {
+            return new DMNModuleCache(kieContainer);
+        }
+        return dmnModuleCaches.compute(kieModule.getRootPath().toURI(),
+                                       (rootPath, existing) -> existing != null && existing.kieContainer == kieContainer ? existing : new DMNModuleCache(kieContainer));
+    }
+
+    /**
+     * Drops the <code>DMNModuleCache</code> of a module that has been rebuilt.
+     * @param rootPathURI URI of the root path of the module
+     */
+    public void invalidate(String rootPathURI) {
+        if (rootPathURI != null) {
+            dmnModuleCaches.remove(rootPathURI);
+        }
+    }
+
+    public void onBuildResults(@Observes BuildResults results) {
+        invalidate(results.getRootPathURI());
+    }
+
+    public void onIncrementalBuildResults(@Observes IncrementalBuildResults results) {
+        invalidate(results.getRootPathURI());
     }
 
     /**
@@ -292,6 +353,18 @@ public class DMNTypeServiceImpl
         }
     }
 
+    static class DMNModuleCache {
+
+        final KieContainer kieContainer;
+        final DMNRuntime dmnRuntime;
+        final Map<String, DMNModel> dmnModels = new ConcurrentHashMap<>();
+
+        DMNModuleCache(KieContainer kieContainer) {
+            this.kieContainer = kieContainer;
+            this.dmnRuntime = DMNSimulationUtils.extractDMNRuntime(kieContainer);
+        }
+    }
+
     static class ErrorHolder {
 
         Set<String> multipleNestedObject = new TreeSet<>();
@@ -16,10 +16,13 @@
 
 package org.drools.workbench.screens.scenariosimulation.backend.server;
 
+import java.util.List;
+
 import javax.enterprise.context.ApplicationScoped;
 
 import org.drools.scenariosimulation.api.model.Simulation;
 import org.drools.workbench.screens.scenariosimulation.backend.server.importexport.ScenarioCsvImportExport;
+import org.drools.workbench.screens.scenariosimulation.model.ScenarioRunMetrics;
 import org.drools.workbench.screens.scenariosimulation.service.ImportExportService;
 import org.drools.workbench.screens.scenariosimulation.service.ImportExportType;
 import org.guvnor.common.services.backend.exceptions.ExceptionUtilities;
@@ -58,4 +61,18 @@ public class ImportExportServiceImpl implements ImportExportService {
             throw ExceptionUtilities.handleException(e);
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    public Object exportScenarioRunMetrics(ImportExportType type, List<ScenarioRunMetrics> scenarioRunMetrics) {
+        try {
+            switch (type) {
+                case CSV:
+                    return scenarioCsvImportExport.exportScenarioRunMetrics(scenarioRunMetrics);
+                default:
+                    throw new IllegalArgumentException("Impossible to parse " + type);
+            }
+        } catch (Exception e) {
+            throw ExceptionUtilities.handleException(e);
+        }
+    }
+}
@@ -15,19 +15,26 @@
  */
 package org.drools.workbench.screens.scenariosimulation.backend.server;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import javax.inject.Inject;
 import javax.inject.Named;
 
 import org.drools.scenariosimulation.api.model.ScenarioSimulationModel;
-import org.drools.workbench.screens.scenariosimulation.service.ScenarioSimulationService;
+import org.drools.scenariosimulation.backend.util.ScenarioSimulationXMLPersistence;
 import org.drools.workbench.screens.scenariosimulation.type.ScenarioSimulationResourceTypeDefinition;
+import org.guvnor.common.services.backend.exceptions.ExceptionUtilities;
 import org.kie.workbench.common.services.refactoring.backend.server.query.FileLoader;
+import org.uberfire.backend.server.util.Paths;
 import org.uberfire.backend.vfs.Path;
 import org.uberfire.io.IOService;
 
+/**
+ * Loads all the Scenario Simulation files of a module to be run. Unlike <code>ScenarioSimulationService.load</code>
+ * it does not resolve the DMN model of DMN-based simulations to refresh their name and namespace; that is left to
+ * the runner, for the simulations it runs.
+ */
 public class ScenarioLoader {
 
     @Inject
@@ -36,16 +43,23 @@ public class ScenarioLoader {
     @Named("ioStrategy")
     private IOService ioService;
     @Inject
-    private ScenarioSimulationService scenarioTestEditorService;
-    @Inject
     private FileLoader fileLoader;
 
     public Map<Path, ScenarioSimulationModel> loadScenarios(final Path testResourcePath) {
-        final Map<Path, ScenarioSimulationModel> scenarios = new HashMap<>();
+        //Scenario Simulation files are kept in the order they were found so they are always run in the same order
+        final Map<Path, ScenarioSimulationModel> scenarios = new LinkedHashMap<>();
 
         for (Path path : fileLoader.loadPaths(testResourcePath, testScenarioResourceTypeDefinition.getSuffix())) {
-            scenarios.put(path, scenarioTestEditorService.load(path));
+            scenarios.put(path, load(path));
         }
         return scenarios;
     }
+
+    protected ScenarioSimulationModel load(final Path path) {
+        try {
+            return ScenarioSimulationXMLPersistence.getInstance().unmarshal(ioService.readAllString(Paths.convert(path)));
+        } catch (Exception e) {
+            throw ExceptionUtilities.handleException(e);
+        }
+    }
 }
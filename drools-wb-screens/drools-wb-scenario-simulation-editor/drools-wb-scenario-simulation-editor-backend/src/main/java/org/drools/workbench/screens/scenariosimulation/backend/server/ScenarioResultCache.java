@@ -0,0 +1,211 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.scenariosimulation.backend.server;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.thoughtworks.xstream.XStream;
+import org.drools.scenariosimulation.api.model.FactMappingValue;
+import org.drools.scenariosimulation.api.model.ScenarioWithIndex;
+import org.drools.scenariosimulation.api.model.SimulationDescriptor;
+import org.drools.workbench.screens.scenariosimulation.model.ScenarioRunMetrics;
+import org.drools.workbench.screens.scenariosimulation.model.SimulationRunResult;
+import org.guvnor.common.services.shared.test.Failure;
+import org.kie.api.runtime.KieContainer;
+import org.kie.workbench.common.services.shared.project.KieModule;
+import org.uberfire.backend.vfs.Path;
+
+import static org.drools.workbench.screens.scenariosimulation.backend.server.util.JunitRunnerHelper.getScenarioIndex;
+
+/**
+ * Outcomes of the rows of Scenario Simulations that have been run against the latest build of each module.
+ * A row is identified by the file of its simulation, the columns of the simulation, its index and its values; the
+ * outcome of a row that has not changed since it was last run, against the same build, can be used rather than
+ * running it again. The outcomes of a module are discarded when it is built again, see {@link #invalidate(String)},
+ * and when it is run against a KieContainer other than the one they were obtained from, as not every rebuild, such
+ * as one of a dependency, is announced for the module.
+ */
+class ScenarioResultCache {
+
+    private static final XStream XSTREAM = new XStream();
+
+    private final int maxRows;
+
+    //Outcomes of the latest build of each module, by the root path of the module
+    private final Map<String, ModuleResults> moduleResults = new ConcurrentHashMap<>();
+
+    ScenarioResultCache(final int maxRows) {
+        this.maxRows = maxRows;
+    }
+
+    /**
+     * @return Outcomes of the module obtained from the given KieContainer, or null if they can not be cached
+     */
+    ModuleResults getModuleResults(final KieModule kieModule,
+                                   final KieContainer kieContainer) {
+        if (maxRows <= 0 || kieModule == null || kieModule.getRootPath() == null) {
+            return null;
+        }
+        return moduleResults.compute(kieModule.getRootPath().toURI(),
+                                     (rootPath, existing) -> existing != null && existing.kieContainer == kieContainer ? existing : new ModuleResults(kieContainer,
+                                                                                                                                                   maxRows));
+    }
+
+    /**
+     * Discards the outcomes of a module that has been built again. Runs still in progress keep the outcomes they
+     * obtained, but these are no longer handed out.
+     * @param rootPathURI URI of the root path of the module
+     */
+    void invalidate(final String rootPathURI) {
+        if (rootPathURI != null) {
+            moduleResults.remove(rootPathURI);
+        }
+    }
+
+    /**
+     * Failures refer to the file they were obtained from, so copies of a simulation do not share outcomes.
+     * @param path The file of the simulation
+     */
+    static String getDescriptorKey(final Path path,
+                                   final SimulationDescriptor simulationDescriptor) {
+        return hash((path == null ? "" : path.toURI()) + "|" + XSTREAM.toXML(simulationDescriptor));
+    }
+
+    /**
+     * The outcome of a row does not take part in its key, so a row that has been run has the same key as before.
+     */
+    static String getRowKey(final String descriptorKey,
+                            final ScenarioWithIndex scenarioWithIndex) {
+        final StringBuilder content = new StringBuilder(descriptorKey).append('|').append(scenarioWithIndex.getIndex());
+        for (FactMappingValue factMappingValue : scenarioWithIndex.getScenario().getUnmodifiableFactMappingValues()) {
+            final Object rawValue = factMappingValue.getRawValue();
+            content.append('|').append(factMappingValue.getFactIdentifier().getName())
+                    .append('|').append(factMappingValue.getFactIdentifier().getClassName())
+                    .append('|').append(factMappingValue.getExpressionIdentifier().getName())
+                    .append('|').append(factMappingValue.getExpressionIdentifier().getType())
+                    .append('|').append(rawValue == null ? "" : rawValue.getClass().getName() + ":" + rawValue);
+        }
+        return hash(content.toString());
+    }
+
+    /**
+     * @return Index of the row the failure is of, or null if it is not of a single row
+     */
+    static Integer getFailureIndex(final Failure failure) {
+        return getScenarioIndex(failure.getDisplayName());
+    }
+
+    private static String hash(final String content) {
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            final StringBuilder hash = new StringBuilder();
+            for (byte b : digest) {
+                hash.append(String.format("%02x", b));
+            }
+            return hash.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static class ModuleResults {
+
+        private final KieContainer kieContainer;
+        private final Map<String, RowResult> rowResults;
+        private volatile int available;
+
+        private ModuleResults(final KieContainer kieContainer,
+                              final int maxRows) {
+            this.kieContainer = kieContainer;
+            //Least recently used outcomes are discarded first
+            this.rowResults = Collections.synchronizedMap(new LinkedHashMap<String, RowResult>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, RowResult> eldest) {
+                    return size() > maxRows;
+                }
+            });
+        }
+
+        RowResult get(final String rowKey) {
+            return rowResults.get(rowKey);
+        }
+
+        int getAvailable() {
+            return available;
+        }
+
+        /**
+         * Keeps the outcomes of the rows of a run. Nothing is kept if any of its failures is not of a single row.
+         */
+        void put(final List<String> rowKeys,
+                 final List<ScenarioWithIndex> scenarios,
+                 final SimulationRunResult result) {
+            final Map<Integer, List<Failure>> failuresByIndex = new HashMap<>();
+            for (Failure failure : result.getTestResultMessage().getFailures()) {
+                final Integer index = getFailureIndex(failure);
+                if (index == null) {
+                    return;
+                }
+                failuresByIndex.computeIfAbsent(index, key -> new ArrayList<>()).add(failure);
+            }
+
+            final Map<Integer, ScenarioRunMetrics> metricsByIndex = new HashMap<>();
+            for (ScenarioRunMetrics scenarioRunMetrics : result.getScenarioRunMetrics()) {
+                metricsByIndex.put(scenarioRunMetrics.getIndex(), scenarioRunMetrics);
+            }
+
+            available = result.getSimulationRunMetadata().getAvailable();
+            final Map<ScenarioWithIndex, List<String>> scenarioCounter = result.getSimulationRunMetadata().getScenarioCounter();
+            for (int i = 0; i < scenarios.size(); i += 1) {
+                final ScenarioWithIndex scenarioWithIndex = scenarios.get(i);
+                rowResults.put(rowKeys.get(i),
+                               new RowResult(scenarioWithIndex,
+                                             new ArrayList<>(scenarioCounter.getOrDefault(scenarioWithIndex, Collections.emptyList())),
+                                             failuresByIndex.getOrDefault(scenarioWithIndex.getIndex(), Collections.emptyList()),
+                                             metricsByIndex.get(scenarioWithIndex.getIndex())));
+            }
+        }
+    }
+
+    static class RowResult {
+
+        final ScenarioWithIndex scenarioWithIndex;
+        final List<String> executed;
+        final List<Failure> failures;
+        //Measures of the run the outcome comes from
+        final ScenarioRunMetrics metrics;
+
+        RowResult(final ScenarioWithIndex scenarioWithIndex,
+                  final List<String> executed,
+                  final List<Failure> failures,
+                  final ScenarioRunMetrics metrics) {
+            this.scenarioWithIndex = scenarioWithIndex;
+            this.executed = executed;
+            this.failures = failures;
+            this.metrics = metrics;
+        }
+    }
+}
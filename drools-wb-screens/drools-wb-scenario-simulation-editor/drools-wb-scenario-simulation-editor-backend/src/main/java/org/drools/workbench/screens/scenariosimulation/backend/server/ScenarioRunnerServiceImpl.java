@@ -16,28 +16,61 @@
 
 package org.drools.workbench.screens.scenariosimulation.backend.server;
 
+import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
+import javax.annotation.PreDestroy;
 import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
 import javax.inject.Inject;
 
+import org.drools.scenariosimulation.api.model.FactIdentifier;
+import org.drools.scenariosimulation.api.model.FactMappingType;
+import org.drools.scenariosimulation.api.model.FactMappingValue;
 import org.drools.scenariosimulation.api.model.ScenarioSimulationModel;
 import org.drools.scenariosimulation.api.model.ScenarioWithIndex;
 import org.drools.scenariosimulation.api.model.Simulation;
 import org.drools.scenariosimulation.api.model.SimulationDescriptor;
+import org.drools.scenariosimulation.api.model.SimulationRunMetadata;
 import org.drools.scenariosimulation.backend.runner.AbstractScenarioRunner;
 import org.drools.scenariosimulation.backend.runner.ScenarioRunnerProvider;
+import org.drools.scenariosimulation.backend.util.DMNSimulationUtils;
+import org.drools.scenariosimulation.backend.util.ImpossibleToFindDMNException;
+import org.drools.workbench.screens.scenariosimulation.backend.server.util.InProcessRunnerHelper.RunSummary;
+import org.drools.workbench.screens.scenariosimulation.model.BenchmarkMetrics;
+import org.drools.workbench.screens.scenariosimulation.model.ScenarioRunMetrics;
+import org.drools.workbench.screens.scenariosimulation.model.SimulationBenchmarkResult;
 import org.drools.workbench.screens.scenariosimulation.model.SimulationRunResult;
 import org.drools.workbench.screens.scenariosimulation.service.ScenarioRunnerService;
+import org.guvnor.common.services.project.builder.model.BuildResults;
+import org.guvnor.common.services.project.builder.model.IncrementalBuildResults;
 import org.guvnor.common.services.shared.test.Failure;
 import org.guvnor.common.services.shared.test.TestResultMessage;
 import org.jboss.errai.bus.server.annotations.Service;
 import org.junit.runner.Result;
 import org.kie.api.runtime.KieContainer;
+import org.kie.dmn.api.core.DMNModel;
+import org.kie.dmn.api.core.DMNRuntime;
+import org.kie.workbench.common.services.shared.project.KieModule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.uberfire.backend.vfs.Path;
 
+import static org.drools.workbench.screens.scenariosimulation.backend.server.util.InProcessRunnerHelper.runInProcess;
 import static org.drools.workbench.screens.scenariosimulation.backend.server.util.JunitRunnerHelper.runWithJunit;
 
 @Service
@@ -45,15 +78,72 @@ import static org.drools.workbench.screens.scenariosimulation.backend.server.uti
 public class ScenarioRunnerServiceImpl extends AbstractKieContainerService
         implements ScenarioRunnerService {
 
+    public static final String THREADS_PROPERTY = "org.drools.workbench.screens.scenariosimulation.runner.threads";
+
+    public static final String ROWS_PER_BATCH_PROPERTY = "org.drools.workbench.screens.scenariosimulation.runner.rows-per-batch";
+
+    public static final String RESULT_CACHE_MAX_ROWS_PROPERTY = "org.drools.workbench.screens.scenariosimulation.runner.result-cache.max-rows";
+
+    public static final String BENCHMARK_MAX_THREADS_PROPERTY = "org.drools.workbench.screens.scenariosimulation.runner.benchmark.max-threads";
+
+    public static final String BENCHMARK_MAX_ITERATIONS_PROPERTY = "org.drools.workbench.screens.scenariosimulation.runner.benchmark.max-iterations";
+
+    static final int DEFAULT_ROWS_PER_BATCH = 100;
+
+    static final int DEFAULT_RESULT_CACHE_MAX_ROWS = 10000;
+
+    static final int DEFAULT_BENCHMARK_MAX_THREADS = 16;
+
+    static final int DEFAULT_BENCHMARK_MAX_ITERATIONS = 1000;
+
+    private static final Logger logger = LoggerFactory.getLogger(ScenarioRunnerServiceImpl.class);
+
     @Inject
     private ScenarioLoader scenarioLoader;
 
     private ScenarioRunnerProvider runnerSupplier = null;
 
+    //Scenario Simulation files of runAllTests, and batches of rows of runTest, are run on this; it is created when first needed
+    private ExecutorService executor;
+
+    private int threads = Integer.getInteger(THREADS_PROPERTY,
+                                             Runtime.getRuntime().availableProcessors());
+
+    //Fewest rows of a Scenario Simulation run as a batch of its own
+    private int rowsPerBatch = Integer.getInteger(ROWS_PER_BATCH_PROPERTY,
+                                                  DEFAULT_ROWS_PER_BATCH);
+
+    //Most threads, and most iterations and warm-up rounds, a benchmark may ask for
+    private int benchmarkMaxThreads = Integer.getInteger(BENCHMARK_MAX_THREADS_PROPERTY,
+                                                         DEFAULT_BENCHMARK_MAX_THREADS);
+
+    private int benchmarkMaxIterations = Integer.getInteger(BENCHMARK_MAX_ITERATIONS_PROPERTY,
+                                                            DEFAULT_BENCHMARK_MAX_ITERATIONS);
+
+    //Outcomes of the rows that have been run, against the latest build of each module; 0 rows disables it
+    private ScenarioResultCache resultCache = new ScenarioResultCache(Integer.getInteger(RESULT_CACHE_MAX_ROWS_PROPERTY,
+                                                                                        DEFAULT_RESULT_CACHE_MAX_ROWS));
+
+    @PreDestroy
+    public synchronized void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    public void onBuildResults(@Observes final BuildResults results) {
+        resultCache.invalidate(results.getRootPathURI());
+    }
+
+    public void onIncrementalBuildResults(@Observes final IncrementalBuildResults results) {
+        resultCache.invalidate(results.getRootPathURI());
+    }
+
     @Override
     public List<TestResultMessage> runAllTests(final String identifier,
                                                final Path path) {
-        final List<TestResultMessage> testResultMessages = new ArrayList<>();
+        final List<Map.Entry<Path, Simulation>> simulations = new ArrayList<>();
 
         for (Map.Entry<Path, ScenarioSimulationModel> entry : scenarioLoader.loadScenarios(path).entrySet()) {
 
@@ -61,14 +151,63 @@ public class ScenarioRunnerServiceImpl extends AbstractKieContainerService
 
             if (!simulation.getSimulationDescriptor().isSkipFromBuild()) {
 
-                testResultMessages.add(runTest(identifier,
-                                               entry.getKey(),
-                                               simulation.getSimulationDescriptor(),
-                                               simulation.getScenarioWithIndex()).getTestResultMessage());
+                simulations.add(new AbstractMap.SimpleEntry<>(entry.getKey(),
+                                                              simulation));
             }
         }
 
-        return testResultMessages;
+        if (simulations.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        //All Scenario Simulation files are in the same module and share its KieContainer; each has its own runner
+        final KieModule kieModule = getKieModule(path);
+        final KieContainer kieContainer = getKieContainer(kieModule);
+        initializeNameAndNamespace(simulations,
+                                   kieContainer);
+        final List<Callable<TestResultMessage>> tests = new ArrayList<>();
+        for (Map.Entry<Path, Simulation> entry : simulations) {
+            final Simulation simulation = entry.getValue();
+            tests.add(() -> runCachedTest(identifier,
+                                          entry.getKey(),
+                                          kieModule,
+                                          kieContainer,
+                                          simulation.getSimulationDescriptor(),
+                                          simulation.getScenarioWithIndex(),
+                                          false).getTestResultMessage());
+        }
+
+        return runAll(tests);
+    }
+
+    /**
+     * ScenarioLoader does not refresh the name and namespace of DMN models; they are refreshed here, only for the
+     * simulations to be run. They are read from the DMNRuntime of the KieContainer already resolved by runAllTests,
+     * and each DMN model is looked up once however many simulations use it.
+     */
+    private void initializeNameAndNamespace(final List<Map.Entry<Path, Simulation>> simulations,
+                                            final KieContainer kieContainer) {
+        DMNRuntime dmnRuntime = null;
+        final Map<String, DMNModel> dmnModels = new HashMap<>();
+        for (Map.Entry<Path, Simulation> entry : simulations) {
+            final SimulationDescriptor simulationDescriptor = entry.getValue().getSimulationDescriptor();
+            if (!ScenarioSimulationModel.Type.DMN.equals(simulationDescriptor.getType())) {
+                continue;
+            }
+            if (dmnRuntime == null) {
+                dmnRuntime = DMNSimulationUtils.extractDMNRuntime(kieContainer);
+            }
+            final DMNRuntime runtime = dmnRuntime;
+            try {
+                final DMNModel dmnModel = dmnModels.computeIfAbsent(simulationDescriptor.getDmnFilePath(),
+                                                                    dmnPath -> DMNSimulationUtils.extractDMNModel(runtime, dmnPath));
+                simulationDescriptor.setDmnName(dmnModel.getName());
+                simulationDescriptor.setDmnNamespace(dmnModel.getNamespace());
+            } catch (ImpossibleToFindDMNException e) {
+                // the simulation is run with the name and namespace it was saved with
+                logger.error(e.getMessage(), e);
+            }
+        }
     }
 
     @Override
@@ -76,7 +215,385 @@ public class ScenarioRunnerServiceImpl extends AbstractKieContainerService
                                        final Path path,
                                        final SimulationDescriptor simulationDescriptor,
                                        final List<ScenarioWithIndex> scenarios) {
+        final KieModule kieModule = getKieModule(path);
+        return runCachedTest(identifier,
+                             path,
+                             kieModule,
+                             getKieContainer(kieModule),
+                             simulationDescriptor,
+                             scenarios,
+                             true);
+    }
+
+    /**
+     * Rows that have not changed since they were last run, against the same build of the module, are not run again; their
+     * previous outcome is merged with those of the rows that are run.
+     * @param interactive Whether the Scenario Simulation is run from the editor; it may then be split into batches,
+     * and is run in-process. Otherwise, as for runAllTests, it is itself run by the executor, so it is not split lest
+     * its threads all wait for one another, and it is run through JUnit.
+     */
+    private SimulationRunResult runCachedTest(final String identifier,
+                                              final Path path,
+                                              final KieModule kieModule,
+                                              final KieContainer kieContainer,
+                                              final SimulationDescriptor simulationDescriptor,
+                                              final List<ScenarioWithIndex> scenarios,
+                                              final boolean interactive) {
+        final ScenarioResultCache.ModuleResults moduleResults = resultCache.getModuleResults(kieModule,
+                                                                                             kieContainer);
+        if (moduleResults == null) {
+            return runUncachedTest(identifier,
+                                   path,
+                                   kieContainer,
+                                   simulationDescriptor,
+                                   scenarios,
+                                   interactive);
+        }
+
+        final long startTime = System.currentTimeMillis();
+        final String descriptorKey = ScenarioResultCache.getDescriptorKey(path,
+                                                                                   simulationDescriptor);
+        final List<ScenarioResultCache.RowResult> rowResults = new ArrayList<>();
+        final List<ScenarioWithIndex> toRun = new ArrayList<>();
+        final List<String> toRunKeys = new ArrayList<>();
+        for (ScenarioWithIndex scenarioWithIndex : scenarios) {
+            final String rowKey = ScenarioResultCache.getRowKey(descriptorKey,
+                                                                scenarioWithIndex);
+            final ScenarioResultCache.RowResult rowResult = moduleResults.get(rowKey);
+            rowResults.add(rowResult);
+            if (rowResult == null) {
+                toRun.add(scenarioWithIndex);
+                toRunKeys.add(rowKey);
+            }
+        }
+
+        final SimulationRunResult result = toRun.isEmpty() ? null : runUncachedTest(identifier,
+                                                                                    path,
+                                                                                    kieContainer,
+                                                                                    simulationDescriptor,
+                                                                                    toRun,
+                                                                                    interactive);
+        if (result != null) {
+            moduleResults.put(toRunKeys,
+                              toRun,
+                              result);
+        }
+        if (toRun.size() == scenarios.size()) {
+            return result;
+        }
+
+        //Failures are reported in the order of the rows, whether they have been run or not
+        final Map<Integer, List<Failure>> ranFailures = new HashMap<>();
+        final List<Failure> otherFailures = new ArrayList<>();
+        if (result != null) {
+            for (Failure failure : result.getTestResultMessage().getFailures()) {
+                final Integer index = ScenarioResultCache.getFailureIndex(failure);
+                if (index == null) {
+                    otherFailures.add(failure);
+                } else {
+                    ranFailures.computeIfAbsent(index, key -> new ArrayList<>()).add(failure);
+                }
+            }
+        }
+
+        final Map<Integer, ScenarioRunMetrics> ranMetrics = new HashMap<>();
+        if (result != null) {
+            result.getScenarioRunMetrics().forEach(metrics -> ranMetrics.put(metrics.getIndex(), metrics));
+        }
+
+        final List<ScenarioWithIndex> resultScenarios = new ArrayList<>();
+        final List<Failure> failures = new ArrayList<>();
+        final List<ScenarioRunMetrics> scenarioRunMetrics = new ArrayList<>();
+        final Map<String, Integer> cachedOutputCounter = new HashMap<>();
+        final Map<ScenarioWithIndex, List<String>> cachedScenarioCounter = new HashMap<>();
+        for (int i = 0; i < scenarios.size(); i += 1) {
+            final ScenarioResultCache.RowResult rowResult = rowResults.get(i);
+            if (rowResult == null) {
+                resultScenarios.add(scenarios.get(i));
+                failures.addAll(ranFailures.getOrDefault(scenarios.get(i).getIndex(), new ArrayList<>()));
+                addIfNotNull(scenarioRunMetrics,
+                             ranMetrics.get(scenarios.get(i).getIndex()));
+            } else {
+                resultScenarios.add(rowResult.scenarioWithIndex);
+                failures.addAll(rowResult.failures);
+                addIfNotNull(scenarioRunMetrics,
+                             rowResult.metrics);
+                rowResult.executed.forEach(name -> cachedOutputCounter.merge(name,
+                                                                             1,
+                                                                             Integer::sum));
+                cachedScenarioCounter.put(rowResult.scenarioWithIndex,
+                                          rowResult.executed);
+            }
+        }
+        failures.addAll(otherFailures);
+
+        final List<SimulationRunMetadata> simulationRunMetadatas = new ArrayList<>();
+        simulationRunMetadatas.add(new SimulationRunMetadata(moduleResults.getAvailable(),
+                                                             cachedOutputCounter.size(),
+                                                             cachedOutputCounter,
+                                                             cachedScenarioCounter));
+        if (result != null) {
+            simulationRunMetadatas.add(result.getSimulationRunMetadata());
+        }
+
+        final int cachedCount = scenarios.size() - toRun.size();
+        return new SimulationRunResult(resultScenarios,
+                                       mergeSimulationRunMetadata(simulationRunMetadatas),
+                                       new TestResultMessage(
+                                               identifier,
+                                               cachedCount + (result == null ? 0 : result.getTestResultMessage().getRunCount()),
+                                               System.currentTimeMillis() - startTime,
+                                               failures),
+                                       scenarioRunMetrics);
+    }
+
+    private static <T> void addIfNotNull(final List<T> list,
+                                         final T element) {
+        if (element != null) {
+            list.add(element);
+        }
+    }
+
+    private SimulationRunResult runUncachedTest(final String identifier,
+                                                final Path path,
+                                                final KieContainer kieContainer,
+                                                final SimulationDescriptor simulationDescriptor,
+                                                final List<ScenarioWithIndex> scenarios,
+                                                final boolean interactive) {
+        if (!interactive || threads <= 1 || scenarios.size() < rowsPerBatch * 2) {
+            return runTest(identifier,
+                           path,
+                           kieContainer,
+                           simulationDescriptor,
+                           scenarios,
+                           !interactive);
+        }
+        return runTestInBatches(identifier,
+                                path,
+                                kieContainer,
+                                simulationDescriptor,
+                                scenarios);
+    }
+
+    /**
+     * Iterations are run on their own threads, rather than on the executor of runTest, so that the number of threads
+     * is the one requested, and they bypass the result cache. Every iteration runs its own copy of the scenarios, as
+     * runners record their outcome on them. The number of threads, and of iterations and warm-up rounds, are limited
+     * by BENCHMARK_MAX_THREADS_PROPERTY and BENCHMARK_MAX_ITERATIONS_PROPERTY, as they are chosen by the client.
+     */
+    @Override
+    public SimulationBenchmarkResult runBenchmark(final String identifier,
+                                                  final Path path,
+                                                  final SimulationDescriptor simulationDescriptor,
+                                                  final List<ScenarioWithIndex> scenarios,
+                                                  final int iterations,
+                                                  final int warmUpRounds,
+                                                  final int threads) {
+        if (iterations < 1 || warmUpRounds < 0 || threads < 1) {
+            throw new IllegalArgumentException("Iterations and threads must be at least 1, and warm-up rounds can not be negative");
+        }
+        if (threads > benchmarkMaxThreads) {
+            throw new IllegalArgumentException("Threads can not be more than " + benchmarkMaxThreads);
+        }
+        if (iterations > benchmarkMaxIterations || warmUpRounds > benchmarkMaxIterations) {
+            throw new IllegalArgumentException("Iterations and warm-up rounds can not be more than " + benchmarkMaxIterations);
+        }
+
         final KieContainer kieContainer = getKieContainer(path);
+        final Callable<BenchmarkIteration> iteration = () -> {
+            final List<ScenarioWithIndex> toRun = new ArrayList<>();
+            for (ScenarioWithIndex scenarioWithIndex : scenarios) {
+                toRun.add(new ScenarioWithIndex(scenarioWithIndex.getIndex(),
+                                                scenarioWithIndex.getScenario().cloneScenario()));
+            }
+            final Map<Integer, Long> runTimes = new HashMap<>();
+            final long startTime = System.nanoTime();
+            final SimulationRunResult result = runTest(identifier,
+                                                       path,
+                                                       kieContainer,
+                                                       simulationDescriptor,
+                                                       toRun,
+                                                       runTimes,
+                                                       false);
+            return new BenchmarkIteration(System.nanoTime() - startTime,
+                                          runTimes,
+                                          !result.getTestResultMessage().getFailures().isEmpty());
+        };
+
+        for (int i = 0; i < warmUpRounds; i += 1) {
+            call(iteration);
+        }
+
+        final List<Callable<BenchmarkIteration>> measured = new ArrayList<>();
+        for (int i = 0; i < iterations; i += 1) {
+            measured.add(iteration);
+        }
+        final ExecutorService benchmarkExecutor = Executors.newFixedThreadPool(threads,
+                                                                               daemonThreadFactory("scenario-benchmark"));
+        final long startTime = System.nanoTime();
+        final List<BenchmarkIteration> results;
+        try {
+            results = getAll(benchmarkExecutor,
+                             measured);
+        } finally {
+            benchmarkExecutor.shutdownNow();
+        }
+        final long totalTime = System.nanoTime() - startTime;
+
+        int failedIterations = 0;
+        final List<Long> simulationLatencies = new ArrayList<>();
+        final Map<Integer, List<Long>> scenarioLatencies = new TreeMap<>();
+        for (BenchmarkIteration result : results) {
+            failedIterations += result.failed ? 1 : 0;
+            simulationLatencies.add(result.runTime);
+            result.scenarioRunTimes.forEach((index, runTime) -> scenarioLatencies.computeIfAbsent(index, key -> new ArrayList<>()).add(runTime));
+        }
+
+        //Throughput is over the wall time of the measured iterations, as for the whole simulation, rather than the
+        //reciprocal of the mean latency, which would ignore the threads and the other scenarios
+        final Map<Integer, BenchmarkMetrics> scenarioMetrics = new LinkedHashMap<>();
+        scenarioLatencies.forEach((index, latencies) -> scenarioMetrics.put(index,
+                                                                            getBenchmarkMetrics(latencies,
+                                                                                                perSecond(latencies.size(),
+                                                                                                          totalTime))));
+        return new SimulationBenchmarkResult(iterations,
+                                             warmUpRounds,
+                                             threads,
+                                             TimeUnit.NANOSECONDS.toMillis(totalTime),
+                                             failedIterations,
+                                             getBenchmarkMetrics(simulationLatencies,
+                                                                 perSecond((long) iterations * scenarios.size(),
+                                                                           totalTime)),
+                                             scenarioMetrics);
+    }
+
+    /**
+     * Latency percentiles are nearest-rank ones, in milliseconds.
+     * @param latencies Latencies, in nanoseconds
+     */
+    static BenchmarkMetrics getBenchmarkMetrics(final List<Long> latencies,
+                                                final double throughput) {
+        final long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        return new BenchmarkMetrics(sorted.length,
+                                    throughput,
+                                    percentile(sorted, 50),
+                                    percentile(sorted, 95),
+                                    percentile(sorted, 99));
+    }
+
+    private static double percentile(final long[] sorted,
+                                     final int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        final int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(rank - 1, 0)] / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    private static double perSecond(final long executions,
+                                    final long nanos) {
+        return nanos == 0 ? 0 : executions * (double) TimeUnit.SECONDS.toNanos(1) / nanos;
+    }
+
+    /**
+     * Rows of a Scenario Simulation are independent of one another; they are split into one batch per thread, of
+     * at least rowsPerBatch rows, and every batch is run by its own runner over the shared KieContainer. The results
+     * of the batches are merged in the order of the rows.
+     */
+    private SimulationRunResult runTestInBatches(final String identifier,
+                                                 final Path path,
+                                                 final KieContainer kieContainer,
+                                                 final SimulationDescriptor simulationDescriptor,
+                                                 final List<ScenarioWithIndex> scenarios) {
+        final long startTime = System.currentTimeMillis();
+        final int batchSize = Math.max(rowsPerBatch,
+                                       (scenarios.size() + threads - 1) / threads);
+
+        final List<Callable<SimulationRunResult>> batches = new ArrayList<>();
+        for (int from = 0; from < scenarios.size(); from += batchSize) {
+            final List<ScenarioWithIndex> batch = scenarios.subList(from,
+                                                                    Math.min(from + batchSize,
+                                                                             scenarios.size()));
+            batches.add(() -> runTest(identifier,
+                                      path,
+                                      kieContainer,
+                                      simulationDescriptor,
+                                      batch,
+                                      false));
+        }
+
+        int runCount = 0;
+        final List<Failure> failures = new ArrayList<>();
+        final List<SimulationRunMetadata> simulationRunMetadatas = new ArrayList<>();
+        final List<ScenarioRunMetrics> scenarioRunMetrics = new ArrayList<>();
+        for (SimulationRunResult result : runAll(batches)) {
+            runCount += result.getTestResultMessage().getRunCount();
+            failures.addAll(result.getTestResultMessage().getFailures());
+            simulationRunMetadatas.add(result.getSimulationRunMetadata());
+            scenarioRunMetrics.addAll(result.getScenarioRunMetrics());
+        }
+
+        return new SimulationRunResult(scenarios,
+                                       mergeSimulationRunMetadata(simulationRunMetadatas),
+                                       new TestResultMessage(
+                                               identifier,
+                                               runCount,
+                                               System.currentTimeMillis() - startTime,
+                                               failures),
+                                       scenarioRunMetrics);
+    }
+
+    /**
+     * Decisions, or rules, executed by more than one batch are counted once towards coverage.
+     */
+    static SimulationRunMetadata mergeSimulationRunMetadata(final List<SimulationRunMetadata> simulationRunMetadatas) {
+        int available = 0;
+        int executed = 0;
+        final Map<String, Integer> outputCounter = new HashMap<>();
+        final Map<ScenarioWithIndex, List<String>> scenarioCounter = new HashMap<>();
+        for (SimulationRunMetadata simulationRunMetadata : simulationRunMetadatas) {
+            available = Math.max(available,
+                                 simulationRunMetadata.getAvailable());
+            executed = Math.max(executed,
+                                simulationRunMetadata.getExecuted());
+            simulationRunMetadata.getOutputCounter().forEach((name, count) -> outputCounter.merge(name,
+                                                                                                  count,
+                                                                                                  Integer::sum));
+            scenarioCounter.putAll(simulationRunMetadata.getScenarioCounter());
+        }
+        return new SimulationRunMetadata(available,
+                                         Math.max(executed,
+                                                  outputCounter.size()),
+                                         outputCounter,
+                                         scenarioCounter);
+    }
+
+    private SimulationRunResult runTest(final String identifier,
+                                        final Path path,
+                                        final KieContainer kieContainer,
+                                        final SimulationDescriptor simulationDescriptor,
+                                        final List<ScenarioWithIndex> scenarios,
+                                        final boolean withJunit) {
+        return runTest(identifier,
+                       path,
+                       kieContainer,
+                       simulationDescriptor,
+                       scenarios,
+                       new HashMap<>(),
+                       withJunit);
+    }
+
+    /**
+     * @param runTimes Filled with the wall time, in nanoseconds, of each scenario run, by its index
+     * @param withJunit Whether to run through JUnitCore, as runAllTests does, rather than in-process
+     */
+    private SimulationRunResult runTest(final String identifier,
+                                        final Path path,
+                                        final KieContainer kieContainer,
+                                        final SimulationDescriptor simulationDescriptor,
+                                        final List<ScenarioWithIndex> scenarios,
+                                        final Map<Integer, Long> runTimes,
+                                        final boolean withJunit) {
         final AbstractScenarioRunner scenarioRunner = getOrCreateRunnerSupplier(simulationDescriptor)
                 .create(kieContainer, simulationDescriptor, scenarios);
 
@@ -84,16 +601,169 @@ public class ScenarioRunnerServiceImpl extends AbstractKieContainerService
 
         final List<Failure> failureDetails = new ArrayList<>();
 
-        final Result result = runWithJunit(path, scenarioRunner, failures, failureDetails);
+        final int runCount;
+        final long runTime;
+        if (withJunit) {
+            final Result result = runWithJunit(path, scenarioRunner, failures, failureDetails, runTimes);
+            runCount = result.getRunCount();
+            runTime = result.getRunTime();
+        } else {
+            final RunSummary runSummary = runInProcess(path, scenarioRunner, failures, failureDetails, runTimes);
+            runCount = runSummary.getRunCount();
+            runTime = runSummary.getRunTime();
+        }
+
+        final SimulationRunMetadata simulationRunMetadata = scenarioRunner.getLastRunResultMetadata()
+                .orElseThrow(() -> new IllegalStateException("SimulationRunMetadata should be available after a run"));
 
         return new SimulationRunResult(scenarios,
-                                       scenarioRunner.getLastRunResultMetadata()
-                                               .orElseThrow(() -> new IllegalStateException("SimulationRunMetadata should be available after a run")),
+                                       simulationRunMetadata,
                                        new TestResultMessage(
                                                identifier,
-                                               result.getRunCount(),
-                                               result.getRunTime(),
-                                               failures));
+                                               runCount,
+                                               runTime,
+                                               failures),
+                                       getScenarioRunMetrics(simulationDescriptor,
+                                                             scenarios,
+                                                             simulationRunMetadata,
+                                                             runTimes));
+    }
+
+    /**
+     * Measures of each scenario that has been run. The rules fired, or decisions evaluated, by a scenario are those
+     * the runner has counted towards coverage; the facts inserted are its GIVEN facts with at least one value.
+     */
+    static List<ScenarioRunMetrics> getScenarioRunMetrics(final SimulationDescriptor simulationDescriptor,
+                                                          final List<ScenarioWithIndex> scenarios,
+                                                          final SimulationRunMetadata simulationRunMetadata,
+                                                          final Map<Integer, Long> runTimes) {
+        final boolean isDMN = ScenarioSimulationModel.Type.DMN.equals(simulationDescriptor.getType());
+        final List<ScenarioRunMetrics> scenarioRunMetrics = new ArrayList<>();
+        for (ScenarioWithIndex scenarioWithIndex : scenarios) {
+            final Long runTime = runTimes.get(scenarioWithIndex.getIndex());
+            if (runTime == null) {
+                continue;
+            }
+            final Set<FactIdentifier> givenFacts = new HashSet<>();
+            for (FactMappingValue factMappingValue : scenarioWithIndex.getScenario().getUnmodifiableFactMappingValues()) {
+                if (FactMappingType.GIVEN.equals(factMappingValue.getExpressionIdentifier().getType()) &&
+                        factMappingValue.getRawValue() != null) {
+                    givenFacts.add(factMappingValue.getFactIdentifier());
+                }
+            }
+            final int executed = simulationRunMetadata.getScenarioCounter().getOrDefault(scenarioWithIndex,
+                                                                                         new ArrayList<>()).size();
+            scenarioRunMetrics.add(new ScenarioRunMetrics(scenarioWithIndex.getIndex(),
+                                                          TimeUnit.NANOSECONDS.toMillis(runTime),
+                                                          givenFacts.size(),
+                                                          isDMN ? 0 : executed,
+                                                          isDMN ? executed : 0));
+        }
+        return scenarioRunMetrics;
+    }
+
+    /**
+     * Runs the tests in parallel, when more than one thread is configured, returning their results in the order
+     * of the tests whatever the order in which they finish.
+     */
+    <T> List<T> runAll(final List<Callable<T>> tests) {
+        final List<T> results = new ArrayList<>();
+        if (threads <= 1 || tests.size() <= 1) {
+            for (Callable<T> test : tests) {
+                results.add(call(test));
+            }
+            return results;
+        }
+
+        return getAll(getExecutor(),
+                      tests);
+    }
+
+    private static <T> T call(final Callable<T> test) {
+        try {
+            return test.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static <T> List<T> getAll(final ExecutorService executor,
+                                      final List<Callable<T>> tests) {
+        final List<T> results = new ArrayList<>();
+        final List<Future<T>> futures = new ArrayList<>();
+        for (Callable<T> test : tests) {
+            futures.add(executor.submit(test));
+        }
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+        return results;
+    }
+
+    void setThreads(final int threads) {
+        this.threads = threads;
+    }
+
+    void setRowsPerBatch(final int rowsPerBatch) {
+        this.rowsPerBatch = rowsPerBatch;
+    }
+
+    void setBenchmarkMaxThreads(final int benchmarkMaxThreads) {
+        this.benchmarkMaxThreads = benchmarkMaxThreads;
+    }
+
+    void setBenchmarkMaxIterations(final int benchmarkMaxIterations) {
+        this.benchmarkMaxIterations = benchmarkMaxIterations;
+    }
+
+    void setResultCacheMaxRows(final int maxRows) {
+        this.resultCache = new ScenarioResultCache(maxRows);
+    }
+
+    private synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(threads,
+                                                    daemonThreadFactory("scenario-runner"));
+        }
+        return executor;
+    }
+
+    private static ThreadFactory daemonThreadFactory(final String name) {
+        return (runnable) -> {
+            final Thread thread = new Thread(runnable,
+                                             name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static class BenchmarkIteration {
+
+        private final long runTime;
+        private final Map<Integer, Long> scenarioRunTimes;
+        private final boolean failed;
+
+        private BenchmarkIteration(final long runTime,
+                                   final Map<Integer, Long> scenarioRunTimes,
+                                   final boolean failed) {
+            this.runTime = runTime;
+            this.scenarioRunTimes = scenarioRunTimes;
+            this.failed = failed;
+        }
     }
 
     public ScenarioRunnerProvider getOrCreateRunnerSupplier(SimulationDescriptor simulationDescriptor) {
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.scenariosimulation.backend.server;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.drools.scenariosimulation.api.model.ScenarioSimulationModel;
+import org.drools.scenariosimulation.api.model.Simulation;
+import org.drools.workbench.screens.scenariosimulation.backend.server.importexport.ScenarioCsvImportExport;
+import org.drools.workbench.screens.scenariosimulation.service.ScenarioSimulationService;
+import org.guvnor.common.services.backend.exceptions.ExceptionUtilities;
+import org.guvnor.common.services.backend.file.upload.AbstractFileServlet;
+import org.guvnor.common.services.shared.file.upload.FileManagerFields;
+import org.guvnor.common.services.shared.metadata.MetadataService;
+import org.uberfire.backend.server.util.Paths;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.io.IOService;
+
+/**
+ * Exports the scenarios of a Scenario Simulation as CSV, and replaces them with those of an uploaded CSV. Unlike
+ * <code>ImportExportService</code> the CSV is streamed, rather than held as a String, so large datasets can be used.
+ */
+public class ScenarioSimulationCsvFileServlet extends AbstractFileServlet {
+
+    private static final long serialVersionUID = 7240L;
+
+    @Inject
+    @Named("ioStrategy")
+    private IOService ioService;
+
+    @Inject
+    private ScenarioSimulationService scenarioSimulationService;
+
+    @Inject
+    private MetadataService metadataService;
+
+    private ScenarioCsvImportExport scenarioCsvImportExport = new ScenarioCsvImportExport();
+
+    /**
+     * Downloads are written straight to the response, rather than by AbstractFileServlet, to stream the CSV.
+     */
+    @Override
+    protected void doGet(final HttpServletRequest request,
+                         final HttpServletResponse response) throws ServletException, IOException {
+        final String uri = request.getParameter(FileManagerFields.FORM_FIELD_PATH);
+        if (uri == null) {
+            super.doGet(request,
+                        response);
+            return;
+        }
+        try {
+            final Path path = convertPath(uri);
+            final Simulation simulation = scenarioSimulationService.load(path).getSimulation();
+
+            response.setContentType("text/csv");
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.setHeader("Content-Disposition",
+                               "attachment; filename=" + getCsvFileName(path) + ";");
+
+            final Writer writer = new OutputStreamWriter(response.getOutputStream(),
+                                                         StandardCharsets.UTF_8);
+            scenarioCsvImportExport.exportData(simulation,
+                                               writer);
+            writer.flush();
+        } catch (URISyntaxException e) {
+            throw new ServletException(e);
+        }
+    }
+
+    @Override
+    protected InputStream doLoad(final Path path,
+                                 final HttpServletRequest request) {
+        try {
+            final Simulation simulation = scenarioSimulationService.load(path).getSimulation();
+            return new ByteArrayInputStream(scenarioCsvImportExport.exportData(simulation).getBytes(StandardCharsets.UTF_8));
+        } catch (Exception e) {
+            throw ExceptionUtilities.handleException(e);
+        }
+    }
+
+    @Override
+    protected void doCreate(final Path path,
+                            final InputStream data,
+                            final HttpServletRequest request,
+                            final String comment) {
+        throw new IllegalArgumentException("A Scenario Simulation can not be created from CSV; import it into an existing one.");
+    }
+
+    @Override
+    protected void doUpdate(final Path path,
+                            final InputStream data,
+                            final HttpServletRequest request,
+                            final String comment) {
+        try {
+            final ScenarioSimulationModel model = scenarioSimulationService.load(path);
+            final Reader reader = new InputStreamReader(data,
+                                                        StandardCharsets.UTF_8);
+            model.setSimulation(scenarioCsvImportExport.importData(reader,
+                                                                   model.getSimulation()));
+            scenarioSimulationService.save(path,
+                                           model,
+                                           metadataService.getMetadata(path),
+                                           comment);
+        } catch (Exception e) {
+            throw ExceptionUtilities.handleException(e);
+        }
+    }
+
+    @Override
+    protected Path convertPath(final String fileName,
+                               final String contextPath) throws URISyntaxException {
+        final org.uberfire.java.nio.file.Path path = ioService.get(new URI(contextPath));
+        return Paths.convert(path.resolve(fileName));
+    }
+
+    @Override
+    protected Path convertPath(final String fullPath) throws URISyntaxException {
+        final org.uberfire.java.nio.file.Path path = ioService.get(new URI(fullPath));
+        return Paths.convert(path);
+    }
+
+    static String getCsvFileName(final Path path) {
+        final String fileName = path.getFileName();
+        final int extension = fileName.lastIndexOf('.');
+        return (extension > 0 ? fileName.substring(0, extension) : fileName) + ".csv";
+    }
+}
@@ -17,79 +17,162 @@
 package org.drools.workbench.screens.scenariosimulation.backend.server.importexport;
 
 import java.io.IOException;
+import java.io.Reader;
 import java.io.StringReader;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVPrinter;
 import org.apache.commons.csv.CSVRecord;
+import org.drools.scenariosimulation.api.model.ExpressionIdentifier;
+import org.drools.scenariosimulation.api.model.FactIdentifier;
 import org.drools.scenariosimulation.api.model.FactMapping;
 import org.drools.scenariosimulation.api.model.FactMappingType;
 import org.drools.scenariosimulation.api.model.FactMappingValue;
 import org.drools.scenariosimulation.api.model.Scenario;
 import org.drools.scenariosimulation.api.model.Simulation;
+import org.drools.workbench.screens.scenariosimulation.model.ScenarioRunMetrics;
 
 public class ScenarioCsvImportExport {
 
     public static int HEADER_SIZE = 3;
 
+    static final String[] METRICS_HEADER = {"Index", "Run time (ms)", "Facts inserted", "Rules fired", "Decisions evaluated"};
+
     public String exportData(Simulation simulation) throws IOException {
         StringBuilder stringBuilder = new StringBuilder();
+        exportData(simulation, stringBuilder);
+        return stringBuilder.toString();
+    }
+
+    /**
+     * Writes the given simulation as CSV to <code>out</code>, a row at a time. <code>out</code> is flushed, when
+     * possible, but not closed.
+     * @param simulation
+     * @param out
+     * @throws IOException
+     */
+    public void exportData(Simulation simulation, Appendable out) throws IOException {
         List<FactMapping> factMappings = simulation.getSimulationDescriptor().getUnmodifiableFactMappings();
 
-        CSVPrinter printer = new CSVPrinter(stringBuilder, CSVFormat.DEFAULT);
+        // Column of each fact mapping, looked up once for the whole export
+        Map<FactIdentifier, Map<ExpressionIdentifier, Integer>> columns = new HashMap<>();
+        for (int i = 0; i < factMappings.size(); i += 1) {
+            FactMapping factMapping = factMappings.get(i);
+            columns.computeIfAbsent(factMapping.getFactIdentifier(), key -> new HashMap<>())
+                    .putIfAbsent(factMapping.getExpressionIdentifier(), i);
+        }
+
+        CSVPrinter printer = new CSVPrinter(out, CSVFormat.DEFAULT);
 
         generateHeader(factMappings, printer);
 
         for (Scenario scenario : simulation.getUnmodifiableScenarios()) {
-            List<Object> values = new ArrayList<>();
-            for (FactMapping factMapping : factMappings) {
-                Optional<FactMappingValue> factMappingValue = scenario.getFactMappingValue(factMapping.getFactIdentifier(),
-                                                                                           factMapping.getExpressionIdentifier());
-                values.add(factMappingValue.map(FactMappingValue::getRawValue).orElse(""));
+            Object[] values = new Object[factMappings.size()];
+            for (FactMappingValue factMappingValue : scenario.getUnmodifiableFactMappingValues()) {
+                Integer column = columns.getOrDefault(factMappingValue.getFactIdentifier(), Collections.emptyMap())
+                        .get(factMappingValue.getExpressionIdentifier());
+                // the first value of a fact mapping is the one exported
+                if (column != null && values[column] == null) {
+                    values[column] = factMappingValue.getRawValue() == null ? "" : factMappingValue.getRawValue();
+                }
+            }
+            for (int i = 0; i < values.length; i += 1) {
+                if (values[i] == null) {
+                    values[i] = "";
+                }
             }
-            printer.printRecord(values.toArray());
+            printer.printRecord(values);
         }
 
-        printer.close();
-
-        return stringBuilder.toString();
+        printer.flush();
     }
 
     public Simulation importData(String raw, Simulation originalSimulation) throws IOException {
+        return importData(new StringReader(raw), originalSimulation);
+    }
 
-        CSVParser csvParser = CSVFormat.DEFAULT.parse(new StringReader(raw));
+    /**
+     * Reads CSV rows from <code>reader</code> a row at a time, rather than loading them all, and returns a new
+     * simulation with a scenario for each of them. <code>reader</code> is not closed.
+     * @param reader
+     * @param originalSimulation
+     * @return
+     * @throws IOException
+     */
+    public Simulation importData(Reader reader, Simulation originalSimulation) throws IOException {
+
+        CSVParser csvParser = CSVFormat.DEFAULT.parse(reader);
 
         Simulation toReturn = originalSimulation.cloneSimulation();
         toReturn.clearScenarios();
 
         List<FactMapping> factMappings = toReturn.getSimulationDescriptor().getUnmodifiableFactMappings();
 
-        List<CSVRecord> csvRecords = csvParser.getRecords();
-        if (csvRecords.size() < HEADER_SIZE) {
-            throw new IllegalArgumentException("Malformed file, missing header");
+        // Identifiers of each column, looked up once for the whole import
+        FactIdentifier[] factIdentifiers = new FactIdentifier[factMappings.size()];
+        ExpressionIdentifier[] expressionIdentifiers = new ExpressionIdentifier[factMappings.size()];
+        for (int i = 0; i < factMappings.size(); i += 1) {
+            factIdentifiers[i] = factMappings.get(i).getFactIdentifier();
+            expressionIdentifiers[i] = factMappings.get(i).getExpressionIdentifier();
         }
-        csvRecords = csvRecords.subList(HEADER_SIZE, csvRecords.size());
 
-        for (CSVRecord csvRecord : csvRecords) {
-            Scenario scenarioToFill = toReturn.addScenario();
+        int headerRows = 0;
+        for (CSVRecord csvRecord : csvParser) {
+            if (headerRows < HEADER_SIZE) {
+                headerRows += 1;
+                continue;
+            }
             if (csvRecord.size() != factMappings.size()) {
                 throw new IllegalArgumentException("Malformed row " + csvRecord);
             }
-            for (int i = 0; i < factMappings.size(); i += 1) {
-                FactMapping factMapping = factMappings.get(i);
+            Scenario scenarioToFill = toReturn.addScenario();
+            for (int i = 0; i < factIdentifiers.length; i += 1) {
                 String valueToImport = "".equals(csvRecord.get(i)) ? null : csvRecord.get(i);
-                scenarioToFill.addMappingValue(factMapping.getFactIdentifier(),
-                                               factMapping.getExpressionIdentifier(),
+                scenarioToFill.addMappingValue(factIdentifiers[i],
+                                               expressionIdentifiers[i],
                                                valueToImport);
             }
         }
+        if (headerRows < HEADER_SIZE) {
+            throw new IllegalArgumentException("Malformed file, missing header");
+        }
         return toReturn;
     }
 
+    public String exportScenarioRunMetrics(List<ScenarioRunMetrics> scenarioRunMetrics) throws IOException {
+        StringBuilder stringBuilder = new StringBuilder();
+        exportScenarioRunMetrics(scenarioRunMetrics, stringBuilder);
+        return stringBuilder.toString();
+    }
+
+    /**
+     * Writes the measures of the scenarios of a run as CSV to <code>out</code>, a scenario for each row.
+     * <code>out</code> is flushed, when possible, but not closed.
+     * @param scenarioRunMetrics
+     * @param out
+     * @throws IOException
+     */
+    public void exportScenarioRunMetrics(List<ScenarioRunMetrics> scenarioRunMetrics, Appendable out) throws IOException {
+        CSVPrinter printer = new CSVPrinter(out, CSVFormat.DEFAULT);
+
+        printer.printRecord(METRICS_HEADER);
+        for (ScenarioRunMetrics metrics : scenarioRunMetrics) {
+            printer.printRecord(metrics.getIndex(),
+                                metrics.getRunTime(),
+                                metrics.getFactsInserted(),
+                                metrics.getRulesFired(),
+                                metrics.getDecisionsEvaluated());
+        }
+
+        printer.flush();
+    }
+
     protected void generateHeader(List<FactMapping> factMappings, CSVPrinter printer) throws IOException {
         List<String> firstLineHeader = new ArrayList<>();
         List<String> secondLineHeader = new ArrayList<>();
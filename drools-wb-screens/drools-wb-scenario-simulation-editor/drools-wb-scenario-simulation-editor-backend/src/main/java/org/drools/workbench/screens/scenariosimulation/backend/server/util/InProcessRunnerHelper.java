@@ -0,0 +1,104 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.scenariosimulation.backend.server.util;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.guvnor.common.services.shared.test.Failure;
+import org.junit.runner.Description;
+import org.junit.runner.Runner;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+import org.uberfire.backend.vfs.Path;
+
+import static org.drools.workbench.screens.scenariosimulation.backend.server.util.JunitRunnerHelper.failureToFailure;
+import static org.drools.workbench.screens.scenariosimulation.backend.server.util.JunitRunnerHelper.getScenarioIndex;
+
+/**
+ * Runs a scenario runner on the calling thread, notifying a single listener of its own, rather than through
+ * <code>JUnitCore</code>; which wraps the runner in a request and collects a <code>Result</code> that is only read for
+ * its run count and time. Failures are converted as they happen. Used for interactive runs from the editor; runs
+ * that report as JUnit does, such as runAllTests, use {@link JunitRunnerHelper}.
+ */
+public class InProcessRunnerHelper {
+
+    /**
+     * @param runTimes Filled with the wall time, in nanoseconds, of each scenario run, by its index
+     */
+    public static RunSummary runInProcess(Path path,
+                                          Runner runner,
+                                          List<Failure> failures,
+                                          List<Failure> failureDetails,
+                                          Map<Integer, Long> runTimes) {
+        RunSummary runSummary = new RunSummary();
+        RunNotifier notifier = new RunNotifier();
+
+        notifier.addListener(new RunListener() {
+            private final Map<Description, Long> startTimes = new HashMap<>();
+
+            @Override
+            public void testStarted(Description description) {
+                startTimes.put(description, System.nanoTime());
+            }
+
+            @Override
+            public void testFinished(Description description) {
+                runSummary.runCount += 1;
+                Long startTime = startTimes.remove(description);
+                Integer index = getScenarioIndex(description.getDisplayName());
+                if (startTime != null && index != null) {
+                    runTimes.put(index, System.nanoTime() - startTime);
+                }
+            }
+
+            @Override
+            public void testFailure(org.junit.runner.notification.Failure failure) {
+                failures.add(failureToFailure(path, failure));
+            }
+
+            @Override
+            public void testAssumptionFailure(org.junit.runner.notification.Failure failure) {
+                failureDetails.add(failureToFailure(path, failure));
+            }
+        });
+
+        long startTime = System.currentTimeMillis();
+        runner.run(notifier);
+        runSummary.runTime = System.currentTimeMillis() - startTime;
+
+        return runSummary;
+    }
+
+    public static class RunSummary {
+
+        private int runCount;
+        private long runTime;
+
+        public int getRunCount() {
+            return runCount;
+        }
+
+        /**
+         * @return Wall time of the run, in milliseconds
+         */
+        public long getRunTime() {
+            return runTime;
+        }
+    }
+}
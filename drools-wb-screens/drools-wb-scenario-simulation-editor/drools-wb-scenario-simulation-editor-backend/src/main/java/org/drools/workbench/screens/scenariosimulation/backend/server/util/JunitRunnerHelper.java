@@ -17,9 +17,14 @@
 package org.drools.workbench.screens.scenariosimulation.backend.server.util;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.guvnor.common.services.shared.test.Failure;
+import org.junit.runner.Description;
 import org.junit.runner.JUnitCore;
 import org.junit.runner.Result;
 import org.junit.runner.Runner;
@@ -28,13 +33,47 @@ import org.uberfire.backend.vfs.Path;
 
 public class JunitRunnerHelper {
 
+    //Tests, and their failures, are named after the index of their scenario
+    private static final Pattern SCENARIO_INDEX = Pattern.compile("^#(\\d+):");
+
     public static Result runWithJunit(Path path,
                                       Runner runner,
                                       List<Failure> failures,
                                       List<Failure> failureDetails) {
+        return runWithJunit(path,
+                            runner,
+                            failures,
+                            failureDetails,
+                            new HashMap<>());
+    }
+
+    /**
+     * @param runTimes Filled with the wall time, in nanoseconds, of each scenario run, by its index
+     */
+    public static Result runWithJunit(Path path,
+                                      Runner runner,
+                                      List<Failure> failures,
+                                      List<Failure> failureDetails,
+                                      Map<Integer, Long> runTimes) {
         JUnitCore jUnitCore = new JUnitCore();
 
         jUnitCore.addListener(new RunListener() {
+            private final Map<Description, Long> startTimes = new HashMap<>();
+
+            @Override
+            public void testStarted(Description description) {
+                startTimes.put(description, System.nanoTime());
+            }
+
+            @Override
+            public void testFinished(Description description) {
+                Long startTime = startTimes.remove(description);
+                Integer index = getScenarioIndex(description.getDisplayName());
+                if (startTime != null && index != null) {
+                    runTimes.put(index, System.nanoTime() - startTime);
+                }
+            }
+
             @Override
             public void testAssumptionFailure(org.junit.runner.notification.Failure failure) {
                 failureDetails.add(failureToFailure(path,failure));
@@ -71,4 +110,15 @@ public class JunitRunnerHelper {
     static String getScenarioName(final org.junit.runner.notification.Failure failure) {
         return failure.getDescription().getDisplayName();
     }
+
+    /**
+     * @return Index of the scenario a test, or failure, is named after; or null if it is not named after a scenario
+     */
+    public static Integer getScenarioIndex(final String displayName) {
+        if (displayName == null) {
+            return null;
+        }
+        Matcher matcher = SCENARIO_INDEX.matcher(displayName);
+        return matcher.find() ? Integer.valueOf(matcher.group(1)) : null;
+    }
 }
@@ -18,13 +18,18 @@ package org.drools.workbench.screens.scenariosimulation.backend.server;
 
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.drools.scenariosimulation.api.model.Simulation;
 import org.drools.workbench.screens.scenariosimulation.backend.server.exceptions.WrongDMNTypeException;
 import org.drools.workbench.screens.scenariosimulation.model.typedescriptor.FactModelTree;
 import org.drools.workbench.screens.scenariosimulation.model.typedescriptor.FactModelTuple;
+import org.guvnor.common.services.project.builder.model.IncrementalBuildResults;
 import org.junit.Before;
 import org.junit.Test;
+import org.kie.api.KieServices;
+import org.kie.api.builder.KieFileSystem;
+import org.kie.api.runtime.KieContainer;
 import org.kie.dmn.api.core.DMNModel;
 import org.kie.dmn.api.core.DMNType;
 import org.kie.dmn.api.core.ast.DMNNode;
@@ -32,13 +37,21 @@ import org.kie.dmn.api.core.ast.DecisionNode;
 import org.kie.dmn.api.core.ast.InputDataNode;
 import org.kie.dmn.core.impl.CompositeTypeImpl;
 import org.kie.dmn.core.impl.SimpleTypeImpl;
+import org.kie.workbench.common.services.shared.project.KieModule;
 import org.uberfire.backend.vfs.Path;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class DMNTypeServiceImplTest extends AbstractDMNTest {
 
@@ -91,6 +104,112 @@ public class DMNTypeServiceImplTest extends AbstractDMNTest {
         dmnModelLocal.getDecisions().forEach(decisionNode -> verifyFactModelTree(factModelTuple, decisionNode, factModelTuple.getHiddenFacts()));
     }
 
+    @Test
+    public void retrieveFactModelTupleIsCachedPerDMNModel() {
+        dmnTypeServiceImpl = spy(dmnTypeServiceImpl);
+        setDmnModelLocal("dmn-list.dmn", "https://github.com/kiegroup/drools/kie-dmn/_CC8924B0-D729-4D70-9588-039B5824FFE9", "dmn-list");
+        dmnTypeServiceImpl.retrieveFactModelTuple(mock(Path.class), null);
+        dmnTypeServiceImpl.retrieveFactModelTuple(mock(Path.class), null);
+        verify(dmnTypeServiceImpl, times(1)).createFactModelTuple(dmnModelLocal);
+
+        // A rebuilt module provides a new DMNModel
+        setDmnModelLocal("dmn-list.dmn", "https://github.com/kiegroup/drools/kie-dmn/_CC8924B0-D729-4D70-9588-039B5824FFE9", "dmn-list");
+        dmnTypeServiceImpl.retrieveFactModelTuple(mock(Path.class), null);
+        verify(dmnTypeServiceImpl, times(1)).createFactModelTuple(dmnModelLocal);
+    }
+
+    @Test
+    public void dmnModuleCacheIsDroppedWhenModuleIsRebuilt() {
+        KieServices kieServices = KieServices.Factory.get();
+        KieFileSystem kfs = kieServices.newKieFileSystem();
+        kfs.write(kieServices.getResources().newClassPathResource("dmn-list.dmn", getClass()));
+        kieServices.newKieBuilder(kfs).buildAll();
+        KieContainer kieContainer = kieServices.newKieContainer(kieServices.getRepository().getDefaultReleaseId());
+
+        KieModule kieModule = mock(KieModule.class);
+        Path rootPath = mock(Path.class);
+        when(kieModule.getRootPath()).thenReturn(rootPath);
+        when(rootPath.toURI()).thenReturn("default://master@repo/module");
+        dmnTypeServiceImpl = new DMNTypeServiceImpl() {
+            @Override
+            protected KieModule getKieModule(Path path) {
+                return kieModule;
+            }
+
+            @Override
+            protected KieContainer getKieContainer(KieModule module) {
+                return kieContainer;
+            }
+        };
+
+        DMNTypeServiceImpl.DMNModuleCache dmnModuleCache = dmnTypeServiceImpl.getDMNModuleCache(mock(Path.class));
+        assertSame(dmnModuleCache, dmnTypeServiceImpl.getDMNModuleCache(mock(Path.class)));
+
+        // A build of another module is ignored
+        IncrementalBuildResults otherResults = new IncrementalBuildResults();
+        otherResults.setRootPathURI("default://master@repo/other");
+        dmnTypeServiceImpl.onIncrementalBuildResults(otherResults);
+        assertSame(dmnModuleCache, dmnTypeServiceImpl.getDMNModuleCache(mock(Path.class)));
+
+        // An incremental build may keep the same KieContainer
+        IncrementalBuildResults results = new IncrementalBuildResults();
+        results.setRootPathURI("default://master@repo/module");
+        dmnTypeServiceImpl.onIncrementalBuildResults(results);
+        assertNotSame(dmnModuleCache, dmnTypeServiceImpl.getDMNModuleCache(mock(Path.class)));
+    }
+
+    @Test
+    public void dmnModuleCacheIsDroppedWhenKieContainerIsReplaced() {
+        KieServices kieServices = KieServices.Factory.get();
+        KieFileSystem kfs = kieServices.newKieFileSystem();
+        kfs.write(kieServices.getResources().newClassPathResource("dmn-list.dmn", getClass()));
+        kieServices.newKieBuilder(kfs).buildAll();
+        KieContainer kieContainer = kieServices.newKieContainer(kieServices.getRepository().getDefaultReleaseId());
+        KieContainer newKieContainer = kieServices.newKieContainer(kieServices.getRepository().getDefaultReleaseId());
+        AtomicReference<KieContainer> currentKieContainer = new AtomicReference<>(kieContainer);
+
+        KieModule kieModule = mock(KieModule.class);
+        Path rootPath = mock(Path.class);
+        when(kieModule.getRootPath()).thenReturn(rootPath);
+        when(rootPath.toURI()).thenReturn("default://master@repo/module");
+        dmnTypeServiceImpl = new DMNTypeServiceImpl() {
+            @Override
+            protected KieModule getKieModule(Path path) {
+                return kieModule;
+            }
+
+            @Override
+            protected KieContainer getKieContainer(KieModule module) {
+                return currentKieContainer.get();
+            }
+        };
+
+        DMNTypeServiceImpl.DMNModuleCache dmnModuleCache = dmnTypeServiceImpl.getDMNModuleCache(mock(Path.class));
+        assertSame(dmnModuleCache, dmnTypeServiceImpl.getDMNModuleCache(mock(Path.class)));
+
+        // No build results are observed, but the module now has another KieContainer
+        currentKieContainer.set(newKieContainer);
+        DMNTypeServiceImpl.DMNModuleCache newDMNModuleCache = dmnTypeServiceImpl.getDMNModuleCache(mock(Path.class));
+        assertNotSame(dmnModuleCache, newDMNModuleCache);
+        assertSame(newKieContainer, newDMNModuleCache.kieContainer);
+        assertSame(newDMNModuleCache, dmnTypeServiceImpl.getDMNModuleCache(mock(Path.class)));
+    }
+
+    @Test
+    public void retrieveFactModelTupleReturnsCopies() {
+        setDmnModelLocal("dmn-list.dmn", "https://github.com/kiegroup/drools/kie-dmn/_CC8924B0-D729-4D70-9588-039B5824FFE9", "dmn-list");
+        FactModelTuple factModelTuple = dmnTypeServiceImpl.retrieveFactModelTuple(mock(Path.class), null);
+        String factName = factModelTuple.getVisibleFacts().firstKey();
+        factModelTuple.getVisibleFacts().get(factName).addSimpleProperty("altered", String.class.getName());
+        factModelTuple.getHiddenFacts().clear();
+        factModelTuple.addMultipleNestedObjectError("altered");
+
+        FactModelTuple retrieved = dmnTypeServiceImpl.retrieveFactModelTuple(mock(Path.class), null);
+        assertNotSame(factModelTuple, retrieved);
+        assertFalse(retrieved.getVisibleFacts().get(factName).getSimpleProperties().containsKey("altered"));
+        assertFalse(retrieved.getHiddenFacts().isEmpty());
+        assertTrue(retrieved.getMultipleNestedObjectError().isEmpty());
+    }
 
     @Test
     public void createTopLevelFactModelTreeSimpleNoCollection() throws WrongDMNTypeException {
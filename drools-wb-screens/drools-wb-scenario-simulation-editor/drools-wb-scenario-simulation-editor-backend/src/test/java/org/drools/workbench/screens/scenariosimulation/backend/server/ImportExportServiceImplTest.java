@@ -16,9 +16,12 @@
 package org.drools.workbench.screens.scenariosimulation.backend.server;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.drools.scenariosimulation.api.model.Simulation;
 import org.drools.workbench.screens.scenariosimulation.backend.server.importexport.ScenarioCsvImportExport;
+import org.drools.workbench.screens.scenariosimulation.model.ScenarioRunMetrics;
 import org.drools.workbench.screens.scenariosimulation.service.ImportExportType;
 import org.guvnor.common.services.shared.exceptions.GenericPortableException;
 import org.junit.Before;
@@ -77,4 +80,16 @@ public class ImportExportServiceImplTest {
                 .importSimulation(ImportExportType.CSV, raw, simulationMock))
                 .isInstanceOf(GenericPortableException.class);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void exportScenarioRunMetrics() throws IOException {
+        List<ScenarioRunMetrics> scenarioRunMetrics = new ArrayList<>();
+        importExportService.exportScenarioRunMetrics(ImportExportType.CSV, scenarioRunMetrics);
+        verify(scenarioCsvImportExportMock, times(1)).exportScenarioRunMetrics(eq(scenarioRunMetrics));
+
+        when(scenarioCsvImportExportMock.exportScenarioRunMetrics(any())).thenThrow(new IllegalStateException());
+        assertThatThrownBy(() -> importExportService
+                .exportScenarioRunMetrics(ImportExportType.CSV, scenarioRunMetrics))
+                .isInstanceOf(GenericPortableException.class);
+    }
+}
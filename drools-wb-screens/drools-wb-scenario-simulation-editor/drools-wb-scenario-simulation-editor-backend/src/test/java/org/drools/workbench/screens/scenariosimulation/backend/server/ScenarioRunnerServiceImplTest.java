@@ -16,29 +16,46 @@
 package org.drools.workbench.screens.scenariosimulation.backend.server;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
+import org.drools.scenariosimulation.api.model.ExpressionIdentifier;
+import org.drools.scenariosimulation.api.model.FactIdentifier;
+import org.drools.scenariosimulation.api.model.FactMapping;
+import org.drools.scenariosimulation.api.model.FactMappingType;
 import org.drools.scenariosimulation.api.model.Scenario;
 import org.drools.scenariosimulation.api.model.ScenarioSimulationModel;
 import org.drools.scenariosimulation.api.model.ScenarioWithIndex;
 import org.drools.scenariosimulation.api.model.Simulation;
 import org.drools.scenariosimulation.api.model.SimulationDescriptor;
+import org.drools.scenariosimulation.api.model.SimulationRunMetadata;
 import org.drools.scenariosimulation.backend.runner.AbstractScenarioRunner;
 import org.drools.scenariosimulation.backend.runner.RuleScenarioRunner;
 import org.drools.scenariosimulation.backend.runner.ScenarioException;
 import org.drools.scenariosimulation.backend.runner.model.ScenarioRunnerData;
+import org.drools.workbench.screens.scenariosimulation.model.BenchmarkMetrics;
+import org.drools.workbench.screens.scenariosimulation.model.ScenarioRunMetrics;
+import org.drools.workbench.screens.scenariosimulation.model.SimulationBenchmarkResult;
 import org.drools.workbench.screens.scenariosimulation.model.SimulationRunResult;
+import org.guvnor.common.services.project.builder.model.BuildResults;
+import org.guvnor.common.services.project.builder.model.IncrementalBuildResults;
 import org.guvnor.common.services.shared.test.TestResultMessage;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.kie.api.KieServices;
+import org.kie.api.builder.KieFileSystem;
 import org.kie.api.runtime.KieContainer;
 import org.kie.workbench.common.services.backend.builder.service.BuildInfo;
 import org.kie.workbench.common.services.backend.builder.service.BuildInfoService;
 import org.kie.workbench.common.services.backend.project.ModuleClassLoaderHelper;
+import org.kie.workbench.common.services.shared.project.KieModule;
 import org.kie.workbench.common.services.shared.project.KieModuleService;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -52,6 +69,9 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -96,6 +116,380 @@ public class ScenarioRunnerServiceImplTest {
         assertEquals(1, testResultMessages.size());
     }
 
+    @Test
+    public void runAllTestsInitializesDMNNameAndNamespace() throws Exception {
+        KieServices kieServices = KieServices.Factory.get();
+        KieFileSystem kfs = kieServices.newKieFileSystem();
+        kfs.write(kieServices.getResources().newClassPathResource("dmn-list.dmn", getClass()));
+        kieServices.newKieBuilder(kfs).buildAll();
+        when(buildInfoMock.getKieContainer()).thenReturn(kieServices.newKieContainer(kieServices.getRepository().getDefaultReleaseId()));
+
+        Map<Path, ScenarioSimulationModel> scenarioSimulationMap = new LinkedHashMap<>();
+        ScenarioSimulationModel dmnModel1 = makeDMNScenarioSimulationModel(false, "src/main/resources/org/drools/workbench/screens/scenariosimulation/backend/server/dmn-list.dmn");
+        scenarioSimulationMap.put(mock(Path.class), dmnModel1);
+        ScenarioSimulationModel dmnModel2 = makeDMNScenarioSimulationModel(false, "src/main/resources/org/drools/workbench/screens/scenariosimulation/backend/server/dmn-list.dmn");
+        scenarioSimulationMap.put(mock(Path.class), dmnModel2);
+        ScenarioSimulationModel missingDmnModel = makeDMNScenarioSimulationModel(false, "src/main/resources/missing.dmn");
+        scenarioSimulationMap.put(mock(Path.class), missingDmnModel);
+        ScenarioSimulationModel skippedDmnModel = makeDMNScenarioSimulationModel(true, "src/main/resources/org/drools/workbench/screens/scenariosimulation/backend/server/dmn-list.dmn");
+        scenarioSimulationMap.put(mock(Path.class), skippedDmnModel);
+
+        scenarioRunnerService.setRunnerSupplier(
+                (kieContainer, simulationDescriptor, scenarios) ->
+                        new RuleScenarioRunner(kieContainer, simulationDescriptor, scenarios, ""));
+        when(scenarioLoaderMock.loadScenarios(any())).thenReturn(scenarioSimulationMap);
+        try {
+            List<TestResultMessage> testResultMessages = scenarioRunnerService.runAllTests("test", mock(Path.class));
+
+            assertEquals(3, testResultMessages.size());
+            for (ScenarioSimulationModel model : Arrays.asList(dmnModel1, dmnModel2)) {
+                assertEquals("dmn-list", model.getSimulation().getSimulationDescriptor().getDmnName());
+                assertEquals("https://github.com/kiegroup/drools/kie-dmn/_CC8924B0-D729-4D70-9588-039B5824FFE9",
+                             model.getSimulation().getSimulationDescriptor().getDmnNamespace());
+            }
+            // the simulation is run with the name and namespace it was saved with
+            assertEquals("saved", missingDmnModel.getSimulation().getSimulationDescriptor().getDmnName());
+            assertEquals("saved", skippedDmnModel.getSimulation().getSimulationDescriptor().getDmnName());
+            // the module and its KieContainer are resolved once for all the simulations
+            verify(buildInfoServiceMock, times(1)).getBuildInfo(any());
+        } finally {
+            scenarioRunnerService.destroy();
+        }
+    }
+
+    @Test
+    public void runAllTestsInParallel() throws Exception {
+        Map<Path, ScenarioSimulationModel> scenarioSimulationMap = new LinkedHashMap<>();
+        for (int scenarioCount = 1; scenarioCount <= 5; scenarioCount++) {
+            ScenarioSimulationModel scenarioSimulationModel = makeScenarioSimulationModel(false);
+            for (int i = 0; i < scenarioCount; i++) {
+                scenarioSimulationModel.getSimulation().addScenario();
+            }
+            scenarioSimulationMap.put(mock(Path.class), scenarioSimulationModel);
+        }
+
+        List<AbstractScenarioRunner> runners = Collections.synchronizedList(new ArrayList<>());
+        scenarioRunnerService.setThreads(3);
+        scenarioRunnerService.setRunnerSupplier(
+                (kieContainer, simulationDescriptor, scenarios) -> {
+                    AbstractScenarioRunner runner = new RuleScenarioRunner(kieContainer, simulationDescriptor, scenarios, "") {
+
+                        @Override
+                        protected void internalRunScenario(ScenarioWithIndex scenarioWithIndex, ScenarioRunnerData scenarioRunnerData) {
+                        }
+                    };
+                    runners.add(runner);
+                    return runner;
+                });
+
+        when(scenarioLoaderMock.loadScenarios(any())).thenReturn(scenarioSimulationMap);
+        try {
+            List<TestResultMessage> testResultMessages = scenarioRunnerService.runAllTests("test", mock(Path.class));
+
+            //Results are in the order of the files, whichever finished first
+            assertEquals(5, testResultMessages.size());
+            for (int i = 0; i < testResultMessages.size(); i++) {
+                assertEquals(i + 1, testResultMessages.get(i).getRunCount());
+                assertTrue(testResultMessages.get(i).getFailures().isEmpty());
+            }
+            assertEquals(5, runners.size());
+            verify(buildInfoServiceMock, times(1)).getBuildInfo(any());
+        } finally {
+            scenarioRunnerService.destroy();
+        }
+    }
+
+    @Test
+    public void runTestInBatches() throws Exception {
+        Simulation simulation = new Simulation();
+        simulation.getSimulationDescriptor().setType(Type.RULE);
+        for (int i = 0; i < 10; i++) {
+            simulation.addScenario();
+            simulation.getScenarioByIndex(i).setDescription("Scenario " + i);
+        }
+        String errorMessage = "Test Error";
+
+        List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        scenarioRunnerService.setThreads(3);
+        scenarioRunnerService.setRowsPerBatch(2);
+        scenarioRunnerService.setRunnerSupplier(
+                (kieContainer, simulationDescriptor, scenarios) -> {
+                    batchSizes.add(scenarios.size());
+                    return new RuleScenarioRunner(kieContainer, simulationDescriptor, scenarios, "") {
+
+                        @Override
+                        protected void internalRunScenario(ScenarioWithIndex scenarioWithIndex, ScenarioRunnerData scenarioRunnerData) {
+                            if (scenarioWithIndex.getIndex() % 5 == 0) {
+                                throw new ScenarioException(errorMessage);
+                            }
+                        }
+                    };
+                });
+        try {
+            SimulationRunResult test = scenarioRunnerService.runTest("test",
+                                                                     mock(Path.class),
+                                                                     simulation.getSimulationDescriptor(),
+                                                                     simulation.getScenarioWithIndex());
+
+            //10 rows on 3 threads are run as batches of 4, 4 and 2 rows
+            assertEquals(3, batchSizes.size());
+            assertEquals(10, batchSizes.stream().mapToInt(Integer::intValue).sum());
+            assertEquals(10, test.getScenarioWithIndex().size());
+            assertNotNull(test.getSimulationRunMetadata());
+
+            TestResultMessage value = test.getTestResultMessage();
+            assertEquals(10, value.getRunCount());
+            assertEquals(2, value.getFailures().size());
+            assertTrue(value.getFailures().get(0).getDisplayName().startsWith("#5: Scenario 4"));
+            assertTrue(value.getFailures().get(1).getDisplayName().startsWith("#10: Scenario 9"));
+
+            //Measures of the rows are in the order of the rows, whichever batch finished first
+            assertEquals(10, test.getScenarioRunMetrics().size());
+            for (int i = 0; i < 10; i++) {
+                assertEquals(i + 1, test.getScenarioRunMetrics().get(i).getIndex());
+            }
+        } finally {
+            scenarioRunnerService.destroy();
+        }
+    }
+
+    @Test
+    public void runTestReusesResultsOfUnchangedRows() throws Exception {
+        KieModule kieModuleMock = mock(KieModule.class);
+        Path rootPathMock = mock(Path.class);
+        when(moduleServiceMock.resolveModule(any())).thenReturn(kieModuleMock);
+        when(kieModuleMock.getRootPath()).thenReturn(rootPathMock);
+        when(rootPathMock.toURI()).thenReturn("default://master@repo/module");
+        Path pathMock = mock(Path.class);
+        when(pathMock.toURI()).thenReturn("default://master@repo/module/src/test/resources/test.scesim");
+
+        Simulation simulation = new Simulation();
+        simulation.getSimulationDescriptor().setType(Type.RULE);
+        FactIdentifier factIdentifier = FactIdentifier.create("Fact", String.class.getCanonicalName());
+        ExpressionIdentifier expressionIdentifier = ExpressionIdentifier.create("value", FactMappingType.GIVEN);
+        FactMapping factMapping = simulation.getSimulationDescriptor().addFactMapping(factIdentifier, expressionIdentifier);
+        for (int i = 0; i < 3; i++) {
+            simulation.addScenario().addMappingValue(factIdentifier, expressionIdentifier, "value " + i);
+            simulation.getScenarioByIndex(i).setDescription("Scenario " + i);
+        }
+
+        List<List<ScenarioWithIndex>> runRows = new ArrayList<>();
+        scenarioRunnerService.setResultCacheMaxRows(10);
+        scenarioRunnerService.setRunnerSupplier(
+                (kieContainer, simulationDescriptor, scenarios) -> {
+                    runRows.add(new ArrayList<>(scenarios));
+                    return new RuleScenarioRunner(kieContainer, simulationDescriptor, scenarios, "") {
+
+                        @Override
+                        protected void internalRunScenario(ScenarioWithIndex scenarioWithIndex, ScenarioRunnerData scenarioRunnerData) {
+                            if (scenarioWithIndex.getIndex() == 1) {
+                                throw new ScenarioException("Test Error");
+                            }
+                        }
+                    };
+                });
+
+        scenarioRunnerService.runTest("test", pathMock, simulation.getSimulationDescriptor(), simulation.getScenarioWithIndex());
+        assertEquals(1, runRows.size());
+
+        //Unchanged rows are not run again, and their failures are reported as before
+        SimulationRunResult cached = scenarioRunnerService.runTest("test", pathMock, simulation.getSimulationDescriptor(), simulation.getScenarioWithIndex());
+        assertEquals(1, runRows.size());
+        assertEquals(3, cached.getScenarioWithIndex().size());
+        assertEquals(3, cached.getTestResultMessage().getRunCount());
+        assertEquals(1, cached.getTestResultMessage().getFailures().size());
+        assertTrue(cached.getTestResultMessage().getFailures().get(0).getDisplayName().startsWith("#1: Scenario 0"));
+        assertEquals(3, cached.getScenarioRunMetrics().size());
+        assertEquals(1, cached.getScenarioRunMetrics().get(0).getFactsInserted());
+
+        //Only the changed row is run
+        simulation.getScenarioByIndex(2).getFactMappingValue(factMapping).get().setRawValue("changed");
+        SimulationRunResult changed = scenarioRunnerService.runTest("test", pathMock, simulation.getSimulationDescriptor(), simulation.getScenarioWithIndex());
+        assertEquals(2, runRows.size());
+        assertEquals(1, runRows.get(1).size());
+        assertEquals(3, runRows.get(1).get(0).getIndex());
+        assertEquals(3, changed.getTestResultMessage().getRunCount());
+        assertEquals(1, changed.getTestResultMessage().getFailures().size());
+
+        //A copy of the simulation in another file does not share its outcomes
+        Path copyPathMock = mock(Path.class);
+        when(copyPathMock.toURI()).thenReturn("default://master@repo/module/src/test/resources/copy.scesim");
+        scenarioRunnerService.runTest("test", copyPathMock, simulation.getSimulationDescriptor(), simulation.getScenarioWithIndex());
+        assertEquals(3, runRows.size());
+        assertEquals(3, runRows.get(2).size());
+
+        //A build of another module is ignored
+        BuildResults otherResults = new BuildResults();
+        otherResults.setRootPathURI("default://master@repo/other");
+        scenarioRunnerService.onBuildResults(otherResults);
+        scenarioRunnerService.runTest("test", pathMock, simulation.getSimulationDescriptor(), simulation.getScenarioWithIndex());
+        assertEquals(3, runRows.size());
+
+        //Every row of a rebuilt module is run again
+        IncrementalBuildResults results = new IncrementalBuildResults();
+        results.setRootPathURI("default://master@repo/module");
+        scenarioRunnerService.onIncrementalBuildResults(results);
+        scenarioRunnerService.runTest("test", pathMock, simulation.getSimulationDescriptor(), simulation.getScenarioWithIndex());
+        assertEquals(4, runRows.size());
+        assertEquals(3, runRows.get(3).size());
+
+        BuildResults buildResults = new BuildResults();
+        buildResults.setRootPathURI("default://master@repo/module");
+        scenarioRunnerService.onBuildResults(buildResults);
+        scenarioRunnerService.runTest("test", pathMock, simulation.getSimulationDescriptor(), simulation.getScenarioWithIndex());
+        assertEquals(5, runRows.size());
+        assertEquals(3, runRows.get(4).size());
+
+        //A module rebuilt without an event, such as by a build of a dependency, has a new KieContainer
+        when(buildInfoMock.getKieContainer()).thenReturn(mock(KieContainer.class));
+        scenarioRunnerService.runTest("test", pathMock, simulation.getSimulationDescriptor(), simulation.getScenarioWithIndex());
+        assertEquals(6, runRows.size());
+        assertEquals(3, runRows.get(5).size());
+    }
+
+    @Test
+    public void getScenarioRunMetrics() {
+        FactIdentifier factIdentifier = FactIdentifier.create("Fact", String.class.getCanonicalName());
+        Scenario scenario = new Scenario();
+        scenario.addMappingValue(factIdentifier, ExpressionIdentifier.create("value", FactMappingType.GIVEN), "value");
+        scenario.addMappingValue(factIdentifier, ExpressionIdentifier.create("other", FactMappingType.GIVEN), "other");
+        scenario.addMappingValue(FactIdentifier.create("Empty", String.class.getCanonicalName()), ExpressionIdentifier.create("value", FactMappingType.GIVEN), null);
+        scenario.addMappingValue(factIdentifier, ExpressionIdentifier.create("result", FactMappingType.EXPECT), "result");
+        ScenarioWithIndex run = new ScenarioWithIndex(1, scenario);
+        ScenarioWithIndex notRun = new ScenarioWithIndex(2, new Scenario());
+        Map<ScenarioWithIndex, List<String>> scenarioCounter = new HashMap<>();
+        scenarioCounter.put(run, Arrays.asList("d1", "d2"));
+        SimulationRunMetadata simulationRunMetadata = new SimulationRunMetadata(2, 2, new HashMap<>(), scenarioCounter);
+        SimulationDescriptor simulationDescriptor = new SimulationDescriptor();
+        simulationDescriptor.setType(Type.DMN);
+
+        List<ScenarioRunMetrics> scenarioRunMetrics = ScenarioRunnerServiceImpl.getScenarioRunMetrics(simulationDescriptor,
+                                                                                                      Arrays.asList(run, notRun),
+                                                                                                      simulationRunMetadata,
+                                                                                                      Collections.singletonMap(1, TimeUnit.MILLISECONDS.toNanos(7)));
+
+        assertEquals(1, scenarioRunMetrics.size());
+        assertEquals(1, scenarioRunMetrics.get(0).getIndex());
+        assertEquals(7L, scenarioRunMetrics.get(0).getRunTime());
+        assertEquals(1, scenarioRunMetrics.get(0).getFactsInserted());
+        assertEquals(0, scenarioRunMetrics.get(0).getRulesFired());
+        assertEquals(2, scenarioRunMetrics.get(0).getDecisionsEvaluated());
+    }
+
+    @Test
+    public void runBenchmark() throws Exception {
+        Simulation simulation = new Simulation();
+        simulation.getSimulationDescriptor().setType(Type.RULE);
+        for (int i = 0; i < 3; i++) {
+            simulation.addScenario();
+            simulation.getScenarioByIndex(i).setDescription("Scenario " + i);
+        }
+
+        List<List<ScenarioWithIndex>> runScenarios = Collections.synchronizedList(new ArrayList<>());
+        scenarioRunnerService.setRunnerSupplier(
+                (kieContainer, simulationDescriptor, scenarios) -> {
+                    runScenarios.add(scenarios);
+                    return new RuleScenarioRunner(kieContainer, simulationDescriptor, scenarios, "") {
+
+                        @Override
+                        protected void internalRunScenario(ScenarioWithIndex scenarioWithIndex, ScenarioRunnerData scenarioRunnerData) {
+                            if (scenarioWithIndex.getIndex() == 3) {
+                                throw new ScenarioException("Test Error");
+                            }
+                        }
+                    };
+                });
+
+        SimulationBenchmarkResult result = scenarioRunnerService.runBenchmark("test",
+                                                                              mock(Path.class),
+                                                                              simulation.getSimulationDescriptor(),
+                                                                              simulation.getScenarioWithIndex(),
+                                                                              10,
+                                                                              2,
+                                                                              3);
+
+        assertEquals(12, runScenarios.size());
+        //Every iteration runs its own copy of the scenarios
+        assertTrue(runScenarios.stream().noneMatch(scenarios -> scenarios.get(0) == simulation.getScenarioWithIndex().get(0)));
+        assertEquals(10, result.getIterations());
+        assertEquals(2, result.getWarmUpRounds());
+        assertEquals(3, result.getThreads());
+        assertEquals(10, result.getFailedIterations());
+        assertEquals(10, result.getSimulationMetrics().getExecutions());
+        assertEquals(3, result.getScenarioMetrics().size());
+        assertEquals(10, result.getScenarioMetrics().get(1).getExecutions());
+        assertTrue(result.getSimulationMetrics().getP50() <= result.getSimulationMetrics().getP99());
+
+        assertThatThrownBy(() -> scenarioRunnerService.runBenchmark("test",
+                                                                    mock(Path.class),
+                                                                    simulation.getSimulationDescriptor(),
+                                                                    simulation.getScenarioWithIndex(),
+                                                                    0,
+                                                                    0,
+                                                                    1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void runBenchmarkRejectsMoreThanTheLimits() {
+        Simulation simulation = new Simulation();
+        simulation.getSimulationDescriptor().setType(Type.RULE);
+        scenarioRunnerService.setBenchmarkMaxThreads(4);
+        scenarioRunnerService.setBenchmarkMaxIterations(100);
+
+        assertThatThrownBy(() -> scenarioRunnerService.runBenchmark("test", mock(Path.class), simulation.getSimulationDescriptor(), simulation.getScenarioWithIndex(), 10, 0, 5))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> scenarioRunnerService.runBenchmark("test", mock(Path.class), simulation.getSimulationDescriptor(), simulation.getScenarioWithIndex(), 101, 0, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> scenarioRunnerService.runBenchmark("test", mock(Path.class), simulation.getSimulationDescriptor(), simulation.getScenarioWithIndex(), 10, 101, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(buildInfoServiceMock, never()).getBuildInfo(any());
+
+        SimulationBenchmarkResult result = scenarioRunnerService.runBenchmark("test", mock(Path.class), simulation.getSimulationDescriptor(), simulation.getScenarioWithIndex(), 100, 0, 4);
+        assertEquals(100, result.getIterations());
+        assertEquals(4, result.getThreads());
+    }
+
+    @Test
+    public void getBenchmarkMetrics() {
+        List<Long> latencies = new ArrayList<>();
+        for (long i = 100; i > 0; i--) {
+            latencies.add(TimeUnit.MILLISECONDS.toNanos(i));
+        }
+
+        BenchmarkMetrics benchmarkMetrics = ScenarioRunnerServiceImpl.getBenchmarkMetrics(latencies, 5.0);
+
+        assertEquals(100, benchmarkMetrics.getExecutions());
+        assertEquals(5.0, benchmarkMetrics.getThroughput(), 0.0);
+        assertEquals(50.0, benchmarkMetrics.getP50(), 0.0);
+        assertEquals(95.0, benchmarkMetrics.getP95(), 0.0);
+        assertEquals(99.0, benchmarkMetrics.getP99(), 0.0);
+        assertEquals(0.0, ScenarioRunnerServiceImpl.getBenchmarkMetrics(new ArrayList<>(), 0).getP99(), 0.0);
+    }
+
+    @Test
+    public void mergeSimulationRunMetadata() {
+        Map<String, Integer> outputCounter1 = new HashMap<>();
+        outputCounter1.put("d1", 1);
+        outputCounter1.put("d2", 2);
+        Map<ScenarioWithIndex, List<String>> scenarioCounter1 = new HashMap<>();
+        scenarioCounter1.put(new ScenarioWithIndex(1, new Scenario()), Collections.singletonList("d1"));
+        Map<String, Integer> outputCounter2 = new HashMap<>();
+        outputCounter2.put("d2", 3);
+        outputCounter2.put("d3", 1);
+        Map<ScenarioWithIndex, List<String>> scenarioCounter2 = new HashMap<>();
+        scenarioCounter2.put(new ScenarioWithIndex(2, new Scenario()), Collections.singletonList("d2"));
+
+        SimulationRunMetadata merged = ScenarioRunnerServiceImpl.mergeSimulationRunMetadata(
+                Arrays.asList(new SimulationRunMetadata(4, 2, outputCounter1, scenarioCounter1),
+                              new SimulationRunMetadata(4, 2, outputCounter2, scenarioCounter2)));
+
+        assertEquals(4, merged.getAvailable());
+        assertEquals(3, merged.getExecuted());
+        assertEquals(Integer.valueOf(5), merged.getOutputCounter().get("d2"));
+        assertEquals(2, merged.getScenarioCounter().size());
+    }
+
     @Test
     public void runTest() throws Exception {
         Simulation simulation = new Simulation();
@@ -172,6 +566,10 @@ public class ScenarioRunnerServiceImplTest {
         assertEquals(errorMessageFormatted, failure.getMessage());
         assertEquals(1, value.getRunCount());
         assertTrue(failure.getDisplayName().startsWith(testDescription));
+
+        assertEquals(1, test.getScenarioRunMetrics().size());
+        assertEquals(1, test.getScenarioRunMetrics().get(0).getIndex());
+        assertTrue(test.getScenarioRunMetrics().get(0).getRunTime() >= 0);
     }
 
     @Test
@@ -184,6 +582,14 @@ public class ScenarioRunnerServiceImplTest {
                                     "project and build the project again.");
     }
 
+    private ScenarioSimulationModel makeDMNScenarioSimulationModel(boolean toSkip, String dmnFilePath) {
+        ScenarioSimulationModel scenarioSimulationModel = makeScenarioSimulationModel(toSkip);
+        scenarioSimulationModel.getSimulation().getSimulationDescriptor().setType(Type.DMN);
+        scenarioSimulationModel.getSimulation().getSimulationDescriptor().setDmnFilePath(dmnFilePath);
+        scenarioSimulationModel.getSimulation().getSimulationDescriptor().setDmnName("saved");
+        return scenarioSimulationModel;
+    }
+
     private ScenarioSimulationModel makeScenarioSimulationModel(boolean toSkip) {
         Simulation simulation = new Simulation();
         simulation.getSimulationDescriptor().setType(Type.RULE);
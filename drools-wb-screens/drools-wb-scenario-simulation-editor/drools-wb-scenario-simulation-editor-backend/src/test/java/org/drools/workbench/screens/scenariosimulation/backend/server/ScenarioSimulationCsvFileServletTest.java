@@ -0,0 +1,200 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.scenariosimulation.backend.server;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.drools.scenariosimulation.api.model.ExpressionIdentifier;
+import org.drools.scenariosimulation.api.model.FactIdentifier;
+import org.drools.scenariosimulation.api.model.FactMappingType;
+import org.drools.scenariosimulation.api.model.Scenario;
+import org.drools.scenariosimulation.api.model.ScenarioSimulationModel;
+import org.drools.scenariosimulation.api.model.Simulation;
+import org.drools.scenariosimulation.api.model.SimulationDescriptor;
+import org.drools.workbench.screens.scenariosimulation.service.ScenarioSimulationService;
+import org.guvnor.common.services.shared.file.upload.FileManagerFields;
+import org.guvnor.common.services.shared.metadata.MetadataService;
+import org.guvnor.common.services.shared.metadata.model.Metadata;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.backend.vfs.Path;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ScenarioSimulationCsvFileServletTest {
+
+    private static final String URI = "default://master@repo/module/src/test/resources/test.scesim";
+
+    @Mock
+    private ScenarioSimulationService scenarioSimulationServiceMock;
+    @Mock
+    private MetadataService metadataServiceMock;
+    @Mock
+    private Metadata metadataMock;
+    @Mock
+    private Path pathMock;
+    @Mock
+    private HttpServletRequest requestMock;
+    @Mock
+    private HttpServletResponse responseMock;
+
+    @InjectMocks
+    private ScenarioSimulationCsvFileServlet servlet = new ScenarioSimulationCsvFileServlet() {
+        @Override
+        protected Path convertPath(String fullPath) {
+            assertEquals(URI, fullPath);
+            return pathMock;
+        }
+    };
+
+    private ScenarioSimulationModel model;
+
+    @Before
+    public void setup() {
+        model = new ScenarioSimulationModel();
+        model.setSimulation(createSimulation(2));
+        when(pathMock.getFileName()).thenReturn("test.scesim");
+        when(scenarioSimulationServiceMock.load(pathMock)).thenReturn(model);
+        when(metadataServiceMock.getMetadata(pathMock)).thenReturn(metadataMock);
+    }
+
+    @Test
+    public void doGetStreamsCsv() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        when(requestMock.getParameter(FileManagerFields.FORM_FIELD_PATH)).thenReturn(URI);
+        when(responseMock.getOutputStream()).thenReturn(new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+
+            @Override
+            public void write(int b) throws IOException {
+                output.write(b);
+            }
+        });
+
+        servlet.doGet(requestMock, responseMock);
+
+        verify(responseMock).setContentType("text/csv");
+        verify(responseMock).setHeader("Content-Disposition", "attachment; filename=test.csv;");
+        String[] lines = new String(output.toByteArray(), StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(5, lines.length);
+        assertEquals("2,My scenario 1,value_1", lines[4]);
+    }
+
+    @Test
+    public void doUpdateReplacesScenariosAndSaves() {
+        String rawCSV = "OTHER,OTHER,GIVEN\r\n" +
+                "#,Scenario description,instance\r\n" +
+                "Index,Description,property\r\n" +
+                "1,Imported 1,imported_0\r\n" +
+                "2,Imported 2,imported_1\r\n" +
+                "3,Imported 3,imported_2";
+
+        servlet.doUpdate(pathMock,
+                         new ByteArrayInputStream(rawCSV.getBytes(StandardCharsets.UTF_8)),
+                         requestMock,
+                         "comment");
+
+        ArgumentCaptor<ScenarioSimulationModel> modelCaptor = ArgumentCaptor.forClass(ScenarioSimulationModel.class);
+        verify(scenarioSimulationServiceMock).save(eq(pathMock), modelCaptor.capture(), eq(metadataMock), eq("comment"));
+        Simulation simulation = modelCaptor.getValue().getSimulation();
+        assertEquals(3, simulation.getUnmodifiableScenarios().size());
+        assertEquals("Imported 3", simulation.getScenarioByIndex(2).getDescription());
+        assertEquals("imported_2", simulation.getScenarioByIndex(2).getFactMappingValue(simulation.getSimulationDescriptor().getFactMappingByIndex(2)).get().getRawValue());
+    }
+
+    @Test
+    public void doUpdateOfMalformedCsvIsNotSaved() {
+        String rawCSV = "OTHER,OTHER,GIVEN\r\n" +
+                "#,Scenario description,instance\r\n" +
+                "Index,Description,property\r\n" +
+                "1,Imported 1";
+
+        assertThatThrownBy(() -> servlet.doUpdate(pathMock,
+                                                  new ByteArrayInputStream(rawCSV.getBytes(StandardCharsets.UTF_8)),
+                                                  requestMock,
+                                                  "comment"))
+                .isInstanceOf(RuntimeException.class);
+        verify(scenarioSimulationServiceMock, never()).save(any(), any(), any(), any());
+    }
+
+    @Test
+    public void doCreateIsRejected() {
+        assertThatThrownBy(() -> servlet.doCreate(pathMock,
+                                                  new ByteArrayInputStream(new byte[0]),
+                                                  requestMock,
+                                                  "comment"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void getCsvFileName() {
+        Path path = mock(Path.class);
+        when(path.getFileName()).thenReturn("test.scesim");
+        assertEquals("test.csv", ScenarioSimulationCsvFileServlet.getCsvFileName(path));
+        when(path.getFileName()).thenReturn("test");
+        assertEquals("test.csv", ScenarioSimulationCsvFileServlet.getCsvFileName(path));
+    }
+
+    private Simulation createSimulation(int numberOfRow) {
+        Simulation simulation = new Simulation();
+        SimulationDescriptor simulationDescriptor = simulation.getSimulationDescriptor();
+        simulationDescriptor.addFactMapping(FactIdentifier.INDEX, ExpressionIdentifier.INDEX)
+                .setExpressionAlias("Index");
+        simulationDescriptor.addFactMapping(FactIdentifier.DESCRIPTION, ExpressionIdentifier.DESCRIPTION)
+                .setExpressionAlias("Description");
+        FactIdentifier factIdentifier = FactIdentifier.create("instance", String.class.getCanonicalName());
+        ExpressionIdentifier expressionIdentifier = ExpressionIdentifier.create("property", FactMappingType.GIVEN);
+        simulationDescriptor.addFactMapping(factIdentifier, expressionIdentifier)
+                .setExpressionAlias("property");
+
+        for (int row = 0; row < numberOfRow; row += 1) {
+            Scenario scenario = simulation.addScenario();
+            scenario.addMappingValue(FactIdentifier.INDEX, ExpressionIdentifier.INDEX, row + 1);
+            scenario.setDescription("My scenario " + row);
+            scenario.addMappingValue(factIdentifier, expressionIdentifier, "value_" + row);
+        }
+        return simulation;
+    }
+}
@@ -16,6 +16,8 @@
 package org.drools.workbench.screens.scenariosimulation.backend.server.importexport;
 
 import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.util.Arrays;
 import java.util.List;
 
@@ -28,6 +30,7 @@ import org.drools.scenariosimulation.api.model.FactMappingType;
 import org.drools.scenariosimulation.api.model.Scenario;
 import org.drools.scenariosimulation.api.model.Simulation;
 import org.drools.scenariosimulation.api.model.SimulationDescriptor;
+import org.drools.workbench.screens.scenariosimulation.model.ScenarioRunMetrics;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -54,6 +57,18 @@ public class ScenarioCsvImportExportTest {
         scenarioCsvImportExport = new ScenarioCsvImportExport();
     }
 
+    @Test
+    public void exportScenarioRunMetrics() throws IOException {
+        List<ScenarioRunMetrics> scenarioRunMetrics = Arrays.asList(new ScenarioRunMetrics(1, 15L, 2, 3, 0),
+                                                                    new ScenarioRunMetrics(2, 4L, 1, 0, 0));
+        List<String> exportData = Arrays.asList(scenarioCsvImportExport.exportScenarioRunMetrics(scenarioRunMetrics).split("\r\n"));
+
+        assertEquals(3, exportData.size());
+        assertEquals("Index,Run time (ms),Facts inserted,Rules fired,Decisions evaluated", exportData.get(0));
+        assertEquals("1,15,2,3,0", exportData.get(1));
+        assertEquals("2,4,1,0,0", exportData.get(2));
+    }
+
     @Test
     public void exportData() throws IOException {
         int numberOfRow = 2;
@@ -89,6 +104,33 @@ public class ScenarioCsvImportExportTest {
                 .hasMessage("Malformed file, missing header");
     }
 
+    @Test
+    public void exportImportWithWriterAndReader() throws IOException {
+        Simulation originalSimulation = createDummySimulation(3, 50);
+        StringWriter writer = new StringWriter();
+
+        scenarioCsvImportExport.exportData(originalSimulation, writer);
+
+        Simulation simulation = scenarioCsvImportExport.importData(new StringReader(writer.toString()), originalSimulation);
+
+        assertEquals(50, simulation.getUnmodifiableScenarios().size());
+        assertEquals("value_49_2", simulation.getScenarioByIndex(49).getFactMappingValue(simulation.getSimulationDescriptor().getFactMappingByIndex(4)).get().getRawValue());
+        assertEquals("My scenario 49", simulation.getScenarioByIndex(49).getDescription());
+    }
+
+    @Test
+    public void importMalformedRow() {
+        Simulation originalSimulation = createDummySimulation(1, 1);
+        String rawCSV = "OTHER,OTHER,GIVEN\r\n" +
+                "#,Scenario description,instance1\r\n" +
+                "Index,Description,property1\r\n" +
+                "1,My Scenario";
+
+        assertThatThrownBy(() -> scenarioCsvImportExport.importData(new StringReader(rawCSV), originalSimulation))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Malformed row");
+    }
+
     @Test
     public void generateHeader() throws IOException {
         SimulationDescriptor simulationDescriptor = new SimulationDescriptor();
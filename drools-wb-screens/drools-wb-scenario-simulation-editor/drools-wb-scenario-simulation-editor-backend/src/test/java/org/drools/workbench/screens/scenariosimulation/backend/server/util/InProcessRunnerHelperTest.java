@@ -0,0 +1,83 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.scenariosimulation.backend.server.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.guvnor.common.services.shared.test.Failure;
+import org.junit.AssumptionViolatedException;
+import org.junit.Test;
+import org.junit.internal.runners.model.EachTestNotifier;
+import org.junit.runner.Description;
+import org.junit.runner.Runner;
+import org.junit.runner.notification.RunNotifier;
+import org.uberfire.backend.vfs.Path;
+
+import static org.drools.workbench.screens.scenariosimulation.backend.server.util.InProcessRunnerHelper.runInProcess;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class InProcessRunnerHelperTest {
+
+    static Runner scenarioRunner = new Runner() {
+        private final Description desc = Description.createSuiteDescription("Scenario runner");
+
+        @Override
+        public Description getDescription() {
+            return desc;
+        }
+
+        @Override
+        public void run(RunNotifier notifier) {
+            for (int index = 1; index <= 2; index++) {
+                Description childDescription = Description.createTestDescription(getClass(),
+                                                                                 "#" + index + ": Scenario " + index);
+                EachTestNotifier singleNotifier = new EachTestNotifier(notifier, childDescription);
+                singleNotifier.fireTestStarted();
+                if (index == 2) {
+                    singleNotifier.addFailedAssumption(new AssumptionViolatedException("Test detail"));
+                    singleNotifier.addFailure(new IllegalArgumentException("Test"));
+                }
+                singleNotifier.fireTestFinished();
+            }
+        }
+    };
+
+    @Test
+    public void runInProcessTest() {
+        List<Failure> failures = new ArrayList<>();
+        List<Failure> failureDetails = new ArrayList<>();
+        Map<Integer, Long> runTimes = new HashMap<>();
+        Path path = mock(Path.class);
+
+        InProcessRunnerHelper.RunSummary runSummary = runInProcess(path, scenarioRunner, failures, failureDetails, runTimes);
+
+        assertEquals(2, runSummary.getRunCount());
+        assertTrue(runSummary.getRunTime() >= 0);
+        assertEquals(1, failures.size());
+        assertEquals(1, failureDetails.size());
+        assertEquals("Test", failures.get(0).getMessage());
+        assertEquals(path, failures.get(0).getPath());
+        assertEquals(2, runTimes.size());
+        assertTrue(runTimes.containsKey(1));
+        assertTrue(runTimes.containsKey(2));
+    }
+}
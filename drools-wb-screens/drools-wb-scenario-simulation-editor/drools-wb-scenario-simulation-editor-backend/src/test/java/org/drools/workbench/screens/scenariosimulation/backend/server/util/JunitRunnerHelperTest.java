@@ -29,9 +29,11 @@ import org.junit.runner.Runner;
 import org.junit.runner.notification.RunNotifier;
 import org.uberfire.backend.vfs.Path;
 
+import static org.drools.workbench.screens.scenariosimulation.backend.server.util.JunitRunnerHelper.getScenarioIndex;
 import static org.drools.workbench.screens.scenariosimulation.backend.server.util.JunitRunnerHelper.runWithJunit;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.mockito.Mockito.mock;
 
 public class JunitRunnerHelperTest {
@@ -68,4 +70,11 @@ public class JunitRunnerHelperTest {
         assertEquals("Test", failures.get(0).getMessage());
         assertEquals(path, failures.get(0).getPath());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void getScenarioIndexTest() {
+        assertEquals(Integer.valueOf(12), getScenarioIndex("#12: Scenario description"));
+        assertNull(getScenarioIndex("Scenario description #12: "));
+        assertNull(getScenarioIndex(null));
+    }
+}
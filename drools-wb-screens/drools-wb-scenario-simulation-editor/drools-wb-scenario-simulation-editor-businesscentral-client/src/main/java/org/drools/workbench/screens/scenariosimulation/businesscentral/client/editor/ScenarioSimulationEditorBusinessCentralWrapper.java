@@ -23,7 +23,10 @@ import java.util.function.Supplier;
 import javax.enterprise.context.Dependent;
 import javax.inject.Inject;
 
+import com.google.gwt.core.client.GWT;
+import com.google.gwt.http.client.URL;
 import com.google.gwt.user.client.ui.IsWidget;
+import elemental2.dom.DomGlobal;
 import elemental2.promise.Promise;
 import org.drools.scenariosimulation.api.model.ScenarioSimulationModel;
 import org.drools.scenariosimulation.api.model.ScenarioWithIndex;
@@ -35,6 +38,7 @@ import org.drools.workbench.screens.scenariosimulation.client.editor.ScenarioSim
 import org.drools.workbench.screens.scenariosimulation.client.editor.ScenarioSimulationEditorWrapper;
 import org.drools.workbench.screens.scenariosimulation.client.editor.strategies.DataManagementStrategy;
 import org.drools.workbench.screens.scenariosimulation.client.handlers.ScenarioSimulationHasBusyIndicatorDefaultErrorCallback;
+import org.drools.workbench.screens.scenariosimulation.client.popup.FileUploadPopup;
 import org.drools.workbench.screens.scenariosimulation.client.rightpanel.TestToolsPresenter;
 import org.drools.workbench.screens.scenariosimulation.client.type.ScenarioSimulationResourceType;
 import org.drools.workbench.screens.scenariosimulation.model.ScenarioSimulationModelContent;
@@ -42,6 +46,7 @@ import org.drools.workbench.screens.scenariosimulation.model.SimulationRunResult
 import org.drools.workbench.screens.scenariosimulation.service.DMNTypeService;
 import org.drools.workbench.screens.scenariosimulation.service.ImportExportService;
 import org.drools.workbench.screens.scenariosimulation.service.ScenarioSimulationService;
+import org.guvnor.common.services.shared.file.upload.FileManagerFields;
 import org.guvnor.common.services.shared.metadata.model.Metadata;
 import org.jboss.errai.common.client.api.Caller;
 import org.jboss.errai.common.client.api.ErrorCallback;
@@ -66,6 +71,7 @@ import org.uberfire.ext.widgets.common.client.callbacks.HasBusyIndicatorDefaultE
 import org.uberfire.lifecycle.OnClose;
 import org.uberfire.lifecycle.OnMayClose;
 import org.uberfire.lifecycle.OnStartup;
+import org.uberfire.mvp.Command;
 import org.uberfire.mvp.PlaceRequest;
 import org.uberfire.mvp.impl.DefaultPlaceRequest;
 import org.uberfire.workbench.model.menu.Menus;
@@ -80,6 +86,9 @@ import static org.drools.workbench.screens.scenariosimulation.service.ImportExpo
  */
 public class ScenarioSimulationEditorBusinessCentralWrapper extends KieEditor<ScenarioSimulationModel> implements ScenarioSimulationEditorWrapper {
 
+    //Streams the CSV of saved Scenario Simulations, see ScenarioSimulationCsvFileServlet
+    static final String CSV_SERVLET = "scesim/csv";
+
     protected ScenarioSimulationEditorPresenter scenarioSimulationEditorPresenter;
 
     private ImportsWidgetPresenter importsWidget;
@@ -180,6 +189,27 @@ public class ScenarioSimulationEditorBusinessCentralWrapper extends KieEditor<Sc
                 .exportSimulation(CSV, simulation);
     }
 
+    @Override
+    public void onDownloadCsv() {
+        DomGlobal.window.open(getCsvDownloadUrl(versionRecordManager.getCurrentPath()));
+    }
+
+    @Override
+    public void onUploadCsv(FileUploadPopup.Presenter fileUploadPopupPresenter, Command errorCommand) {
+        fileUploadPopupPresenter.upload(getCsvServletUrl(),
+                                        versionRecordManager.getCurrentPath().toURI(),
+                                        this::reload,
+                                        errorCommand);
+    }
+
+    protected String getCsvDownloadUrl(final Path path) {
+        return getCsvServletUrl() + "?" + FileManagerFields.FORM_FIELD_PATH + "=" + URL.encode(path.toURI());
+    }
+
+    protected String getCsvServletUrl() {
+        return GWT.getModuleBaseURL() + CSV_SERVLET;
+    }
+
     @Override
     public void hideDocks() {
         super.hideDocks();
@@ -30,6 +30,7 @@ import org.drools.workbench.screens.scenariosimulation.client.editor.AbstractSce
 import org.drools.workbench.screens.scenariosimulation.client.editor.ScenarioSimulationEditorPresenter;
 import org.drools.workbench.screens.scenariosimulation.client.editor.strategies.DataManagementStrategy;
 import org.drools.workbench.screens.scenariosimulation.client.handlers.ScenarioSimulationHasBusyIndicatorDefaultErrorCallback;
+import org.drools.workbench.screens.scenariosimulation.client.popup.FileUploadPopup;
 import org.drools.workbench.screens.scenariosimulation.client.rightpanel.TestToolsPresenter;
 import org.drools.workbench.screens.scenariosimulation.client.type.ScenarioSimulationResourceType;
 import org.drools.workbench.screens.scenariosimulation.model.SimulationRunResult;
@@ -71,6 +72,7 @@ import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Matchers.isA;
 import static org.mockito.Matchers.same;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
@@ -205,6 +207,18 @@ public class ScenarioSimulationEditorBusinessCentralWrapperTest extends Abstract
         verify(importExportServiceMock, times(1)).exportSimulation(eq(ImportExportType.CSV), eq(simulationMock));
     }
 
+    @Test
+    public void onUploadCsv() {
+        String URI = "default://master@repo/module/src/test/resources/test.scesim";
+        FileUploadPopup.Presenter fileUploadPopupPresenterMock = mock(FileUploadPopup.Presenter.class);
+        Command errorCommandMock = mock(Command.class);
+        when(versionRecordManagerMock.getCurrentPath()).thenReturn(observablePathMock);
+        when(observablePathMock.toURI()).thenReturn(URI);
+        doReturn("scesim/csv").when(scenarioSimulationEditorBusinessClientWrapper).getCsvServletUrl();
+        scenarioSimulationEditorBusinessClientWrapper.onUploadCsv(fileUploadPopupPresenterMock, errorCommandMock);
+        verify(fileUploadPopupPresenterMock, times(1)).upload(eq("scesim/csv"), eq(URI), any(Command.class), eq(errorCommandMock));
+    }
+
     @Test
     public void hideDocks() {
         scenarioSimulationEditorBusinessClientWrapper.hideDocks();
@@ -279,6 +279,11 @@ public class ScenarioSimulationEventHandler implements AppendColumnEventHandler,
     @Override
     public void onEvent(ImportEvent event) {
         org.uberfire.mvp.Command okImportCommand = () -> {
+            //Without unsaved changes to import it into, the CSV is uploaded to replace the saved scenarios
+            if (!context.getScenarioSimulationEditorPresenter().isDirty()) {
+                context.getScenarioSimulationEditorPresenter().onUploadCsv(fileUploadPopupPresenter);
+                return;
+            }
             ImportCommand importCommand = new ImportCommand();
             importCommand.setFileContent(fileUploadPopupPresenter.getFileContents());
             commonExecution(context,
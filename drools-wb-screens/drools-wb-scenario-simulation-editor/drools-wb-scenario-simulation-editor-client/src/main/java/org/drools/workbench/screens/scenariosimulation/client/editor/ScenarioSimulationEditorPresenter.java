@@ -48,6 +48,7 @@ import org.drools.workbench.screens.scenariosimulation.client.handlers.ScenarioS
 import org.drools.workbench.screens.scenariosimulation.client.handlers.ScenarioSimulationHasBusyIndicatorDefaultErrorCallback;
 import org.drools.workbench.screens.scenariosimulation.client.popup.ConfirmPopupPresenter;
 import org.drools.workbench.screens.scenariosimulation.client.popup.CustomBusyPopup;
+import org.drools.workbench.screens.scenariosimulation.client.popup.FileUploadPopup;
 import org.drools.workbench.screens.scenariosimulation.client.producers.ScenarioSimulationProducer;
 import org.drools.workbench.screens.scenariosimulation.client.resources.i18n.ScenarioSimulationEditorConstants;
 import org.drools.workbench.screens.scenariosimulation.client.rightpanel.CheatSheetPresenter;
@@ -259,6 +260,16 @@ public class ScenarioSimulationEditorPresenter {
         scenarioSimulationEditorWrapper.onImport(fileContents, getImportCallBack(), getImportErrorCallback(), context.getStatus().getSimulation());
     }
 
+    /**
+     * Replaces the saved scenarios with those of the CSV chosen in the given popup; it is uploaded rather than read
+     * into a String, so it is only used when there are no unsaved changes to import it into.
+     * @param fileUploadPopupPresenter
+     */
+    public void onUploadCsv(FileUploadPopup.Presenter fileUploadPopupPresenter) {
+        view.showBusyIndicator(ScenarioSimulationEditorConstants.INSTANCE.importing());
+        scenarioSimulationEditorWrapper.onUploadCsv(fileUploadPopupPresenter, getUploadCsvErrorCommand());
+    }
+
     public EventBus getEventBus() {
         return eventBus;
     }
@@ -325,6 +336,14 @@ public class ScenarioSimulationEditorPresenter {
         placeManager.getOnOpenCallbacks(new DefaultPlaceRequest(TestToolsPresenter.IDENTIFIER)).remove(populateTestToolsCommand);
     }
 
+    protected Command getUploadCsvErrorCommand() {
+        return () -> {
+            view.hideBusyIndicator();
+            confirmPopupPresenter.show(ScenarioSimulationEditorConstants.INSTANCE.importErrorTitle(),
+                                       ScenarioSimulationEditorConstants.INSTANCE.importFailedMessage());
+        };
+    }
+
     protected ErrorCallback<Object> getImportErrorCallback() {
         return (error, exception) -> {
             confirmPopupPresenter.show(ScenarioSimulationEditorConstants.INSTANCE.importErrorTitle(),
@@ -384,7 +403,14 @@ public class ScenarioSimulationEditorPresenter {
         eventBus.fireEvent(new ImportEvent());
     }
 
+    /**
+     * Unsaved changes are exported by the editor; otherwise the CSV of the saved file is streamed
+     */
     protected void onExportToCsv() {
+        if (!isDirty()) {
+            scenarioSimulationEditorWrapper.onDownloadCsv();
+            return;
+        }
         scenarioSimulationEditorWrapper.onExportToCsv(getExportCallBack(), new ScenarioSimulationHasBusyIndicatorDefaultErrorCallback(view), context.getStatus().getSimulation());
     }
 
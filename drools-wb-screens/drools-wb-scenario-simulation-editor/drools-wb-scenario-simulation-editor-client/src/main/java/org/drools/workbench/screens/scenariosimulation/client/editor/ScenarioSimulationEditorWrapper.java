@@ -22,9 +22,11 @@ import org.drools.scenariosimulation.api.model.ScenarioWithIndex;
 import org.drools.scenariosimulation.api.model.Simulation;
 import org.drools.scenariosimulation.api.model.SimulationDescriptor;
 import org.drools.workbench.screens.scenariosimulation.client.handlers.ScenarioSimulationHasBusyIndicatorDefaultErrorCallback;
+import org.drools.workbench.screens.scenariosimulation.client.popup.FileUploadPopup;
 import org.drools.workbench.screens.scenariosimulation.model.SimulationRunResult;
 import org.jboss.errai.common.client.api.ErrorCallback;
 import org.jboss.errai.common.client.api.RemoteCallback;
+import org.uberfire.mvp.Command;
 
 public interface ScenarioSimulationEditorWrapper {
 
@@ -39,4 +41,17 @@ public interface ScenarioSimulationEditorWrapper {
     void onImport(String fileContents, RemoteCallback<Simulation> importCallBack, ErrorCallback<Object> importErrorCallback, Simulation simulation);
 
     void onExportToCsv(RemoteCallback<Object> exportCallBack, ScenarioSimulationHasBusyIndicatorDefaultErrorCallback scenarioSimulationHasBusyIndicatorDefaultErrorCallback, Simulation simulation);
+
+    /**
+     * Downloads the CSV of the saved Scenario Simulation, which is streamed rather than returned as a String
+     */
+    void onDownloadCsv();
+
+    /**
+     * Replaces the scenarios of the saved Scenario Simulation with those of the CSV chosen in the given popup, which is
+     * uploaded rather than read into a String, and reloads it
+     * @param fileUploadPopupPresenter
+     * @param errorCommand
+     */
+    void onUploadCsv(FileUploadPopup.Presenter fileUploadPopupPresenter, Command errorCommand);
 }
@@ -38,6 +38,19 @@ public interface FileUploadPopup extends AbstractScenarioPopup {
                   final Command okCommand);
 
         String getFileContents();
+
+        /**
+         * Uploads the chosen file, as it is read by the browser rather than as a String
+         *
+         * @param url
+         * @param path URI of the file to be replaced by the upload
+         * @param successCommand
+         * @param errorCommand
+         */
+        void upload(final String url,
+                    final String path,
+                    final Command successCommand,
+                    final Command errorCommand);
     }
 
     HTMLElement getElement();
@@ -46,6 +59,11 @@ public interface FileUploadPopup extends AbstractScenarioPopup {
 
     void setAcceptedExtension(List<String> acceptedExtension);
 
+    void upload(final String url,
+                final String path,
+                final Command successCommand,
+                final Command errorCommand);
+
     /**
      * Makes this popup container(and the main content along with it) invisible. Has no effect if the popup is not
      * already showing.
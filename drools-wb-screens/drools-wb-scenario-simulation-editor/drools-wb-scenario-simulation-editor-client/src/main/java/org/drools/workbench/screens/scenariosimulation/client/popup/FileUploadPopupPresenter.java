@@ -61,4 +61,15 @@ public class FileUploadPopupPresenter implements FileUploadPopup.Presenter {
     public String getFileContents() {
         return fileUploadPopup.getFileContents();
     }
+
+    @Override
+    public void upload(final String url,
+                       final String path,
+                       final Command successCommand,
+                       final Command errorCommand) {
+        fileUploadPopup.upload(url,
+                               path,
+                               successCommand,
+                               errorCommand);
+    }
 }
@@ -26,6 +26,7 @@ import com.google.gwt.dom.client.SpanElement;
 import com.google.gwt.event.dom.client.ChangeEvent;
 import com.google.gwt.event.dom.client.ClickEvent;
 import org.drools.workbench.screens.scenariosimulation.client.resources.i18n.ScenarioSimulationEditorConstants;
+import org.guvnor.common.services.shared.file.upload.FileManagerFields;
 import org.jboss.errai.ui.shared.api.annotations.DataField;
 import org.jboss.errai.ui.shared.api.annotations.EventHandler;
 import org.jboss.errai.ui.shared.api.annotations.Templated;
@@ -82,6 +83,19 @@ public class FileUploadPopupView extends AbstractScenarioPopupView implements Fi
         this.acceptedExtension.addAll(acceptedExtension);
     }
 
+    @Override
+    public void upload(final String url,
+                       final String path,
+                       final Command successCommand,
+                       final Command errorCommand) {
+        uploadFile(file.getPropertyJSO("files"),
+                   url,
+                   FileManagerFields.FORM_FIELD_PATH,
+                   path,
+                   successCommand,
+                   errorCommand);
+    }
+
     @EventHandler("chooseButton")
     public void onChooseButtonClickEvent(ClickEvent clickEvent) {
         file.click();
@@ -108,4 +122,32 @@ public class FileUploadPopupView extends AbstractScenarioPopupView implements Fi
         };
         return reader.readAsText(files[0]);
     }-*/;
+
+    /**
+     * The file is posted as multipart form data, the way AbstractFileServlet expects it, which answers OK once it has
+     * been saved
+     */
+    public static native void uploadFile(JavaScriptObject files,
+                                         String url,
+                                         String pathField,
+                                         String path,
+                                         Command successCommand,
+                                         Command errorCommand)/*-{
+        var formData = new FormData();
+        formData.append(pathField, path);
+        formData.append("file", files[0]);
+        var request = new XMLHttpRequest();
+        request.onload = $entry(function () {
+            if (request.status === 200 && request.responseText.trim().toUpperCase() === "OK") {
+                successCommand.@org.uberfire.mvp.Command::execute()();
+            } else {
+                errorCommand.@org.uberfire.mvp.Command::execute()();
+            }
+        });
+        request.onerror = $entry(function () {
+            errorCommand.@org.uberfire.mvp.Command::execute()();
+        });
+        request.open("POST", url);
+        request.send(formData);
+    }-*/;
 }
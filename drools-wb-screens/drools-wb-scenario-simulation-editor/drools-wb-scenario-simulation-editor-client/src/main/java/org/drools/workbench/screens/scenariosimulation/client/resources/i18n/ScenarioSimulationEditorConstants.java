@@ -254,6 +254,8 @@ public interface ScenarioSimulationEditorConstants
 
     String importErrorTitle();
 
+    String importing();
+
     String executed();
 
     String notCovered();
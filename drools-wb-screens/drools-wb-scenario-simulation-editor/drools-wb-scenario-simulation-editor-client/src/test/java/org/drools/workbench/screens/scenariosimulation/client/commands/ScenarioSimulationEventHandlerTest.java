@@ -31,6 +31,7 @@ import org.drools.workbench.screens.scenariosimulation.client.commands.actualcom
 import org.drools.workbench.screens.scenariosimulation.client.commands.actualcommands.DuplicateInstanceCommand;
 import org.drools.workbench.screens.scenariosimulation.client.commands.actualcommands.DuplicateRowCommand;
 import org.drools.workbench.screens.scenariosimulation.client.commands.actualcommands.EnableTestToolsCommand;
+import org.drools.workbench.screens.scenariosimulation.client.commands.actualcommands.ImportCommand;
 import org.drools.workbench.screens.scenariosimulation.client.commands.actualcommands.InsertColumnCommand;
 import org.drools.workbench.screens.scenariosimulation.client.commands.actualcommands.InsertRowCommand;
 import org.drools.workbench.screens.scenariosimulation.client.commands.actualcommands.PrependColumnCommand;
@@ -83,6 +84,7 @@ import org.junit.runner.RunWith;
 import org.kie.workbench.common.command.client.CommandResult;
 import org.kie.workbench.common.command.client.CommandResultBuilder;
 import org.kie.workbench.common.command.client.impl.CommandResultImpl;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 
 import static org.drools.workbench.screens.scenariosimulation.client.TestProperties.COLUMN_GROUP;
@@ -312,6 +314,29 @@ public class ScenarioSimulationEventHandlerTest extends AbstractScenarioSimulati
                       isA(org.uberfire.mvp.Command.class));
     }
 
+    @Test
+    public void onImportEventWithoutChanges() {
+        when(scenarioSimulationEditorPresenterMock.isDirty()).thenReturn(false);
+        scenarioSimulationEventHandler.onEvent(new ImportEvent());
+        getOkImportCommand().execute();
+        verify(scenarioSimulationEditorPresenterMock, times(1)).onUploadCsv(eq(fileUploadPopupPresenterMock));
+        verify(scenarioSimulationEventHandler, never()).commonExecution(eq(scenarioSimulationContextLocal),
+                                                                        isA(ImportCommand.class),
+                                                                        anyBoolean());
+    }
+
+    @Test
+    public void onImportEventWithChanges() {
+        when(scenarioSimulationEditorPresenterMock.isDirty()).thenReturn(true);
+        when(fileUploadPopupPresenterMock.getFileContents()).thenReturn("FILE_CONTENTS");
+        scenarioSimulationEventHandler.onEvent(new ImportEvent());
+        getOkImportCommand().execute();
+        verify(scenarioSimulationEditorPresenterMock, never()).onUploadCsv(anyObject());
+        verify(scenarioSimulationEventHandler).commonExecution(eq(scenarioSimulationContextLocal),
+                                                               isA(ImportCommand.class),
+                                                               eq(false));
+    }
+
     @Test
     public void onInsertColumnEvent() {
         InsertColumnEvent event = new InsertColumnEvent(COLUMN_INDEX, true, false);
@@ -593,4 +618,13 @@ public class ScenarioSimulationEventHandlerTest extends AbstractScenarioSimulati
         verify(eventBusMock, times(1)).addHandler(eq(UnsupportedDMNEvent.TYPE), isA(UnsupportedDMNEventHandler.class));
         verify(handlerRegistrationListMock, times(1)).add(eq(unsupportedDMNEventHandlerRegistrationMock));
     }
-}
\ No newline at end of file
+
+    private org.uberfire.mvp.Command getOkImportCommand() {
+        ArgumentCaptor<org.uberfire.mvp.Command> okImportCommandCaptor = ArgumentCaptor.forClass(org.uberfire.mvp.Command.class);
+        verify(fileUploadPopupPresenterMock, times(1)).show(anyListOf(String.class),
+                                                            anyString(),
+                                                            anyString(),
+                                                            okImportCommandCaptor.capture());
+        return okImportCommandCaptor.getValue();
+    }
+}
@@ -43,7 +43,9 @@ import org.drools.workbench.screens.scenariosimulation.client.handlers.ScenarioS
 import org.drools.workbench.screens.scenariosimulation.client.handlers.ScenarioSimulationHasBusyIndicatorDefaultErrorCallback;
 import org.drools.workbench.screens.scenariosimulation.client.models.ScenarioGridModel;
 import org.drools.workbench.screens.scenariosimulation.client.popup.ConfirmPopupPresenter;
+import org.drools.workbench.screens.scenariosimulation.client.popup.FileUploadPopupPresenter;
 import org.drools.workbench.screens.scenariosimulation.client.producers.ScenarioSimulationProducer;
+import org.drools.workbench.screens.scenariosimulation.client.resources.i18n.ScenarioSimulationEditorConstants;
 import org.drools.workbench.screens.scenariosimulation.client.rightpanel.CheatSheetPresenter;
 import org.drools.workbench.screens.scenariosimulation.client.rightpanel.CoverageReportPresenter;
 import org.drools.workbench.screens.scenariosimulation.client.rightpanel.SettingsPresenter;
@@ -116,6 +118,10 @@ public class ScenarioSimulationEditorPresenterTest extends AbstractScenarioSimul
     @Mock
     private ScenarioSimulationProducer scenarioSimulationProducerMock;
     @Mock
+    private ConfirmPopupPresenter confirmPopupPresenterMock;
+    @Mock
+    private FileUploadPopupPresenter fileUploadPopupPresenterMock;
+    @Mock
     private PlaceManager placeManagerMock;
     @Mock
     private AbstractWorkbenchActivity testToolsActivityMock;
@@ -179,7 +185,7 @@ public class ScenarioSimulationEditorPresenterTest extends AbstractScenarioSimul
                                                                    testRunnerReportingPanelMock,
                                                                    scenarioSimulationDocksHandlerMock,
                                                                    textFileExportMock,
-                                                                   mock(ConfirmPopupPresenter.class)) {
+                                                                   confirmPopupPresenterMock) {
             {
                 this.path = pathMock;
                 this.scenarioGridPanel = scenarioGridPanelMock;
@@ -685,8 +691,35 @@ public class ScenarioSimulationEditorPresenterTest extends AbstractScenarioSimul
     @Test
     public void onExportToCsv() {
         presenter.init(scenarioSimulationEditorWrapper, observablePathMock);
+        doReturn(true).when(presenter).isDirty();
         presenter.onExportToCsv();
         verify(scenarioSimulationEditorWrapper, times(1)).onExportToCsv(isA(RemoteCallback.class), isA(ScenarioSimulationHasBusyIndicatorDefaultErrorCallback.class), eq(simulationMock));
+        verify(scenarioSimulationEditorWrapper, never()).onDownloadCsv();
+    }
+
+    @Test
+    public void onExportToCsvWithoutChanges() {
+        presenter.init(scenarioSimulationEditorWrapper, observablePathMock);
+        doReturn(false).when(presenter).isDirty();
+        presenter.onExportToCsv();
+        verify(scenarioSimulationEditorWrapper, times(1)).onDownloadCsv();
+        verify(scenarioSimulationEditorWrapper, never()).onExportToCsv(any(), any(), any());
+    }
+
+    @Test
+    public void onUploadCsv() {
+        presenter.init(scenarioSimulationEditorWrapper, observablePathMock);
+        presenter.onUploadCsv(fileUploadPopupPresenterMock);
+        verify(scenarioSimulationViewMock, times(1)).showBusyIndicator(eq(ScenarioSimulationEditorConstants.INSTANCE.importing()));
+        verify(scenarioSimulationEditorWrapper, times(1)).onUploadCsv(eq(fileUploadPopupPresenterMock), isA(Command.class));
+    }
+
+    @Test
+    public void getUploadCsvErrorCommand() {
+        presenter.getUploadCsvErrorCommand().execute();
+        verify(scenarioSimulationViewMock, times(1)).hideBusyIndicator();
+        verify(confirmPopupPresenterMock, times(1)).show(eq(ScenarioSimulationEditorConstants.INSTANCE.importErrorTitle()),
+                                                         eq(ScenarioSimulationEditorConstants.INSTANCE.importFailedMessage()));
     }
 
     @Test
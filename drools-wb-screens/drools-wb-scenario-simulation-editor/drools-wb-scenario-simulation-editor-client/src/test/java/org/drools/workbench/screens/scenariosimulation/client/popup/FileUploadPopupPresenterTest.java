@@ -74,4 +74,12 @@ public class FileUploadPopupPresenterTest {
         assertEquals(FILE_CONTENTS, fileUploadPopupPresenter.getFileContents());
         verify(fileUploadPopupViewMock, times(1)).getFileContents();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void upload() {
+        Command successCommand = mock(Command.class);
+        Command errorCommand = mock(Command.class);
+        fileUploadPopupPresenter.upload("URL", "PATH", successCommand, errorCommand);
+        verify(fileUploadPopupViewMock, times(1)).upload(eq("URL"), eq("PATH"), eq(successCommand), eq(errorCommand));
+    }
+}
@@ -0,0 +1,272 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.testscenario.backend.server;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+
+import org.guvnor.common.services.project.builder.model.BuildResults;
+import org.guvnor.common.services.project.builder.model.IncrementalBuildResults;
+import org.kie.api.KieServices;
+import org.kie.api.runtime.KieContainer;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.KieSessionConfiguration;
+import org.kie.api.runtime.KieSessionsPool;
+import org.kie.api.runtime.conf.ClockTypeOption;
+import org.kie.api.time.SessionClock;
+import org.kie.api.time.SessionPseudoClock;
+import org.kie.workbench.common.services.backend.builder.service.BuildInfo;
+import org.kie.workbench.common.services.backend.builder.service.BuildInfoService;
+import org.kie.workbench.common.services.shared.project.KieModule;
+
+/**
+ * Pools the KieSessions used to run Test Scenarios, for each module and KieSession name. Sessions are reset when they
+ * are released: facts, globals, event listeners and the pseudo clock do not carry over to the next Test Scenario.
+ * The pools of a module are shut down when the module is rebuilt, fully or incrementally, or when its KieContainer is
+ * no longer the one they were created from.
+ */
+@ApplicationScoped
+public class KieSessionPool {
+
+    public static final String SIZE_PROPERTY = "org.drools.workbench.screens.testscenario.ksession.pool.size";
+
+    static final int DEFAULT_SIZE = 2;
+
+    static final String DEFAULT_KSESSION_NAME = "defaultKieSession";
+
+    private BuildInfoService buildInfoService;
+
+    private int size = Integer.getInteger(SIZE_PROPERTY,
+                                          DEFAULT_SIZE);
+
+    //Pools of each module built since it was last rebuilt, by the root path of the module
+    private final Map<String, ContainerPool> containerPools = new ConcurrentHashMap<>();
+
+    //Sessions that have been acquired, and not yet released, and the pool they came from
+    private final Map<KieSession, ContainerPool> acquiredSessions = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    public KieSessionPool() {
+        //Zero parameter constructor for CDI
+    }
+
+    @Inject
+    public KieSessionPool(final BuildInfoService buildInfoService) {
+        this.buildInfoService = buildInfoService;
+    }
+
+    @PreDestroy
+    public void destroy() {
+        containerPools.values().forEach(ContainerPool::shutdown);
+        containerPools.clear();
+    }
+
+    /**
+     * @param ksessionName Name of the KieSession, or null for the default KieSession; which has a pseudo clock
+     * @return A session, or null if the module has no KieContainer
+     */
+    public KieSession acquire(final KieModule module,
+                              final String ksessionName) {
+        final KieContainer kieContainer = getKieContainer(module);
+        if (kieContainer == null) {
+            return null;
+        }
+
+        final ContainerPool containerPool = containerPools.compute(module.getRootPath().toURI(),
+                                                                   (rootPath, existing) -> getContainerPool(existing,
+                                                                                                            kieContainer));
+
+        final KieSession kieSession = containerPool.newKieSession(ksessionName == null ? DEFAULT_KSESSION_NAME : ksessionName);
+        //A hit is a session that was released to the pool and has been handed out again
+        if (containerPool.takeIdle(kieSession)) {
+            hitCount.incrementAndGet();
+        } else {
+            missCount.incrementAndGet();
+        }
+        acquiredSessions.put(kieSession,
+                             containerPool);
+        return kieSession;
+    }
+
+    /**
+     * Resets a session, returning it to its pool. Sessions that did not come from this pool are ignored.
+     */
+    public void release(final KieSession kieSession) {
+        if (kieSession == null) {
+            return;
+        }
+        final ContainerPool containerPool = acquiredSessions.remove(kieSession);
+        if (containerPool == null) {
+            return;
+        }
+        removeEventListeners(kieSession);
+        rewindPseudoClock(kieSession);
+        //Disposing a pooled session resets it and returns it to the KieSessionsPool, unless that has been shut down
+        kieSession.dispose();
+        containerPool.putIdle(kieSession);
+    }
+
+    /**
+     * Shuts down the pools of a module, once it has been rebuilt. Sessions acquired from them are disposed of when
+     * they are released.
+     * @param rootPathURI URI of the root path of the module
+     */
+    public void invalidate(final String rootPathURI) {
+        if (rootPathURI == null) {
+            return;
+        }
+        final ContainerPool containerPool = containerPools.remove(rootPathURI);
+        if (containerPool != null) {
+            containerPool.shutdown();
+        }
+    }
+
+    public void onBuildResults(final @Observes BuildResults results) {
+        invalidate(results.getRootPathURI());
+    }
+
+    public void onIncrementalBuildResults(final @Observes IncrementalBuildResults results) {
+        invalidate(results.getRootPathURI());
+    }
+
+    /**
+     * @return Number of sessions that have been released and not acquired again
+     */
+    public int getSize() {
+        return containerPools.values().stream().mapToInt(ContainerPool::getIdleCount).sum();
+    }
+
+    /**
+     * @return Number of acquired sessions that had been released before
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * @return Number of acquired sessions that were newly created
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public double getHitRate() {
+        final long hits = hitCount.get();
+        final long total = hits + missCount.get();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    void setSize(final int size) {
+        this.size = size;
+    }
+
+    private void removeEventListeners(final KieSession kieSession) {
+        new ArrayList<>(kieSession.getAgendaEventListeners()).forEach(kieSession::removeEventListener);
+        new ArrayList<>(kieSession.getRuleRuntimeEventListeners()).forEach(kieSession::removeEventListener);
+        new ArrayList<>(kieSession.getProcessEventListeners()).forEach(kieSession::removeEventListener);
+    }
+
+    //Pseudo clocks start at zero
+    private void rewindPseudoClock(final KieSession kieSession) {
+        final SessionClock clock = kieSession.getSessionClock();
+        if (clock instanceof SessionPseudoClock) {
+            ((SessionPseudoClock) clock).advanceTime(-clock.getCurrentTime(),
+                                                     TimeUnit.MILLISECONDS);
+        }
+    }
+
+    //A pool created from a KieContainer that has since been replaced is shut down
+    private ContainerPool getContainerPool(final ContainerPool existing,
+                                           final KieContainer kieContainer) {
+        if (existing != null && existing.kieContainer == kieContainer) {
+            return existing;
+        }
+        if (existing != null) {
+            existing.shutdown();
+        }
+        return new ContainerPool(kieContainer,
+                                 size);
+    }
+
+    private KieContainer getKieContainer(final KieModule module) {
+        if (module == null || module.getRootPath() == null) {
+            return null;
+        }
+        final BuildInfo buildInfo = buildInfoService.getBuildInfo(module);
+        return buildInfo == null ? null : buildInfo.getKieContainer();
+    }
+
+    private static class ContainerPool {
+
+        private final KieContainer kieContainer;
+        private final KieSessionsPool kieSessionsPool;
+        //Sessions released to the KieSessionsPool, which hands the same instances out again
+        private final Set<KieSession> idleSessions = Collections.newSetFromMap(Collections.synchronizedMap(new IdentityHashMap<>()));
+        private volatile boolean shutdown;
+
+        private ContainerPool(final KieContainer kieContainer,
+                              final int size) {
+            this.kieContainer = kieContainer;
+            this.kieSessionsPool = kieContainer.newKieSessionsPool(size);
+        }
+
+        private KieSession newKieSession(final String name) {
+            final KieSession kieSession;
+            if (DEFAULT_KSESSION_NAME.equals(name)) {
+                final KieSessionConfiguration conf = KieServices.Factory.get().newKieSessionConfiguration();
+                conf.setOption(ClockTypeOption.get("pseudo"));
+                kieSession = kieSessionsPool.newKieSession(conf);
+            } else {
+                kieSession = kieSessionsPool.newKieSession(name);
+            }
+            return kieSession;
+        }
+
+        private boolean takeIdle(final KieSession kieSession) {
+            return idleSessions.remove(kieSession);
+        }
+
+        private void putIdle(final KieSession kieSession) {
+            if (!shutdown) {
+                idleSessions.add(kieSession);
+            }
+        }
+
+        private int getIdleCount() {
+            return idleSessions.size();
+        }
+
+        private void shutdown() {
+            shutdown = true;
+            idleSessions.clear();
+            kieSessionsPool.shutdown();
+        }
+    }
+}
@@ -62,6 +62,7 @@ public class ScenarioRunnerService
     private ScenarioLoader scenarioLoader;
     private SessionService sessionService;
     private ConfigurationService configurationService;
+    private KieSessionPool kieSessionPool;
 
     public ScenarioRunnerService() {
     }
@@ -70,19 +71,20 @@ public class ScenarioRunnerService
     public ScenarioRunnerService(final ConfigurationService configurationService,
                                  final SessionService sessionService,
                                  final KieModuleService moduleService,
-                                 final ScenarioLoader scenarioLoader) {
+                                 final ScenarioLoader scenarioLoader,
+                                 final KieSessionPool kieSessionPool) {
         this.configurationService = configurationService;
         this.sessionService = sessionService;
         this.moduleService = moduleService;
         this.scenarioLoader = scenarioLoader;
+        this.kieSessionPool = kieSessionPool;
     }
 
     public TestScenarioResult run(final String identifier,
                                   final Scenario scenario,
                                   final KieModule module) {
+        final HashMap<String, KieSession> ksessions = new HashMap<String, KieSession>();
         try {
-
-            final HashMap<String, KieSession> ksessions = new HashMap<String, KieSession>();
             final String ksessionName = getKSessionName(scenario.getKSessions());
             ksessions.put(ksessionName,
                           loadKSession(module,
@@ -104,18 +106,21 @@ public class ScenarioRunnerService
                                           testResultMessage);
         } catch (InitializationError initializationError) {
             throw new GenericPortableException(initializationError.getMessage());
+        } finally {
+            releaseKSessions(ksessions);
         }
     }
 
     @Override
     public List<TestResultMessage> runAllTests(final String identifier,
                                                final Path path) {
+        Map<String, KieSession> kSessions = new HashMap<>();
         try {
             final ArrayList<TestResultMessage> result = new ArrayList<>();
             final Map<Path, Scenario> scenarios = scenarioLoader.loadScenarios(path);
 
-            final Map<String, KieSession> kSessions = getKSessions(path,
-                                                                   scenarios.values());
+            kSessions = getKSessions(path,
+                                     scenarios.values());
 
             for (Map.Entry<Path, Scenario> entry : scenarios.entrySet()) {
                 ScenarioRunner4JUnit scenarioRunner = new ScenarioRunner4JUnit(
@@ -130,6 +135,8 @@ public class ScenarioRunnerService
             return result;
         } catch (Exception e) {
             throw ExceptionUtilities.handleException(e);
+        } finally {
+            releaseKSessions(kSessions);
         }
     }
 
@@ -177,6 +184,9 @@ public class ScenarioRunnerService
         Map<String, KieSession> ksessions = new HashMap<String, KieSession>();
         for (Scenario scenario : scenarios) {
             String ksessionName = getKSessionName(scenario.getKSessions());
+            if (ksessions.containsKey(ksessionName)) {
+                continue;
+            }
             ksessions.put(ksessionName,
                           loadKSession(moduleService.resolveModule(path),
                                        ksessionName));
@@ -188,6 +198,11 @@ public class ScenarioRunnerService
                                     String ksessionName) {
         KieSession ksession = null;
         try {
+            ksession = kieSessionPool.acquire(module,
+                                              ksessionName);
+            if (ksession != null) {
+                return ksession;
+            }
             if (ksessionName == null || ksessionName.equals("defaultKieSession")) {
                 ksession = sessionService.newDefaultKieSessionWithPseudoClock(module);
             } else {
@@ -201,4 +216,10 @@ public class ScenarioRunnerService
 
         return ksession;
     }
+
+    private void releaseKSessions(final Map<String, KieSession> ksessions) {
+        for (KieSession ksession : ksessions.values()) {
+            kieSessionPool.release(ksession);
+        }
+    }
 }
@@ -0,0 +1,268 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.testscenario.backend.server;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.guvnor.common.services.project.builder.model.BuildResults;
+import org.guvnor.common.services.project.builder.model.IncrementalBuildResults;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.api.KieServices;
+import org.kie.api.builder.KieFileSystem;
+import org.kie.api.builder.model.KieBaseModel;
+import org.kie.api.builder.model.KieModuleModel;
+import org.kie.api.builder.model.KieSessionModel;
+import org.kie.api.event.rule.DefaultAgendaEventListener;
+import org.kie.api.event.rule.DefaultRuleRuntimeEventListener;
+import org.kie.api.runtime.KieContainer;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.conf.ClockTypeOption;
+import org.kie.api.time.SessionPseudoClock;
+import org.kie.workbench.common.services.backend.builder.service.BuildInfo;
+import org.kie.workbench.common.services.backend.builder.service.BuildInfoService;
+import org.kie.workbench.common.services.shared.project.KieModule;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.backend.vfs.Path;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class KieSessionPoolTest {
+
+    @Mock
+    private BuildInfoService buildInfoService;
+
+    @Mock
+    private BuildInfo buildInfo;
+
+    @Mock
+    private KieModule module;
+
+    @Mock
+    private Path rootPath;
+
+    private KieContainer kieContainer;
+
+    private KieSessionPool pool;
+
+    @Before
+    public void setUp() {
+        kieContainer = makeKieContainer();
+        when(module.getRootPath()).thenReturn(rootPath);
+        when(rootPath.toURI()).thenReturn("default://master@repo/module");
+        when(buildInfoService.getBuildInfo(module)).thenReturn(buildInfo);
+        when(buildInfo.getKieContainer()).thenReturn(kieContainer);
+
+        pool = new KieSessionPool(buildInfoService);
+    }
+
+    @After
+    public void tearDown() {
+        pool.destroy();
+        kieContainer.dispose();
+    }
+
+    @Test
+    public void testReleasedSessionIsReset() {
+        final KieSession kieSession = pool.acquire(module,
+                                                   null);
+        assertNotNull(kieSession);
+        assertEquals(0,
+                     pool.getHitCount());
+        assertEquals(1,
+                     pool.getMissCount());
+
+        kieSession.insert("fact");
+        pool.release(kieSession);
+        assertEquals(1,
+                     pool.getSize());
+
+        final KieSession pooledKieSession = pool.acquire(module,
+                                                         "defaultKieSession");
+        assertEquals(0,
+                     pooledKieSession.getFactCount());
+        assertEquals(1,
+                     pool.getHitCount());
+        assertEquals(0.5,
+                     pool.getHitRate(),
+                     0.0);
+        assertEquals(0,
+                     pool.getSize());
+    }
+
+    @Test
+    public void testReleasedSessionStateIsReset() {
+        final KieSession kieSession = pool.acquire(module,
+                                                   null);
+        kieSession.setGlobal("list",
+                             new ArrayList<>());
+        kieSession.addEventListener(new DefaultAgendaEventListener());
+        kieSession.addEventListener(new DefaultRuleRuntimeEventListener());
+        final SessionPseudoClock clock = kieSession.getSessionClock();
+        clock.advanceTime(1,
+                          TimeUnit.HOURS);
+        pool.release(kieSession);
+
+        final KieSession pooledKieSession = pool.acquire(module,
+                                                         null);
+        assertSame(kieSession,
+                   pooledKieSession);
+        assertNull(pooledKieSession.getGlobal("list"));
+        assertTrue(pooledKieSession.getAgendaEventListeners().isEmpty());
+        assertTrue(pooledKieSession.getRuleRuntimeEventListeners().isEmpty());
+        assertEquals(0,
+                     ((SessionPseudoClock) pooledKieSession.getSessionClock()).getCurrentTime());
+    }
+
+    @Test
+    public void testRebuiltModuleIsNotServedFromPreviousPool() {
+        pool.release(pool.acquire(module,
+                                  null));
+        assertEquals(1,
+                     pool.getSize());
+
+        //An incremental build may keep the same KieContainer
+        pool.onIncrementalBuildResults(makeIncrementalBuildResults("default://master@repo/module"));
+
+        assertNotNull(pool.acquire(module,
+                                   null));
+        assertEquals(0,
+                     pool.getHitCount());
+        assertEquals(2,
+                     pool.getMissCount());
+        assertEquals(0,
+                     pool.getSize());
+    }
+
+    @Test
+    public void testFullyRebuiltModuleIsNotServedFromPreviousPool() {
+        pool.release(pool.acquire(module,
+                                  null));
+
+        final BuildResults results = new BuildResults();
+        results.setRootPathURI("default://master@repo/module");
+        pool.onBuildResults(results);
+
+        assertEquals(0,
+                     pool.getSize());
+    }
+
+    @Test
+    public void testNewKieContainerIsNotServedFromPreviousPool() {
+        final KieSession kieSession = pool.acquire(module,
+                                                   null);
+        pool.release(kieSession);
+
+        //The KieContainer can be replaced without the build results being observed
+        final KieContainer newKieContainer = makeKieContainer();
+        try {
+            when(buildInfo.getKieContainer()).thenReturn(newKieContainer);
+
+            final KieSession newKieSession = pool.acquire(module,
+                                                          null);
+            assertNotSame(kieSession,
+                          newKieSession);
+            assertEquals(0,
+                         pool.getHitCount());
+            assertEquals(2,
+                         pool.getMissCount());
+            assertEquals(0,
+                         pool.getSize());
+        } finally {
+            pool.destroy();
+            newKieContainer.dispose();
+        }
+    }
+
+    @Test
+    public void testBuildOfOtherModuleKeepsPool() {
+        pool.release(pool.acquire(module,
+                                  null));
+
+        pool.onIncrementalBuildResults(makeIncrementalBuildResults("default://master@repo/other"));
+
+        assertEquals(1,
+                     pool.getSize());
+        pool.acquire(module,
+                     null);
+        assertEquals(1,
+                     pool.getHitCount());
+    }
+
+    @Test
+    public void testModuleWithoutKieContainer() {
+        when(buildInfo.getKieContainer()).thenReturn(null);
+
+        assertNull(pool.acquire(module,
+                                null));
+        assertEquals(0,
+                     pool.getMissCount());
+    }
+
+    @Test
+    public void testReleaseOfSessionNotFromPool() {
+        final KieSession kieSession = kieContainer.newKieSession();
+        try {
+            pool.release(kieSession);
+            kieSession.insert("fact");
+
+            assertEquals(1,
+                         kieSession.getFactCount());
+            assertEquals(0,
+                         pool.getSize());
+        } finally {
+            kieSession.dispose();
+        }
+    }
+
+    private IncrementalBuildResults makeIncrementalBuildResults(final String rootPathURI) {
+        final IncrementalBuildResults results = new IncrementalBuildResults();
+        results.setRootPathURI(rootPathURI);
+        return results;
+    }
+
+    private KieContainer makeKieContainer() {
+        final KieServices kieServices = KieServices.Factory.get();
+        final KieModuleModel kieModuleModel = kieServices.newKieModuleModel();
+        final KieBaseModel kieBaseModel = kieModuleModel.newKieBaseModel("defaultKieBase")
+                .setDefault(true);
+        kieBaseModel.newKieSessionModel("defaultKieSession")
+                .setDefault(true)
+                .setType(KieSessionModel.KieSessionType.STATEFUL)
+                .setClockType(ClockTypeOption.get("pseudo"));
+
+        final KieFileSystem kfs = kieServices.newKieFileSystem();
+        kfs.writeKModuleXML(kieModuleModel.toXML());
+        kfs.write("src/main/resources/org/test/globals.drl",
+                  "package org.test;\n" +
+                          "global java.util.List list;\n");
+        kieServices.newKieBuilder(kfs).buildAll();
+
+        return kieServices.newKieContainer(kieServices.getRepository().getDefaultReleaseId());
+    }
+}
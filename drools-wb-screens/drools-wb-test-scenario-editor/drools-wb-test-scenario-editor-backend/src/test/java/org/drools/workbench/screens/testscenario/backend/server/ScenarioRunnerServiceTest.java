@@ -78,6 +78,9 @@ public class ScenarioRunnerServiceTest {
     @Mock
     private SessionService sessionService;
 
+    @Mock
+    private KieSessionPool kieSessionPool;
+
     private KieSession kieSession;
     private KieContainer kieContainer;
 
@@ -89,7 +92,8 @@ public class ScenarioRunnerServiceTest {
         service = new ScenarioRunnerService(configurationService,
                                             sessionService,
                                             moduleService,
-                                            scenarioLoader);
+                                            scenarioLoader,
+                                            kieSessionPool);
     }
 
     @After